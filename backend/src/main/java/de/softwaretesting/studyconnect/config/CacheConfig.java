@@ -0,0 +1,34 @@
+package de.softwaretesting.studyconnect.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.softwaretesting.studyconnect.services.KeycloakRealmMetadataCache;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache infrastructure. The Caffeine caches themselves are declared in
+ * application.properties ({@code spring.cache.*}) so Spring Boot binds their statistics to the
+ * actuator metrics endpoint.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  /**
+   * Registers the Keycloak realm metadata cache with its own expiry, independent of the spec shared
+   * by the group caches.
+   */
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> keycloakRealmMetadataCacheCustomizer(
+      @Value("${studyconnect.keycloak.metadata-cache.ttl:10m}") Duration ttl) {
+    return cacheManager ->
+        cacheManager.registerCustomCache(
+            KeycloakRealmMetadataCache.REALM_METADATA_CACHE,
+            Caffeine.newBuilder().maximumSize(100).expireAfterWrite(ttl).recordStats().build());
+  }
+}
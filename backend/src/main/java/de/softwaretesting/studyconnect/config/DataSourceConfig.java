@@ -0,0 +1,60 @@
+package de.softwaretesting.studyconnect.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari pool from the CPU count when {@code studyconnect.datasource.auto-size} is set
+ * (see application-prod.properties): {@code cores * connections-per-core + 1}, capped at {@code
+ * max-connections}. Request threads mostly wait on the database, so a few connections per core keep
+ * the CPU busy; more only queue up inside Postgres. The pool is kept at its full size. A read
+ * replica pool (see {@link ReplicaRoutingConfig}) is sized the same way.
+ */
+@Configuration
+public class DataSourceConfig {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceConfig.class);
+
+  /** Leaves a connection for background jobs even on a single core. */
+  private static final int MIN_POOL_SIZE = 2;
+
+  @Bean
+  static BeanPostProcessor hikariPoolSizer(Environment environment) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+            && environment.getProperty("studyconnect.datasource.auto-size", Boolean.class, false)) {
+          int size =
+              poolSize(
+                  Runtime.getRuntime().availableProcessors(),
+                  environment.getProperty(
+                      "studyconnect.datasource.connections-per-core", Integer.class, 2),
+                  environment.getProperty(
+                      "studyconnect.datasource.max-connections", Integer.class, 40));
+          dataSource.setMaximumPoolSize(size);
+          dataSource.setMinimumIdle(size);
+          LOGGER.info("Sized the connection pool to {} connections", size);
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Computes the pool size for the given CPU count.
+   *
+   * @param cores the available processors
+   * @param connectionsPerCore connections per processor
+   * @param maxConnections the share of the database's connection limit this instance may use
+   * @return the pool size
+   */
+  static int poolSize(int cores, int connectionsPerCore, int maxConnections) {
+    return Math.max(MIN_POOL_SIZE, Math.min(cores * connectionsPerCore + 1, maxConnections));
+  }
+}
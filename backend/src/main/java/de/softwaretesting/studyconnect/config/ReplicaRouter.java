@@ -0,0 +1,323 @@
+package de.softwaretesting.studyconnect.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Decides where read-only connections come from (see {@link ReplicaRoutingConfig}). They go to the
+ * replica unless
+ *
+ * <ul>
+ *   <li>the replica lags behind the primary by more than the allowed lag, or the last lag check
+ *       failed,
+ *   <li>the signed-in user committed a write within the sticky window, so they read their own
+ *       writes.
+ * </ul>
+ *
+ * <p>Writes are noticed on the primary's statements (updates and batches) and only count once their
+ * transaction commits, so transactions that merely read or that roll back leave no mark.
+ *
+ * <p>The lag is checked on a fixed delay and published as {@value #LAG_METRIC} (seconds). Read-only
+ * connections are counted in {@value #READS_METRIC}, tagged with the route they took.
+ */
+public class ReplicaRouter {
+
+  static final String READS_METRIC = "studyconnect.datasource.reads";
+  static final String LAG_METRIC = "studyconnect.datasource.replica.lag";
+
+  /**
+   * Seconds since the last replayed transaction, or 0 while the replica has replayed everything it
+   * received, so an idle primary does not show up as lag.
+   */
+  static final String POSTGRES_LAG_QUERY =
+      "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+          + " else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRouter.class);
+  private static final int MAX_TRACKED_WRITERS = 100_000;
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final MeterRegistry meterRegistry;
+  private final String lagQuery;
+  private final Duration maxLag;
+  private final Cache<String, Boolean> recentWriters;
+  private final DataSource readOnlyDataSource = new ReadOnlyDataSource();
+  private final DataSource writeTrackingDataSource;
+
+  private volatile double lagSeconds = Double.NaN;
+
+  /** Null while reads may go to the replica, otherwise the route reads take instead. */
+  private volatile String fallbackRoute = "primary_unavailable";
+
+  public ReplicaRouter(
+      DataSource primary,
+      DataSource replica,
+      MeterRegistry meterRegistry,
+      String lagQuery,
+      Duration maxLag,
+      Duration stickyWindow) {
+    this.primary = primary;
+    this.replica = replica;
+    this.meterRegistry = meterRegistry;
+    this.lagQuery = lagQuery;
+    this.maxLag = maxLag;
+    this.recentWriters =
+        Caffeine.newBuilder()
+            .expireAfterWrite(stickyWindow)
+            .maximumSize(MAX_TRACKED_WRITERS)
+            .build();
+    this.writeTrackingDataSource = new WriteTrackingDataSource(primary);
+    Gauge.builder(LAG_METRIC, this, router -> router.lagSeconds)
+        .description("Replication lag of the read replica")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  /** Returns the data source for read-only connections. */
+  public DataSource readOnlyDataSource() {
+    return readOnlyDataSource;
+  }
+
+  /** Returns the primary, remembering the signed-in user as a recent writer once they commit. */
+  public DataSource writeTrackingDataSource() {
+    return writeTrackingDataSource;
+  }
+
+  /** Measures the replica's lag and decides whether reads may use it. */
+  @Scheduled(fixedDelayString = "${studyconnect.datasource.replica.lag-check-interval:1s}")
+  public void checkReplicaLag() {
+    String previousRoute = fallbackRoute;
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery(lagQuery)) {
+      double lag = result.next() ? result.getDouble(1) : 0;
+      lagSeconds = lag;
+      fallbackRoute = lag * 1000 > maxLag.toMillis() ? "primary_lagging" : null;
+    } catch (SQLException e) {
+      lagSeconds = Double.NaN;
+      fallbackRoute = "primary_unavailable";
+      if (previousRoute == null) {
+        LOGGER.warn("Read replica unavailable, reading from the primary: {}", e.getMessage());
+      }
+    }
+    if (previousRoute != null && fallbackRoute == null) {
+      LOGGER.info("Read replica caught up, reading from the replica");
+    } else if (previousRoute == null && "primary_lagging".equals(fallbackRoute)) {
+      LOGGER.warn("Read replica lags {} s behind, reading from the primary", lagSeconds);
+    }
+  }
+
+  private Connection getReadOnlyConnection() throws SQLException {
+    String user = currentUser();
+    if (user != null && recentWriters.getIfPresent(user) != null) {
+      return primaryConnection("primary_recent_write");
+    }
+    String fallback = fallbackRoute;
+    if (fallback != null) {
+      return primaryConnection(fallback);
+    }
+    try {
+      Connection connection = replica.getConnection();
+      reads("replica").increment();
+      return connection;
+    } catch (SQLException e) {
+      fallbackRoute = "primary_unavailable";
+      LOGGER.warn("Read replica unavailable, reading from the primary: {}", e.getMessage());
+      return primaryConnection("primary_unavailable");
+    }
+  }
+
+  private Connection primaryConnection(String route) throws SQLException {
+    Connection connection = primary.getConnection();
+    reads(route).increment();
+    return connection;
+  }
+
+  private Counter reads(String route) {
+    return Counter.builder(READS_METRIC)
+        .description("Read-only connections by the route they took")
+        .tag("route", route)
+        .register(meterRegistry);
+  }
+
+  /** Starts the sticky window of a user whose write just became visible. */
+  private void recordWrite(String user) {
+    recentWriters.put(user, Boolean.TRUE);
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+
+  private final class ReadOnlyDataSource extends AbstractDataSource {
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return getReadOnlyConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      throw new SQLFeatureNotSupportedException("Credentials are configured on the pools");
+    }
+  }
+
+  private final class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private WriteTrackingDataSource(DataSource primary) {
+      super(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      Connection connection = super.getConnection();
+      if (currentUser() == null) {
+        // Background jobs and anonymous requests have no reads to keep consistent
+        return connection;
+      }
+      return (Connection)
+          Proxy.newProxyInstance(
+              ConnectionProxy.class.getClassLoader(),
+              new Class<?>[] {ConnectionProxy.class},
+              new WriteTrackingConnection(connection));
+    }
+  }
+
+  /**
+   * Remembers who wrote on a primary connection since the last commit or rollback and records them
+   * once the write is committed: right away in auto-commit mode, otherwise on {@code commit()}.
+   */
+  private final class WriteTrackingConnection implements InvocationHandler {
+
+    private final Connection target;
+    private String pendingWriter;
+
+    private WriteTrackingConnection(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("getTargetConnection")) {
+        return target;
+      }
+      if (method.getName().equals("equals")) {
+        return proxy == args[0];
+      }
+      if (method.getName().equals("hashCode")) {
+        return System.identityHashCode(proxy);
+      }
+      boolean enablesAutoCommit =
+          method.getName().equals("setAutoCommit") && Boolean.TRUE.equals(args[0]);
+      Object result = invokeTarget(target, method, args);
+      switch (method.getName()) {
+        case "commit" -> commitPendingWrite();
+        case "rollback" -> {
+          // A rollback to a savepoint may keep earlier writes
+          if (args == null) {
+            pendingWriter = null;
+          }
+        }
+        case "setAutoCommit" -> {
+          // Enabling auto-commit commits the running transaction
+          if (enablesAutoCommit) {
+            commitPendingWrite();
+          }
+        }
+        case "createStatement", "prepareStatement", "prepareCall" -> {
+          return Proxy.newProxyInstance(
+              ConnectionProxy.class.getClassLoader(),
+              new Class<?>[] {method.getReturnType()},
+              new WriteTrackingStatement((Statement) result, this, (Connection) proxy));
+        }
+        default -> {}
+      }
+      return result;
+    }
+
+    private void wrote() throws SQLException {
+      String user = currentUser();
+      if (user == null) {
+        return;
+      }
+      if (target.getAutoCommit()) {
+        recordWrite(user);
+      } else {
+        pendingWriter = user;
+      }
+    }
+
+    private void commitPendingWrite() {
+      if (pendingWriter != null) {
+        recordWrite(pendingWriter);
+        pendingWriter = null;
+      }
+    }
+  }
+
+  /** Reports the updates and batches executed on a statement to its connection. */
+  private record WriteTrackingStatement(
+      Statement target, WriteTrackingConnection connection, Connection connectionProxy)
+      implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("getConnection")) {
+        return connectionProxy;
+      }
+      Object result = invokeTarget(target, method, args);
+      switch (method.getName()) {
+        case "executeUpdate",
+            "executeLargeUpdate",
+            "executeBatch",
+            "executeLargeBatch" -> connection.wrote();
+          // false means the statement returned an update count rather than rows
+        case "execute" -> {
+          if (Boolean.FALSE.equals(result)) {
+            connection.wrote();
+          }
+        }
+        default -> {}
+      }
+      return result;
+    }
+  }
+
+  private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
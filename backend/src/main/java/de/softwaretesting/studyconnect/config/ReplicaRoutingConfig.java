@@ -0,0 +1,97 @@
+package de.softwaretesting.studyconnect.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}, Spring Data finders) to a
+ * read replica and everything else to the primary. Only active when {@code
+ * studyconnect.datasource.replica.url} is set.
+ *
+ * <p>The application data source is a {@link LazyConnectionDataSourceProxy}: it takes the physical
+ * connection at the first statement, when the transaction's read-only flag is already known, and
+ * asks the {@link ReplicaRouter} for read-only connections. The replica pool inherits {@code
+ * spring.datasource.hikari.*}, overridable under {@code studyconnect.datasource.replica.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty("studyconnect.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+  private static final String REPLICA_PREFIX = "studyconnect.datasource.replica";
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  HikariDataSource replicaDataSource(DataSourceProperties primary, Environment environment) {
+    HikariDataSource replica =
+        primary
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(environment.getRequiredProperty(REPLICA_PREFIX + ".url"))
+            .username(
+                environment.getProperty(REPLICA_PREFIX + ".username", primary.determineUsername()))
+            .password(
+                environment.getProperty(REPLICA_PREFIX + ".password", primary.determinePassword()))
+            .build();
+    Binder binder = Binder.get(environment);
+    binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+    binder.bind(REPLICA_PREFIX + ".hikari", Bindable.ofInstance(replica));
+    replica.setPoolName(
+        environment.getProperty(REPLICA_PREFIX + ".hikari.pool-name", "studyconnect-replica"));
+    replica.setReadOnly(true);
+    return replica;
+  }
+
+  @Bean
+  ReplicaRouter replicaRouter(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.datasource.replica.lag-query:}") String lagQuery,
+      @Value("${studyconnect.datasource.replica.max-lag:5s}") Duration maxLag,
+      @Value("${studyconnect.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+    return new ReplicaRouter(
+        primary,
+        replica,
+        meterRegistry,
+        lagQuery.isBlank() ? ReplicaRouter.POSTGRES_LAG_QUERY : lagQuery,
+        maxLag,
+        stickyWindow);
+  }
+
+  /** The data source JPA, Flyway and everything else uses. */
+  @Bean
+  @Primary
+  DataSource dataSource(ReplicaRouter router) {
+    return routingDataSource(router);
+  }
+
+  static LazyConnectionDataSourceProxy routingDataSource(ReplicaRouter router) {
+    LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(router.writeTrackingDataSource());
+    dataSource.setReadOnlyDataSource(router.readOnlyDataSource());
+    // Known up front, so the proxy never opens a connection just to look them up
+    dataSource.setDefaultAutoCommit(true);
+    dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    return dataSource;
+  }
+}
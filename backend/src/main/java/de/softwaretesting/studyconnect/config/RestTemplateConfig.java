@@ -1,14 +1,86 @@
 package de.softwaretesting.studyconnect.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * HTTP client for the Keycloak admin calls. Connections are pooled and kept alive, so bursts of
+ * admin calls (for example sign-ups) reuse established connections instead of opening a new TCP/TLS
+ * connection per call. Limits and timeouts are configured under {@code
+ * studyconnect.keycloak.http.*}; the pool is published as {@code httpcomponents.httpclient.pool.*}
+ * metrics tagged {@code httpclient=keycloak}.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+  static final String POOL_METRICS_NAME = "keycloak";
+
+  @Bean(destroyMethod = "close")
+  public PoolingHttpClientConnectionManager keycloakConnectionManager(
+      @Value("${studyconnect.keycloak.http.max-connections:50}") int maxConnections,
+      @Value("${studyconnect.keycloak.http.max-connections-per-route:20}") int maxPerRoute,
+      @Value("${studyconnect.keycloak.http.connect-timeout:2s}") Duration connectTimeout,
+      @Value("${studyconnect.keycloak.http.read-timeout:10s}") Duration readTimeout,
+      @Value("${studyconnect.keycloak.http.time-to-live:5m}") Duration timeToLive) {
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(maxConnections)
+        .setMaxConnPerRoute(maxPerRoute)
+        .setDefaultConnectionConfig(
+            ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                // Keycloak may close idle keep-alive connections, check them before reuse
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .setTimeToLive(TimeValue.of(timeToLive))
+                .build())
+        .build();
+  }
+
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient keycloakHttpClient(
+      PoolingHttpClientConnectionManager keycloakConnectionManager,
+      @Value("${studyconnect.keycloak.http.read-timeout:10s}") Duration readTimeout,
+      @Value("${studyconnect.keycloak.http.pool-timeout:2s}") Duration poolTimeout,
+      @Value("${studyconnect.keycloak.http.idle-timeout:30s}") Duration idleTimeout) {
+    return HttpClients.custom()
+        .setConnectionManager(keycloakConnectionManager)
+        .setDefaultRequestConfig(
+            RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(idleTimeout))
+        .build();
+  }
+
+  @Bean
+  public MeterBinder keycloakConnectionPoolMetrics(
+      PoolingHttpClientConnectionManager keycloakConnectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(
+        keycloakConnectionManager, POOL_METRICS_NAME);
+  }
+
+  /**
+   * Creates the template on the pooled client. The template keeps its own message converters rather
+   * than the application's snake_case object mapper, because the Keycloak admin API uses camelCase.
+   */
   @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(CloseableHttpClient keycloakHttpClient) {
+    return new RestTemplate(new HttpComponentsClientHttpRequestFactory(keycloakHttpClient));
   }
 }
@@ -0,0 +1,9 @@
+package de.softwaretesting.studyconnect.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables {@code @Scheduled} background jobs such as the Keycloak event sync. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
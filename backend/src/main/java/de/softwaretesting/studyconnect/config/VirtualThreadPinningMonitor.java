@@ -0,0 +1,130 @@
+package de.softwaretesting.studyconnect.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically inside a
+ * {@code synchronized} block or a native call. A pinned virtual thread holds one of the few carrier
+ * threads, so a handful of them can stall all request handling.
+ *
+ * <p>Pinning is observed through the JFR event {@value #PINNED_EVENT}, which the JVM emits when a
+ * pinned virtual thread blocks longer than the configured threshold. Every occurrence is timed in
+ * {@value #PINNED_METRIC}, tagged with the site: the innermost application frame, or the top frame
+ * if the stack has none. The first occurrence per site is logged with its stack trace.
+ *
+ * <p>Only active with {@code spring.threads.virtual.enabled=true}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  static final String PINNED_METRIC = "studyconnect.virtual_threads.pinned";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+  private static final String APPLICATION_PACKAGE = "de.softwaretesting.studyconnect.";
+  private static final int LOGGED_FRAMES = 12;
+
+  private final MeterRegistry meterRegistry;
+  private final Duration threshold;
+  private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+    this.meterRegistry = meterRegistry;
+    this.threshold = threshold;
+  }
+
+  /** Starts streaming pinning events in the background. */
+  @PostConstruct
+  public void start() {
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::record);
+    stream.startAsync();
+    LOGGER.info("Reporting virtual threads pinned for longer than {}", threshold);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  private void record(RecordedEvent event) {
+    List<RecordedFrame> frames =
+        event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+    String site = site(frames);
+    Timer.builder(PINNED_METRIC)
+        .description("Time virtual threads spent blocked while pinned to their carrier")
+        .tag("site", site)
+        .register(meterRegistry)
+        .record(event.getDuration());
+    if (reportedSites.add(site)) {
+      LOGGER.warn(
+          "Virtual thread pinned for {} ms at {}:\n{}",
+          event.getDuration().toMillis(),
+          site,
+          format(event.getStackTrace()));
+    } else {
+      LOGGER.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+    }
+  }
+
+  private static String site(List<RecordedFrame> frames) {
+    for (RecordedFrame frame : frames) {
+      String type = frame.getMethod().getType().getName();
+      if (type.startsWith(APPLICATION_PACKAGE)) {
+        return type + "." + frame.getMethod().getName();
+      }
+    }
+    if (frames.isEmpty()) {
+      return "unknown";
+    }
+    RecordedFrame top = frames.get(0);
+    return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+  }
+
+  private static String format(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "\tno stack trace";
+    }
+    StringBuilder trace = new StringBuilder();
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+      RecordedFrame frame = frames.get(i);
+      trace
+          .append("\tat ")
+          .append(frame.getMethod().getType().getName())
+          .append('.')
+          .append(frame.getMethod().getName())
+          .append(':')
+          .append(frame.getLineNumber())
+          .append('\n');
+    }
+    if (frames.size() > LOGGED_FRAMES || stackTrace.isTruncated()) {
+      trace.append("\t...\n");
+    }
+    return trace.toString();
+  }
+}
@@ -0,0 +1,93 @@
+package de.softwaretesting.studyconnect.controllers;
+
+import de.softwaretesting.studyconnect.dtos.request.CommentRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CommentResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.services.CommentService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api")
+@Validated
+public class CommentController {
+
+  private final CommentService commentService;
+
+  /**
+   * Retrieves one page of the comment threads of a group.
+   *
+   * @param groupId the ID of the group
+   * @param cursor the cursor returned with the previous page; omit it for the first page
+   * @param size the page size (1-100)
+   * @param order {@code newest} (default) or {@code oldest}
+   * @param depth the levels of reply previews to include (0-3)
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   */
+  @GetMapping("/groups/{groupId}/comments")
+  public ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> getGroupComments(
+      @PathVariable("groupId") Long groupId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20")
+          @Min(value = 1, message = "Size must be at least 1")
+          @Max(value = 100, message = "Size must not exceed 100")
+          int size,
+      @RequestParam(required = false) String order,
+      @RequestParam(defaultValue = "1")
+          @Min(value = 0, message = "Depth must not be negative")
+          @Max(value = 3, message = "Depth must not exceed 3")
+          int depth) {
+    return commentService.getGroupComments(groupId, cursor, size, order, depth);
+  }
+
+  /**
+   * Creates a comment in a group, or a reply to another comment of the group.
+   *
+   * @param groupId the ID of the group
+   * @param comment the content, author and optional parent of the comment
+   * @return a ResponseEntity containing the created comment
+   */
+  @PostMapping("/groups/{groupId}/comments")
+  public ResponseEntity<CommentResponseDTO> createComment(
+      @PathVariable("groupId") Long groupId, @Valid @RequestBody CommentRequestDTO comment) {
+    return commentService.createComment(groupId, comment);
+  }
+
+  /**
+   * Retrieves one page of the direct replies to a comment.
+   *
+   * @param commentId the ID of the comment
+   * @param cursor the cursor returned with the previous page; omit it for the first page
+   * @param size the page size (1-100)
+   * @param order {@code oldest} (default) or {@code newest}
+   * @param depth the levels of reply previews to include (0-3)
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   */
+  @GetMapping("/comments/{commentId}/replies")
+  public ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> getReplies(
+      @PathVariable("commentId") Long commentId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20")
+          @Min(value = 1, message = "Size must be at least 1")
+          @Max(value = 100, message = "Size must not exceed 100")
+          int size,
+      @RequestParam(required = false) String order,
+      @RequestParam(defaultValue = "0")
+          @Min(value = 0, message = "Depth must not be negative")
+          @Max(value = 3, message = "Depth must not exceed 3")
+          int depth) {
+    return commentService.getReplies(commentId, cursor, size, order, depth);
+  }
+}
@@ -2,15 +2,23 @@ package de.softwaretesting.studyconnect.controllers;
 
 import de.softwaretesting.studyconnect.dtos.request.CreateGroupRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateGroupRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.GroupResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.BadRequestException;
 import de.softwaretesting.studyconnect.services.GroupService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
@@ -36,6 +45,37 @@ public class GroupController {
     return groupService.getAllPublicGroups();
   }
 
+  /**
+   * Retrieves one page of public groups. Selected when the {@code size} parameter is present.
+   *
+   * @param cursor the cursor returned with the previous page; omit it for the first page
+   * @param size the page size (1-100)
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   */
+  @GetMapping(params = "size")
+  ResponseEntity<CursorPageResponseDTO<GroupResponseDTO>> getPublicGroupsPage(
+      @RequestParam(required = false) String cursor,
+      @RequestParam
+          @Min(value = 1, message = "Size must be at least 1")
+          @Max(value = 100, message = "Size must not exceed 100")
+          int size) {
+    return groupService.getPublicGroupsPage(cursor, size);
+  }
+
+  /**
+   * Streams all public groups as a JSON array while they are read from the database. Selected with
+   * {@code stream=true}.
+   *
+   * @param response the servlet response the JSON array is written to
+   * @throws IOException if writing the response fails
+   */
+  @GetMapping(params = {"stream=true", "!size"})
+  void streamPublicGroups(HttpServletResponse response) throws IOException {
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    groupService.streamPublicGroups(response.getOutputStream());
+  }
+
   /**
    * Searches for public groups by name.
    *
@@ -51,6 +91,50 @@ public class GroupController {
     return groupService.searchPublicGroups(query);
   }
 
+  /**
+   * Searches public groups by name and description, best match first. Selected when the {@code
+   * size} parameter is present.
+   *
+   * @param query the search terms
+   * @param page the zero-based page index
+   * @param size the page size (1-100)
+   * @return a ResponseEntity containing the requested page of matching groups
+   */
+  @GetMapping(value = "/search", params = "size")
+  ResponseEntity<PageResponseDTO<GroupResponseDTO>> searchPublicGroupsPage(
+      @RequestParam @NotBlank(message = "Query must not be blank") String query,
+      @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must not be negative")
+          int page,
+      @RequestParam
+          @Min(value = 1, message = "Size must be at least 1")
+          @Max(value = 100, message = "Size must not exceed 100")
+          int size) {
+    if (query == null || query.isBlank()) {
+      throw new BadRequestException("Query must not be blank");
+    }
+    return groupService.searchPublicGroupsPage(query, page, size);
+  }
+
+  /**
+   * Suggests public groups whose name starts with the given prefix, for search autocompletion.
+   *
+   * @param prefix the typed prefix
+   * @param limit the maximum number of suggestions (1-25)
+   * @return a ResponseEntity containing the suggestions in name order
+   */
+  @GetMapping("/search/suggest")
+  ResponseEntity<List<GroupSuggestionResponseDTO>> suggestPublicGroups(
+      @RequestParam @NotBlank(message = "Prefix must not be blank") String prefix,
+      @RequestParam(defaultValue = "10")
+          @Min(value = 1, message = "Limit must be at least 1")
+          @Max(value = 25, message = "Limit must not exceed 25")
+          int limit) {
+    if (prefix == null || prefix.isBlank()) {
+      throw new BadRequestException("Prefix must not be blank");
+    }
+    return groupService.suggestPublicGroups(prefix, limit);
+  }
+
   @PostMapping
   ResponseEntity<GroupResponseDTO> createGroup(@RequestBody @Valid CreateGroupRequestDTO dto) {
     return this.groupService.createGroup(dto);
@@ -115,6 +199,20 @@ public class GroupController {
     return groupService.getAdminsByGroupId(groupId);
   }
 
+  /**
+   * Opens a server-sent event stream of the changes of a group. Every event names the change and
+   * the id of the task, user or comment it is about; clients reload only that entity. The stream is
+   * closed after a timeout, when the group is deleted or when the client falls behind, and the
+   * client is expected to reconnect.
+   *
+   * @param groupId the ID of the group
+   * @return the emitter of the stream
+   */
+  @GetMapping(value = "/{groupId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  SseEmitter streamGroupActivity(@PathVariable Long groupId) {
+    return groupService.subscribeToActivity(groupId);
+  }
+
   @DeleteMapping("/{groupId}/members/{userId}")
   ResponseEntity<Void> removeMemberFromGroup(
       @PathVariable Long groupId, @PathVariable Long userId) {
@@ -0,0 +1,32 @@
+package de.softwaretesting.studyconnect.controllers;
+
+import de.softwaretesting.studyconnect.dtos.response.KeycloakAdminEventDTO;
+import de.softwaretesting.studyconnect.services.KeycloakEventSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/keycloak/events")
+public class KeycloakEventController {
+
+  private final KeycloakEventSyncService keycloakEventSyncService;
+
+  /**
+   * Receives a Keycloak admin event from an event webhook and applies it to the local users right
+   * away. The polling sync sees the event later as well, which is harmless because applying an
+   * event is idempotent. Callers authenticate with the shared webhook secret (see SecurityConfig).
+   *
+   * @param event the admin event
+   * @return no content
+   */
+  @PostMapping
+  public ResponseEntity<Void> receiveAdminEvent(@RequestBody KeycloakAdminEventDTO event) {
+    keycloakEventSyncService.applyEvent(event);
+    return ResponseEntity.noContent().build();
+  }
+}
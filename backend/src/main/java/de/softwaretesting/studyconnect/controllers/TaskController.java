@@ -1,7 +1,10 @@
 package de.softwaretesting.studyconnect.controllers;
 
+import de.softwaretesting.studyconnect.dtos.request.BatchTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.request.TaskQueryRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.TaskRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.TaskResponseDTO;
 import de.softwaretesting.studyconnect.services.TaskService;
 import jakarta.validation.Valid;
@@ -10,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -30,18 +34,61 @@ public class TaskController {
     return taskService.getAllTasksInGroup(groupId);
   }
 
+  /**
+   * Retrieves one page of the tasks in a group. Selected when the {@code size} parameter is
+   * present; filters by status, priority, category and due date range and sorts by {@code sort},
+   * e.g. {@code dueDate,-priority}.
+   *
+   * @param groupId the ID of the group
+   * @param query the filter, sort order, cursor and page size (1-100)
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   */
+  @GetMapping(value = "/tasks/groups/{groupId}", params = "size")
+  public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> getTasksPageByGroupId(
+      @PathVariable("groupId") Long groupId, @Valid @ModelAttribute TaskQueryRequestDTO query) {
+    return taskService.getTasksInGroupPage(groupId, query);
+  }
+
   @GetMapping("/tasks/users/{userId}")
   public ResponseEntity<List<TaskResponseDTO>> getTaskByUserId(
       @PathVariable("userId") Long userId) {
     return taskService.getAllTasksAssignedToUser(userId);
   }
 
+  /**
+   * Retrieves one page of the tasks assigned to a user. Selected when the {@code size} parameter is
+   * present; accepts the same filters and sort keys as {@link #getTasksPageByGroupId}.
+   *
+   * @param userId the ID of the user
+   * @param query the filter, sort order, cursor and page size (1-100)
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   */
+  @GetMapping(value = "/tasks/users/{userId}", params = "size")
+  public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> getTasksPageByUserId(
+      @PathVariable("userId") Long userId, @Valid @ModelAttribute TaskQueryRequestDTO query) {
+    return taskService.getTasksAssignedToUserPage(userId, query);
+  }
+
   @PostMapping("/tasks/groups/{groupId}")
   public ResponseEntity<TaskResponseDTO> createTask(
       @PathVariable("groupId") Long groupId, @Valid @RequestBody TaskRequestDTO task) {
     return taskService.createTask(groupId, task);
   }
 
+  /**
+   * Creates up to 500 tasks in a group with one request. The batch is validated as a whole and
+   * either all tasks are created or none.
+   *
+   * @param groupId the ID of the group
+   * @param batch the tasks to create
+   * @return a ResponseEntity containing the created tasks in request order
+   */
+  @PostMapping("/tasks/groups/{groupId}/batch")
+  public ResponseEntity<List<TaskResponseDTO>> createTasks(
+      @PathVariable("groupId") Long groupId, @Valid @RequestBody BatchTaskRequestDTO batch) {
+    return taskService.createTasks(groupId, batch);
+  }
+
   @PutMapping("/tasks/{taskId}")
   public ResponseEntity<TaskResponseDTO> updateTask(
       @PathVariable("taskId") Long taskId, @Valid @RequestBody UpdateTaskRequestDTO task) {
@@ -2,31 +2,75 @@ package de.softwaretesting.studyconnect.controllers;
 
 import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UserUpdateRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.UserRegistrationResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
+import de.softwaretesting.studyconnect.services.UserRegistrationService;
 import de.softwaretesting.studyconnect.services.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/users")
+@Validated
 public class UserController {
 
   private final UserService userService;
+  private final UserRegistrationService userRegistrationService;
 
   @GetMapping
-  public ResponseEntity<java.util.List<UserResponseDTO>> getAllUsers() {
+  public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
     return userService.getAllUsers();
   }
 
+  /**
+   * Retrieves one page of users. Selected when the {@code size} parameter is present.
+   *
+   * @param page the zero-based page index
+   * @param size the page size (1-100)
+   * @param sort comma separated sort keys, e.g. {@code lastname,-createdAt}
+   * @return a ResponseEntity containing the requested page of users
+   */
+  @GetMapping(params = {"size", "!ids"})
+  public ResponseEntity<PageResponseDTO<UserResponseDTO>> getUsersPage(
+      @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must not be negative")
+          int page,
+      @RequestParam
+          @Min(value = 1, message = "Size must be at least 1")
+          @Max(value = 100, message = "Size must not exceed 100")
+          int size,
+      @RequestParam(required = false) String sort) {
+    return userService.getUsersPage(page, size, sort);
+  }
+
+  /**
+   * Retrieves the users with the given IDs in one request. Selected when the {@code ids} parameter
+   * is present.
+   *
+   * @param ids comma separated user IDs (at most 100)
+   * @return a ResponseEntity containing the existing users in ID order
+   */
+  @GetMapping(params = "ids")
+  public ResponseEntity<List<UserResponseDTO>> getUsersByIds(@RequestParam Set<Long> ids) {
+    return userService.getUserResponsesByIds(ids);
+  }
+
   /**
    * Retrieves a user by their ID.
    *
@@ -64,6 +108,35 @@ public class UserController {
     return userService.createUser(userRequestDTO);
   }
 
+  /**
+   * Starts an asynchronous registration. The local user is created as pending and the Keycloak
+   * account is provisioned in the background; the returned status resource reports when it is
+   * completed or failed.
+   *
+   * @param userRequestDTO the user data
+   * @return 202 Accepted with the registration status and its location
+   */
+  @PostMapping("/registrations")
+  public ResponseEntity<UserRegistrationResponseDTO> registerUser(
+      @Valid @RequestBody UserCreateRequestDTO userRequestDTO) {
+    UserRegistrationResponseDTO registration = userRegistrationService.register(userRequestDTO);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/users/registrations/" + registration.getId()))
+        .body(registration);
+  }
+
+  /**
+   * Retrieves the status of an asynchronous registration.
+   *
+   * @param registrationId the id of the registration
+   * @return the registration status
+   */
+  @GetMapping("/registrations/{registrationId}")
+  public ResponseEntity<UserRegistrationResponseDTO> getRegistration(
+      @PathVariable("registrationId") String registrationId) {
+    return ResponseEntity.ok(userRegistrationService.getRegistration(registrationId));
+  }
+
   /**
    * Retrieves the user associated with the current access token.
    *
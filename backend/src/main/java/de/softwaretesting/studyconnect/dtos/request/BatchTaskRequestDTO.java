@@ -0,0 +1,27 @@
+package de.softwaretesting.studyconnect.dtos.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Value;
+
+/** Data Transfer Object for creating several tasks in one group with a single request. */
+@Value
+public class BatchTaskRequestDTO {
+
+  public static final int MAX_TASKS = 500;
+
+  @NotEmpty(message = "At least one task is required")
+  @Size(max = MAX_TASKS, message = "A batch must not contain more than 500 tasks")
+  @Valid
+  private List<TaskRequestDTO> tasks;
+
+  // Explicit creator: a single-argument constructor would otherwise be read as a delegating one
+  @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+  public BatchTaskRequestDTO(@JsonProperty("tasks") List<TaskRequestDTO> tasks) {
+    this.tasks = tasks;
+  }
+}
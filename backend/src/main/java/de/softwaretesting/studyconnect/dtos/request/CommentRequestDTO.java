@@ -0,0 +1,21 @@
+package de.softwaretesting.studyconnect.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import lombok.Value;
+
+/** Data Transfer Object for creating a comment or a reply. */
+@Value
+public class CommentRequestDTO implements Serializable {
+  @NotBlank(message = "Content is required")
+  @Size(max = 5000, message = "Content must not exceed 5000 characters")
+  private String content;
+
+  @NotNull(message = "Creator ID is required")
+  private Long createdById;
+
+  /* The comment this one replies to; omit it to start a thread */
+  private Long parentId;
+}
@@ -0,0 +1,39 @@
+package de.softwaretesting.studyconnect.dtos.request;
+
+import de.softwaretesting.studyconnect.models.Task.Priority;
+import de.softwaretesting.studyconnect.models.Task.Status;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters of the paged task listings. Bound from the request parameters, so the fields are
+ * mutable and named like the parameters.
+ */
+@Data
+public class TaskQueryRequestDTO {
+  private Set<Status> status;
+
+  private Set<Priority> priority;
+
+  private String category;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime dueFrom;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime dueTo;
+
+  private String sort;
+
+  private String cursor;
+
+  @NotNull(message = "Size is required")
+  @Min(value = 1, message = "Size must be at least 1")
+  @Max(value = 100, message = "Size must not exceed 100")
+  private Integer size;
+}
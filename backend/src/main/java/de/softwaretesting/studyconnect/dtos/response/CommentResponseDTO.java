@@ -0,0 +1,23 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for comment responses. {@code replies} holds a preview of the oldest direct
+ * replies down to the requested depth; {@code replyCount} tells whether more can be paged through.
+ */
+@Value
+public class CommentResponseDTO implements Serializable {
+  private Long id;
+  private Long groupId;
+  private Long parentId;
+  private Long createdById;
+  private String content;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+  private long replyCount;
+  private List<CommentResponseDTO> replies;
+}
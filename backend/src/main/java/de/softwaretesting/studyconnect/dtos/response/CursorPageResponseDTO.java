@@ -0,0 +1,14 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for one keyset-paginated page. {@code nextCursor} is {@code null} on the
+ * last page.
+ */
+@Value
+public class CursorPageResponseDTO<T> {
+  private List<T> items;
+  private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for a change in a group, pushed to the group's activity stream. The event
+ * only names what changed; {@code entityId} is the id of the task, user or comment the event is
+ * about (or the group itself), so clients reload just that entity.
+ */
+@Value
+public class GroupActivityEventDTO implements Serializable {
+  private Type type;
+  private Long groupId;
+  private Long entityId;
+  private LocalDateTime occurredAt;
+
+  /** The kind of change. */
+  public enum Type {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    MEMBER_JOINED,
+    MEMBER_LEFT,
+    ADMIN_REMOVED,
+    COMMENT_CREATED,
+    GROUP_UPDATED,
+    GROUP_DELETED
+  }
+}
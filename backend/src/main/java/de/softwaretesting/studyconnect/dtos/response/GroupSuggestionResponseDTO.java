@@ -0,0 +1,10 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import lombok.Value;
+
+/** Data Transfer Object for a group name autocompletion entry. */
+@Value
+public class GroupSuggestionResponseDTO {
+  private Long id;
+  private String name;
+}
@@ -0,0 +1,26 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for Keycloak admin events, as returned by the admin events endpoint and as
+ * pushed by event webhooks. Keycloak sends camelCase properties, so they are named explicitly.
+ */
+@Value
+public class KeycloakAdminEventDTO {
+
+  /** Time of the event in epoch milliseconds. */
+  @JsonProperty("time")
+  private Long time;
+
+  @JsonProperty("operationType")
+  private String operationType;
+
+  @JsonProperty("resourceType")
+  private String resourceType;
+
+  /** Path of the changed resource relative to the realm, e.g. {@code users/<uuid>}. */
+  @JsonProperty("resourcePath")
+  private String resourcePath;
+}
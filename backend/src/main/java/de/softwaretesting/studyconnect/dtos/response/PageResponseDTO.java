@@ -0,0 +1,16 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for one page of an offset-paginated result. No total count is returned;
+ * {@code hasNext} tells whether another page exists.
+ */
+@Value
+public class PageResponseDTO<T> {
+  private List<T> items;
+  private int page;
+  private int size;
+  private boolean hasNext;
+}
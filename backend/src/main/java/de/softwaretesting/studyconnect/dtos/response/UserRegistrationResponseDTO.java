@@ -0,0 +1,13 @@
+package de.softwaretesting.studyconnect.dtos.response;
+
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import lombok.Value;
+
+/** Data Transfer Object for the status of an asynchronous user registration. */
+@Value
+public class UserRegistrationResponseDTO {
+  private String id;
+  private UserRegistration.Status status;
+  private Long userId;
+  private String failureReason;
+}
@@ -90,4 +90,12 @@ public class GlobalExceptionHandler {
       ConflictException ex, HttpServletRequest request) {
     return createResponseEntity(HttpStatus.CONFLICT, "Conflict", ex.getMessage(), request);
   }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<Map<String, Object>> handleServiceUnavailableException(
+      ServiceUnavailableException ex, HttpServletRequest request) {
+    return createResponseEntity(
+        HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), request);
+  }
 }
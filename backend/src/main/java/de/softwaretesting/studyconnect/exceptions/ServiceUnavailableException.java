@@ -0,0 +1,7 @@
+package de.softwaretesting.studyconnect.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+  public ServiceUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.Getter;
@@ -22,7 +23,8 @@ import lombok.Setter;
 public class Comment {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+  @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
   @Column(name = "id", nullable = false)
   private Long id;
 
@@ -34,6 +36,15 @@ public class Comment {
   @JoinColumn(name = "created_in", nullable = false)
   private Group createdIn;
 
+  /* The comment this one replies to; null for the first comment of a thread */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "parent_id")
+  private Comment parent;
+
+  /* Number of direct replies; maintained by CommentRepository.incrementReplyCount, never updated */
+  @Column(name = "reply_count", nullable = false, updatable = false)
+  private int replyCount;
+
   @Column(name = "created_at", nullable = false)
   private LocalDateTime createdAt;
 
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -15,9 +16,12 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashSet;
@@ -31,13 +35,18 @@ import lombok.ToString;
 @Getter
 @Setter
 @ToString(exclude = {"tasks", "members", "admins", "createdBy"})
-@Table(name = "groups")
+@Table(
+    name = "groups",
+    indexes = {
+      @Index(name = "idx_groups_public_updated_at_id", columnList = "is_public, updated_at, id")
+    })
 public class Group {
   private static final SecureRandom INVITE_CODE_RANDOM = new SecureRandom();
   private static final int INVITE_CODE_BYTES = 16;
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "groups_seq")
+  @SequenceGenerator(name = "groups_seq", sequenceName = "groups_seq", allocationSize = 50)
   @Column(name = "id", nullable = false)
   private Long id;
 
@@ -91,10 +100,15 @@ public class Group {
   @Column(name = "member_count", nullable = false)
   private int memberCount;
 
+  // The default lets the column be added to existing tables
+  @Version
+  @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+  private long version;
+
   @PrePersist
   protected void onCreate() {
-    this.createdAt = LocalDateTime.now();
-    this.updatedAt = LocalDateTime.now();
+    this.createdAt = now();
+    this.updatedAt = this.createdAt;
     if (this.inviteCode == null || this.inviteCode.isBlank()) {
       this.inviteCode = generateInviteCode();
     }
@@ -103,7 +117,12 @@ public class Group {
 
   @PreUpdate
   protected void onUpdate() {
-    this.updatedAt = LocalDateTime.now();
+    this.updatedAt = now();
+  }
+
+  // The columns keep microseconds, so the keyset cursor must compare what was stored
+  private static LocalDateTime now() {
+    return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
   }
 
   private static String generateInviteCode() {
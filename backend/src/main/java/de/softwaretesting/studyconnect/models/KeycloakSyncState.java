@@ -0,0 +1,36 @@
+package de.softwaretesting.studyconnect.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Progress of a Keycloak synchronization, so a restarted application resumes where it stopped. */
+@Entity
+@Getter
+@Setter
+@Table(name = "keycloak_sync_state")
+public class KeycloakSyncState {
+
+  @Id
+  @Column(name = "name", length = 64, nullable = false)
+  private String name;
+
+  /** Time of the newest applied event in epoch milliseconds. */
+  @Column(name = "last_event_time", nullable = false)
+  private long lastEventTime;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onUpdate() {
+    this.updatedAt = LocalDateTime.now();
+  }
+}
@@ -18,6 +18,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
@@ -39,7 +40,8 @@ import lombok.Setter;
 public class Task {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+  @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
   @EqualsAndHashCode.Include
   @Column(name = "id", nullable = false)
   private Long id;
@@ -0,0 +1,65 @@
+package de.softwaretesting.studyconnect.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * State of an asynchronous registration. The id is a random UUID, because the status resource is
+ * read before the user can sign in.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "user_registrations")
+public class UserRegistration {
+
+  @Id
+  @Column(name = "id", length = 36, nullable = false)
+  private String id;
+
+  /** The pending local user, or null once a failed registration released it. */
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", length = 16, nullable = false)
+  private Status status = Status.PENDING;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "failure_reason")
+  private String failureReason;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    this.createdAt = LocalDateTime.now();
+    this.updatedAt = this.createdAt;
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  public enum Status {
+    PENDING,
+    COMPLETED,
+    FAILED
+  }
+}
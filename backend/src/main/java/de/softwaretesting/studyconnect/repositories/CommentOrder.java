@@ -0,0 +1,35 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** The order of a comment listing. Comments with the same creation time are ordered by id. */
+@Getter
+@RequiredArgsConstructor
+public enum CommentOrder {
+  NEWEST_FIRST("newest"),
+  OLDEST_FIRST("oldest");
+
+  private final String parameterName;
+
+  /**
+   * Parses the {@code order} request parameter.
+   *
+   * @param name {@code newest} or {@code oldest}, or null for the default
+   * @param defaultOrder the order used when no name is given
+   * @return the order
+   * @throws BadRequestException if the name is unknown
+   */
+  public static CommentOrder parse(String name, CommentOrder defaultOrder) {
+    if (name == null || name.isBlank()) {
+      return defaultOrder;
+    }
+    for (CommentOrder order : values()) {
+      if (order.parameterName.equals(name.trim())) {
+        return order;
+      }
+    }
+    throw new BadRequestException("Unknown comment order: " + name);
+  }
+}
@@ -0,0 +1,36 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Keyset-paginated comment listings, see {@link CommentQueryRepositoryImpl}. */
+public interface CommentQueryRepository {
+
+  /**
+   * Returns one page of the comments of a group that start a thread, i.e. have no parent.
+   *
+   * @param groupId the ID of the group
+   * @param order the listing order
+   * @param afterCreatedAt the creation time of the last comment of the previous page, or null for
+   *     the first page
+   * @param afterId the ID of the last comment of the previous page, or null for the first page
+   * @param limit the maximum number of rows
+   * @return the comment rows in listing order
+   */
+  List<CommentRow> findThreadStarters(
+      Long groupId, CommentOrder order, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+  /**
+   * Returns one page of the direct replies to a comment.
+   *
+   * @param parentId the ID of the comment the replies answer
+   * @param order the listing order
+   * @param afterCreatedAt the creation time of the last reply of the previous page, or null for the
+   *     first page
+   * @param afterId the ID of the last reply of the previous page, or null for the first page
+   * @param limit the maximum number of rows
+   * @return the comment rows in listing order
+   */
+  List<CommentRow> findReplies(
+      Long parentId, CommentOrder order, LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,97 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.Comment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Criteria implementation of {@link CommentQueryRepository}.
+ *
+ * <p>Pages continue after the {@code (createdAt, id)} position of the previous page's last row, so
+ * the predicate and the order match the {@code (created_in, created_at, id)} and {@code (parent_id,
+ * created_at, id)} indexes and a page costs the same at any depth of the listing.
+ */
+@RequiredArgsConstructor
+public class CommentQueryRepositoryImpl implements CommentQueryRepository {
+
+  private final EntityManager entityManager;
+
+  @Override
+  public List<CommentRow> findThreadStarters(
+      Long groupId, CommentOrder order, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+    return findPage(
+        (cb, comment) ->
+            List.of(
+                cb.equal(comment.get("createdIn").get("id"), groupId),
+                cb.isNull(comment.get("parent"))),
+        order,
+        afterCreatedAt,
+        afterId,
+        limit);
+  }
+
+  @Override
+  public List<CommentRow> findReplies(
+      Long parentId, CommentOrder order, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+    return findPage(
+        (cb, comment) -> List.of(cb.equal(comment.get("parent").get("id"), parentId)),
+        order,
+        afterCreatedAt,
+        afterId,
+        limit);
+  }
+
+  private List<CommentRow> findPage(
+      BiFunction<CriteriaBuilder, Root<Comment>, List<Predicate>> scope,
+      CommentOrder order,
+      LocalDateTime afterCreatedAt,
+      Long afterId,
+      int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<CommentRow> query = cb.createQuery(CommentRow.class);
+    Root<Comment> comment = query.from(Comment.class);
+    List<Predicate> predicates = new ArrayList<>(scope.apply(cb, comment));
+    Path<LocalDateTime> createdAt = comment.get("createdAt");
+    Path<Long> id = comment.get("id");
+    boolean descending = order == CommentOrder.NEWEST_FIRST;
+
+    if (afterCreatedAt != null && afterId != null) {
+      predicates.add(
+          descending
+              ? cb.or(
+                  cb.lessThan(createdAt, afterCreatedAt),
+                  cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId)))
+              : cb.or(
+                  cb.greaterThan(createdAt, afterCreatedAt),
+                  cb.and(cb.equal(createdAt, afterCreatedAt), cb.greaterThan(id, afterId))));
+    }
+
+    query
+        .select(
+            cb.construct(
+                CommentRow.class,
+                id,
+                comment.get("createdIn").get("id"),
+                comment.get("parent").get("id"),
+                comment.get("createdBy").get("id"),
+                comment.get("content"),
+                createdAt,
+                comment.get("updatedAt"),
+                comment.get("replyCount")))
+        .where(predicates.toArray(Predicate[]::new))
+        .orderBy(
+            descending
+                ? List.of(cb.desc(createdAt), cb.desc(id))
+                : List.of(cb.asc(createdAt), cb.asc(id)));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
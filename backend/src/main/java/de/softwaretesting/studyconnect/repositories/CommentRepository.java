@@ -1,6 +1,58 @@
 package de.softwaretesting.studyconnect.repositories;
 
 import de.softwaretesting.studyconnect.models.Comment;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {}
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentQueryRepository {
+
+  String COMMENT_ROW =
+      "new de.softwaretesting.studyconnect.repositories.CommentRow(c.id, c.createdIn.id,"
+          + " c.parent.id, c.createdBy.id, c.content, c.createdAt, c.updatedAt, c.replyCount)";
+
+  /** Returns the row of a single comment. */
+  @Query("select " + COMMENT_ROW + " from Comment c where c.id = :id")
+  Optional<CommentRow> findRowById(@Param("id") Long id);
+
+  /** Returns the rows of the given comments, grouped by parent and oldest first. */
+  @Query(
+      "select "
+          + COMMENT_ROW
+          + " from Comment c where c.id in :ids order by c.parent.id, c.createdAt, c.id")
+  List<CommentRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Counts a new direct reply of a comment. The increment happens in the database, so concurrent
+   * replies are not lost.
+   */
+  @Modifying
+  @Query("update Comment c set c.replyCount = c.replyCount + 1 where c.id = :id")
+  int incrementReplyCount(@Param("id") Long id);
+
+  /**
+   * Returns the IDs of the oldest {@code limit} replies of each given comment. The lateral subquery
+   * reads at most {@code limit} rows per parent from the {@code (parent_id, created_at, id)} index,
+   * however many replies a thread has. PostgreSQL only.
+   */
+  @Query(
+      value =
+          """
+          select r.id
+          from comments p
+          cross join lateral (
+            select c.id from comments c
+            where c.parent_id = p.id
+            order by c.created_at, c.id
+            limit :limit
+          ) r
+          where p.id in (:parentIds)
+          """,
+      nativeQuery = true)
+  List<Long> findFirstReplyIds(
+      @Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+}
@@ -0,0 +1,18 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a comment row, read for listings instead of the entity. Group, parent and author
+ * are only referenced by their foreign keys, so neither {@code User} nor {@code Group} is loaded.
+ * The reply count is the denormalized {@code reply_count} column.
+ */
+public record CommentRow(
+    Long id,
+    Long groupId,
+    Long parentId,
+    Long createdById,
+    String content,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    int replyCount) {}
@@ -0,0 +1,7 @@
+package de.softwaretesting.studyconnect.repositories;
+
+/**
+ * Minimal view of a group for write paths that do not need the entity: its id and whether it is
+ * public, which decides which cached listings a change invalidates.
+ */
+public record GroupRef(Long id, boolean isPublic) {}
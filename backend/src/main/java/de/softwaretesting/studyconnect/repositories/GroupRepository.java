@@ -1,30 +1,135 @@
 package de.softwaretesting.studyconnect.repositories;
 
+import de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.models.Group;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface GroupRepository extends JpaRepository<Group, Long> {
+public interface GroupRepository extends JpaRepository<Group, Long>, GroupSearchRepository {
 
   @Query("select u.id from Group g join g.members u where g.id = :groupId")
   Optional<Set<Long>> findMemberIdsByGroupId(@Param("groupId") Long groupId);
 
-  @Query("select u.id from Group g join g.admins u where g.id = :groupId")
-  Optional<Set<Long>> findAdminIdsByGroupId(@Param("groupId") Long groupId);
+  /**
+   * Returns the members of a group projected straight into response DTOs, so no {@code User}
+   * entities are loaded into the persistence context. An empty set means the group has no members
+   * or does not exist.
+   */
+  @Query(
+      """
+      select new de.softwaretesting.studyconnect.dtos.response.UserResponseDTO(
+          u.id, u.email, u.firstname, u.lastname)
+      from Group g join g.members u
+      where g.id = :groupId
+      """)
+  Set<UserResponseDTO> findMemberDTOsByGroupId(@Param("groupId") Long groupId);
+
+  /** Returns the admins of a group projected into response DTOs. */
+  @Query(
+      """
+      select new de.softwaretesting.studyconnect.dtos.response.UserResponseDTO(
+          u.id, u.email, u.firstname, u.lastname)
+      from Group g join g.admins u
+      where g.id = :groupId
+      """)
+  Set<UserResponseDTO> findAdminDTOsByGroupId(@Param("groupId") Long groupId);
 
   @Query(
       "select (count(a) > 0) from Group g join g.admins a where g.id = :groupId and a.id = :userId")
   boolean existsAdminByGroupIdAndUserId(
       @Param("groupId") Long groupId, @Param("userId") Long userId);
 
+  /**
+   * Tells whether the user is a member of the group without initializing the members collection.
+   */
+  @Query(
+      "select (count(m) > 0) from Group g join g.members m where g.id = :groupId and m.id = :userId")
+  boolean existsMemberByGroupIdAndUserId(
+      @Param("groupId") Long groupId, @Param("userId") Long userId);
+
+  @Query(
+      "select new de.softwaretesting.studyconnect.repositories.GroupRef(g.id, g.isPublic)"
+          + " from Group g where g.id = :groupId")
+  Optional<GroupRef> findRefById(@Param("groupId") Long groupId);
+
+  @Query(
+      "select new de.softwaretesting.studyconnect.repositories.GroupRef(g.id, g.isPublic)"
+          + " from Group g where g.inviteCode = :inviteCode")
+  Optional<GroupRef> findRefByInviteCode(@Param("inviteCode") String inviteCode);
+
+  /**
+   * Reserves a member slot. The check against {@code max_members} and the increment happen in one
+   * statement, so concurrent joins cannot overfill a group. The version is bumped as well, so
+   * writers that loaded the group before the join fail their optimistic lock check.
+   *
+   * @return 1 if a slot was reserved, 0 if the group is full or does not exist
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      """
+      update Group g
+      set g.memberCount = g.memberCount + 1, g.version = g.version + 1, g.updatedAt = :now
+      where g.id = :groupId and g.memberCount < g.maxMembers
+      """)
+  int incrementMemberCountIfBelowMax(
+      @Param("groupId") Long groupId, @Param("now") LocalDateTime now);
+
+  /**
+   * Inserts a row into the {@code group_members} join table directly. Must be paired with {@link
+   * #incrementMemberCountIfBelowMax} in the same transaction.
+   */
+  @Modifying
+  @Query(
+      value = "insert into group_members (group_id, user_id) values (:groupId, :userId)",
+      nativeQuery = true)
+  void insertMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
   Optional<List<Group>> findByIsPublicTrue();
 
+  /**
+   * Returns the first page of public groups, newest update first. Use {@link
+   * #findPublicGroupsPageAfter} with the last row of this page to continue.
+   */
+  @Query("select g from Group g where g.isPublic = true order by g.updatedAt desc, g.id desc")
+  List<Group> findPublicGroupsPage(Pageable pageable);
+
+  /**
+   * Returns the public groups that sort after the given {@code (updatedAt, id)} keyset position.
+   * The predicate matches the {@code (is_public, updated_at, id)} index, so the cost of a page does
+   * not depend on how deep into the listing it is.
+   */
+  @Query(
+      """
+      select g from Group g
+      where g.isPublic = true
+        and (g.updatedAt < :updatedAt or (g.updatedAt = :updatedAt and g.id < :id))
+      order by g.updatedAt desc, g.id desc
+      """)
+  List<Group> findPublicGroupsPageAfter(
+      @Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+  /**
+   * Streams all public groups in listing order. Rows are fetched from the JDBC cursor in chunks, so
+   * the caller must consume the stream inside a transaction and close it afterwards.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select g from Group g where g.isPublic = true order by g.updatedAt desc, g.id desc")
+  Stream<Group> streamPublicGroups();
+
   Optional<Group> findByName(String name);
 
   @Query("select g from Group g join g.members m where m.id = :userId order by g.updatedAt desc")
@@ -32,7 +137,25 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
 
   Optional<Group> findByInviteCode(String inviteCode);
 
+  /**
+   * Unranked substring search on the group name. On PostgreSQL the {@code lower(name)} trigram
+   * index serves this predicate; {@link #searchPublicGroups} adds ranking, descriptions and paging.
+   */
   @Query(
       "select g from Group g where g.isPublic = true and lower(g.name) like lower(concat('%', :query, '%'))")
   Optional<List<Group>> searchPublicGroupsByName(@Param("query") String query);
+
+  /**
+   * Returns public group names starting with the given {@code LIKE} prefix pattern, in name order.
+   * On PostgreSQL the predicate is served by the {@code lower(name) text_pattern_ops} index.
+   */
+  @Query(
+      """
+      select new de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO(g.id, g.name)
+      from Group g
+      where g.isPublic = true and lower(g.name) like :prefix escape '!'
+      order by lower(g.name), g.id
+      """)
+  List<GroupSuggestionResponseDTO> suggestPublicGroups(
+      @Param("prefix") String prefix, Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.Group;
+import java.util.List;
+
+/** Relevance-ranked search over public groups, see {@link GroupSearchRepositoryImpl}. */
+public interface GroupSearchRepository {
+
+  /**
+   * Searches public groups by name and description, best match first.
+   *
+   * @param query the search terms
+   * @param offset the number of matches to skip
+   * @param limit the maximum number of matches to return
+   * @return the matching groups
+   */
+  List<Group> searchPublicGroups(String query, int offset, int limit);
+}
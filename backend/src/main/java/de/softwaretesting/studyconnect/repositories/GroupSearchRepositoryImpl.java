@@ -0,0 +1,89 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.Group;
+import de.softwaretesting.studyconnect.utils.LikePatterns;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Database specific implementation of {@link GroupSearchRepository}.
+ *
+ * <p>On PostgreSQL the search matches the {@code simple} text search vector of name and description
+ * and, for partial words and typos, trigram similarity on the name. Both are backed by GIN indexes
+ * (migration {@code V4__group_search_indexes.sql}) and ranked by {@code ts_rank + similarity}.
+ * Other databases, i.e. H2 in tests, fall back to {@code LIKE} matching ranked by where the query
+ * matches.
+ */
+@RequiredArgsConstructor
+public class GroupSearchRepositoryImpl implements GroupSearchRepository {
+
+  static final String SEARCH_VECTOR =
+      "to_tsvector('simple', g.name || ' ' || coalesce(g.description, ''))";
+
+  private static final String POSTGRES_SEARCH_SQL =
+      """
+      select g.* from groups g
+      where g.is_public = true
+        and (%1$s @@ plainto_tsquery('simple', :query)
+             or lower(g.name) like :pattern escape '!'
+             or lower(g.name) %% :query)
+      order by ts_rank(%1$s, plainto_tsquery('simple', :query))
+                 + similarity(lower(g.name), :query) desc,
+               g.id desc
+      """
+          .formatted(SEARCH_VECTOR);
+
+  private static final String FALLBACK_SEARCH_JPQL =
+      """
+      select g from Group g
+      where g.isPublic = true
+        and (lower(g.name) like :pattern escape '!'
+             or lower(g.description) like :pattern escape '!')
+      order by case
+                 when lower(g.name) = :query then 0
+                 when lower(g.name) like :prefix escape '!' then 1
+                 when lower(g.name) like :pattern escape '!' then 2
+                 else 3
+               end,
+               g.id desc
+      """;
+
+  private final EntityManager entityManager;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Group> searchPublicGroups(String query, int offset, int limit) {
+    String normalized = query.trim().toLowerCase(Locale.ROOT);
+    String pattern = LikePatterns.contains(normalized);
+    if (isPostgres()) {
+      return entityManager
+          .createNativeQuery(POSTGRES_SEARCH_SQL, Group.class)
+          .setParameter("query", normalized)
+          .setParameter("pattern", pattern)
+          .setFirstResult(offset)
+          .setMaxResults(limit)
+          .getResultList();
+    }
+    return entityManager
+        .createQuery(FALLBACK_SEARCH_JPQL, Group.class)
+        .setParameter("query", normalized)
+        .setParameter("prefix", LikePatterns.startsWith(normalized))
+        .setParameter("pattern", pattern)
+        .setFirstResult(offset)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  private boolean isPostgres() {
+    return entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect()
+        instanceof PostgreSQLDialect;
+  }
+}
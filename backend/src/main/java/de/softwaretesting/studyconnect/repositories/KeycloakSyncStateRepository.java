@@ -0,0 +1,8 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.KeycloakSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KeycloakSyncStateRepository extends JpaRepository<KeycloakSyncState, String> {}
@@ -0,0 +1,4 @@
+package de.softwaretesting.studyconnect.repositories;
+
+/** One row of the {@code task_assignees} join table. */
+public record TaskAssigneeRow(Long taskId, Long userId) {}
@@ -0,0 +1,27 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.Task.Priority;
+import de.softwaretesting.studyconnect.models.Task.Status;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filter of a task query. {@code null} or empty components do not restrict the result. The due date
+ * bounds are inclusive; tasks without a due date never match a due date bound.
+ *
+ * @param groupId only tasks of this group
+ * @param assigneeId only tasks assigned to this user
+ * @param statuses only tasks with one of these statuses
+ * @param priorities only tasks with one of these priorities
+ * @param category only tasks of exactly this category
+ * @param dueFrom only tasks due at or after this time
+ * @param dueTo only tasks due at or before this time
+ */
+public record TaskFilter(
+    Long groupId,
+    Long assigneeId,
+    Set<Status> statuses,
+    Set<Priority> priorities,
+    String category,
+    LocalDateTime dueFrom,
+    LocalDateTime dueTo) {}
@@ -0,0 +1,20 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import java.util.List;
+
+/** Filtered, sorted and keyset-paginated task queries, see {@link TaskQueryRepositoryImpl}. */
+public interface TaskQueryRepository {
+
+  /**
+   * Returns the rows of the tasks matching the filter in the given order, starting after a keyset
+   * position.
+   *
+   * @param filter the filter
+   * @param sort the sort order
+   * @param after the position to continue after as returned by {@link TaskSort#decodeCursor}, or
+   *     {@code null} for the first page
+   * @param limit the maximum number of tasks to return
+   * @return the matching task rows
+   */
+  List<TaskRow> findTasks(TaskFilter filter, TaskSort sort, List<Object> after, int limit);
+}
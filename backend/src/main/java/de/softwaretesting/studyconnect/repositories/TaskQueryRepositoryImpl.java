@@ -0,0 +1,234 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.Task;
+import de.softwaretesting.studyconnect.models.Task.Priority;
+import de.softwaretesting.studyconnect.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaBuilder.SimpleCase;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+/**
+ * Criteria implementation of {@link TaskQueryRepository}.
+ *
+ * <p>Pages are read with a keyset predicate instead of an offset: for sort keys {@code k1..kn}
+ * followed by the id, a page continues with the rows where {@code k1} is past the cursor value, or
+ * {@code k1} is equal and {@code k2} is past it, and so on. A range on {@code k1} is added to that
+ * disjunction, so an index on the leading key can seek to the cursor. Only the task columns are
+ * selected, so the limit is applied by the database and Hibernate never paginates a collection
+ * fetch in memory.
+ *
+ * <p>Tasks without a due date sort last, or first when descending, as Postgres sorts nulls. When
+ * the due date leads the order, the dated and the undated tasks are read as two segments, so the
+ * leading column is never null: the dated segment is ordered and sought on {@code due_date} itself,
+ * the undated one on the remaining keys. Both are served by the index on {@code (group_id,
+ * due_date, id)} for group listings and the one on {@code (due_date, id)} for assignee listings.
+ */
+@RequiredArgsConstructor
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+  private static final List<Boolean> UNDATED_LAST = List.of(false, true);
+  private static final List<Boolean> UNDATED_FIRST = List.of(true, false);
+
+  private final EntityManager entityManager;
+
+  @Override
+  public List<TaskRow> findTasks(TaskFilter filter, TaskSort sort, List<Object> after, int limit) {
+    List<TaskSort.Order> orders = sort.orders();
+    if (orders.get(0).key() != TaskSort.Key.DUE_DATE) {
+      return findRows(filter, orders, after, null, limit);
+    }
+    List<TaskSort.Order> undatedOrders = orders.subList(1, orders.size());
+    boolean cursorUndated = after != null && after.get(0) == null;
+    boolean reachedCursor = after == null;
+    List<TaskRow> rows = new ArrayList<>(limit);
+    for (boolean undated : orders.get(0).descending() ? UNDATED_FIRST : UNDATED_LAST) {
+      if (!reachedCursor && undated != cursorUndated) {
+        // The whole segment comes before the cursor
+        continue;
+      }
+      List<Object> seek = reachedCursor ? null : undated ? after.subList(1, after.size()) : after;
+      reachedCursor = true;
+      rows.addAll(
+          findRows(filter, undated ? undatedOrders : orders, seek, undated, limit - rows.size()));
+      if (rows.size() == limit) {
+        break;
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Reads one page in the given order.
+   *
+   * @param undated {@code true} for only the tasks without a due date, {@code false} for only those
+   *     with one, {@code null} for all
+   */
+  private List<TaskRow> findRows(
+      TaskFilter filter,
+      List<TaskSort.Order> orders,
+      List<Object> after,
+      Boolean undated,
+      int limit) {
+    HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+    CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+    Root<Task> task = query.from(Task.class);
+
+    List<SortKey> keys = new ArrayList<>(orders.size() + 1);
+    for (TaskSort.Order order : orders) {
+      // Only a leading due date is known to be set, by the segment predicate below
+      boolean nullable = order.key() == TaskSort.Key.DUE_DATE && !keys.isEmpty();
+      keys.add(new SortKey(sortExpression(cb, task, order.key()), order.descending(), nullable));
+    }
+    keys.add(new SortKey(task.<Long>get("id"), false, false));
+
+    List<Predicate> predicates = filterPredicates(cb, task, filter);
+    if (undated != null) {
+      predicates.add(undated ? cb.isNull(task.get("dueDate")) : cb.isNotNull(task.get("dueDate")));
+    }
+    if (after != null) {
+      predicates.add(keysetPredicate(cb, keys, after));
+    }
+    List<Order> orderBy = new ArrayList<>(keys.size());
+    for (SortKey key : keys) {
+      orderBy.add(key.order(cb));
+    }
+
+    query
+        .select(
+            cb.construct(
+                TaskRow.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("description"),
+                task.get("dueDate"),
+                task.get("priority"),
+                task.get("status"),
+                task.get("category"),
+                task.get("createdBy").get("id"),
+                task.get("group").get("id"),
+                task.get("createdAt"),
+                task.get("updatedAt"),
+                task.get("lastStatusChangeAt")))
+        .where(predicates.toArray(Predicate[]::new))
+        .orderBy(orderBy);
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  private static List<Predicate> filterPredicates(
+      CriteriaBuilder cb, Root<Task> task, TaskFilter filter) {
+    List<Predicate> predicates = new ArrayList<>();
+    if (filter.groupId() != null) {
+      predicates.add(cb.equal(task.get("group").get("id"), filter.groupId()));
+    }
+    if (filter.assigneeId() != null) {
+      // At most one row per task, since (task_id, user_id) is the join table's primary key
+      Join<Task, User> assignee = task.join("assignees");
+      predicates.add(cb.equal(assignee.get("id"), filter.assigneeId()));
+    }
+    if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+      predicates.add(task.get("status").in(filter.statuses()));
+    }
+    if (filter.priorities() != null && !filter.priorities().isEmpty()) {
+      predicates.add(task.get("priority").in(filter.priorities()));
+    }
+    if (filter.category() != null) {
+      predicates.add(cb.equal(task.get("category"), filter.category()));
+    }
+    if (filter.dueFrom() != null) {
+      predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), filter.dueFrom()));
+    }
+    if (filter.dueTo() != null) {
+      predicates.add(cb.lessThanOrEqualTo(task.get("dueDate"), filter.dueTo()));
+    }
+    return predicates;
+  }
+
+  /** Must sort exactly like {@link TaskSort.Key#sortValue}, which produces the cursor values. */
+  private static Expression<?> sortExpression(
+      CriteriaBuilder cb, Root<Task> task, TaskSort.Key key) {
+    return switch (key) {
+      case DUE_DATE -> task.<LocalDateTime>get("dueDate");
+      case PRIORITY -> {
+        // Ranked by declaration order; the column holds the names, which sort alphabetically
+        SimpleCase<Priority, Integer> rank = cb.selectCase(task.<Priority>get("priority"));
+        for (Priority priority : Priority.values()) {
+          rank = rank.when(priority, priority.ordinal());
+        }
+        yield rank.otherwise(Priority.values().length);
+      }
+      case CREATED_AT -> task.<LocalDateTime>get("createdAt");
+      case TITLE -> task.<String>get("title");
+    };
+  }
+
+  private static Predicate keysetPredicate(
+      CriteriaBuilder cb, List<SortKey> keys, List<Object> after) {
+    Predicate[] alternatives = new Predicate[keys.size()];
+    for (int i = 0; i < keys.size(); i++) {
+      Predicate[] conjunction = new Predicate[i + 1];
+      for (int j = 0; j < i; j++) {
+        conjunction[j] = keys.get(j).isEqual(cb, after.get(j));
+      }
+      conjunction[i] = keys.get(i).isPast(cb, after.get(i));
+      alternatives[i] = cb.and(conjunction);
+    }
+    if (keys.size() == 1) {
+      return alternatives[0];
+    }
+    // The leading key is never null; its range is what an index can seek to
+    return cb.and(keys.get(0).isAtOrPast(cb, after.get(0)), cb.or(alternatives));
+  }
+
+  /**
+   * One key of the order.
+   *
+   * @param nullable whether the expression may be null; nulls sort last ascending and first
+   *     descending, as in Postgres and its indexes
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private record SortKey(Expression<?> expression, boolean descending, boolean nullable) {
+
+    Order order(HibernateCriteriaBuilder cb) {
+      if (!nullable) {
+        return descending ? cb.desc(expression) : cb.asc(expression);
+      }
+      return descending ? cb.desc(expression, true) : cb.asc(expression, false);
+    }
+
+    Predicate isEqual(CriteriaBuilder cb, Object value) {
+      return value == null ? cb.isNull(expression) : cb.equal(expression, value);
+    }
+
+    Predicate isPast(CriteriaBuilder cb, Object value) {
+      Expression<Comparable> comparable = (Expression<Comparable>) expression;
+      if (descending) {
+        return value == null
+            ? cb.isNotNull(expression)
+            : cb.lessThan(comparable, (Comparable) value);
+      }
+      if (value == null) {
+        return cb.disjunction();
+      }
+      Predicate greater = cb.greaterThan(comparable, (Comparable) value);
+      return nullable ? cb.or(greater, cb.isNull(expression)) : greater;
+    }
+
+    Predicate isAtOrPast(CriteriaBuilder cb, Object value) {
+      Expression<Comparable> comparable = (Expression<Comparable>) expression;
+      return descending
+          ? cb.lessThanOrEqualTo(comparable, (Comparable) value)
+          : cb.greaterThanOrEqualTo(comparable, (Comparable) value);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package de.softwaretesting.studyconnect.repositories;
 
 import de.softwaretesting.studyconnect.models.Task;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,7 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
 
   @Query("select u.id from Task t join t.assignees u where t.id = :taskId")
   List<Long> findAssigneeIdsByTaskId(@Param("taskId") Long taskId);
@@ -39,4 +40,35 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
   @Query("select t from Task t where t.group.id = :groupId and :userId member of t.assignees")
   List<Task> findByGroupIdAndAssigneesId(Long groupId, Long userId);
+
+  String TASK_ROW =
+      "new de.softwaretesting.studyconnect.repositories.TaskRow(t.id, t.title, t.description,"
+          + " t.dueDate, t.priority, t.status, t.category, t.createdBy.id, t.group.id,"
+          + " t.createdAt, t.updatedAt, t.lastStatusChangeAt)";
+
+  /**
+   * Returns the rows of all tasks in a group. Creator and group ids are read from the foreign key
+   * columns, so neither table is joined.
+   */
+  @Query("select " + TASK_ROW + " from Task t where t.group.id = :groupId order by t.id")
+  List<TaskRow> findRowsByGroupId(@Param("groupId") Long groupId);
+
+  /** Returns the rows of all tasks assigned to a user, earliest due date first. */
+  @Query(
+      "select "
+          + TASK_ROW
+          + " from Task t join t.assignees a where a.id = :userId order by t.dueDate asc, t.id")
+  List<TaskRow> findRowsByAssigneeId(@Param("userId") Long userId);
+
+  /** Returns the assignee ids of the given tasks, one row per task and assignee. */
+  @Query(
+      "select new de.softwaretesting.studyconnect.repositories.TaskAssigneeRow(t.id, a.id)"
+          + " from Task t join t.assignees a where t.id in :taskIds")
+  List<TaskAssigneeRow> findAssigneeRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+  /** Returns the tags of the given tasks, one row per task and tag. */
+  @Query(
+      "select new de.softwaretesting.studyconnect.repositories.TaskTagRow(t.id, tag)"
+          + " from Task t join t.tags tag where t.id in :taskIds")
+  List<TaskTagRow> findTagRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
 }
@@ -0,0 +1,24 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.Task.Priority;
+import de.softwaretesting.studyconnect.models.Task.Status;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a task row, read for listings instead of the entity. Creator and group are only
+ * referenced by their foreign keys; assignees and tags are loaded separately with {@link
+ * TaskAssigneeRow} and {@link TaskTagRow}.
+ */
+public record TaskRow(
+    Long id,
+    String title,
+    String description,
+    LocalDateTime dueDate,
+    Priority priority,
+    Status status,
+    String category,
+    Long createdById,
+    Long groupId,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    LocalDateTime lastStatusChangeAt) {}
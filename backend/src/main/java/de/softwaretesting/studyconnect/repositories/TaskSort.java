@@ -0,0 +1,166 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.utils.KeysetCursor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sort order of a task query, written as a comma separated list of keys such as {@code
+ * dueDate,-priority}. A leading minus sorts that key descending. The task id is always the last,
+ * ascending key, so the order is total and pages can be continued with a keyset cursor.
+ *
+ * @param orders the sort keys in order of precedence
+ */
+public record TaskSort(List<TaskSort.Order> orders) {
+
+  /**
+   * Stands in for a missing due date in cursors, which cannot hold {@code null}. Tasks without a
+   * due date sort last in ascending and first in descending order.
+   */
+  public static final LocalDateTime NO_DUE_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+  /** Due date first, the order of the task lists in the frontend. */
+  public static final TaskSort DEFAULT = new TaskSort(List.of(new Order(Key.DUE_DATE, false)));
+
+  /** The sortable task properties, see spec 3.1.2. */
+  public enum Key {
+    DUE_DATE("dueDate"),
+    PRIORITY("priority"),
+    CREATED_AT("createdAt"),
+    TITLE("title");
+
+    private final String parameterName;
+
+    Key(String parameterName) {
+      this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+      return parameterName;
+    }
+
+    /** Returns the value the database sorts the task by for this key, null for no due date. */
+    Object sortValue(TaskRow task) {
+      return switch (this) {
+        case DUE_DATE -> task.dueDate();
+        case PRIORITY -> task.priority().ordinal();
+        case CREATED_AT -> task.createdAt();
+        case TITLE -> task.title();
+      };
+    }
+
+    private Object read(KeysetCursor cursor, int index) {
+      return switch (this) {
+        case DUE_DATE -> {
+          LocalDateTime dueDate = cursor.getDateTime(index);
+          yield NO_DUE_DATE.equals(dueDate) ? null : dueDate;
+        }
+        case CREATED_AT -> cursor.getDateTime(index);
+        case PRIORITY -> Math.toIntExact(cursor.getLong(index));
+        case TITLE -> cursor.getString(index);
+      };
+    }
+
+    private static Key fromParameterName(String name) {
+      for (Key key : values()) {
+        if (key.parameterName.equals(name)) {
+          return key;
+        }
+      }
+      throw new BadRequestException("Unknown sort key: " + name);
+    }
+  }
+
+  /**
+   * One sort key and its direction.
+   *
+   * @param key the sorted property
+   * @param descending whether larger values come first
+   */
+  public record Order(Key key, boolean descending) {}
+
+  public TaskSort {
+    orders = List.copyOf(orders);
+  }
+
+  /**
+   * Parses a sort parameter.
+   *
+   * @param spec the sort parameter, e.g. {@code dueDate,-priority}; {@code null} or blank for
+   *     {@link #DEFAULT}
+   * @return the sort order
+   * @throws BadRequestException if a key is unknown or repeated
+   */
+  public static TaskSort parse(String spec) {
+    if (spec == null || spec.isBlank()) {
+      return DEFAULT;
+    }
+    List<Order> orders = new ArrayList<>();
+    Set<Key> seen = EnumSet.noneOf(Key.class);
+    for (String part : spec.split(",")) {
+      String name = part.trim();
+      boolean descending = name.startsWith("-");
+      Key key = Key.fromParameterName(descending ? name.substring(1) : name);
+      if (!seen.add(key)) {
+        throw new BadRequestException("Duplicate sort key: " + key.getParameterName());
+      }
+      orders.add(new Order(key, descending));
+    }
+    return new TaskSort(orders);
+  }
+
+  /**
+   * Returns the canonical sort parameter of this order.
+   *
+   * @return the keys, comma separated, descending ones prefixed with a minus
+   */
+  public String spec() {
+    List<String> parts = new ArrayList<>(orders.size());
+    for (Order order : orders) {
+      parts.add((order.descending() ? "-" : "") + order.key().getParameterName());
+    }
+    return String.join(",", parts);
+  }
+
+  /**
+   * Creates the cursor that continues this order after the given task.
+   *
+   * @param task the last task of a page
+   * @return the cursor token
+   */
+  public String cursorAfter(TaskRow task) {
+    List<Object> values = new ArrayList<>(orders.size() + 2);
+    values.add(spec());
+    for (Order order : orders) {
+      Object value = order.key().sortValue(task);
+      values.add(value == null ? NO_DUE_DATE : value);
+    }
+    values.add(task.id());
+    return KeysetCursor.of(values.toArray()).encode();
+  }
+
+  /**
+   * Decodes a cursor created by {@link #cursorAfter} for this order.
+   *
+   * @param token the cursor token
+   * @return the sort values of the last task of the previous page, followed by its id; a missing
+   *     due date is {@code null}
+   * @throws BadRequestException if the token is malformed or belongs to a different order
+   */
+  public List<Object> decodeCursor(String token) {
+    KeysetCursor cursor = KeysetCursor.decode(token, orders.size() + 2);
+    if (!spec().equals(cursor.getString(0))) {
+      throw new BadRequestException("Cursor does not match the sort order");
+    }
+    List<Object> values = new ArrayList<>(orders.size() + 1);
+    for (int i = 0; i < orders.size(); i++) {
+      values.add(orders.get(i).key().read(cursor, i + 1));
+    }
+    values.add(cursor.getLong(orders.size() + 1));
+    return values;
+  }
+}
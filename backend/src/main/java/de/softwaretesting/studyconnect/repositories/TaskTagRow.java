@@ -0,0 +1,4 @@
+package de.softwaretesting.studyconnect.repositories;
+
+/** One row of the {@code task_tags} collection table. */
+public record TaskTagRow(Long taskId, String tag) {}
@@ -0,0 +1,42 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserRegistrationRepository extends JpaRepository<UserRegistration, String> {
+
+  /** Returns the registrations in the given status that were last updated before the given time. */
+  List<UserRegistration> findByStatusAndUpdatedAtBefore(
+      UserRegistration.Status status, LocalDateTime updatedBefore);
+
+  /** Renews the lease of those of the given registrations that are still pending. */
+  @Modifying
+  @Query(
+      "update UserRegistration r set r.updatedAt = :now"
+          + " where r.id in :ids and r.status = :status")
+  int renewLeases(
+      @Param("ids") Collection<String> ids,
+      @Param("status") UserRegistration.Status status,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Takes over a registration whose lease expired. Of several instances that saw the same update
+   * time, only the first one gets 1 back.
+   */
+  @Modifying
+  @Query(
+      "update UserRegistration r set r.updatedAt = :now"
+          + " where r.id = :id and r.updatedAt = :seenUpdatedAt")
+  int claim(
+      @Param("id") String id,
+      @Param("seenUpdatedAt") LocalDateTime seenUpdatedAt,
+      @Param("now") LocalDateTime now);
+}
@@ -1,8 +1,15 @@
 package de.softwaretesting.studyconnect.repositories;
 
 import de.softwaretesting.studyconnect.models.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +18,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByKeycloakUUID(String keycloakUUID);
 
   Optional<User> findByEmail(String email);
+
+  /** Returns one page of users; reads one extra row instead of counting all users. */
+  Slice<User> findAllBy(Pageable pageable);
+
+  /** Returns the users with the given ids in id order; unknown ids are skipped. */
+  List<User> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+  /** Returns which of the given ids belong to existing users, without loading the users. */
+  @Query("select u.id from User u where u.id in :ids")
+  Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  /** Returns which of the given Keycloak UUIDs already have a local user. */
+  @Query("select u.keycloakUUID from User u where u.keycloakUUID in :uuids")
+  Set<String> findExistingKeycloakUUIDs(@Param("uuids") Collection<String> uuids);
+
+  /** Returns which of the given emails are already taken by a local user. */
+  @Query("select u.email from User u where u.email in :emails")
+  Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,68 @@
+package de.softwaretesting.studyconnect.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * Decodes bearer tokens and keeps the ones whose signature was already verified in a small bounded
+ * cache. A client that sends the same token again then skips the RSA verification. The claims are
+ * still validated on every request, so a cached token is rejected once it expires.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  private final JwtDecoder signatureVerifier;
+  private final OAuth2TokenValidator<Jwt> validator;
+  private final Cache<String, Jwt> verifiedTokens;
+
+  /**
+   * Creates a decoder that remembers verified tokens.
+   *
+   * @param signatureVerifier parses the token and verifies its signature, without validating claims
+   * @param validator validates the claims, e.g. expiry and issuer
+   * @param maximumSize maximum number of remembered tokens
+   * @param ttl how long a verified token is remembered
+   */
+  public CachingJwtDecoder(
+      JwtDecoder signatureVerifier,
+      OAuth2TokenValidator<Jwt> validator,
+      long maximumSize,
+      Duration ttl) {
+    this.signatureVerifier = signatureVerifier;
+    this.validator = validator;
+    this.verifiedTokens =
+        Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    Jwt cached = verifiedTokens.getIfPresent(token);
+    Jwt jwt = cached != null ? cached : signatureVerifier.decode(token);
+
+    OAuth2TokenValidatorResult result = validator.validate(jwt);
+    if (result.hasErrors()) {
+      verifiedTokens.invalidate(token);
+      OAuth2Error error = result.getErrors().iterator().next();
+      throw new JwtValidationException(
+          "An error occurred while attempting to decode the Jwt: " + error.getDescription(),
+          result.getErrors());
+    }
+
+    if (cached == null) {
+      verifiedTokens.put(token, jwt);
+    }
+    return jwt;
+  }
+
+  /** Forgets all verified tokens, e.g. after a signing key was removed. */
+  public void invalidateAll() {
+    verifiedTokens.invalidateAll();
+  }
+}
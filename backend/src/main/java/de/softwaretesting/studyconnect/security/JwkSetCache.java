@@ -0,0 +1,193 @@
+package de.softwaretesting.studyconnect.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Caches the JSON Web Key Set the access tokens are verified with, so tokens are validated locally
+ * without calling the issuer.
+ *
+ * <p>Each successfully fetched key set is written to the cache file. If the issuer is unreachable
+ * at startup, the application uses the last known keys instead of disabling authentication. Keys
+ * are refreshed in the background. A token signed with an unknown key id triggers an early refresh
+ * (at most once per {@code minRefreshInterval}) to pick up rotated keys.
+ */
+public class JwkSetCache implements JWKSource<SecurityContext> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwkSetCache.class);
+
+  private static final int CONNECT_TIMEOUT_MS = 2000;
+  private static final int READ_TIMEOUT_MS = 2000;
+  private static final int SIZE_LIMIT_BYTES = 51_200;
+
+  private final URI jwkSetUri;
+  private final Path cacheFile;
+  private final Duration minRefreshInterval;
+  private final Clock clock;
+  private final AtomicReference<JWKSet> keys = new AtomicReference<>(new JWKSet());
+  private final List<Runnable> keySetChangeListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Serializes fetches. A lock rather than {@code synchronized}: fetching blocks on the network,
+   * and a virtual thread blocking inside a monitor pins its carrier thread.
+   */
+  private final ReentrantLock fetchLock = new ReentrantLock();
+
+  private Instant lastFetchAttempt = Instant.MIN;
+
+  /**
+   * Creates an empty cache; call {@link #warmUp()} before use.
+   *
+   * @param jwkSetUri the JWKS endpoint of the issuer
+   * @param cacheFile where the last fetched key set is kept, or null to keep it in memory only
+   * @param minRefreshInterval minimum time between fetches triggered by unknown key ids
+   */
+  public JwkSetCache(URI jwkSetUri, Path cacheFile, Duration minRefreshInterval) {
+    this(jwkSetUri, cacheFile, minRefreshInterval, Clock.systemUTC());
+  }
+
+  JwkSetCache(URI jwkSetUri, Path cacheFile, Duration minRefreshInterval, Clock clock) {
+    this.jwkSetUri = jwkSetUri;
+    this.cacheFile = cacheFile;
+    this.minRefreshInterval = minRefreshInterval;
+    this.clock = clock;
+  }
+
+  /**
+   * Loads the persisted key set, then fetches the current one once.
+   *
+   * @return this cache
+   */
+  public JwkSetCache warmUp() {
+    loadPersistedKeys();
+    if (!fetch()) {
+      LOGGER.warn(
+          "JWKS endpoint {} unreachable, validating tokens with {} cached keys",
+          jwkSetUri,
+          keys.get().size());
+    }
+    return this;
+  }
+
+  /** Refreshes the keys in the background. Failures keep the current keys. */
+  @Scheduled(
+      initialDelayString = "${studyconnect.security.jwks.refresh-interval:5m}",
+      fixedDelayString = "${studyconnect.security.jwks.refresh-interval:5m}")
+  public void refresh() {
+    fetch();
+  }
+
+  /**
+   * Registers a callback that runs whenever the key set changes, e.g. to drop tokens verified with
+   * a key that was removed.
+   */
+  public void onKeySetChange(Runnable listener) {
+    keySetChangeListeners.add(listener);
+  }
+
+  @Override
+  public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+    List<JWK> matches = jwkSelector.select(keys.get());
+    if (matches.isEmpty() && fetchForUnknownKey()) {
+      matches = jwkSelector.select(keys.get());
+    }
+    return matches;
+  }
+
+  /** Returns the number of cached keys. */
+  public int size() {
+    return keys.get().size();
+  }
+
+  private boolean fetchForUnknownKey() {
+    fetchLock.lock();
+    try {
+      if (clock.instant().isBefore(lastFetchAttempt.plus(minRefreshInterval))) {
+        return false;
+      }
+      return fetchAndStore();
+    } finally {
+      fetchLock.unlock();
+    }
+  }
+
+  private boolean fetch() {
+    fetchLock.lock();
+    try {
+      return fetchAndStore();
+    } finally {
+      fetchLock.unlock();
+    }
+  }
+
+  /** Fetches the key set and replaces the cached one if it changed. Call with fetchLock held. */
+  private boolean fetchAndStore() {
+    lastFetchAttempt = clock.instant();
+    JWKSet fetched;
+    try {
+      fetched =
+          JWKSet.load(jwkSetUri.toURL(), CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS, SIZE_LIMIT_BYTES)
+              .toPublicJWKSet();
+    } catch (IOException | ParseException | IllegalArgumentException e) {
+      LOGGER.warn("Failed to fetch JWKS from {}: {}", jwkSetUri, e.getMessage());
+      return false;
+    }
+
+    JWKSet previous = keys.getAndSet(fetched);
+    if (!fetched.toString(true).equals(previous.toString(true))) {
+      LOGGER.info("Loaded {} signing keys from {}", fetched.size(), jwkSetUri);
+      persist(fetched);
+      keySetChangeListeners.forEach(Runnable::run);
+    }
+    return true;
+  }
+
+  private void loadPersistedKeys() {
+    if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+      return;
+    }
+    try {
+      JWKSet persisted = JWKSet.parse(Files.readString(cacheFile, StandardCharsets.UTF_8));
+      keys.set(persisted.toPublicJWKSet());
+      LOGGER.info("Loaded {} cached signing keys from {}", persisted.size(), cacheFile);
+    } catch (IOException | ParseException e) {
+      LOGGER.warn("Ignoring unreadable JWKS cache file {}: {}", cacheFile, e.getMessage());
+    }
+  }
+
+  private void persist(JWKSet jwkSet) {
+    if (cacheFile == null) {
+      return;
+    }
+    try {
+      Path directory = cacheFile.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, "jwks", ".tmp");
+      Files.writeString(temp, jwkSet.toString(true), StandardCharsets.UTF_8);
+      Files.move(
+          temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to write JWKS cache file {}: {}", cacheFile, e.getMessage());
+    }
+  }
+}
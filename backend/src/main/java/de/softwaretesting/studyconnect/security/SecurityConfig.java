@@ -1,5 +1,14 @@
 package de.softwaretesting.studyconnect.security;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -18,6 +27,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -25,11 +35,14 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -47,6 +60,8 @@ public class SecurityConfig {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SecurityConfig.class);
 
+  static final String WEBHOOK_SECRET_HEADER = "X-Webhook-Secret";
+
   private final Environment env;
 
   @Bean
@@ -66,6 +81,13 @@ public class SecurityConfig {
                   Optional.ofNullable(env.getProperty("allowed.origin"))
                       .orElse("http://localhost:4200");
 
+              final AuthorizationManager<RequestAuthorizationContext> fromAllowedOrigin =
+                  (authentication, requestContext) -> {
+                    String origin = requestContext.getRequest().getHeader(HttpHeaders.ORIGIN);
+                    boolean allowed = origin != null && origin.equals(allowedOrigin);
+                    return new AuthorizationDecision(allowed);
+                  };
+
               // Public access to SPA assets and routes (served by Spring Boot static resources).
               // Keep API + actuator protected (except health), everything else is a frontend route.
               final RequestMatcher publicPaths =
@@ -86,14 +108,20 @@ public class SecurityConfig {
                   // Frontend (index.html, assets, SPA routes)
                   .requestMatchers(publicPaths)
                   .permitAll()
-                  // Allow POST /api/users only when the Origin header matches allowed.origin
-                  .requestMatchers(HttpMethod.POST, "/api/users")
+                  // Allow registration only when the Origin header matches allowed.origin
+                  .requestMatchers(HttpMethod.POST, "/api/users", "/api/users/registrations")
+                  .access(fromAllowedOrigin)
+                  // Registration status is read before the new user can sign in; its id is a
+                  // random UUID only known to the client that registered
+                  .requestMatchers(HttpMethod.GET, "/api/users/registrations/*")
+                  .permitAll()
+                  // Keycloak event webhooks authenticate with a shared secret instead of a JWT
+                  .requestMatchers(HttpMethod.POST, "/api/keycloak/events")
                   .access(
-                      (authentication, requestContext) -> {
-                        String origin = requestContext.getRequest().getHeader(HttpHeaders.ORIGIN);
-                        boolean allowed = origin != null && origin.equals(allowedOrigin);
-                        return new AuthorizationDecision(allowed);
-                      })
+                      (authentication, requestContext) ->
+                          new AuthorizationDecision(
+                              webhookSecretMatches(
+                                  requestContext.getRequest().getHeader(WEBHOOK_SECRET_HEADER))))
                   // All API requests require the configured authority
                   .requestMatchers("/api/**")
                   .hasAuthority(requiredAuthority)
@@ -114,7 +142,7 @@ public class SecurityConfig {
                         jwtDecoder.jwtAuthenticationConverter(jwtAuthenticationConverter)));
         LOGGER.info("OAuth2 JWT authentication enabled for production");
       } else {
-        LOGGER.warn("OAuth2 JWT authentication disabled - issuer unreachable or not configured");
+        LOGGER.warn("OAuth2 JWT authentication disabled - issuer not configured");
       }
     } catch (Exception e) {
       LOGGER.warn(
@@ -124,6 +152,19 @@ public class SecurityConfig {
     return http.build();
   }
 
+  /**
+   * Compares the webhook secret in constant time. Without a configured secret the webhook is
+   * closed.
+   */
+  boolean webhookSecretMatches(String providedSecret) {
+    String secret = env.getProperty("studyconnect.keycloak.event-sync.webhook-secret", "");
+    return !secret.isBlank()
+        && providedSecret != null
+        && MessageDigest.isEqual(
+            secret.getBytes(StandardCharsets.UTF_8),
+            providedSecret.getBytes(StandardCharsets.UTF_8));
+  }
+
   @Bean
   UrlBasedCorsConfigurationSource corsConfigurationSource() {
     CorsConfiguration configuration = new CorsConfiguration();
@@ -144,61 +185,77 @@ public class SecurityConfig {
     return source;
   }
 
-  @Bean
   /**
-   * Configures the JwtDecoder bean using issuer URI from environment properties. Attempts to
-   * initialize with retries and graceful fallback if issuer is unreachable at startup.
+   * Configures the JwtDecoder bean. Tokens are verified locally against the cached signing keys of
+   * the issuer (see {@link JwkSetCache}), and tokens that were already verified skip the signature
+   * check (see {@link CachingJwtDecoder}).
    *
-   * @return JwtDecoder instance, or null if issuer is unreachable after retries
+   * @return JwtDecoder instance, or null if no issuer is configured
    */
+  @Bean
   public JwtDecoder jwtDecoder() {
-    String issuerUri = env.getProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri");
-    if (issuerUri == null || issuerUri.isBlank()) {
+    String issuerUri = issuerUri();
+    if (issuerUri == null) {
       LOGGER.warn("Issuer URI not configured. OAuth2 will be disabled.");
       return null;
     }
 
-    int maxRetries = 3;
-    int retryCount = 0;
-
-    while (retryCount < maxRetries) {
-      try {
-        LOGGER.info(
-            "Attempting to configure JwtDecoder with issuer: {} (attempt {}/{})",
-            issuerUri,
-            retryCount + 1,
-            maxRetries);
-        JwtDecoder decoder = JwtDecoders.fromIssuerLocation(issuerUri);
-        LOGGER.info("Successfully configured JwtDecoder for issuer: {}", issuerUri);
-        return decoder;
-      } catch (Exception e) {
-        retryCount++;
-        if (retryCount < maxRetries) {
-          LOGGER.warn(
-              "Failed to configure JwtDecoder (attempt {}/{}). Retrying in 2 seconds. Error: {}",
-              retryCount,
-              maxRetries,
-              e.getMessage());
-          try {
-            Thread.sleep(2000); // Wait 2 seconds before retrying
-          } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            LOGGER.warn("JwtDecoder initialization interrupted");
-            return null;
-          }
-        } else {
-          LOGGER.warn(
-              "Failed to configure JwtDecoder for issuer '{}' after {} attempts. OAuth2 "
-                  + "authentication will be disabled. Error: {}",
-              issuerUri,
-              maxRetries,
-              e.getMessage());
-          return null;
-        }
-      }
+    JwkSetCache jwkSetCache = jwkSetCache();
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(
+        new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSetCache));
+    // Claims are validated by the CachingJwtDecoder on every request
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+    NimbusJwtDecoder signatureVerifier = new NimbusJwtDecoder(jwtProcessor);
+    signatureVerifier.setJwtValidator(jwt -> OAuth2TokenValidatorResult.success());
+
+    CachingJwtDecoder decoder =
+        new CachingJwtDecoder(
+            signatureVerifier,
+            JwtValidators.createDefaultWithIssuer(issuerUri),
+            property("studyconnect.security.token-cache.maximum-size", Long.class, 1000L),
+            property(
+                "studyconnect.security.token-cache.ttl", Duration.class, Duration.ofMinutes(5)));
+    jwkSetCache.onKeySetChange(decoder::invalidateAll);
+    LOGGER.info("Validating JWTs locally with the signing keys of issuer: {}", issuerUri);
+    return decoder;
+  }
+
+  /**
+   * Configures the cache of the issuer's signing keys. The keys are fetched from {@code
+   * spring.security.oauth2.resourceserver.jwt.jwk-set-uri}, or from the Keycloak certs endpoint of
+   * the issuer when that is not set.
+   *
+   * @return JwkSetCache instance, or null if no issuer is configured
+   */
+  @Bean
+  JwkSetCache jwkSetCache() {
+    String issuerUri = issuerUri();
+    if (issuerUri == null) {
+      return null;
+    }
+    String jwkSetUri = env.getProperty("spring.security.oauth2.resourceserver.jwt.jwk-set-uri");
+    if (jwkSetUri == null || jwkSetUri.isBlank()) {
+      jwkSetUri = issuerUri.replaceAll("/+$", "") + "/protocol/openid-connect/certs";
     }
+    String cacheFile = env.getProperty("studyconnect.security.jwks.cache-file");
+    return new JwkSetCache(
+            URI.create(jwkSetUri),
+            cacheFile == null || cacheFile.isBlank() ? null : Path.of(cacheFile),
+            property(
+                "studyconnect.security.jwks.min-refresh-interval",
+                Duration.class,
+                Duration.ofSeconds(30)))
+        .warmUp();
+  }
+
+  private String issuerUri() {
+    String issuerUri = env.getProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri");
+    return issuerUri == null || issuerUri.isBlank() ? null : issuerUri.trim();
+  }
 
-    return null;
+  private <T> T property(String key, Class<T> type, T defaultValue) {
+    return Optional.ofNullable(env.getProperty(key, type)).orElse(defaultValue);
   }
 
   /**
@@ -0,0 +1,220 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.request.CommentRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CommentResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.models.Comment;
+import de.softwaretesting.studyconnect.repositories.CommentOrder;
+import de.softwaretesting.studyconnect.repositories.CommentRepository;
+import de.softwaretesting.studyconnect.repositories.CommentRow;
+import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import de.softwaretesting.studyconnect.utils.KeysetCursor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Comment threads of a group. A comment either starts a thread or replies to another comment of the
+ * same group.
+ *
+ * <p>Listings are keyset-paginated and read {@link CommentRow} projections, so neither authors nor
+ * groups are loaded. Each comment of a page comes with its reply count, kept in the comment row,
+ * and, down to the requested depth, a preview of its oldest replies. Every level of the preview
+ * costs a fixed number of queries reading at most the previewed rows, so the cost of a page depends
+ * on its size and depth, not on the size of the group or of its threads.
+ */
+@Service
+@RequiredArgsConstructor
+public class CommentService {
+
+  static final int MAX_PAGE_SIZE = 100;
+  static final int MAX_REPLY_DEPTH = 3;
+  static final int REPLY_PREVIEW_SIZE = 3;
+
+  private final CommentRepository commentRepository;
+  private final GroupRepository groupRepository;
+  private final UserRepository userRepository;
+  private final GroupActivityHub groupActivityHub;
+
+  /**
+   * Retrieves one page of the threads of a group.
+   *
+   * @param groupId the ID of the group
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param size the page size; capped at {@value #MAX_PAGE_SIZE}
+   * @param order {@code newest} (default) or {@code oldest}
+   * @param depth how many levels of reply previews to include; capped at {@value #MAX_REPLY_DEPTH}
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   * @throws NotFoundException if the group is not found
+   * @throws BadRequestException if the cursor or order is invalid
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> getGroupComments(
+      Long groupId, String cursor, int size, String order, int depth) {
+    if (!groupRepository.existsById(groupId)) {
+      throw new NotFoundException("Group not found");
+    }
+    CommentOrder commentOrder = CommentOrder.parse(order, CommentOrder.NEWEST_FIRST);
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    KeysetCursor after = decodeCursor(cursor);
+
+    // Read one extra row to find out whether another page follows.
+    List<CommentRow> rows =
+        commentRepository.findThreadStarters(
+            groupId,
+            commentOrder,
+            after == null ? null : after.getDateTime(0),
+            after == null ? null : after.getLong(1),
+            pageSize + 1);
+    return ResponseEntity.ok(toPage(rows, pageSize, depth));
+  }
+
+  /**
+   * Retrieves one page of the direct replies to a comment.
+   *
+   * @param commentId the ID of the comment
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param size the page size; capped at {@value #MAX_PAGE_SIZE}
+   * @param order {@code oldest} (default) or {@code newest}
+   * @param depth how many levels of reply previews to include; capped at {@value #MAX_REPLY_DEPTH}
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   * @throws NotFoundException if the comment is not found
+   * @throws BadRequestException if the cursor or order is invalid
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> getReplies(
+      Long commentId, String cursor, int size, String order, int depth) {
+    if (!commentRepository.existsById(commentId)) {
+      throw new NotFoundException("Comment not found");
+    }
+    CommentOrder commentOrder = CommentOrder.parse(order, CommentOrder.OLDEST_FIRST);
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    KeysetCursor after = decodeCursor(cursor);
+
+    List<CommentRow> rows =
+        commentRepository.findReplies(
+            commentId,
+            commentOrder,
+            after == null ? null : after.getDateTime(0),
+            after == null ? null : after.getLong(1),
+            pageSize + 1);
+    return ResponseEntity.ok(toPage(rows, pageSize, depth));
+  }
+
+  /**
+   * Creates a comment in a group, or a reply if a parent is given. Group, author and parent are
+   * referenced by id and not loaded.
+   *
+   * @param groupId the ID of the group
+   * @param commentRequestDTO the content, author and optional parent of the comment
+   * @return a ResponseEntity containing the created comment
+   * @throws NotFoundException if the group, the author or the parent comment is not found
+   * @throws BadRequestException if the parent comment belongs to another group
+   */
+  @Transactional
+  public ResponseEntity<CommentResponseDTO> createComment(
+      Long groupId, CommentRequestDTO commentRequestDTO) {
+    if (!groupRepository.existsById(groupId)) {
+      throw new NotFoundException("Group not found");
+    }
+    if (!userRepository.existsById(commentRequestDTO.getCreatedById())) {
+      throw new NotFoundException("Creator user not found");
+    }
+
+    Comment comment = new Comment();
+    Long parentId = commentRequestDTO.getParentId();
+    if (parentId != null) {
+      CommentRow parent =
+          commentRepository
+              .findRowById(parentId)
+              .orElseThrow(() -> new NotFoundException("Parent comment not found"));
+      if (!parent.groupId().equals(groupId)) {
+        throw new BadRequestException("Parent comment belongs to another group");
+      }
+      comment.setParent(commentRepository.getReferenceById(parentId));
+      commentRepository.incrementReplyCount(parentId);
+    }
+    comment.setCreatedIn(groupRepository.getReferenceById(groupId));
+    comment.setCreatedBy(userRepository.getReferenceById(commentRequestDTO.getCreatedById()));
+    comment.setContent(commentRequestDTO.getContent());
+
+    Comment saved = commentRepository.save(comment);
+    groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.COMMENT_CREATED, saved.getId());
+    CommentResponseDTO response =
+        new CommentResponseDTO(
+            saved.getId(),
+            groupId,
+            parentId,
+            commentRequestDTO.getCreatedById(),
+            saved.getContent(),
+            saved.getCreatedAt(),
+            saved.getUpdatedAt(),
+            0,
+            List.of());
+    return new ResponseEntity<>(response, HttpStatus.CREATED);
+  }
+
+  private static KeysetCursor decodeCursor(String cursor) {
+    return cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor, 2);
+  }
+
+  private CursorPageResponseDTO<CommentResponseDTO> toPage(
+      List<CommentRow> rows, int pageSize, int depth) {
+    boolean hasNext = rows.size() > pageSize;
+    List<CommentRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = null;
+    if (hasNext) {
+      CommentRow last = page.get(page.size() - 1);
+      nextCursor = KeysetCursor.of(last.createdAt(), last.id()).encode();
+    }
+    return new CursorPageResponseDTO<>(
+        toResponses(page, Math.clamp(depth, 0, MAX_REPLY_DEPTH)), nextCursor);
+  }
+
+  /**
+   * Assembles the DTOs of one level of comments. While depth remains, the previews of the next
+   * level are read with one lateral query for their ids and one query for their rows.
+   */
+  private List<CommentResponseDTO> toResponses(List<CommentRow> rows, int depth) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+    List<Long> parentIds =
+        rows.stream().filter(row -> row.replyCount() > 0).map(CommentRow::id).toList();
+
+    Map<Long, List<CommentResponseDTO>> previews = new HashMap<>();
+    if (depth > 0 && !parentIds.isEmpty()) {
+      List<Long> replyIds = commentRepository.findFirstReplyIds(parentIds, REPLY_PREVIEW_SIZE);
+      for (CommentResponseDTO reply :
+          toResponses(commentRepository.findRowsByIdIn(replyIds), depth - 1)) {
+        previews.computeIfAbsent(reply.getParentId(), id -> new ArrayList<>()).add(reply);
+      }
+    }
+
+    List<CommentResponseDTO> responses = new ArrayList<>(rows.size());
+    for (CommentRow row : rows) {
+      responses.add(
+          new CommentResponseDTO(
+              row.id(),
+              row.groupId(),
+              row.parentId(),
+              row.createdById(),
+              row.content(),
+              row.createdAt(),
+              row.updatedAt(),
+              row.replyCount(),
+              previews.getOrDefault(row.id(), List.of())));
+    }
+    return responses;
+  }
+}
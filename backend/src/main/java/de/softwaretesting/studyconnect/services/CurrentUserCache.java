@@ -0,0 +1,92 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
+import de.softwaretesting.studyconnect.models.User;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maps the principal of an access token to the local user, so resolving the current user does not
+ * query the database on every request. Entries are keyed by the token's {@code sub} claim (the
+ * Keycloak user id), or by its email if the token has no subject. The cache is bounded and entries
+ * expire (see {@code spring.cache.caffeine.spec}).
+ *
+ * <p>Writers evict the user they change under both keys. As in {@link GroupResponseCache} the
+ * eviction is repeated after commit when a transaction is active.
+ */
+@Component
+public class CurrentUserCache {
+
+  static final String CURRENT_USERS_CACHE = "currentUsers";
+
+  private final Cache currentUsers;
+
+  public CurrentUserCache(CacheManager cacheManager) {
+    Cache cache = cacheManager.getCache(CURRENT_USERS_CACHE);
+    if (cache == null) {
+      throw new IllegalStateException("Cache '" + CURRENT_USERS_CACHE + "' is not configured");
+    }
+    this.currentUsers = cache;
+  }
+
+  /**
+   * Returns the cached user for a principal, loading it on a miss.
+   *
+   * @param subject the {@code sub} claim of the token, may be null
+   * @param email the email claim of the token
+   * @param loader loads the user from the database; exceptions are propagated and nothing is cached
+   * @return the user DTO
+   */
+  public UserResponseDTO getUser(String subject, String email, Supplier<UserResponseDTO> loader) {
+    String key = subject != null && !subject.isBlank() ? subject : email;
+    try {
+      return currentUsers.get(key, loader::get);
+    } catch (Cache.ValueRetrievalException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Evicts the cached entries of a user.
+   *
+   * @param user the user that was created, changed or deleted
+   */
+  public void evict(User user) {
+    evict(user.getKeycloakUUID(), user.getEmail());
+  }
+
+  /**
+   * Evicts the cached entries for a Keycloak user id and an email. Null values are ignored.
+   *
+   * @param keycloakUUID the Keycloak user id, i.e. the {@code sub} claim
+   * @param email the email of the user
+   */
+  public void evict(String keycloakUUID, String email) {
+    Runnable eviction =
+        () -> {
+          if (keycloakUUID != null) {
+            currentUsers.evict(keycloakUUID);
+          }
+          if (email != null) {
+            currentUsers.evict(email);
+          }
+        };
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              eviction.run();
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,403 @@
+package de.softwaretesting.studyconnect.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
+import de.softwaretesting.studyconnect.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes changes of a group to the open activity streams (server-sent events) of that group, so
+ * clients do not have to poll tasks and groups.
+ *
+ * <p>Events are published after the writing transaction commits and serialized once, not once per
+ * subscriber. Every subscriber has a bounded buffer that a small sender pool drains, so a slow
+ * client never holds up the writer. A subscriber whose buffer overflows is disconnected; it
+ * reconnects and reloads. Idle subscribers hold neither a buffer nor a thread.
+ *
+ * <p>Heartbeats keep proxies from closing idle streams and are coalesced: a subscriber only gets
+ * one if nothing was sent to it since the previous heartbeat round, and never more than one is
+ * pending.
+ *
+ * <p>Open streams are published as {@value #SUBSCRIBERS_METRIC}, closed streams are counted in
+ * {@value #DISCONNECTS_METRIC} tagged with the reason.
+ */
+@Component
+public class GroupActivityHub {
+
+  static final String SUBSCRIBERS_METRIC = "studyconnect.activity.subscribers";
+  static final String DISCONNECTS_METRIC = "studyconnect.activity.disconnects";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GroupActivityHub.class);
+
+  private static final Set<DataWithMediaType> HEARTBEAT =
+      Collections.unmodifiableSet(SseEmitter.event().comment("heartbeat").build());
+
+  /** Queued after the last event of a deleted group; the stream is closed when it is reached. */
+  private static final Set<DataWithMediaType> CLOSE =
+      Collections.unmodifiableSet(new LinkedHashSet<>());
+
+  private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private final Executor executor;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final int bufferSize;
+  private final long emitterTimeoutMillis;
+  private final int maxSubscribers;
+
+  @Autowired
+  public GroupActivityHub(
+      ThreadPoolTaskExecutorBuilder executorBuilder,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.activity.buffer-size:64}") int bufferSize,
+      @Value("${studyconnect.activity.emitter-timeout:30m}") Duration emitterTimeout,
+      @Value("${studyconnect.activity.max-subscribers:10000}") int maxSubscribers,
+      @Value("${studyconnect.activity.senders:4}") int senders) {
+    this(
+        senderExecutor(executorBuilder, senders, maxSubscribers),
+        objectMapper,
+        meterRegistry,
+        bufferSize,
+        emitterTimeout,
+        maxSubscribers);
+  }
+
+  GroupActivityHub(
+      Executor executor,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      int bufferSize,
+      Duration emitterTimeout,
+      int maxSubscribers) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be at least 1");
+    }
+    this.executor = executor;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.bufferSize = bufferSize;
+    this.emitterTimeoutMillis = emitterTimeout.toMillis();
+    this.maxSubscribers = maxSubscribers;
+    Gauge.builder(SUBSCRIBERS_METRIC, subscriberCount, AtomicInteger::get)
+        .description("Open group activity streams")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Creates the sender pool. It is not exposed as a bean, so the auto-configured application task
+   * executor stays in place. Each subscriber has at most one drain task queued at a time, so a
+   * queue as large as the subscriber limit cannot overflow.
+   */
+  private static ThreadPoolTaskExecutor senderExecutor(
+      ThreadPoolTaskExecutorBuilder builder, int senders, int maxSubscribers) {
+    ThreadPoolTaskExecutor pool =
+        builder
+            .corePoolSize(senders)
+            .maxPoolSize(senders)
+            .queueCapacity(maxSubscribers)
+            .threadNamePrefix("group-activity-")
+            .build();
+    pool.initialize();
+    return pool;
+  }
+
+  /** Closes all streams on shutdown, so clients reconnect to another instance right away. */
+  @PreDestroy
+  public void shutdown() {
+    for (Set<Subscriber> group : List.copyOf(subscribers.values())) {
+      for (Subscriber subscriber : group) {
+        disconnect(subscriber, "shutdown", true);
+      }
+    }
+    if (executor instanceof ThreadPoolTaskExecutor pool) {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Opens an activity stream for a group. The stream ends after the configured timeout, when the
+   * group is deleted or when the client falls too far behind; clients are expected to reconnect.
+   *
+   * @param groupId the ID of the group
+   * @return the emitter of the new stream
+   * @throws ServiceUnavailableException if the maximum number of open streams is reached
+   */
+  public SseEmitter subscribe(Long groupId) {
+    if (subscriberCount.incrementAndGet() > maxSubscribers) {
+      subscriberCount.decrementAndGet();
+      throw new ServiceUnavailableException(
+          "Too many open activity streams, please try again later");
+    }
+    Subscriber subscriber = new Subscriber(groupId, newEmitter(emitterTimeoutMillis));
+    subscribers.compute(
+        groupId,
+        (id, group) -> {
+          Set<Subscriber> members = group != null ? group : ConcurrentHashMap.newKeySet();
+          members.add(subscriber);
+          return members;
+        });
+    subscriber.emitter.onCompletion(() -> disconnect(subscriber, "closed", false));
+    subscriber.emitter.onTimeout(() -> disconnect(subscriber, "timeout", false));
+    subscriber.emitter.onError(e -> disconnect(subscriber, "error", false));
+    // An immediate heartbeat commits the response, so the client sees the stream open
+    if (subscriber.offerHeartbeat()) {
+      schedule(subscriber);
+    }
+    return subscriber.emitter;
+  }
+
+  SseEmitter newEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  /**
+   * Publishes a change of a group to its open streams. Inside a transaction the event is held back
+   * until the commit and dropped on rollback.
+   *
+   * @param groupId the ID of the group that changed
+   * @param type the kind of change
+   * @param entityId the ID of the task, user or comment that changed, or of the group itself
+   */
+  public void publish(Long groupId, GroupActivityEventDTO.Type type, Long entityId) {
+    GroupActivityEventDTO event =
+        new GroupActivityEventDTO(type, groupId, entityId, LocalDateTime.now());
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              fanOut(event);
+            }
+          });
+    } else {
+      fanOut(event);
+    }
+  }
+
+  /** Sends a heartbeat to every stream that was idle since the previous round. */
+  @Scheduled(
+      initialDelayString = "${studyconnect.activity.heartbeat-interval:25s}",
+      fixedDelayString = "${studyconnect.activity.heartbeat-interval:25s}")
+  public void sendHeartbeats() {
+    for (Set<Subscriber> group : subscribers.values()) {
+      for (Subscriber subscriber : group) {
+        if (subscriber.offerHeartbeat()) {
+          schedule(subscriber);
+        }
+      }
+    }
+  }
+
+  private void fanOut(GroupActivityEventDTO event) {
+    Set<Subscriber> group = subscribers.get(event.getGroupId());
+    if (group == null) {
+      return;
+    }
+    Set<DataWithMediaType> frame = toFrame(event);
+    boolean closing = event.getType() == GroupActivityEventDTO.Type.GROUP_DELETED;
+    for (Subscriber subscriber : group) {
+      offer(subscriber, frame);
+      if (closing) {
+        offer(subscriber, CLOSE);
+      }
+    }
+  }
+
+  private Set<DataWithMediaType> toFrame(GroupActivityEventDTO event) {
+    try {
+      String json = objectMapper.writeValueAsString(event);
+      return Collections.unmodifiableSet(
+          SseEmitter.event().data(json, MediaType.APPLICATION_JSON).build());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize group activity event", e);
+    }
+  }
+
+  private void offer(Subscriber subscriber, Set<DataWithMediaType> frame) {
+    switch (subscriber.offer(frame, bufferSize)) {
+      case DRAIN -> schedule(subscriber);
+      case OVERFLOW -> {
+        LOGGER.debug("Disconnecting slow activity subscriber of group {}", subscriber.groupId);
+        disconnect(subscriber, "slow_consumer", true);
+      }
+      default -> {
+        // QUEUED or IGNORED: already being drained, or closed
+      }
+    }
+  }
+
+  private void schedule(Subscriber subscriber) {
+    try {
+      executor.execute(() -> drain(subscriber));
+    } catch (RejectedExecutionException e) {
+      disconnect(subscriber, "overloaded", true);
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    for (Set<DataWithMediaType> frame = subscriber.next();
+        frame != null;
+        frame = subscriber.next()) {
+      if (frame == CLOSE) {
+        disconnect(subscriber, "group_deleted", true);
+        return;
+      }
+      try {
+        subscriber.emitter.send(frame);
+      } catch (IOException | IllegalStateException e) {
+        // The client is gone; the emitter completes itself
+        disconnect(subscriber, "error", false);
+        return;
+      }
+    }
+  }
+
+  private void disconnect(Subscriber subscriber, String reason, boolean completeEmitter) {
+    if (!subscriber.close()) {
+      return;
+    }
+    subscribers.computeIfPresent(
+        subscriber.groupId,
+        (id, group) -> {
+          group.remove(subscriber);
+          return group.isEmpty() ? null : group;
+        });
+    subscriberCount.decrementAndGet();
+    meterRegistry.counter(DISCONNECTS_METRIC, "reason", reason).increment();
+    if (completeEmitter) {
+      subscriber.emitter.complete();
+    }
+  }
+
+  private enum Offer {
+    /** Queued; the caller has to schedule a drain. */
+    DRAIN,
+    /** Queued behind a drain that is already scheduled. */
+    QUEUED,
+    /** The buffer is full. */
+    OVERFLOW,
+    /** The subscriber is closed. */
+    IGNORED
+  }
+
+  /**
+   * One open stream. At most one drain runs per subscriber at a time, so frames are sent in order
+   * and the emitter is only written by one thread.
+   */
+  private static final class Subscriber {
+
+    private final Long groupId;
+    private final SseEmitter emitter;
+
+    /** Allocated for the first queued frame and released once the buffer is drained. */
+    private ArrayDeque<Set<DataWithMediaType>> pending;
+
+    private boolean heartbeatPending;
+    private boolean sentSinceHeartbeat;
+    private boolean draining;
+    private boolean closed;
+
+    private Subscriber(Long groupId, SseEmitter emitter) {
+      this.groupId = groupId;
+      this.emitter = emitter;
+    }
+
+    private synchronized Offer offer(Set<DataWithMediaType> frame, int bufferSize) {
+      if (closed) {
+        return Offer.IGNORED;
+      }
+      if (pending == null) {
+        pending = new ArrayDeque<>();
+      } else if (frame != CLOSE && pending.size() >= bufferSize) {
+        return Offer.OVERFLOW;
+      }
+      pending.add(frame);
+      return startDrain();
+    }
+
+    /**
+     * Requests a heartbeat unless an event was sent since the previous round, or a frame is already
+     * waiting to be sent.
+     *
+     * @return true if the caller has to schedule a drain
+     */
+    private synchronized boolean offerHeartbeat() {
+      if (closed || heartbeatPending || pending != null) {
+        return false;
+      }
+      if (sentSinceHeartbeat) {
+        sentSinceHeartbeat = false;
+        return false;
+      }
+      heartbeatPending = true;
+      return startDrain() == Offer.DRAIN;
+    }
+
+    private Offer startDrain() {
+      if (draining) {
+        return Offer.QUEUED;
+      }
+      draining = true;
+      return Offer.DRAIN;
+    }
+
+    /** Returns the next frame to send, or null once the subscriber has nothing left to send. */
+    private synchronized Set<DataWithMediaType> next() {
+      if (!closed) {
+        if (pending != null) {
+          Set<DataWithMediaType> frame = pending.poll();
+          if (pending.isEmpty()) {
+            pending = null;
+          }
+          sentSinceHeartbeat = true;
+          return frame;
+        }
+        if (heartbeatPending) {
+          heartbeatPending = false;
+          return HEARTBEAT;
+        }
+      }
+      draining = false;
+      return null;
+    }
+
+    private synchronized boolean close() {
+      if (closed) {
+        return false;
+      }
+      closed = true;
+      pending = null;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.response.GroupResponseDTO;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache for group response DTOs. Single groups are cached by id; the public listing
+ * and public search results are cached as snapshots.
+ *
+ * <p>Writers evict exactly the entries they change. When a transaction is active the eviction is
+ * repeated after commit, so a reader that loads the old row between the write and the commit cannot
+ * leave a stale entry behind.
+ */
+@Component
+public class GroupResponseCache {
+
+  static final String GROUPS_CACHE = "groups";
+  static final String PUBLIC_GROUPS_CACHE = "publicGroups";
+  static final String PUBLIC_GROUP_SEARCH_CACHE = "publicGroupSearch";
+
+  private static final String PUBLIC_LISTING_KEY = "all";
+
+  private final Cache groups;
+  private final Cache publicGroups;
+  private final Cache publicGroupSearch;
+
+  public GroupResponseCache(CacheManager cacheManager) {
+    this.groups = requireCache(cacheManager, GROUPS_CACHE);
+    this.publicGroups = requireCache(cacheManager, PUBLIC_GROUPS_CACHE);
+    this.publicGroupSearch = requireCache(cacheManager, PUBLIC_GROUP_SEARCH_CACHE);
+  }
+
+  /**
+   * Returns the cached DTO for a group, loading it on a miss.
+   *
+   * @param groupId the ID of the group
+   * @param loader loads the DTO from the database; exceptions are propagated unchanged
+   * @return the group DTO
+   */
+  public GroupResponseDTO getGroup(Long groupId, Supplier<GroupResponseDTO> loader) {
+    return getOrLoad(groups, groupId, loader);
+  }
+
+  /**
+   * Returns the cached snapshot of all public groups, loading it on a miss.
+   *
+   * @param loader loads the listing from the database
+   * @return an unmodifiable list of public group DTOs
+   */
+  public List<GroupResponseDTO> getPublicGroups(Supplier<List<GroupResponseDTO>> loader) {
+    return getOrLoad(publicGroups, PUBLIC_LISTING_KEY, () -> List.copyOf(loader.get()));
+  }
+
+  /**
+   * Returns the cached result of a public group search, loading it on a miss.
+   *
+   * @param key the search key; normalized to lower case before it is used
+   * @param loader runs the search against the database
+   * @return an unmodifiable list of matching group DTOs
+   */
+  public List<GroupResponseDTO> searchPublicGroups(
+      String key, Supplier<List<GroupResponseDTO>> loader) {
+    return getOrLoad(publicGroupSearch, normalize(key), () -> List.copyOf(loader.get()));
+  }
+
+  /**
+   * Returns one cached page of a ranked public group search, loading it on a miss. Pages share the
+   * search cache, so they are evicted together with the unpaged results.
+   *
+   * @param query the search query; normalized to lower case before it is used
+   * @param page the zero-based page index
+   * @param size the page size
+   * @param loader runs the search against the database
+   * @return an unmodifiable list of matching group DTOs
+   */
+  public List<GroupResponseDTO> searchPublicGroupsPage(
+      String query, int page, int size, Supplier<List<GroupResponseDTO>> loader) {
+    SearchPageKey key = new SearchPageKey(normalize(query), page, size);
+    return getOrLoad(publicGroupSearch, key, () -> List.copyOf(loader.get()));
+  }
+
+  /**
+   * Evicts the cached DTO of a single group.
+   *
+   * @param groupId the ID of the group that changed
+   */
+  public void evictGroup(Long groupId) {
+    evictNowAndAfterCommit(() -> groups.evict(groupId));
+  }
+
+  /** Evicts the public listing snapshot and all cached public search results. */
+  public void evictPublicListings() {
+    evictNowAndAfterCommit(
+        () -> {
+          publicGroups.clear();
+          publicGroupSearch.clear();
+        });
+  }
+
+  /**
+   * Evicts everything a change to the given group can affect: its own entry and, if the group is or
+   * was public, the public snapshots.
+   *
+   * @param groupId the ID of the group that changed
+   * @param affectsPublicListings whether the group is or was public
+   */
+  public void evictGroupChange(Long groupId, boolean affectsPublicListings) {
+    evictGroup(groupId);
+    if (affectsPublicListings) {
+      evictPublicListings();
+    }
+  }
+
+  private static String normalize(String query) {
+    return query.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static <T> T getOrLoad(Cache cache, Object key, Supplier<T> loader) {
+    try {
+      return cache.get(key, loader::get);
+    } catch (Cache.ValueRetrievalException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static void evictNowAndAfterCommit(Runnable eviction) {
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              eviction.run();
+            }
+          });
+    }
+  }
+
+  private static Cache requireCache(CacheManager cacheManager, String name) {
+    Cache cache = cacheManager.getCache(name);
+    if (cache == null) {
+      throw new IllegalStateException("Cache '" + name + "' is not configured");
+    }
+    return cache;
+  }
+
+  private record SearchPageKey(String query, int page, int size) {}
+}
@@ -1,31 +1,54 @@
 package de.softwaretesting.studyconnect.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import de.softwaretesting.studyconnect.dtos.request.CreateGroupRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateGroupRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
 import de.softwaretesting.studyconnect.dtos.response.GroupResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.exceptions.ConflictException;
 import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
 import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.exceptions.ServiceUnavailableException;
 import de.softwaretesting.studyconnect.mappers.request.CreateGroupRequestMapper;
 import de.softwaretesting.studyconnect.mappers.response.GroupResponseMapper;
 import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.GroupRef;
 import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.utils.KeysetCursor;
+import de.softwaretesting.studyconnect.utils.LikePatterns;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @RequiredArgsConstructor
@@ -34,24 +57,109 @@ public class GroupService {
   private static final int INVITE_CODE_SAVE_RETRY_ATTEMPTS = 2;
   private static final Logger LOGGER = LoggerFactory.getLogger(GroupService.class);
   private static final String GROUP_NOT_FOUND_MESSAGE = "Group not found with id: ";
+  private static final int PUBLIC_GROUPS_MAX_PAGE_SIZE = 100;
+  private static final int STREAM_FLUSH_INTERVAL = 100;
+  private static final int SEARCH_MAX_PAGE_SIZE = 100;
+  private static final int SUGGESTION_MAX_LIMIT = 25;
 
   private final GroupRepository groupRepository;
   private final UserService userService;
   private final TaskService taskService;
   private final CreateGroupRequestMapper groupRequestMapper;
   private final GroupResponseMapper groupResponseMapper;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+  private final GroupResponseCache groupResponseCache;
+  private final OptimisticLockRetryExecutor groupWriteRetry;
+  private final GroupActivityHub groupActivityHub;
 
   /**
-   * Retrieves all public groups.
+   * Retrieves all public groups. The listing is served from a cached snapshot that is evicted
+   * whenever a public group changes.
    *
    * @return a ResponseEntity containing a list of GroupResponseDTOs for all public groups
    */
   public ResponseEntity<List<GroupResponseDTO>> getAllPublicGroups() {
-    Optional<List<Group>> publicGroups = groupRepository.findByIsPublicTrue();
-    List<GroupResponseDTO> dtoList = groupResponseMapper.toDtoList(publicGroups.orElse(List.of()));
+    List<GroupResponseDTO> dtoList =
+        groupResponseCache.getPublicGroups(
+            () -> {
+              Optional<List<Group>> publicGroups = groupRepository.findByIsPublicTrue();
+              return groupResponseMapper.toDtoList(publicGroups.orElse(List.of()));
+            });
     return ResponseEntity.ok(dtoList);
   }
 
+  /**
+   * Retrieves one page of public groups using keyset pagination on {@code (updatedAt, id)}, newest
+   * update first.
+   *
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param size the requested page size, capped at {@value #PUBLIC_GROUPS_MAX_PAGE_SIZE}
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   * @throws BadRequestException if the cursor is malformed
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPageResponseDTO<GroupResponseDTO>> getPublicGroupsPage(
+      String cursor, int size) {
+    int pageSize = Math.clamp(size, 1, PUBLIC_GROUPS_MAX_PAGE_SIZE);
+    // Read one extra row to find out whether another page follows.
+    Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+    List<Group> groups;
+    if (cursor == null || cursor.isBlank()) {
+      groups = groupRepository.findPublicGroupsPage(limit);
+    } else {
+      KeysetCursor position = KeysetCursor.decode(cursor, 2);
+      groups =
+          groupRepository.findPublicGroupsPageAfter(
+              position.getDateTime(0), position.getLong(1), limit);
+    }
+
+    boolean hasNext = groups.size() > pageSize;
+    List<Group> page = hasNext ? groups.subList(0, pageSize) : groups;
+    String nextCursor = null;
+    if (hasNext) {
+      Group last = page.get(page.size() - 1);
+      nextCursor = KeysetCursor.of(last.getUpdatedAt(), last.getId()).encode();
+    }
+    return ResponseEntity.ok(
+        new CursorPageResponseDTO<>(groupResponseMapper.toDtoList(page), nextCursor));
+  }
+
+  /**
+   * Writes all public groups as a JSON array to the given stream. Rows are read from a database
+   * cursor and detached after they have been written, so memory use does not grow with the number
+   * of public groups.
+   *
+   * @param outputStream the stream to write the JSON array to
+   * @throws IOException if writing to the stream fails
+   */
+  @Transactional(readOnly = true)
+  public void streamPublicGroups(OutputStream outputStream) throws IOException {
+    ObjectWriter writer =
+        objectMapper
+            .writerFor(GroupResponseDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    try (Stream<Group> groups = groupRepository.streamPublicGroups();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+      generator.writeStartArray();
+      int written = 0;
+      Iterator<Group> iterator = groups.iterator();
+      while (iterator.hasNext()) {
+        Group group = iterator.next();
+        writer.writeValue(generator, groupResponseMapper.toDto(group));
+        entityManager.detach(group);
+        written++;
+        if (written % STREAM_FLUSH_INTERVAL == 0) {
+          generator.flush();
+        }
+      }
+      generator.writeEndArray();
+    }
+  }
+
   /**
    * Retrieves a group by its ID.
    *
@@ -60,11 +168,16 @@ public class GroupService {
    * @throws NotFoundException if the group with the specified ID does not exist
    */
   public ResponseEntity<GroupResponseDTO> getGroupById(Long groupId) {
-    Group group =
-        groupRepository
-            .findById(groupId)
-            .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
-    GroupResponseDTO dto = groupResponseMapper.toDto(group);
+    GroupResponseDTO dto =
+        groupResponseCache.getGroup(
+            groupId,
+            () -> {
+              Group group =
+                  groupRepository
+                      .findById(groupId)
+                      .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
+              return groupResponseMapper.toDto(group);
+            });
     return ResponseEntity.ok(dto);
   }
 
@@ -115,6 +228,9 @@ public class GroupService {
     group.setCreatedBy(usersById.get(dto.getCreatedById()));
     try {
       Group savedGroup = saveWithInviteCodeRetry(group);
+      if (savedGroup.isPublic()) {
+        groupResponseCache.evictPublicListings();
+      }
       return new ResponseEntity<>(groupResponseMapper.toDto(savedGroup), HttpStatus.CREATED);
     } catch (DataIntegrityViolationException e) {
       throw new InternalServerErrorException("Error saving group due to database constraint");
@@ -131,10 +247,14 @@ public class GroupService {
    * @return a ResponseEntity containing the updated group's response DTO
    * @throws NotFoundException if the group with the specified ID does not exist
    * @throws BadRequestException if validation fails for member or admin updates
+   * @throws ConflictException if the group kept changing concurrently on every retry
    */
-  @Transactional
   public ResponseEntity<GroupResponseDTO> updateGroup(Long groupId, UpdateGroupRequestDTO dto) {
+    return groupWriteRetry.execute("update", () -> applyGroupUpdate(groupId, dto));
+  }
 
+  private ResponseEntity<GroupResponseDTO> applyGroupUpdate(
+      Long groupId, UpdateGroupRequestDTO dto) {
     Group patchGroup =
         groupRepository
             .findById(groupId)
@@ -143,9 +263,12 @@ public class GroupService {
     validateMaxMembersUpdate(patchGroup, dto);
     validateMemberUpdate(patchGroup, dto);
     validateAdminUpdate(patchGroup, dto);
+    boolean wasPublic = patchGroup.isPublic();
     applyPatch(patchGroup, dto);
 
     Group updatedGroup = groupRepository.save(patchGroup);
+    groupResponseCache.evictGroupChange(groupId, wasPublic || updatedGroup.isPublic());
+    groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.GROUP_UPDATED, groupId);
     GroupResponseDTO responseDTO = groupResponseMapper.toDto(updatedGroup);
     return ResponseEntity.ok(responseDTO);
   }
@@ -284,9 +407,13 @@ public class GroupService {
    * @return a ResponseEntity with no content
    * @throws NotFoundException if the group or user does not exist
    * @throws BadRequestException if the user is not a member of the group
+   * @throws ConflictException if the group kept changing concurrently on every retry
    */
-  @Transactional
   public ResponseEntity<Void> removeMemberFromGroup(Long groupId, Long userId) {
+    return groupWriteRetry.execute("leave", () -> applyMemberRemoval(groupId, userId));
+  }
+
+  private ResponseEntity<Void> applyMemberRemoval(Long groupId, Long userId) {
     Group group =
         groupRepository
             .findById(groupId)
@@ -305,6 +432,7 @@ public class GroupService {
     // Check if the group still has any members after removal
     if (group.getMemberCount() == 0) {
       groupRepository.delete(group);
+      groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.GROUP_DELETED, groupId);
     } else {
       // If no admins remain but there are still members, promote the first member to
       // admin
@@ -318,7 +446,9 @@ public class GroupService {
         }
       }
       groupRepository.save(group);
+      groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.MEMBER_LEFT, userId);
     }
+    groupResponseCache.evictGroupChange(groupId, group.isPublic());
     return ResponseEntity.noContent().build();
   }
 
@@ -330,9 +460,13 @@ public class GroupService {
    * @return a ResponseEntity with no content
    * @throws NotFoundException if the group or user does not exist
    * @throws BadRequestException if the user is not an admin of the group
+   * @throws ConflictException if the group kept changing concurrently on every retry
    */
-  @Transactional
   public ResponseEntity<Void> removeAdminFromGroup(Long groupId, Long userId) {
+    return groupWriteRetry.execute("remove_admin", () -> applyAdminRemoval(groupId, userId));
+  }
+
+  private ResponseEntity<Void> applyAdminRemoval(Long groupId, Long userId) {
     Group group =
         groupRepository
             .findById(groupId)
@@ -343,6 +477,8 @@ public class GroupService {
       throw new BadRequestException("User with id " + userId + " is not an admin of the group");
     }
     groupRepository.save(group);
+    groupResponseCache.evictGroupChange(groupId, group.isPublic());
+    groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.ADMIN_REMOVED, userId);
     return ResponseEntity.noContent().build();
   }
 
@@ -367,37 +503,48 @@ public class GroupService {
    * @throws NotFoundException if the group with the specified invite code does not exist
    * @throws BadRequestException if the group is full or the user is already a member
    */
-  @Transactional
   public ResponseEntity<Void> joinGroupByInvitationCode(String inviteCode, Long userId) {
-    Group group =
-        groupRepository
-            .findByInviteCode(inviteCode)
-            .orElseThrow(
-                () -> new NotFoundException("Group not found with invite code: " + inviteCode));
-
-    if (group.getMemberCount() >= group.getMaxMembers()) {
-      throw new BadRequestException("Group has reached its maximum member limit");
-    }
+    return groupWriteRetry.execute(
+        "join",
+        () -> {
+          GroupRef group =
+              groupRepository
+                  .findRefByInviteCode(inviteCode)
+                  .orElseThrow(
+                      () ->
+                          new NotFoundException("Group not found with invite code: " + inviteCode));
+          addMember(group, userId);
+          return ResponseEntity.noContent().build();
+        });
+  }
 
-    User user = userService.retrieveUserById(userId);
-    boolean added = group.addMember(user);
-    if (!added) {
-      throw new BadRequestException("User with id " + userId + " is already a member of the group");
+  /**
+   * Opens a stream of the changes of a group: tasks, members, comments and the group itself.
+   *
+   * @param groupId the ID of the group
+   * @return the emitter of the stream
+   * @throws NotFoundException if the group does not exist
+   * @throws ServiceUnavailableException if too many streams are open
+   */
+  public SseEmitter subscribeToActivity(Long groupId) {
+    if (!groupRepository.existsById(groupId)) {
+      throw new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId);
     }
-
-    groupRepository.save(group);
-    return ResponseEntity.noContent().build();
+    return groupActivityHub.subscribe(groupId);
   }
 
+  /**
+   * Retrieves the members of a group with a single join query that projects into response DTOs.
+   *
+   * @param groupId the ID of the group
+   * @return a ResponseEntity containing the members of the group
+   * @throws NotFoundException if the group does not exist
+   */
   @Transactional(readOnly = true)
   public ResponseEntity<Set<UserResponseDTO>> getMembersByGroupId(Long groupId) {
     try {
-      Set<Long> memberIds =
-          groupRepository
-              .findMemberIdsByGroupId(groupId)
-              .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
-
-      Set<UserResponseDTO> memberDTOs = userService.getUsersByIdsDTOs(memberIds);
+      Set<UserResponseDTO> memberDTOs = groupRepository.findMemberDTOsByGroupId(groupId);
+      requireGroupIfEmpty(groupId, memberDTOs);
       return ResponseEntity.ok(memberDTOs);
     } catch (NotFoundException e) {
       throw e;
@@ -406,15 +553,18 @@ public class GroupService {
     }
   }
 
+  /**
+   * Retrieves the admins of a group with a single join query that projects into response DTOs.
+   *
+   * @param groupId the ID of the group
+   * @return a ResponseEntity containing the admins of the group
+   * @throws NotFoundException if the group does not exist
+   */
   @Transactional(readOnly = true)
   public ResponseEntity<Set<UserResponseDTO>> getAdminsByGroupId(Long groupId) {
     try {
-      Set<Long> adminIds =
-          groupRepository
-              .findAdminIdsByGroupId(groupId)
-              .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
-
-      Set<UserResponseDTO> adminDTOs = userService.getUsersByIdsDTOs(adminIds);
+      Set<UserResponseDTO> adminDTOs = groupRepository.findAdminDTOsByGroupId(groupId);
+      requireGroupIfEmpty(groupId, adminDTOs);
       return ResponseEntity.ok(adminDTOs);
     } catch (NotFoundException e) {
       throw e;
@@ -423,6 +573,16 @@ public class GroupService {
     }
   }
 
+  /**
+   * An empty join result does not tell a group without users from a missing group. Only in that
+   * case is the group looked up, so listing a populated group stays a single query.
+   */
+  private void requireGroupIfEmpty(Long groupId, Set<UserResponseDTO> users) {
+    if (users.isEmpty() && !groupRepository.existsById(groupId)) {
+      throw new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId);
+    }
+  }
+
   /**
    * Attempts to save the group, retrying with a new invite code if a unique constraint violation
    * occurs on the invite_code column.
@@ -498,6 +658,8 @@ public class GroupService {
             .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
     try {
       groupRepository.delete(group);
+      groupResponseCache.evictGroupChange(groupId, group.isPublic());
+      groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.GROUP_DELETED, groupId);
       return true;
     } catch (Exception e) {
       LOGGER.error("Error deleting group with id {}: {}", groupId, e.getMessage());
@@ -506,25 +668,101 @@ public class GroupService {
   }
 
   public ResponseEntity<List<GroupResponseDTO>> searchPublicGroups(String query) {
-    Optional<List<Group>> publicGroups = groupRepository.searchPublicGroupsByName(query);
-    List<GroupResponseDTO> dtoList = groupResponseMapper.toDtoList(publicGroups.orElse(List.of()));
+    List<GroupResponseDTO> dtoList =
+        groupResponseCache.searchPublicGroups(
+            query,
+            () -> {
+              Optional<List<Group>> publicGroups = groupRepository.searchPublicGroupsByName(query);
+              return groupResponseMapper.toDtoList(publicGroups.orElse(List.of()));
+            });
     return ResponseEntity.ok(dtoList);
   }
 
+  /**
+   * Searches public groups by name and description, best match first. One extra row is read to tell
+   * whether a next page exists, so no count query is needed.
+   *
+   * @param query the search terms
+   * @param page the zero-based page index
+   * @param size the requested page size; capped at {@value #SEARCH_MAX_PAGE_SIZE}
+   * @return a ResponseEntity containing the requested page of matching groups
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<PageResponseDTO<GroupResponseDTO>> searchPublicGroupsPage(
+      String query, int page, int size) {
+    int pageSize = Math.clamp(size, 1, SEARCH_MAX_PAGE_SIZE);
+    int pageIndex = Math.max(page, 0);
+    int offset = (int) Math.min((long) pageIndex * pageSize, Integer.MAX_VALUE);
+    List<GroupResponseDTO> rows =
+        groupResponseCache.searchPublicGroupsPage(
+            query,
+            pageIndex,
+            pageSize,
+            () ->
+                groupResponseMapper.toDtoList(
+                    groupRepository.searchPublicGroups(query, offset, pageSize + 1)));
+
+    boolean hasNext = rows.size() > pageSize;
+    List<GroupResponseDTO> items = hasNext ? rows.subList(0, pageSize) : rows;
+    return ResponseEntity.ok(new PageResponseDTO<>(items, pageIndex, pageSize, hasNext));
+  }
+
+  /**
+   * Returns public groups whose name starts with the given prefix, for autocompletion.
+   *
+   * @param prefix the typed prefix
+   * @param limit the maximum number of suggestions; capped at {@value #SUGGESTION_MAX_LIMIT}
+   * @return a ResponseEntity containing the suggestions in name order
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<List<GroupSuggestionResponseDTO>> suggestPublicGroups(
+      String prefix, int limit) {
+    String pattern = LikePatterns.startsWith(prefix.trim().toLowerCase(Locale.ROOT));
+    List<GroupSuggestionResponseDTO> suggestions =
+        groupRepository.suggestPublicGroups(
+            pattern, PageRequest.ofSize(Math.clamp(limit, 1, SUGGESTION_MAX_LIMIT)));
+    return ResponseEntity.ok(suggestions);
+  }
+
+  /**
+   * Adds a user to a group. The member slot is reserved with a conditional update of {@code
+   * member_count} and the join row is inserted directly, so the members collection is never loaded.
+   * The reservation bumps the group version, so concurrent writers holding the old state conflict
+   * and are retried instead of overwriting the count.
+   *
+   * @param groupId the ID of the group
+   * @param userId the ID of the user joining
+   * @return a ResponseEntity with no content
+   */
   public ResponseEntity<Void> joinGroupById(Long groupId, Long userId) {
-    Group group =
-        groupRepository
-            .findById(groupId)
-            .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
-    if (group.getMemberCount() >= group.getMaxMembers()) {
+    return groupWriteRetry.execute(
+        "join",
+        () -> {
+          GroupRef group =
+              groupRepository
+                  .findRefById(groupId)
+                  .orElseThrow(() -> new NotFoundException(GROUP_NOT_FOUND_MESSAGE + groupId));
+          addMember(group, userId);
+          return ResponseEntity.noContent().build();
+        });
+  }
+
+  private void addMember(GroupRef group, Long userId) {
+    userService.retrieveUserById(userId);
+    String alreadyMemberMessage = "User with id " + userId + " is already a member of the group";
+    if (groupRepository.existsMemberByGroupIdAndUserId(group.id(), userId)) {
+      throw new BadRequestException(alreadyMemberMessage);
+    }
+    if (groupRepository.incrementMemberCountIfBelowMax(group.id(), LocalDateTime.now()) == 0) {
       throw new BadRequestException("Group has reached its maximum member limit");
     }
-    User user = userService.retrieveUserById(userId);
-    if (group.getMembers().contains(user)) {
-      throw new BadRequestException("User with id " + userId + " is already a member of the group");
+    try {
+      groupRepository.insertMember(group.id(), userId);
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent join of the same user won the race; the rollback releases the reserved slot.
+      throw new BadRequestException(alreadyMemberMessage);
     }
-    group.addMember(user);
-    groupRepository.save(group);
-    return ResponseEntity.noContent().build();
+    groupResponseCache.evictGroupChange(group.id(), group.isPublic());
+    groupActivityHub.publish(group.id(), GroupActivityEventDTO.Type.MEMBER_JOINED, userId);
   }
 }
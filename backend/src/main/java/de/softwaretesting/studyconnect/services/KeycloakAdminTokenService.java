@@ -4,7 +4,9 @@ import de.softwaretesting.studyconnect.dtos.response.KeycloakTokenResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.KeycloakTokenFetchException;
 import jakarta.annotation.PostConstruct;
 import java.time.Instant;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +23,11 @@ import org.springframework.web.client.RestTemplate;
 /**
  * Service for managing Keycloak admin tokens. Handles token retrieval, storage, and automatic
  * refresh.
+ *
+ * <p>The tokens are held as an immutable {@link TokenSnapshot} in an atomic reference, so reading
+ * the access token never blocks. A scheduled task refreshes the token ahead of its expiry. Only
+ * when no usable token exists, callers refresh synchronously; concurrent callers then share a
+ * single request to Keycloak.
  */
 @Service
 public class KeycloakAdminTokenService {
@@ -35,6 +42,12 @@ public class KeycloakAdminTokenService {
 
   private static final int MIN_REFRESH_BUFFER_SECONDS = 30;
 
+  /**
+   * Tokens closer to their expiry than this are not handed out any more, so they do not expire on
+   * the way to Keycloak.
+   */
+  private static final int EXPIRY_MARGIN_SECONDS = 5;
+
   @Value("${KEYCLOAK_AUTH_SERVER_URL}")
   private String keycloakServerUrl;
 
@@ -45,13 +58,9 @@ public class KeycloakAdminTokenService {
   private String adminPassword;
 
   private final RestTemplate restTemplate;
-  private final ReentrantLock tokenLock = new ReentrantLock();
-
-  private String accessToken;
-  private String refreshToken;
-  private Instant tokenExpiryTime;
-  private Instant tokenRefreshTime;
-  private Instant refreshTokenExpiryTime;
+  private final AtomicReference<TokenSnapshot> snapshot = new AtomicReference<>();
+  private final AtomicReference<CompletableFuture<TokenSnapshot>> inFlightRefresh =
+      new AtomicReference<>();
 
   public KeycloakAdminTokenService(RestTemplate restTemplate) {
     this.restTemplate = restTemplate;
@@ -70,7 +79,7 @@ public class KeycloakAdminTokenService {
     }
 
     try {
-      fetchNewToken();
+      refresh(null);
       LOGGER.info("Keycloak admin token successfully initialized");
     } catch (Exception e) {
       LOGGER.error("Failed to initialize Keycloak admin token: {}", e.getMessage());
@@ -78,57 +87,81 @@ public class KeycloakAdminTokenService {
   }
 
   /**
-   * Returns a valid access token. If the current token is expired or about to expire, it will be
-   * refreshed automatically.
+   * Returns a valid access token. The current token is returned without locking as long as it is
+   * usable; only a missing or expired token is fetched before returning.
    *
    * @return the current valid access token, or null if unavailable
    */
   public String getAccessToken() {
-    tokenLock.lock();
+    TokenSnapshot current = snapshot.get();
+    if (current != null && current.isUsable(Instant.now())) {
+      return current.accessToken();
+    }
     try {
-      if (accessToken == null) {
-        fetchNewToken();
-      } else if (isTokenExpired()) {
-        refreshAccessToken();
-      }
-      return accessToken;
+      return refresh(current).accessToken();
     } catch (Exception e) {
       LOGGER.error("Failed to get access token: {}", e.getMessage());
       return null;
-    } finally {
-      tokenLock.unlock();
     }
   }
 
   /**
-   * Checks if the current access token is expired or about to expire.
+   * Replaces the given snapshot with fresh tokens. Only one refresh runs at a time; callers that
+   * arrive while it runs wait for its result instead of sending their own request.
    *
-   * @return true if the token needs to be refreshed
+   * @param seen the snapshot the caller found outdated, or null if there was none
+   * @return the refreshed snapshot
    */
-  private boolean isTokenExpired() {
-    if (tokenExpiryTime == null) {
-      return true;
+  private TokenSnapshot refresh(TokenSnapshot seen) {
+    CompletableFuture<TokenSnapshot> refresh = new CompletableFuture<>();
+    CompletableFuture<TokenSnapshot> running = inFlightRefresh.compareAndExchange(null, refresh);
+    if (running != null) {
+      return joinRefresh(running);
+    }
+    try {
+      TokenSnapshot current = snapshot.get();
+      // Another caller may have replaced the snapshot between our read and taking over the refresh
+      TokenSnapshot next =
+          current != seen && current != null && current.isUsable(Instant.now())
+              ? current
+              : fetchTokens(current);
+      snapshot.set(next);
+      refresh.complete(next);
+      return next;
+    } catch (RuntimeException e) {
+      refresh.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightRefresh.set(null);
     }
-    if (tokenRefreshTime == null) {
-      return Instant.now().isAfter(tokenExpiryTime.minusSeconds(REFRESH_BUFFER_SECONDS));
+  }
+
+  private static TokenSnapshot joinRefresh(CompletableFuture<TokenSnapshot> refresh) {
+    try {
+      return refresh.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
     }
-    return Instant.now().isAfter(tokenRefreshTime);
   }
 
   /**
-   * Checks if the refresh token is expired.
+   * Fetches fresh tokens, using the refresh token of the current snapshot while it is valid.
    *
-   * @return true if the refresh token is expired
+   * @param current the current snapshot, or null if there is none
+   * @return the new snapshot
    */
-  private boolean isRefreshTokenExpired() {
-    if (refreshTokenExpiryTime == null) {
-      return true;
+  private TokenSnapshot fetchTokens(TokenSnapshot current) {
+    if (current == null || current.isRefreshTokenExpired(Instant.now())) {
+      if (current != null) {
+        LOGGER.debug("Refresh token expired, fetching new token");
+      }
+      return fetchNewToken();
     }
-    return Instant.now().isAfter(refreshTokenExpiryTime.minusSeconds(REFRESH_BUFFER_SECONDS));
+    return refreshAccessToken(current.refreshToken());
   }
 
   /** Fetches a new access token using the admin credentials. */
-  private void fetchNewToken() {
+  private TokenSnapshot fetchNewToken() {
     LOGGER.info("Fetching new Keycloak admin token");
 
     String tokenUrl = keycloakServerUrl + "/realms/master/protocol/openid-connect/token";
@@ -149,26 +182,24 @@ public class KeycloakAdminTokenService {
           restTemplate.postForEntity(tokenUrl, request, KeycloakTokenResponseDTO.class);
 
       if (response.getBody() != null) {
-        updateTokens(response.getBody());
+        TokenSnapshot tokens = toSnapshot(response.getBody());
         LOGGER.info("Successfully fetched new Keycloak admin token");
+        return tokens;
       }
     } catch (Exception e) {
       LOGGER.error("Failed to fetch Keycloak admin token: {}", e.getMessage());
       throw new KeycloakTokenFetchException("Failed to fetch Keycloak admin token");
     }
+    throw new KeycloakTokenFetchException("Keycloak returned no admin token");
   }
 
   /**
-   * Refreshes the access token using the refresh token. If the refresh token is expired, fetches a
-   * completely new token.
+   * Refreshes the access token using the refresh token. If the refresh fails, fetches a completely
+   * new token.
+   *
+   * @param refreshToken the current refresh token
    */
-  private void refreshAccessToken() {
-    if (isRefreshTokenExpired() || refreshToken == null) {
-      LOGGER.debug("Refresh token expired, fetching new token");
-      fetchNewToken();
-      return;
-    }
-
+  private TokenSnapshot refreshAccessToken(String refreshToken) {
     LOGGER.debug("Refreshing Keycloak admin token");
 
     String tokenUrl = keycloakServerUrl + "/realms/master/protocol/openid-connect/token";
@@ -188,35 +219,41 @@ public class KeycloakAdminTokenService {
           restTemplate.postForEntity(tokenUrl, request, KeycloakTokenResponseDTO.class);
 
       if (response.getBody() != null) {
-        updateTokens(response.getBody());
+        TokenSnapshot tokens = toSnapshot(response.getBody());
         LOGGER.info("Successfully refreshed Keycloak admin token");
+        return tokens;
       }
     } catch (Exception e) {
       LOGGER.warn("Failed to refresh token, attempting to fetch new token: {}", e.getMessage());
-      fetchNewToken();
     }
+    return fetchNewToken();
   }
 
   /**
-   * Updates the stored tokens from the response.
+   * Creates the token snapshot for a response.
    *
    * @param tokenResponse the response from Keycloak
+   * @return the snapshot of the new tokens
    */
-  private void updateTokens(KeycloakTokenResponseDTO tokenResponse) {
-    this.accessToken = tokenResponse.getAccessToken();
-    this.refreshToken = tokenResponse.getRefreshToken();
+  private TokenSnapshot toSnapshot(KeycloakTokenResponseDTO tokenResponse) {
     long expiresInSeconds = tokenResponse.getExpiresIn();
     long refreshBufferSeconds = resolveRefreshBufferSeconds(expiresInSeconds);
     Instant now = Instant.now();
-    this.tokenExpiryTime = now.plusSeconds(expiresInSeconds);
-    this.tokenRefreshTime = this.tokenExpiryTime.minusSeconds(refreshBufferSeconds);
+    Instant tokenExpiryTime = now.plusSeconds(expiresInSeconds);
 
+    Instant refreshTokenExpiryTime;
     if (tokenResponse.getRefreshExpiresIn() != null && tokenResponse.getRefreshExpiresIn() > 0) {
-      this.refreshTokenExpiryTime = Instant.now().plusSeconds(tokenResponse.getRefreshExpiresIn());
+      refreshTokenExpiryTime = now.plusSeconds(tokenResponse.getRefreshExpiresIn());
     } else {
       // Default refresh token expiry to 30 minutes if not provided
-      this.refreshTokenExpiryTime = Instant.now().plusSeconds(1800);
+      refreshTokenExpiryTime = now.plusSeconds(1800);
     }
+    return new TokenSnapshot(
+        tokenResponse.getAccessToken(),
+        tokenResponse.getRefreshToken(),
+        tokenExpiryTime,
+        tokenExpiryTime.minusSeconds(refreshBufferSeconds),
+        refreshTokenExpiryTime);
   }
 
   private long resolveRefreshBufferSeconds(long expiresInSeconds) {
@@ -227,40 +264,64 @@ public class KeycloakAdminTokenService {
   }
 
   /**
-   * Scheduled task to proactively refresh the token before it expires. Runs every 30 seconds to
-   * check if the token needs refreshing.
+   * Scheduled task to proactively refresh the token before it expires, so requests keep using the
+   * current token without waiting. Runs every 10 seconds, well within the refresh buffer of at
+   * least 30 seconds.
    */
-  @Scheduled(fixedRate = 30000)
+  @Scheduled(fixedDelay = 10000)
   public void scheduleTokenRefresh() {
-    if (accessToken == null) {
+    TokenSnapshot current = snapshot.get();
+    if (current == null) {
       return; // Service not initialized
     }
 
-    tokenLock.lock();
     try {
-      if (isTokenExpired()) {
+      if (current.isRefreshDue(Instant.now())) {
         LOGGER.debug("Scheduled token refresh triggered");
-        refreshAccessToken();
+        refresh(current);
       }
     } catch (Exception e) {
       LOGGER.error("Scheduled token refresh failed: {}", e.getMessage());
-    } finally {
-      tokenLock.unlock();
     }
   }
 
-  /** Invalidates the current tokens, forcing a new token to be fetched on next access. */
+  /**
+   * Invalidates the current tokens, forcing a new token to be fetched on next access. A refresh
+   * that is already running may still publish its tokens, which are fresh anyway.
+   */
   public void invalidateTokens() {
-    tokenLock.lock();
-    try {
-      this.accessToken = null;
-      this.refreshToken = null;
-      this.tokenExpiryTime = null;
-      this.tokenRefreshTime = null;
-      this.refreshTokenExpiryTime = null;
-      LOGGER.info("Keycloak admin tokens invalidated");
-    } finally {
-      tokenLock.unlock();
+    snapshot.set(null);
+    LOGGER.info("Keycloak admin tokens invalidated");
+  }
+
+  /**
+   * Immutable state of the tokens obtained from one Keycloak response.
+   *
+   * @param accessToken the access token
+   * @param refreshToken the refresh token
+   * @param tokenExpiryTime when the access token expires
+   * @param tokenRefreshTime when the access token should be refreshed in the background
+   * @param refreshTokenExpiryTime when the refresh token expires
+   */
+  record TokenSnapshot(
+      String accessToken,
+      String refreshToken,
+      Instant tokenExpiryTime,
+      Instant tokenRefreshTime,
+      Instant refreshTokenExpiryTime) {
+
+    boolean isUsable(Instant now) {
+      return accessToken != null
+          && now.isBefore(tokenExpiryTime.minusSeconds(EXPIRY_MARGIN_SECONDS));
+    }
+
+    boolean isRefreshDue(Instant now) {
+      return !now.isBefore(tokenRefreshTime);
+    }
+
+    boolean isRefreshTokenExpired(Instant now) {
+      return refreshToken == null
+          || now.isAfter(refreshTokenExpiryTime.minusSeconds(REFRESH_BUFFER_SECONDS));
     }
   }
 }
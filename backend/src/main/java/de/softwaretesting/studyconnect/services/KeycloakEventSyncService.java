@@ -0,0 +1,274 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.response.KeycloakAdminEventDTO;
+import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.models.KeycloakSyncState;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.KeycloakSyncStateRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Keeps local users in step with Keycloak by applying the admin events on realm users, instead of
+ * scanning the whole realm. Events are polled on a fixed delay or pushed one at a time through the
+ * event webhook.
+ *
+ * <p>The time of the newest applied event is persisted as a high-water mark in {@link
+ * KeycloakSyncState}, so a restarted application resumes where it stopped. Without a mark the sync
+ * starts at the application start, because {@link KeycloakUserSyncService} covers the users that
+ * existed before. Applying an event is idempotent: creates and updates copy the current Keycloak
+ * profile, deletes remove the local user. Events at the mark itself are therefore applied again
+ * rather than risking to skip one that shares its millisecond.
+ *
+ * <p>An event that fails locally, e.g. because another linked user holds the new email, would fail
+ * the same way on every run. It is logged, counted as failed and passed, so the sync goes on.
+ * Applied, ignored and failed events are counted in {@value #EVENTS_METRIC}.
+ */
+@Service
+public class KeycloakEventSyncService {
+
+  static final String EVENTS_METRIC = "studyconnect.keycloak.event_sync.events";
+  static final String STATE_NAME = "user-admin-events";
+  static final int PAGE_SIZE = 100;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KeycloakEventSyncService.class);
+
+  private final KeycloakService keycloakService;
+  private final UserRepository userRepository;
+  private final KeycloakSyncStateRepository syncStateRepository;
+  private final TransactionOperations transactionOperations;
+  private final MeterRegistry meterRegistry;
+  private final CurrentUserCache currentUserCache;
+  private final boolean enabled;
+  private final long startedAt;
+  private volatile boolean adminEventsEnabled;
+
+  public KeycloakEventSyncService(
+      KeycloakService keycloakService,
+      UserRepository userRepository,
+      KeycloakSyncStateRepository syncStateRepository,
+      TransactionOperations transactionOperations,
+      MeterRegistry meterRegistry,
+      CurrentUserCache currentUserCache,
+      @Value("${studyconnect.keycloak.event-sync.enabled:true}") boolean enabled) {
+    this.keycloakService = keycloakService;
+    this.userRepository = userRepository;
+    this.syncStateRepository = syncStateRepository;
+    this.transactionOperations = transactionOperations;
+    this.meterRegistry = meterRegistry;
+    this.currentUserCache = currentUserCache;
+    this.enabled = enabled;
+    this.startedAt = System.currentTimeMillis();
+  }
+
+  /** Polls for new admin events on a fixed delay, so runs never overlap. */
+  @Scheduled(
+      initialDelayString = "${studyconnect.keycloak.event-sync.interval:30s}",
+      fixedDelayString = "${studyconnect.keycloak.event-sync.interval:30s}")
+  public void scheduledPoll() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      poll();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Keycloak event sync failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Applies the admin events since the high-water mark in the order they happened and advances the
+   * mark. Events that fail locally are skipped. If Keycloak becomes unreachable halfway, the mark
+   * stays at the last processed event; the progress up to there is persisted in any case.
+   *
+   * @return the number of events processed
+   */
+  public int poll() {
+    if (!adminEventsEnabled) {
+      adminEventsEnabled = keycloakService.enableAdminEvents();
+    }
+    Optional<KeycloakSyncState> stored = syncStateRepository.findById(STATE_NAME);
+    KeycloakSyncState state = stored.orElseGet(this::initialState);
+    long since = state.getLastEventTime();
+    List<KeycloakAdminEventDTO> events = fetchEventsSince(since);
+
+    int processed = 0;
+    try {
+      for (KeycloakAdminEventDTO event : events) {
+        try {
+          applyEvent(event);
+        } catch (RestClientException e) {
+          throw e;
+        } catch (RuntimeException e) {
+          meterRegistry
+              .counter(EVENTS_METRIC, "operation", operationOf(event), "outcome", "failed")
+              .increment();
+          LOGGER.warn(
+              "Skipped Keycloak event {} on {}: {}",
+              operationOf(event),
+              event.getResourcePath(),
+              e.getMessage());
+        }
+        state.setLastEventTime(event.getTime());
+        processed++;
+      }
+    } catch (RestClientException e) {
+      LOGGER.warn(
+          "Stopped applying Keycloak events after {} of {}: {}",
+          processed,
+          events.size(),
+          e.getMessage());
+    } finally {
+      if (processed > 0 || stored.isEmpty()) {
+        syncStateRepository.save(state);
+      }
+    }
+    return processed;
+  }
+
+  /**
+   * Applies a single admin event to the local users. Events on other resources than a user itself,
+   * such as role mappings, are ignored.
+   *
+   * @param event the admin event
+   * @throws RestClientException if the user cannot be read from Keycloak
+   */
+  public void applyEvent(KeycloakAdminEventDTO event) {
+    String userId = userIdOf(event);
+    String operation = operationOf(event);
+    boolean applied =
+        userId != null
+            && switch (operation) {
+              case "CREATE", "UPDATE" -> upsertUser(userId);
+              case "DELETE" -> deleteUser(userId);
+              default -> false;
+            };
+    meterRegistry
+        .counter(EVENTS_METRIC, "operation", operation, "outcome", applied ? "applied" : "ignored")
+        .increment();
+  }
+
+  private boolean upsertUser(String userId) {
+    Optional<KeycloakUserResponseDTO> found = keycloakService.findUserInRealm(userId);
+    if (found.isEmpty()) {
+      // Deleted in the meantime, the delete event follows
+      return false;
+    }
+    KeycloakUserResponseDTO keycloakUser = found.get();
+    if (keycloakUser.getEmail() == null
+        || keycloakUser.getFirstName() == null
+        || keycloakUser.getLastName() == null) {
+      return false;
+    }
+    transactionOperations.executeWithoutResult(
+        status -> {
+          // A pending registration already holds the email, adopt its user
+          User user =
+              userRepository
+                  .findByKeycloakUUID(userId)
+                  .or(
+                      () ->
+                          userRepository
+                              .findByEmail(keycloakUser.getEmail())
+                              .filter(existing -> existing.getKeycloakUUID() == null))
+                  .orElseGet(User::new);
+          String previousEmail = user.getEmail();
+          user.setKeycloakUUID(userId);
+          user.setEmail(keycloakUser.getEmail());
+          user.setFirstname(keycloakUser.getFirstName());
+          user.setLastname(keycloakUser.getLastName());
+          userRepository.save(user);
+          currentUserCache.evict(userId, previousEmail);
+          currentUserCache.evict(user);
+        });
+    return true;
+  }
+
+  private boolean deleteUser(String userId) {
+    try {
+      return Boolean.TRUE.equals(
+          transactionOperations.execute(
+              status -> {
+                Optional<User> user = userRepository.findByKeycloakUUID(userId);
+                user.ifPresent(
+                    existing -> {
+                      userRepository.delete(existing);
+                      userRepository.flush();
+                      currentUserCache.evict(existing);
+                    });
+                return user.isPresent();
+              }));
+    } catch (DataIntegrityViolationException e) {
+      // Still referenced by groups, tasks or comments: keep the row, but unlink the account
+      transactionOperations.executeWithoutResult(
+          status ->
+              userRepository
+                  .findByKeycloakUUID(userId)
+                  .ifPresent(
+                      existing -> {
+                        currentUserCache.evict(existing);
+                        existing.setKeycloakUUID(null);
+                        userRepository.save(existing);
+                      }));
+      return true;
+    }
+  }
+
+  private List<KeycloakAdminEventDTO> fetchEventsSince(long since) {
+    // dateFrom has day precision in the server's time zone, so start a day early and filter here
+    LocalDate dateFrom =
+        Instant.ofEpochMilli(since).atZone(ZoneOffset.UTC).toLocalDate().minusDays(1);
+    List<KeycloakAdminEventDTO> events = new ArrayList<>();
+    for (int first = 0; ; first += PAGE_SIZE) {
+      List<KeycloakAdminEventDTO> page =
+          keycloakService.retrieveUserAdminEvents(dateFrom, first, PAGE_SIZE);
+      page.stream()
+          .filter(event -> event.getTime() != null && event.getTime() >= since)
+          .forEach(events::add);
+      // Pages are newest first, so nothing after a page that reaches past the mark is needed
+      Long oldest = page.isEmpty() ? null : page.get(page.size() - 1).getTime();
+      if (page.size() < PAGE_SIZE || oldest == null || oldest < since) {
+        break;
+      }
+    }
+    // Oldest first; reversing before the stable sort keeps events of the same millisecond in order
+    Collections.reverse(events);
+    events.sort(Comparator.comparing(KeycloakAdminEventDTO::getTime));
+    return events;
+  }
+
+  private KeycloakSyncState initialState() {
+    KeycloakSyncState state = new KeycloakSyncState();
+    state.setName(STATE_NAME);
+    state.setLastEventTime(startedAt);
+    return state;
+  }
+
+  private static String operationOf(KeycloakAdminEventDTO event) {
+    return event.getOperationType() == null ? "UNKNOWN" : event.getOperationType();
+  }
+
+  private static String userIdOf(KeycloakAdminEventDTO event) {
+    if (!"USER".equals(event.getResourceType()) || event.getResourcePath() == null) {
+      return null;
+    }
+    String[] segments = event.getResourcePath().split("/");
+    return segments.length == 2 && "users".equals(segments[0]) ? segments[1] : null;
+  }
+}
@@ -0,0 +1,107 @@
+package de.softwaretesting.studyconnect.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache for Keycloak realm metadata: the realm names, and the role representations and
+ * client ids of a realm. The metadata rarely changes, yet it was listed on every user creation.
+ *
+ * <p>Entries expire after {@code studyconnect.keycloak.metadata-cache.ttl}. {@link KeycloakService}
+ * evicts them whenever it changes realms, roles or clients. Failed lookups are not cached.
+ */
+@Component
+public class KeycloakRealmMetadataCache {
+
+  public static final String REALM_METADATA_CACHE = "keycloakRealmMetadata";
+
+  private static final String REALMS_KEY = "realms";
+
+  private final Cache metadata;
+
+  public KeycloakRealmMetadataCache(CacheManager cacheManager) {
+    Cache cache = cacheManager.getCache(REALM_METADATA_CACHE);
+    if (cache == null) {
+      throw new IllegalStateException("Cache '" + REALM_METADATA_CACHE + "' is not configured");
+    }
+    this.metadata = cache;
+  }
+
+  /**
+   * Returns the cached names of all realms, loading them on a miss.
+   *
+   * @param loader lists the realms; exceptions are propagated unchanged
+   * @return an unmodifiable list of realm names
+   */
+  public List<String> getRealms(Supplier<List<String>> loader) {
+    return getOrLoad(REALMS_KEY, () -> List.copyOf(loader.get()));
+  }
+
+  /**
+   * Returns the cached role representations of a realm, loading them on a miss.
+   *
+   * @param realm the realm name
+   * @param loader lists the realm roles; exceptions are propagated unchanged
+   * @return an unmodifiable list of role representations
+   */
+  public List<Map<String, Object>> getRoles(
+      String realm, Supplier<List<Map<String, Object>>> loader) {
+    return getOrLoad(new RealmKey(realm, "roles"), () -> List.copyOf(loader.get()));
+  }
+
+  /**
+   * Returns the cached client ids of a realm, loading them on a miss.
+   *
+   * @param realm the realm name
+   * @param loader lists the realm clients; exceptions are propagated unchanged
+   * @return an unmodifiable list of client ids
+   */
+  public List<String> getClients(String realm, Supplier<List<String>> loader) {
+    return getOrLoad(new RealmKey(realm, "clients"), () -> List.copyOf(loader.get()));
+  }
+
+  /** Evicts the cached realm names. */
+  public void evictRealms() {
+    metadata.evict(REALMS_KEY);
+  }
+
+  /**
+   * Evicts the cached role representations of a realm.
+   *
+   * @param realm the realm whose roles changed
+   */
+  public void evictRoles(String realm) {
+    metadata.evict(new RealmKey(realm, "roles"));
+  }
+
+  /**
+   * Evicts the cached client ids of a realm.
+   *
+   * @param realm the realm whose clients changed
+   */
+  public void evictClients(String realm) {
+    metadata.evict(new RealmKey(realm, "clients"));
+  }
+
+  /** Evicts all cached realm metadata. */
+  public void clear() {
+    metadata.clear();
+  }
+
+  private <T> T getOrLoad(Object key, Supplier<T> loader) {
+    try {
+      return metadata.get(key, loader::get);
+    } catch (Cache.ValueRetrievalException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record RealmKey(String realm, String kind) {}
+}
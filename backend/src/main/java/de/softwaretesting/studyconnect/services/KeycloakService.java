@@ -1,13 +1,16 @@
 package de.softwaretesting.studyconnect.services;
 
+import de.softwaretesting.studyconnect.dtos.response.KeycloakAdminEventDTO;
 import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.BadRequestException;
 import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
 import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +35,7 @@ public class KeycloakService {
   private static final Logger LOGGER = LoggerFactory.getLogger(KeycloakService.class);
   private static final String KEYCLOAK_REALM_PATH = "/admin/realms/";
   private final RestTemplate restTemplate;
+  private final KeycloakRealmMetadataCache realmMetadataCache;
 
   @Value("${KEYCLOAK_AUTH_SERVER_URL}")
   private String keycloakServerUrl;
@@ -111,8 +115,9 @@ public class KeycloakService {
             "enabled", true,
             "registrationEmailAsUsername", true, // use email as identifier instead of username
             "duplicateEmailsAllowed", false, // prevent duplicate emails
-            "loginTheme", "studyconnect" // custom theme for Studyconnect
-            );
+            "loginTheme", "studyconnect", // custom theme for Studyconnect
+            "adminEventsEnabled", true, // read by the incremental user sync
+            "adminEventsDetailsEnabled", true);
 
     HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
 
@@ -127,6 +132,8 @@ public class KeycloakService {
     } catch (Exception e) {
       LOGGER.error("Error creating realm: {}", e.getMessage());
       return false;
+    } finally {
+      realmMetadataCache.evictRealms();
     }
   }
 
@@ -192,6 +199,8 @@ public class KeycloakService {
     } catch (Exception e) {
       LOGGER.error("Error adding roles to realm");
       return false;
+    } finally {
+      realmMetadataCache.evictRoles(realmName);
     }
   }
 
@@ -250,6 +259,8 @@ public class KeycloakService {
     } catch (Exception e) {
       LOGGER.error("Error deleting realm: {}", e.getMessage());
       return false;
+    } finally {
+      realmMetadataCache.clear();
     }
   }
 
@@ -468,7 +479,14 @@ public class KeycloakService {
     headers.setContentType(MediaType.APPLICATION_JSON);
     headers.setBearerAuth(getAccessToken());
 
-    List<Map<String, Object>> availableRoles = getAllRoleRepresentations();
+    List<Map<String, Object>> cachedRoles = getAllRoleRepresentations();
+    List<Map<String, Object>> roles = cachedRoles;
+    if (!normalizedRoleNames.stream().allMatch(name -> containsRole(cachedRoles, name))) {
+      // The role may have been created after the roles were cached
+      realmMetadataCache.evictRoles(realmName);
+      roles = getAllRoleRepresentations();
+    }
+    List<Map<String, Object>> availableRoles = roles;
     List<Map<String, Object>> roleRepresentations =
         normalizedRoleNames.stream()
             .map(roleName -> findRoleRepresentation(availableRoles, roleName))
@@ -489,12 +507,17 @@ public class KeycloakService {
   }
 
   /**
-   * Retrieves all role representations from the configured realm.
+   * Retrieves all role representations from the configured realm, served from the realm metadata
+   * cache.
    *
    * @return list of role representations
    */
-  @SuppressWarnings("unchecked")
   private List<Map<String, Object>> getAllRoleRepresentations() {
+    return realmMetadataCache.getRoles(realmName, this::fetchRoleRepresentations);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> fetchRoleRepresentations() {
     String rolesUrl = keycloakServerUrl + KEYCLOAK_REALM_PATH + realmName + "/roles";
 
     HttpHeaders headers = new HttpHeaders();
@@ -515,6 +538,13 @@ public class KeycloakService {
     }
   }
 
+  private static boolean containsRole(
+      List<Map<String, Object>> availableRoles, String normalizedRoleName) {
+    return availableRoles.stream()
+        .map(m -> m.get("name"))
+        .anyMatch(name -> name instanceof String s && s.trim().equals(normalizedRoleName));
+  }
+
   private Map<String, Object> findRoleRepresentation(
       List<Map<String, Object>> availableRoles, String normalizedRoleName) {
     if (normalizedRoleName == null || normalizedRoleName.isBlank()) {
@@ -651,6 +681,130 @@ public class KeycloakService {
     }
   }
 
+  /**
+   * Retrieves one page of the users in the configured realm. Unlike {@link
+   * #retrieveAllUsersInRealm()} a failed request is not turned into an empty page, so callers
+   * paging through the realm can tell its end from an error.
+   *
+   * @param first the offset of the first user to return
+   * @param max the maximum number of users to return
+   * @return the users of the page, empty once the offset is past the last user
+   * @throws org.springframework.web.client.RestClientException if the request fails
+   */
+  public List<KeycloakUserResponseDTO> retrieveUsersInRealm(int first, int max) {
+    String usersUrl =
+        UriComponentsBuilder.fromUriString(keycloakServerUrl)
+            .pathSegment("admin", "realms", realmName, "users")
+            .queryParam("first", first)
+            .queryParam("max", max)
+            .queryParam("briefRepresentation", true)
+            .toUriString();
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(getAccessToken());
+
+    ResponseEntity<KeycloakUserResponseDTO[]> response =
+        restTemplate.exchange(
+            usersUrl,
+            org.springframework.http.HttpMethod.GET,
+            new HttpEntity<Void>(headers),
+            KeycloakUserResponseDTO[].class);
+    return response.getBody() != null ? Arrays.asList(response.getBody()) : Collections.emptyList();
+  }
+
+  /**
+   * Retrieves one page of the admin events on users of the configured realm, newest first.
+   *
+   * @param dateFrom the first day to return events for
+   * @param first the offset of the first event to return
+   * @param max the maximum number of events to return
+   * @return the events of the page, empty once the offset is past the last event
+   * @throws org.springframework.web.client.RestClientException if the request fails
+   */
+  public List<KeycloakAdminEventDTO> retrieveUserAdminEvents(
+      LocalDate dateFrom, int first, int max) {
+    String eventsUrl =
+        UriComponentsBuilder.fromUriString(keycloakServerUrl)
+            .pathSegment("admin", "realms", realmName, "admin-events")
+            .queryParam("resourceTypes", "USER")
+            .queryParam("dateFrom", dateFrom)
+            .queryParam("first", first)
+            .queryParam("max", max)
+            .toUriString();
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(getAccessToken());
+
+    ResponseEntity<KeycloakAdminEventDTO[]> response =
+        restTemplate.exchange(
+            eventsUrl,
+            org.springframework.http.HttpMethod.GET,
+            new HttpEntity<Void>(headers),
+            KeycloakAdminEventDTO[].class);
+    return response.getBody() != null ? Arrays.asList(response.getBody()) : Collections.emptyList();
+  }
+
+  /**
+   * Looks up a user of the configured realm. Unlike {@link #retrieveUserByUUID} only a missing user
+   * results in an empty result; every other failure is thrown.
+   *
+   * @param userId the UUID of the user
+   * @return the user, or empty if the realm has no such user
+   * @throws org.springframework.web.client.RestClientException if the request fails
+   */
+  public Optional<KeycloakUserResponseDTO> findUserInRealm(String userId) {
+    String userUrl =
+        UriComponentsBuilder.fromUriString(keycloakServerUrl)
+            .pathSegment("admin", "realms", realmName, "users", userId)
+            .toUriString();
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(getAccessToken());
+
+    try {
+      return Optional.ofNullable(
+          restTemplate
+              .exchange(
+                  userUrl,
+                  org.springframework.http.HttpMethod.GET,
+                  new HttpEntity<Void>(headers),
+                  KeycloakUserResponseDTO.class)
+              .getBody());
+    } catch (HttpClientErrorException.NotFound e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Turns on admin events with representation details for the configured realm, which the
+   * incremental user sync reads. Realms created by {@link #createRealm()} have them enabled
+   * already.
+   *
+   * @return true if admin events are enabled, false otherwise
+   */
+  public boolean enableAdminEvents() {
+    String realmUrl = keycloakServerUrl + KEYCLOAK_REALM_PATH + realmName;
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.setBearerAuth(getAccessToken());
+
+    Map<String, Object> body =
+        Map.of("adminEventsEnabled", true, "adminEventsDetailsEnabled", true);
+
+    try {
+      restTemplate.exchange(
+          realmUrl,
+          org.springframework.http.HttpMethod.PUT,
+          new HttpEntity<>(body, headers),
+          Void.class);
+      return true;
+    } catch (Exception e) {
+      LOGGER.error("Error enabling admin events: {}", e.getMessage());
+      return false;
+    }
+  }
+
   /**
    * Returns the configured realm name.
    *
@@ -661,11 +815,20 @@ public class KeycloakService {
   }
 
   /**
-   * Retrieves all realms from Keycloak.
+   * Retrieves all realms from Keycloak, served from the realm metadata cache.
    *
    * @return list of realm names, or empty list if none found
    */
   public List<String> getAllRealms() {
+    try {
+      return realmMetadataCache.getRealms(this::fetchRealms);
+    } catch (Exception e) {
+      LOGGER.error("Error retrieving all realms: {}", e.getMessage());
+      return Collections.emptyList();
+    }
+  }
+
+  private List<String> fetchRealms() {
     String realmsUrl = keycloakServerUrl + "/admin/realms";
 
     HttpHeaders headers = new HttpHeaders();
@@ -673,70 +836,52 @@ public class KeycloakService {
 
     HttpEntity<Void> request = new HttpEntity<>(headers);
 
-    try {
-      ResponseEntity<Map[]> response =
-          restTemplate.exchange(
-              realmsUrl, org.springframework.http.HttpMethod.GET, request, Map[].class);
-      LOGGER.info("All realms retrieved successfully");
-      if (response.getBody() != null) {
-        return Arrays.stream(response.getBody()).map(realm -> (String) realm.get("realm")).toList();
-      } else {
-        return Collections.emptyList();
-      }
-
-    } catch (Exception e) {
-      LOGGER.error("Error retrieving all realms: {}", e.getMessage());
+    ResponseEntity<Map[]> response =
+        restTemplate.exchange(
+            realmsUrl, org.springframework.http.HttpMethod.GET, request, Map[].class);
+    LOGGER.info("All realms retrieved successfully");
+    if (response.getBody() != null) {
+      return Arrays.stream(response.getBody()).map(realm -> (String) realm.get("realm")).toList();
+    } else {
       return Collections.emptyList();
     }
   }
 
   /**
-   * Retrieves all clients from the configured realm.
+   * Retrieves all clients from the configured realm, served from the realm metadata cache.
    *
    * @return list of client IDs, or empty list if none found
    */
   public List<String> getAllClients() {
-    String clientsUrl = keycloakServerUrl + KEYCLOAK_REALM_PATH + realmName + "/clients";
-    HttpHeaders headers = new HttpHeaders();
-    headers.setBearerAuth(getAccessToken());
-    HttpEntity<Void> request = new HttpEntity<>(headers);
-
     try {
-      ResponseEntity<Map[]> response =
-          restTemplate.exchange(
-              clientsUrl, org.springframework.http.HttpMethod.GET, request, Map[].class);
-      if (response.getBody() != null) {
-
-        return Arrays.stream(response.getBody())
-            .map(client -> (String) client.get("clientId"))
-            .toList();
-      } else {
-        return Collections.emptyList();
-      }
-
+      return realmMetadataCache.getClients(realmName, this::fetchClients);
     } catch (Exception e) {
       LOGGER.error("Error retrieving all clients: {}", e.getMessage());
       return Collections.emptyList();
     }
   }
 
-  private List<String> getAllRoles() {
-    String rolesUrl = keycloakServerUrl + KEYCLOAK_REALM_PATH + realmName + "/roles";
+  private List<String> fetchClients() {
+    String clientsUrl = keycloakServerUrl + KEYCLOAK_REALM_PATH + realmName + "/clients";
     HttpHeaders headers = new HttpHeaders();
     headers.setBearerAuth(getAccessToken());
     HttpEntity<Void> request = new HttpEntity<>(headers);
 
-    try {
-      ResponseEntity<Map[]> response =
-          restTemplate.exchange(
-              rolesUrl, org.springframework.http.HttpMethod.GET, request, Map[].class);
-      if (response.getBody() != null) {
-
-        return Arrays.stream(response.getBody()).map(role -> (String) role.get("name")).toList();
-      } else {
-        return Collections.emptyList();
-      }
+    ResponseEntity<Map[]> response =
+        restTemplate.exchange(
+            clientsUrl, org.springframework.http.HttpMethod.GET, request, Map[].class);
+    if (response.getBody() != null) {
+      return Arrays.stream(response.getBody())
+          .map(client -> (String) client.get("clientId"))
+          .toList();
+    } else {
+      return Collections.emptyList();
+    }
+  }
 
+  private List<String> getAllRoles() {
+    try {
+      return getAllRoleRepresentations().stream().map(role -> (String) role.get("name")).toList();
     } catch (Exception e) {
       LOGGER.error("Error retrieving all roles: {}", e.getMessage());
       return Collections.emptyList();
@@ -792,6 +937,8 @@ public class KeycloakService {
     } catch (Exception e) {
       LOGGER.error("Error creating clients in realm: {}", e.getMessage());
       return false;
+    } finally {
+      realmMetadataCache.evictClients(realmName);
     }
   }
 }
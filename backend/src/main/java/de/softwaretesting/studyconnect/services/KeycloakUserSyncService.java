@@ -0,0 +1,237 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Creates local users for the Keycloak users of the realm that do not have one yet. The sync starts
+ * once the application is ready and runs on the application task executor, so startup time does not
+ * depend on the size of the realm.
+ *
+ * <p>The realm is read in pages of {@code first}/{@code max}. Each page is diffed against the local
+ * users with one {@code IN} query per Keycloak UUID and email, and the missing users are inserted
+ * in one transaction as a JDBC batch, while the next page is already being fetched. If the batch
+ * fails, the page is written again one user per transaction, so a single conflicting row only costs
+ * that user. Progress is published as {@value #USERS_METRIC} (tagged fetched, created, skipped,
+ * conflict), {@value #PAGES_METRIC} (tagged synced, retried, failed), {@value #RUNNING_METRIC} and
+ * {@value #DURATION_METRIC}.
+ */
+@Service
+public class KeycloakUserSyncService {
+
+  static final String USERS_METRIC = "studyconnect.keycloak.user_sync.users";
+  static final String PAGES_METRIC = "studyconnect.keycloak.user_sync.pages";
+  static final String RUNNING_METRIC = "studyconnect.keycloak.user_sync.running";
+  static final String DURATION_METRIC = "studyconnect.keycloak.user_sync.duration";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KeycloakUserSyncService.class);
+
+  private final KeycloakService keycloakService;
+  private final UserRepository userRepository;
+  private final TransactionOperations transactionOperations;
+  private final TaskExecutor taskExecutor;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final int pageSize;
+  private final AtomicInteger running;
+
+  public KeycloakUserSyncService(
+      KeycloakService keycloakService,
+      UserRepository userRepository,
+      TransactionOperations transactionOperations,
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+          TaskExecutor taskExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.keycloak.user-sync.enabled:true}") boolean enabled,
+      @Value("${studyconnect.keycloak.user-sync.page-size:100}") int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("pageSize must be at least 1");
+    }
+    this.keycloakService = keycloakService;
+    this.userRepository = userRepository;
+    this.transactionOperations = transactionOperations;
+    this.taskExecutor = taskExecutor;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.pageSize = pageSize;
+    this.running = meterRegistry.gauge(RUNNING_METRIC, new AtomicInteger());
+  }
+
+  /** Starts the sync in the background once the application accepts requests. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void startSync() {
+    if (!enabled) {
+      LOGGER.info("Keycloak user sync is disabled");
+      return;
+    }
+    taskExecutor.execute(this::syncUsers);
+  }
+
+  /**
+   * Pages through the realm and creates the missing local users. A user who cannot be written is
+   * counted and skipped; a page that cannot be fetched ends the sync, because the following offsets
+   * cannot be trusted any more. Users are matched by Keycloak UUID, so the sync can be repeated.
+   *
+   * @return the number of local users created
+   */
+  public int syncUsers() {
+    if (!running.compareAndSet(0, 1)) {
+      LOGGER.info("Keycloak user sync is already running");
+      return 0;
+    }
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "success";
+    int created = 0;
+    try {
+      int first = 0;
+      CompletableFuture<List<KeycloakUserResponseDTO>> next = fetchPage(first);
+      while (true) {
+        List<KeycloakUserResponseDTO> page = next.join();
+        if (page.isEmpty()) {
+          break;
+        }
+        first += page.size();
+        // Fetch the following page while this one is written
+        next =
+            page.size() < pageSize
+                ? CompletableFuture.completedFuture(List.of())
+                : fetchPage(first);
+        created += writePage(page);
+      }
+      LOGGER.info("Keycloak user sync finished, created {} local users", created);
+    } catch (CompletionException e) {
+      outcome = "failure";
+      LOGGER.error("Keycloak user sync aborted: {}", e.getCause().getMessage());
+    } finally {
+      sample.stop(meterRegistry.timer(DURATION_METRIC, "outcome", outcome));
+      running.set(0);
+    }
+    return created;
+  }
+
+  private CompletableFuture<List<KeycloakUserResponseDTO>> fetchPage(int first) {
+    return CompletableFuture.supplyAsync(
+        () -> keycloakService.retrieveUsersInRealm(first, pageSize), taskExecutor);
+  }
+
+  private int writePage(List<KeycloakUserResponseDTO> page) {
+    users("fetched").increment(page.size());
+    List<KeycloakUserResponseDTO> missing = new ArrayList<>();
+    try {
+      transactionOperations.executeWithoutResult(
+          status -> {
+            missing.addAll(missingUsers(page));
+            userRepository.saveAll(missing.stream().map(KeycloakUserSyncService::toUser).toList());
+          });
+      users("created").increment(missing.size());
+      meterRegistry.counter(PAGES_METRIC, "outcome", "synced").increment();
+      return missing.size();
+    } catch (RuntimeException e) {
+      if (missing.isEmpty()) {
+        meterRegistry.counter(PAGES_METRIC, "outcome", "failed").increment();
+        LOGGER.warn("Failed to sync a page of {} Keycloak users: {}", page.size(), e.getMessage());
+        return 0;
+      }
+      meterRegistry.counter(PAGES_METRIC, "outcome", "retried").increment();
+      LOGGER.warn(
+          "Failed to write a page of {} Keycloak users, writing them one by one: {}",
+          missing.size(),
+          e.getMessage());
+      return writeOneByOne(missing);
+    }
+  }
+
+  private int writeOneByOne(List<KeycloakUserResponseDTO> missing) {
+    int created = 0;
+    for (KeycloakUserResponseDTO keycloakUser : missing) {
+      try {
+        transactionOperations.executeWithoutResult(
+            status -> userRepository.save(toUser(keycloakUser)));
+        users("created").increment();
+        created++;
+      } catch (RuntimeException e) {
+        users("conflict").increment();
+        LOGGER.warn("Skipped Keycloak user {}: {}", keycloakUser.getKeycloakUUID(), e.getMessage());
+      }
+    }
+    return created;
+  }
+
+  /**
+   * Returns the users of the page that have no local user yet and can get one: service accounts and
+   * incomplete profiles are skipped, as are users whose email a local user already holds.
+   */
+  private List<KeycloakUserResponseDTO> missingUsers(List<KeycloakUserResponseDTO> page) {
+    Set<String> existing =
+        userRepository.findExistingKeycloakUUIDs(
+            page.stream().map(KeycloakUserResponseDTO::getKeycloakUUID).toList());
+    List<KeycloakUserResponseDTO> candidates = new ArrayList<>();
+    for (KeycloakUserResponseDTO keycloakUser : page) {
+      if (existing.contains(keycloakUser.getKeycloakUUID())) {
+        continue;
+      }
+      if (keycloakUser.getEmail() == null
+          || keycloakUser.getFirstName() == null
+          || keycloakUser.getLastName() == null) {
+        // Service accounts and incomplete profiles cannot satisfy the local user constraints
+        users("skipped").increment();
+        continue;
+      }
+      candidates.add(keycloakUser);
+    }
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+    // The email is unique locally too, e.g. held by a pending registration or an unlinked user
+    Set<String> takenEmails =
+        new HashSet<>(
+            userRepository.findExistingEmails(
+                candidates.stream().map(KeycloakUserResponseDTO::getEmail).toList()));
+    List<KeycloakUserResponseDTO> missing = new ArrayList<>(candidates.size());
+    for (KeycloakUserResponseDTO keycloakUser : candidates) {
+      if (takenEmails.add(keycloakUser.getEmail())) {
+        missing.add(keycloakUser);
+      } else {
+        users("conflict").increment();
+        LOGGER.debug(
+            "Skipped Keycloak user {}, their email is already taken",
+            keycloakUser.getKeycloakUUID());
+      }
+    }
+    return missing;
+  }
+
+  private static User toUser(KeycloakUserResponseDTO keycloakUser) {
+    User user = new User();
+    user.setKeycloakUUID(keycloakUser.getKeycloakUUID());
+    user.setEmail(keycloakUser.getEmail());
+    user.setFirstname(keycloakUser.getFirstName());
+    user.setLastname(keycloakUser.getLastName());
+    return user;
+  }
+
+  private Counter users(String outcome) {
+    return meterRegistry.counter(USERS_METRIC, "outcome", outcome);
+  }
+}
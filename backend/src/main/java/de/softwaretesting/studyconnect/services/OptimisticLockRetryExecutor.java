@@ -0,0 +1,102 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.exceptions.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs a write in its own transaction and retries it a bounded number of times when it fails with
+ * an optimistic locking conflict. Every attempt starts a fresh transaction, so it re-reads the
+ * current version of the entities it changes.
+ *
+ * <p>Conflicts are counted in {@value #CONFLICTS_METRIC}, tagged with the operation and whether the
+ * conflict was retried or exhausted the attempts.
+ */
+@Component
+public class OptimisticLockRetryExecutor {
+
+  static final String CONFLICTS_METRIC = "studyconnect.optimistic_lock.conflicts";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticLockRetryExecutor.class);
+
+  private final TransactionOperations transactionOperations;
+  private final MeterRegistry meterRegistry;
+  private final int maxAttempts;
+  private final Duration backoff;
+
+  public OptimisticLockRetryExecutor(
+      TransactionOperations transactionOperations,
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.optimistic-lock.max-attempts:3}") int maxAttempts,
+      @Value("${studyconnect.optimistic-lock.backoff:20ms}") Duration backoff) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    this.transactionOperations = transactionOperations;
+    this.meterRegistry = meterRegistry;
+    this.maxAttempts = maxAttempts;
+    this.backoff = backoff;
+  }
+
+  /**
+   * Executes the action, retrying on optimistic locking conflicts. When the caller already runs in
+   * a transaction the action is executed once inside it, because a retry could not see newer data.
+   *
+   * @param operation the operation name used to tag the conflict metric
+   * @param action the write to execute
+   * @return the result of the action
+   * @throws ConflictException if every attempt conflicted
+   */
+  public <T> T execute(String operation, Supplier<T> action) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return action.get();
+    }
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionOperations.execute(status -> action.get());
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) {
+          conflicts(operation, "exhausted").increment();
+          LOGGER.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+          throw new ConflictException(
+              "The group was modified concurrently, please try again later");
+        }
+        conflicts(operation, "retried").increment();
+        LOGGER.debug("Optimistic locking conflict on {} (attempt {})", operation, attempt);
+        pause(attempt);
+      }
+    }
+  }
+
+  private Counter conflicts(String operation, String outcome) {
+    return Counter.builder(CONFLICTS_METRIC)
+        .description("Optimistic locking conflicts on concurrent writes")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /** Sleeps for a linearly growing, jittered delay so that retrying writers spread out. */
+  private void pause(int attempt) {
+    long baseMillis = backoff.toMillis() * attempt;
+    if (baseMillis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(baseMillis + ThreadLocalRandom.current().nextLong(baseMillis));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConflictException("Interrupted while retrying a concurrent update");
+    }
+  }
+}
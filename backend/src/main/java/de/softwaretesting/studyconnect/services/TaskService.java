@@ -1,19 +1,36 @@
 package de.softwaretesting.studyconnect.services;
 
+import de.softwaretesting.studyconnect.dtos.request.BatchTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.request.TaskQueryRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.TaskRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
 import de.softwaretesting.studyconnect.dtos.response.TaskResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
 import de.softwaretesting.studyconnect.exceptions.NotFoundException;
 import de.softwaretesting.studyconnect.mappers.request.TaskRequestMapper;
 import de.softwaretesting.studyconnect.mappers.request.UpdateTaskRequestMapper;
 import de.softwaretesting.studyconnect.mappers.response.TaskResponseMapper;
+import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.Task;
 import de.softwaretesting.studyconnect.models.User;
 import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.repositories.TaskAssigneeRow;
+import de.softwaretesting.studyconnect.repositories.TaskFilter;
 import de.softwaretesting.studyconnect.repositories.TaskRepository;
+import de.softwaretesting.studyconnect.repositories.TaskRow;
+import de.softwaretesting.studyconnect.repositories.TaskSort;
+import de.softwaretesting.studyconnect.repositories.TaskTagRow;
 import de.softwaretesting.studyconnect.repositories.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,12 +42,18 @@ import org.springframework.transaction.annotation.Transactional;
 @AllArgsConstructor
 public class TaskService {
 
+  private static final int TASK_PAGE_MAX_SIZE = 100;
+
+  /** Upper bound for the ids bound into one {@code IN} list, well below driver parameter limits. */
+  private static final int ID_CHUNK_SIZE = 1000;
+
   private final TaskRepository taskRepository;
   private final UserRepository userRepository;
   private final GroupRepository groupRepository;
   private final TaskRequestMapper taskRequestMapper;
   private final TaskResponseMapper taskResponseMapper;
   private final UpdateTaskRequestMapper updateTaskRequestMapper;
+  private final GroupActivityHub groupActivityHub;
 
   /**
    * Creates a new task in the specified group.
@@ -64,10 +87,71 @@ public class TaskService {
 
     // Save and return task
     Task savedTask = taskRepository.save(task);
+    groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.TASK_CREATED, savedTask.getId());
     TaskResponseDTO taskResponseDTO = taskResponseMapper.toDto(savedTask);
     return new ResponseEntity<>(taskResponseDTO, HttpStatus.CREATED);
   }
 
+  /**
+   * Creates several tasks in the specified group. All referenced users are resolved with one query
+   * and the whole batch is validated before anything is written. Ids come from the pooled task
+   * sequence, so Hibernate sends the task, assignee and tag rows as JDBC batches on flush. Either
+   * all tasks are created or none.
+   *
+   * @param groupId the ID of the group to which the tasks belong
+   * @param batchRequestDTO the tasks to create
+   * @return a ResponseEntity containing the created tasks in request order
+   * @throws NotFoundException if the group or any referenced user is not found
+   */
+  @Transactional
+  public ResponseEntity<List<TaskResponseDTO>> createTasks(
+      Long groupId, BatchTaskRequestDTO batchRequestDTO) {
+    List<TaskRequestDTO> requests = batchRequestDTO.getTasks();
+    if (!groupRepository.existsById(groupId)) {
+      throw new NotFoundException("Group not found");
+    }
+
+    Set<Long> referencedUserIds = new HashSet<>();
+    for (TaskRequestDTO request : requests) {
+      referencedUserIds.add(request.getCreatedById());
+      referencedUserIds.addAll(request.getAssigneeIds());
+    }
+    Set<Long> missingUserIds = new TreeSet<>(referencedUserIds);
+    missingUserIds.removeAll(userRepository.findExistingIds(referencedUserIds));
+    if (!missingUserIds.isEmpty()) {
+      throw new NotFoundException("Users not found: " + missingUserIds);
+    }
+
+    // References only carry the ids the insert needs; none of them is loaded
+    Group group = groupRepository.getReferenceById(groupId);
+    LocalDateTime now = LocalDateTime.now();
+    List<Task> tasks = new ArrayList<>(requests.size());
+    for (TaskRequestDTO request : requests) {
+      Task task = taskRequestMapper.toEntity(request);
+      task.setGroup(group);
+      task.setCreatedBy(userRepository.getReferenceById(request.getCreatedById()));
+      request.getAssigneeIds().forEach(id -> task.addAssignee(userRepository.getReferenceById(id)));
+      if (request.getTags() != null) {
+        task.getTags().addAll(request.getTags());
+      }
+      if (task.getStatus() == null) {
+        task.setStatus(Task.Status.OPEN);
+      }
+      task.setCreatedAt(now);
+      task.setUpdatedAt(now);
+      task.setLastStatusChangeAt(now);
+      tasks.add(task);
+    }
+
+    List<Task> savedTasks = taskRepository.saveAll(tasks);
+    for (Task savedTask : savedTasks) {
+      groupActivityHub.publish(groupId, GroupActivityEventDTO.Type.TASK_CREATED, savedTask.getId());
+    }
+    List<TaskResponseDTO> taskResponseDTOs =
+        savedTasks.stream().map(taskResponseMapper::toDto).toList();
+    return new ResponseEntity<>(taskResponseDTOs, HttpStatus.CREATED);
+  }
+
   /**
    * Retrieves all tasks within a specific group.
    *
@@ -76,9 +160,7 @@ public class TaskService {
    */
   @Transactional(readOnly = true)
   public ResponseEntity<List<TaskResponseDTO>> getAllTasksInGroup(Long groupId) {
-    List<Task> tasks = taskRepository.findByGroupId(groupId);
-    List<TaskResponseDTO> taskResponseDTOs = tasks.stream().map(taskResponseMapper::toDto).toList();
-    return ResponseEntity.ok(taskResponseDTOs);
+    return ResponseEntity.ok(toResponses(taskRepository.findRowsByGroupId(groupId)));
   }
 
   /**
@@ -89,9 +171,108 @@ public class TaskService {
    */
   @Transactional(readOnly = true)
   public ResponseEntity<List<TaskResponseDTO>> getAllTasksAssignedToUser(Long userId) {
-    List<Task> tasks = taskRepository.findByAssigneesId(userId);
-    List<TaskResponseDTO> taskResponseDTOs = tasks.stream().map(taskResponseMapper::toDto).toList();
-    return ResponseEntity.ok(taskResponseDTOs);
+    return ResponseEntity.ok(toResponses(taskRepository.findRowsByAssigneeId(userId)));
+  }
+
+  /**
+   * Retrieves one page of the tasks in a group, filtered and sorted by the database.
+   *
+   * @param groupId the ID of the group
+   * @param query the filter, sort order, cursor and page size
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   * @throws BadRequestException if the sort order, cursor or due date range is invalid
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> getTasksInGroupPage(
+      Long groupId, TaskQueryRequestDTO query) {
+    return ResponseEntity.ok(getTasksPage(groupId, null, query));
+  }
+
+  /**
+   * Retrieves one page of the tasks assigned to a user, filtered and sorted by the database.
+   *
+   * @param userId the ID of the user
+   * @param query the filter, sort order, cursor and page size
+   * @return a ResponseEntity containing the page and the cursor for the next page
+   * @throws BadRequestException if the sort order, cursor or due date range is invalid
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> getTasksAssignedToUserPage(
+      Long userId, TaskQueryRequestDTO query) {
+    return ResponseEntity.ok(getTasksPage(null, userId, query));
+  }
+
+  private CursorPageResponseDTO<TaskResponseDTO> getTasksPage(
+      Long groupId, Long assigneeId, TaskQueryRequestDTO query) {
+    if (query.getDueFrom() != null
+        && query.getDueTo() != null
+        && query.getDueFrom().isAfter(query.getDueTo())) {
+      throw new BadRequestException("dueFrom must not be after dueTo");
+    }
+    TaskFilter filter =
+        new TaskFilter(
+            groupId,
+            assigneeId,
+            query.getStatus(),
+            query.getPriority(),
+            query.getCategory(),
+            query.getDueFrom(),
+            query.getDueTo());
+    TaskSort sort = TaskSort.parse(query.getSort());
+    List<Object> after =
+        query.getCursor() == null || query.getCursor().isBlank()
+            ? null
+            : sort.decodeCursor(query.getCursor());
+    int pageSize = Math.clamp(query.getSize(), 1, TASK_PAGE_MAX_SIZE);
+
+    // Read one extra row to find out whether another page follows.
+    List<TaskRow> rows = taskRepository.findTasks(filter, sort, after, pageSize + 1);
+    boolean hasNext = rows.size() > pageSize;
+    if (rows.isEmpty()) {
+      return new CursorPageResponseDTO<>(List.of(), null);
+    }
+    List<TaskRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasNext ? sort.cursorAfter(page.get(page.size() - 1)) : null;
+    return new CursorPageResponseDTO<>(toResponses(page), nextCursor);
+  }
+
+  /**
+   * Assembles response DTOs from task rows. Assignee ids and tags are read with one set-based query
+   * each per chunk of task ids, instead of joining both collections onto the task rows, where every
+   * task would come back once per assignee and tag combination.
+   */
+  private List<TaskResponseDTO> toResponses(List<TaskRow> rows) {
+    Map<Long, Set<Long>> assigneeIds = new HashMap<>();
+    Map<Long, Set<String>> tags = new HashMap<>();
+    List<Long> taskIds = rows.stream().map(TaskRow::id).toList();
+    for (int from = 0; from < taskIds.size(); from += ID_CHUNK_SIZE) {
+      List<Long> chunk = taskIds.subList(from, Math.min(from + ID_CHUNK_SIZE, taskIds.size()));
+      for (TaskAssigneeRow row : taskRepository.findAssigneeRowsByTaskIdIn(chunk)) {
+        assigneeIds.computeIfAbsent(row.taskId(), id -> new HashSet<>()).add(row.userId());
+      }
+      for (TaskTagRow row : taskRepository.findTagRowsByTaskIdIn(chunk)) {
+        tags.computeIfAbsent(row.taskId(), id -> new HashSet<>()).add(row.tag());
+      }
+    }
+    return rows.stream()
+        .map(
+            row ->
+                new TaskResponseDTO(
+                    row.id(),
+                    row.title(),
+                    row.description(),
+                    row.dueDate(),
+                    row.priority(),
+                    row.status(),
+                    row.category(),
+                    tags.getOrDefault(row.id(), Set.of()),
+                    row.createdById(),
+                    assigneeIds.getOrDefault(row.id(), Set.of()),
+                    row.createdAt(),
+                    row.updatedAt(),
+                    row.lastStatusChangeAt(),
+                    row.groupId()))
+        .toList();
   }
 
   /**
@@ -105,6 +286,8 @@ public class TaskService {
     Task task =
         taskRepository.findById(taskId).orElseThrow(() -> new NotFoundException("Task not found"));
     taskRepository.delete(task);
+    groupActivityHub.publish(
+        task.getGroup().getId(), GroupActivityEventDTO.Type.TASK_DELETED, taskId);
     return ResponseEntity.noContent().build();
   }
 
@@ -140,6 +323,8 @@ public class TaskService {
     existingTask.getTags().clear();
     existingTask.getTags().addAll(taskRequestDTO.getTags());
     Task savedTask = taskRepository.save(existingTask);
+    groupActivityHub.publish(
+        savedTask.getGroup().getId(), GroupActivityEventDTO.Type.TASK_UPDATED, taskId);
     TaskResponseDTO taskResponseDTO = taskResponseMapper.toDto(savedTask);
     return ResponseEntity.ok(taskResponseDTO);
   }
@@ -0,0 +1,94 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.repositories.UserRegistrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Settles the pending registrations that no instance works on any more, e.g. because it was
+ * restarted while they were queued. The instance provisioning a registration renews its lease
+ * ({@code updated_at}); once the lease is older than {@code studyconnect.registration.lease}, one
+ * instance claims the registration and lets {@link UserRegistrationWorker#recover} complete it if
+ * its Keycloak account exists and fail it otherwise. Outcomes are counted in {@value
+ * #RECOVERIES_METRIC}.
+ */
+@Component
+public class UserRegistrationRecovery {
+
+  static final String RECOVERIES_METRIC = "studyconnect.registration.recoveries";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserRegistrationRecovery.class);
+
+  private final UserRegistrationRepository registrationRepository;
+  private final UserRegistrationWorker worker;
+  private final TransactionOperations transactionOperations;
+  private final MeterRegistry meterRegistry;
+  private final Duration lease;
+
+  public UserRegistrationRecovery(
+      UserRegistrationRepository registrationRepository,
+      UserRegistrationWorker worker,
+      TransactionOperations transactionOperations,
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.registration.lease:2m}") Duration lease) {
+    this.registrationRepository = registrationRepository;
+    this.worker = worker;
+    this.transactionOperations = transactionOperations;
+    this.meterRegistry = meterRegistry;
+    this.lease = lease;
+  }
+
+  /** Looks for expired leases on a fixed delay, so runs never overlap. */
+  @Scheduled(
+      initialDelayString = "${studyconnect.registration.recovery-interval:1m}",
+      fixedDelayString = "${studyconnect.registration.recovery-interval:1m}")
+  public void scheduledRecovery() {
+    try {
+      recoverStaleRegistrations();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Registration recovery failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Settles the pending registrations whose lease expired.
+   *
+   * @return the number of registrations claimed by this instance
+   */
+  public int recoverStaleRegistrations() {
+    List<UserRegistration> stale =
+        registrationRepository.findByStatusAndUpdatedAtBefore(
+            UserRegistration.Status.PENDING, LocalDateTime.now().minus(lease));
+    int claimed = 0;
+    for (UserRegistration registration : stale) {
+      String registrationId = registration.getId();
+      if (worker.isInFlight(registrationId) || !claim(registration)) {
+        // Still ours, or another instance was faster
+        continue;
+      }
+      claimed++;
+      String outcome = worker.recover(registrationId);
+      meterRegistry.counter(RECOVERIES_METRIC, "outcome", outcome).increment();
+      LOGGER.info("Recovered registration {}: {}", registrationId, outcome);
+    }
+    return claimed;
+  }
+
+  private boolean claim(UserRegistration registration) {
+    Integer updated =
+        transactionOperations.execute(
+            status ->
+                registrationRepository.claim(
+                    registration.getId(), registration.getUpdatedAt(), LocalDateTime.now()));
+    return updated != null && updated == 1;
+  }
+}
@@ -0,0 +1,172 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.UserRegistrationResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.ConflictException;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.exceptions.ServiceUnavailableException;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.repositories.UserRegistrationRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Registers users without waiting for Keycloak. A registration persists a pending local user
+ * (without Keycloak UUID) together with a {@link UserRegistration} and returns right away; the
+ * Keycloak account is provisioned by {@link UserRegistrationWorker} on a bounded worker pool.
+ *
+ * <p>The password is only held in memory until the account is provisioned. Registrations that an
+ * instance stopped working on, e.g. because of a restart, are settled by {@link
+ * UserRegistrationRecovery} once their lease expired.
+ */
+@Service
+public class UserRegistrationService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserRegistrationService.class);
+
+  private final UserRepository userRepository;
+  private final UserRegistrationRepository registrationRepository;
+  private final TransactionOperations transactionOperations;
+  private final UserRegistrationWorker worker;
+  private final Executor executor;
+
+  @Autowired
+  public UserRegistrationService(
+      UserRepository userRepository,
+      UserRegistrationRepository registrationRepository,
+      TransactionOperations transactionOperations,
+      UserRegistrationWorker worker,
+      ThreadPoolTaskExecutorBuilder executorBuilder,
+      @Value("${studyconnect.registration.workers:4}") int workers,
+      @Value("${studyconnect.registration.queue-capacity:500}") int queueCapacity) {
+    this(
+        userRepository,
+        registrationRepository,
+        transactionOperations,
+        worker,
+        registrationExecutor(executorBuilder, workers, queueCapacity));
+  }
+
+  UserRegistrationService(
+      UserRepository userRepository,
+      UserRegistrationRepository registrationRepository,
+      TransactionOperations transactionOperations,
+      UserRegistrationWorker worker,
+      Executor executor) {
+    this.userRepository = userRepository;
+    this.registrationRepository = registrationRepository;
+    this.transactionOperations = transactionOperations;
+    this.worker = worker;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates the worker pool. It is not exposed as a bean, so the auto-configured application task
+   * executor stays in place. When the queue is full, new registrations are turned away.
+   */
+  private static ThreadPoolTaskExecutor registrationExecutor(
+      ThreadPoolTaskExecutorBuilder builder, int workers, int queueCapacity) {
+    ThreadPoolTaskExecutor pool =
+        builder
+            .corePoolSize(workers)
+            .maxPoolSize(workers)
+            .queueCapacity(queueCapacity)
+            .threadNamePrefix("registration-")
+            .awaitTermination(true)
+            .awaitTerminationPeriod(Duration.ofSeconds(30))
+            .build();
+    pool.initialize();
+    return pool;
+  }
+
+  /** Lets running registrations finish on shutdown. */
+  @PreDestroy
+  public void shutdown() {
+    if (executor instanceof ThreadPoolTaskExecutor pool) {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Persists a pending user and schedules the provisioning of its Keycloak account.
+   *
+   * @param request the user data
+   * @return the status of the new registration
+   * @throws ConflictException if a user with the email already exists
+   * @throws ServiceUnavailableException if too many registrations are in progress
+   */
+  public UserRegistrationResponseDTO register(UserCreateRequestDTO request) {
+    if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+      throw new ConflictException("User with email " + request.getEmail() + " already exists");
+    }
+
+    UserRegistration registration;
+    try {
+      registration = transactionOperations.execute(status -> createPendingRegistration(request));
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent registration claimed the email first
+      throw new ConflictException("User with email " + request.getEmail() + " already exists");
+    }
+
+    String registrationId = registration.getId();
+    try {
+      executor.execute(worker.provisioning(registrationId, request));
+    } catch (RejectedExecutionException e) {
+      worker.fail(registrationId, "Too many registrations in progress");
+      throw new ServiceUnavailableException(
+          "Too many registrations in progress, please try again later");
+    }
+    LOGGER.info("Accepted registration {} for email: {}", registrationId, request.getEmail());
+    return toDto(registration);
+  }
+
+  /**
+   * Retrieves the status of a registration.
+   *
+   * @param registrationId the id of the registration
+   * @return the status of the registration
+   * @throws NotFoundException if the registration does not exist
+   */
+  public UserRegistrationResponseDTO getRegistration(String registrationId) {
+    return registrationRepository
+        .findById(registrationId)
+        .map(this::toDto)
+        .orElseThrow(
+            () -> new NotFoundException("Registration with id " + registrationId + " not found"));
+  }
+
+  private UserRegistration createPendingRegistration(UserCreateRequestDTO request) {
+    User user = new User();
+    user.setEmail(request.getEmail());
+    user.setFirstname(request.getFirstname());
+    user.setLastname(request.getLastname());
+    userRepository.saveAndFlush(user);
+
+    UserRegistration registration = new UserRegistration();
+    registration.setId(UUID.randomUUID().toString());
+    registration.setUserId(user.getId());
+    return registrationRepository.save(registration);
+  }
+
+  private UserRegistrationResponseDTO toDto(UserRegistration registration) {
+    return new UserRegistrationResponseDTO(
+        registration.getId(),
+        registration.getStatus(),
+        registration.getUserId(),
+        registration.getFailureReason());
+  }
+}
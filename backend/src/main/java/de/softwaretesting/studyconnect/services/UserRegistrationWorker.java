@@ -0,0 +1,324 @@
+package de.softwaretesting.studyconnect.services;
+
+import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.repositories.UserRegistrationRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Provisions the Keycloak accounts of asynchronous registrations (see {@link
+ * UserRegistrationService}). Failed Keycloak calls are retried with a linearly growing, jittered
+ * backoff. A registration that Keycloak rejects is marked failed and its pending user is removed
+ * again. One that runs out of attempts is first looked up in Keycloak, since an attempt may have
+ * created the account: it is completed if the account exists, failed if not, and left pending for
+ * {@link UserRegistrationRecovery} if Keycloak cannot be asked.
+ *
+ * <p>While a registration is queued or provisioned here, its lease ({@code updated_at}) is renewed
+ * on a fixed delay, so other instances do not take it over.
+ *
+ * <p>Finished registrations are counted in {@value #REGISTRATIONS_METRIC} (tagged completed,
+ * rejected, failed, deferred) and timed from submission to completion in {@value #DURATION_METRIC}.
+ */
+@Component
+public class UserRegistrationWorker {
+
+  static final String REGISTRATIONS_METRIC = "studyconnect.registration.registrations";
+  static final String DURATION_METRIC = "studyconnect.registration.duration";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserRegistrationWorker.class);
+  private static final int MAX_FAILURE_REASON_LENGTH = 255;
+  private static final String UNAVAILABLE = "Keycloak is not available, please try again later";
+  private static final String INTERRUPTED = "Registration was interrupted, please register again";
+
+  private final UserRepository userRepository;
+  private final UserRegistrationRepository registrationRepository;
+  private final KeycloakService keycloakService;
+  private final TransactionOperations transactionOperations;
+  private final MeterRegistry meterRegistry;
+  private final int maxAttempts;
+  private final Duration backoff;
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+  public UserRegistrationWorker(
+      UserRepository userRepository,
+      UserRegistrationRepository registrationRepository,
+      KeycloakService keycloakService,
+      TransactionOperations transactionOperations,
+      MeterRegistry meterRegistry,
+      @Value("${studyconnect.registration.max-attempts:4}") int maxAttempts,
+      @Value("${studyconnect.registration.backoff:500ms}") Duration backoff) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    this.userRepository = userRepository;
+    this.registrationRepository = registrationRepository;
+    this.keycloakService = keycloakService;
+    this.transactionOperations = transactionOperations;
+    this.meterRegistry = meterRegistry;
+    this.maxAttempts = maxAttempts;
+    this.backoff = backoff;
+  }
+
+  /**
+   * Returns the provisioning of a registration as a task for the worker pool. The registration is
+   * timed from this call on, so the time spent in the queue is included.
+   *
+   * @param registrationId the id of the registration
+   * @param request the user data, including the password for the Keycloak account
+   * @return the task that provisions the account
+   */
+  Runnable provisioning(String registrationId, UserCreateRequestDTO request) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    inFlight.add(registrationId);
+    return () -> {
+      try {
+        provision(registrationId, request, sample);
+      } finally {
+        inFlight.remove(registrationId);
+      }
+    };
+  }
+
+  /** Renews the leases of the registrations queued or provisioned by this instance. */
+  @Scheduled(fixedDelayString = "${studyconnect.registration.lease-renewal-interval:30s}")
+  public void renewLeases() {
+    if (inFlight.isEmpty()) {
+      return;
+    }
+    List<String> ids = List.copyOf(inFlight);
+    transactionOperations.executeWithoutResult(
+        status ->
+            registrationRepository.renewLeases(
+                ids, UserRegistration.Status.PENDING, LocalDateTime.now()));
+  }
+
+  /** Returns whether the registration is queued or provisioned by this instance. */
+  boolean isInFlight(String registrationId) {
+    return inFlight.contains(registrationId);
+  }
+
+  /**
+   * Settles a registration whose provisioning was interrupted, e.g. by a restart: completes it if
+   * Keycloak has an account with its email, fails it otherwise.
+   *
+   * @param registrationId the id of the registration
+   * @return the outcome: completed, failed, or deferred if Keycloak cannot be asked
+   */
+  String recover(String registrationId) {
+    Optional<String> email =
+        transactionOperations.execute(
+            status ->
+                registrationRepository
+                    .findById(registrationId)
+                    .filter(registration -> registration.getUserId() != null)
+                    .flatMap(registration -> userRepository.findById(registration.getUserId()))
+                    .map(User::getEmail));
+    if (email.isEmpty()) {
+      fail(registrationId, INTERRUPTED);
+      return "failed";
+    }
+    return settle(registrationId, email.get(), INTERRUPTED, false);
+  }
+
+  /** Provisions the Keycloak account of a registration and links it to the pending user. */
+  void provision(String registrationId, UserCreateRequestDTO request, Timer.Sample sample) {
+    boolean created = false;
+    for (int attempt = 1; ; attempt++) {
+      recordAttempt(registrationId, attempt);
+      try {
+        if (!created) {
+          createInKeycloak(request, attempt);
+          created = true;
+        }
+        KeycloakUserResponseDTO keycloakUser =
+            keycloakService.retrieveUserByEmail(request.getEmail());
+        if (keycloakUser == null) {
+          throw new InternalServerErrorException("Created Keycloak user could not be found");
+        }
+        complete(registrationId, keycloakUser.getKeycloakUUID());
+        finish(sample, "completed");
+        return;
+      } catch (BadRequestException e) {
+        fail(registrationId, e.getMessage());
+        finish(sample, "rejected");
+        return;
+      } catch (RuntimeException e) {
+        LOGGER.warn(
+            "Provisioning registration {} failed (attempt {}): {}",
+            registrationId,
+            attempt,
+            e.getMessage());
+        if (attempt >= maxAttempts || !pause(attempt)) {
+          finish(sample, settle(registrationId, request.getEmail(), UNAVAILABLE, created));
+          return;
+        }
+      }
+    }
+  }
+
+  private void createInKeycloak(UserCreateRequestDTO request, int attempt) {
+    try {
+      keycloakService.createUserInRealm(
+          request.getPassword(), request.getEmail(), request.getFirstname(), request.getLastname());
+    } catch (BadRequestException e) {
+      // An earlier attempt may have created the account before its response got lost
+      if (attempt == 1 || keycloakService.retrieveUserByEmail(request.getEmail()) == null) {
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Completes the registration if Keycloak has an account with the email, fails it if not. Keeps it
+   * pending if Keycloak cannot be asked, or if the account was created but is not found yet.
+   *
+   * @return the outcome: completed, failed or deferred
+   */
+  private String settle(
+      String registrationId, String email, String reason, boolean accountCreated) {
+    KeycloakUserResponseDTO keycloakUser;
+    try {
+      keycloakUser = keycloakService.retrieveUserByEmail(email);
+    } catch (RuntimeException e) {
+      LOGGER.warn(
+          "Cannot look up the account of registration {}, leaving it pending: {}",
+          registrationId,
+          e.getMessage());
+      return "deferred";
+    }
+    if (keycloakUser != null) {
+      complete(registrationId, keycloakUser.getKeycloakUUID());
+      return "completed";
+    }
+    if (accountCreated) {
+      LOGGER.warn(
+          "Created account of registration {} not found yet, leaving it pending", registrationId);
+      return "deferred";
+    }
+    fail(registrationId, reason);
+    return "failed";
+  }
+
+  private void recordAttempt(String registrationId, int attempt) {
+    transactionOperations.executeWithoutResult(
+        status ->
+            registrationRepository
+                .findById(registrationId)
+                .ifPresent(
+                    registration -> {
+                      registration.setAttempts(attempt);
+                      registrationRepository.save(registration);
+                    }));
+  }
+
+  private void complete(String registrationId, String keycloakUUID) {
+    transactionOperations.executeWithoutResult(
+        status -> {
+          UserRegistration registration =
+              registrationRepository
+                  .findById(registrationId)
+                  .orElseThrow(
+                      () ->
+                          new NotFoundException(
+                              "Registration with id " + registrationId + " not found"));
+          if (registration.getStatus() != UserRegistration.Status.PENDING) {
+            // Settled by another instance in the meantime
+            return;
+          }
+          if (registration.getUserId() != null) {
+            userRepository
+                .findById(registration.getUserId())
+                .ifPresent(
+                    user -> {
+                      user.setKeycloakUUID(keycloakUUID);
+                      userRepository.save(user);
+                    });
+          }
+          registration.setStatus(UserRegistration.Status.COMPLETED);
+          registrationRepository.save(registration);
+        });
+    LOGGER.info("Completed registration {}", registrationId);
+  }
+
+  /**
+   * Marks a registration as failed and removes its pending user, so the email address can be
+   * registered again.
+   *
+   * @param registrationId the id of the registration
+   * @param reason the reason shown in the registration status
+   */
+  void fail(String registrationId, String reason) {
+    inFlight.remove(registrationId);
+    transactionOperations.executeWithoutResult(
+        status ->
+            registrationRepository
+                .findById(registrationId)
+                .filter(registration -> registration.getStatus() == UserRegistration.Status.PENDING)
+                .ifPresent(
+                    registration -> {
+                      // Release the email address of the pending user
+                      if (registration.getUserId() != null) {
+                        userRepository
+                            .findById(registration.getUserId())
+                            .filter(user -> user.getKeycloakUUID() == null)
+                            .ifPresent(userRepository::delete);
+                        registration.setUserId(null);
+                      }
+                      registration.setStatus(UserRegistration.Status.FAILED);
+                      registration.setFailureReason(truncate(reason));
+                      registrationRepository.save(registration);
+                    }));
+    LOGGER.warn("Registration {} failed: {}", registrationId, reason);
+  }
+
+  private void finish(Timer.Sample sample, String outcome) {
+    meterRegistry.counter(REGISTRATIONS_METRIC, "outcome", outcome).increment();
+    sample.stop(meterRegistry.timer(DURATION_METRIC, "outcome", outcome));
+  }
+
+  /**
+   * Sleeps for a linearly growing, jittered delay before the next attempt.
+   *
+   * @return false if the worker was interrupted while waiting
+   */
+  private boolean pause(int attempt) {
+    long baseMillis = backoff.toMillis() * attempt;
+    if (baseMillis <= 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(baseMillis + ThreadLocalRandom.current().nextLong(baseMillis));
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static String truncate(String reason) {
+    if (reason == null || reason.length() <= MAX_FAILURE_REASON_LENGTH) {
+      return reason;
+    }
+    return reason.substring(0, MAX_FAILURE_REASON_LENGTH);
+  }
+}
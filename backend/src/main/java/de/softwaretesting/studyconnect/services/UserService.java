@@ -3,6 +3,7 @@ package de.softwaretesting.studyconnect.services;
 import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UserUpdateRequestDTO;
 import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.BadRequestException;
 import de.softwaretesting.studyconnect.exceptions.ConflictException;
@@ -13,6 +14,7 @@ import de.softwaretesting.studyconnect.mappers.response.UserResponseMapper;
 import de.softwaretesting.studyconnect.models.User;
 import de.softwaretesting.studyconnect.repositories.UserRepository;
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +25,9 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -39,8 +44,16 @@ public class UserService {
   private final UserResponseMapper userResponseMapper;
   private final UserRequestMapper userRequestMapper;
   private final KeycloakService keycloakService;
+  private final CurrentUserCache currentUserCache;
   private static final Logger LOGGER = LoggerFactory.getLogger(UserService.class);
 
+  static final int MAX_PAGE_SIZE = 100;
+  static final int MAX_BATCH_IDS = 100;
+
+  private static final Set<String> SORT_KEYS =
+      Set.of("id", "email", "firstname", "lastname", "createdAt");
+  private static final Sort DEFAULT_SORT = Sort.by("lastname", "firstname", "id");
+
   @Value("${keycloak.default-client-role}")
   private String defaultClientRole;
 
@@ -48,8 +61,9 @@ public class UserService {
   private String defaultAdminRole;
 
   /**
-   * Initializes the service by ensuring the Keycloak realm exists and syncing users. This method is
-   * called after the service is constructed.
+   * Initializes the service by ensuring the Keycloak realm, its roles and clients exist. This
+   * method is called after the service is constructed. Local users for existing Keycloak users are
+   * created in the background by {@link KeycloakUserSyncService} once the application is ready.
    */
   @PostConstruct
   public void init() {
@@ -74,27 +88,6 @@ public class UserService {
       LOGGER.error("Failed to create Keycloak clients");
       return;
     }
-
-    // Retrieve all existing users in the realm and create their local
-    // representations if they don't
-    // exist
-    List<KeycloakUserResponseDTO> users = keycloakService.retrieveAllUsersInRealm();
-    for (KeycloakUserResponseDTO user : users) {
-      Optional<User> existingUser = userRepository.findByKeycloakUUID(user.getKeycloakUUID());
-      if (existingUser.isEmpty()) {
-        // User doesn't exist locally, create it
-        User newUser = new User();
-        newUser.setKeycloakUUID(user.getKeycloakUUID());
-        newUser.setEmail(user.getEmail());
-        newUser.setFirstname(user.getFirstName());
-        newUser.setLastname(user.getLastName());
-        userRepository.save(newUser);
-        LOGGER.info(
-            "Created local user for Keycloak user: {} - {}",
-            user.getKeycloakUUID(),
-            user.getUsername());
-      }
-    }
   }
 
   /**
@@ -135,6 +128,7 @@ public class UserService {
     updatedUser.setCreatedAt(existingUser.getCreatedAt());
 
     User savedUser = userRepository.save(updatedUser);
+    currentUserCache.evict(existingUser);
     UserResponseDTO userResponseDTO = userResponseMapper.toDto(savedUser);
     return ResponseEntity.ok(userResponseDTO);
   }
@@ -177,6 +171,7 @@ public class UserService {
       newUser.setFirstname(createdKeycloakUser.getFirstName());
       newUser.setLastname(createdKeycloakUser.getLastName());
       userRepository.save(newUser);
+      currentUserCache.evict(newUser);
       UserResponseDTO userResponseDTO = userResponseMapper.toDto(newUser);
       return ResponseEntity.status(HttpStatus.CREATED).body(userResponseDTO);
 
@@ -216,6 +211,7 @@ public class UserService {
       newUser.setFirstname(createdKeycloakUser.getFirstName());
       newUser.setLastname(createdKeycloakUser.getLastName());
       userRepository.save(newUser);
+      currentUserCache.evict(newUser);
 
       UserResponseDTO userResponseDTO = userResponseMapper.toDto(newUser);
       return ResponseEntity.status(HttpStatus.CREATED).body(userResponseDTO);
@@ -242,7 +238,8 @@ public class UserService {
   }
 
   /**
-   * Retrieves the user associated with the current access token.
+   * Retrieves the user associated with the current access token. The user is resolved through
+   * {@link CurrentUserCache}, so repeated requests of the same principal do not query the database.
    *
    * @return a ResponseEntity containing the user's response DTO
    * @throws BadRequestException if the access token is invalid or missing required claims
@@ -260,13 +257,20 @@ public class UserService {
       throw new BadRequestException("Access token missing email");
     }
 
-    Optional<User> byEmail = userRepository.findByEmail(email);
-    if (byEmail.isPresent()) {
-      return ResponseEntity.ok(userResponseMapper.toDto(byEmail.get()));
-    } else {
-      LOGGER.warn("User with email {} not found locally.", email);
-      throw new NotFoundException("User not found");
-    }
+    UserResponseDTO user =
+        currentUserCache.getUser(
+            jwt.getSubject(),
+            email,
+            () ->
+                userRepository
+                    .findByEmail(email)
+                    .map(userResponseMapper::toDto)
+                    .orElseThrow(
+                        () -> {
+                          LOGGER.warn("User with email {} not found locally.", email);
+                          return new NotFoundException("User not found");
+                        }));
+    return ResponseEntity.ok(user);
   }
 
   /**
@@ -350,4 +354,74 @@ public class UserService {
     List<UserResponseDTO> userDTOs = userResponseMapper.toDtoList(users);
     return ResponseEntity.ok(userDTOs);
   }
+
+  /**
+   * Returns one page of users. No total count is queried; {@code hasNext} tells whether another
+   * page exists.
+   *
+   * @param page the zero-based page index
+   * @param size the page size; capped at {@value #MAX_PAGE_SIZE}
+   * @param sort comma separated sort keys out of {@code id}, {@code email}, {@code firstname},
+   *     {@code lastname} and {@code createdAt}, a leading {@code -} sorts descending; defaults to
+   *     {@code lastname,firstname}
+   * @return a ResponseEntity containing the requested page of users
+   * @throws BadRequestException if the sort parameter contains an unknown or duplicate key
+   */
+  public ResponseEntity<PageResponseDTO<UserResponseDTO>> getUsersPage(
+      int page, int size, String sort) {
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    int pageIndex = Math.max(page, 0);
+    Slice<User> users =
+        userRepository.findAllBy(PageRequest.of(pageIndex, pageSize, parseSort(sort)));
+    return ResponseEntity.ok(
+        new PageResponseDTO<>(
+            userResponseMapper.toDtoList(users.getContent()),
+            pageIndex,
+            pageSize,
+            users.hasNext()));
+  }
+
+  /**
+   * Returns the users with the given IDs in one query, e.g. to resolve the creator and assignee IDs
+   * of groups and tasks. Unknown IDs are skipped.
+   *
+   * @param userIds the user IDs; at most {@value #MAX_BATCH_IDS}
+   * @return a ResponseEntity containing the existing users in ID order
+   * @throws BadRequestException if more than {@value #MAX_BATCH_IDS} IDs are requested
+   */
+  public ResponseEntity<List<UserResponseDTO>> getUserResponsesByIds(Set<Long> userIds) {
+    if (userIds == null || userIds.isEmpty()) {
+      return ResponseEntity.ok(List.of());
+    }
+    if (userIds.size() > MAX_BATCH_IDS) {
+      throw new BadRequestException("At most " + MAX_BATCH_IDS + " user ids can be requested");
+    }
+    List<User> users = userRepository.findByIdInOrderByIdAsc(userIds);
+    return ResponseEntity.ok(userResponseMapper.toDtoList(users));
+  }
+
+  private static Sort parseSort(String spec) {
+    if (spec == null || spec.isBlank()) {
+      return DEFAULT_SORT;
+    }
+    List<Sort.Order> orders = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    for (String part : spec.split(",")) {
+      String name = part.trim();
+      boolean descending = name.startsWith("-");
+      String key = descending ? name.substring(1) : name;
+      if (!SORT_KEYS.contains(key)) {
+        throw new BadRequestException("Unknown sort key: " + key);
+      }
+      if (!seen.add(key)) {
+        throw new BadRequestException("Duplicate sort key: " + key);
+      }
+      orders.add(descending ? Sort.Order.desc(key) : Sort.Order.asc(key));
+    }
+    if (!seen.contains("id")) {
+      // Unique tie-breaker, so equal names cannot move between pages
+      orders.add(Sort.Order.asc("id"));
+    }
+    return Sort.by(orders);
+  }
 }
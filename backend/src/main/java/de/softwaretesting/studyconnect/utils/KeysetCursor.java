@@ -0,0 +1,107 @@
+package de.softwaretesting.studyconnect.utils;
+
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Opaque cursor for keyset pagination. A cursor stores the sort key values of the last row of a
+ * page, so the next page can be read with a {@code WHERE (key, id) < (:key, :id)} predicate instead
+ * of an {@code OFFSET} that has to skip all previous rows.
+ *
+ * <p>Each value is Base64url encoded on its own and the parts are joined with a dot, so values may
+ * contain arbitrary characters.
+ */
+public final class KeysetCursor {
+
+  private static final String SEPARATOR = ".";
+  private static final String INVALID_CURSOR_MESSAGE = "Invalid pagination cursor";
+
+  private final List<String> values;
+
+  private KeysetCursor(List<String> values) {
+    this.values = List.copyOf(values);
+  }
+
+  /**
+   * Creates a cursor from the given sort key values.
+   *
+   * @param values the sort key values of the last row of a page, in sort order
+   * @return the cursor
+   */
+  public static KeysetCursor of(Object... values) {
+    List<String> parts = new ArrayList<>(values.length);
+    for (Object value : values) {
+      parts.add(Objects.requireNonNull(value, "cursor values must not be null").toString());
+    }
+    return new KeysetCursor(parts);
+  }
+
+  /**
+   * Decodes a cursor token produced by {@link #encode()}.
+   *
+   * @param token the cursor token
+   * @param expectedSize the number of sort key values the cursor must contain
+   * @return the decoded cursor
+   * @throws BadRequestException if the token is malformed or has the wrong number of values
+   */
+  public static KeysetCursor decode(String token, int expectedSize) {
+    if (token == null || token.isBlank()) {
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+    String[] parts = token.split("\\" + SEPARATOR, -1);
+    if (parts.length != expectedSize) {
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+    List<String> decoded = new ArrayList<>(parts.length);
+    try {
+      for (String part : parts) {
+        decoded.add(new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+    return new KeysetCursor(decoded);
+  }
+
+  /**
+   * Encodes this cursor into an opaque, URL-safe token.
+   *
+   * @return the cursor token
+   */
+  public String encode() {
+    List<String> encoded = new ArrayList<>(values.size());
+    for (String value : values) {
+      encoded.add(
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+    }
+    return String.join(SEPARATOR, encoded);
+  }
+
+  public String getString(int index) {
+    return values.get(index);
+  }
+
+  public long getLong(int index) {
+    try {
+      return Long.parseLong(values.get(index));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+  }
+
+  public LocalDateTime getDateTime(int index) {
+    try {
+      return LocalDateTime.parse(values.get(index));
+    } catch (DateTimeParseException e) {
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+  }
+}
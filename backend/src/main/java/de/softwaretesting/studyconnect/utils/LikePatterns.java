@@ -0,0 +1,40 @@
+package de.softwaretesting.studyconnect.utils;
+
+/**
+ * Builds {@code LIKE} patterns from user input. Wildcards in the input are escaped with {@link
+ * #ESCAPE_CHAR}, so queries must declare {@code escape '!'}.
+ */
+public final class LikePatterns {
+
+  public static final char ESCAPE_CHAR = '!';
+
+  private LikePatterns() {}
+
+  /**
+   * Escapes {@code %}, {@code _} and the escape character itself.
+   *
+   * @param value the raw user input
+   * @return the input with all wildcard characters escaped
+   */
+  public static String escape(String value) {
+    StringBuilder escaped = new StringBuilder(value.length() + 4);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '%' || c == '_' || c == ESCAPE_CHAR) {
+        escaped.append(ESCAPE_CHAR);
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+
+  /** Returns a pattern matching values that start with {@code value}. */
+  public static String startsWith(String value) {
+    return escape(value) + "%";
+  }
+
+  /** Returns a pattern matching values that contain {@code value}. */
+  public static String contains(String value) {
+    return "%" + escape(value) + "%";
+  }
+}
@@ -0,0 +1,8 @@
+-- Task listings (TaskQueryRepositoryImpl) order by the raw due_date column, nulls last, and read
+-- the tasks without a due date as a segment of their own. Group listings seek on
+-- idx_tasks_group_due_date_id (V5), whose default order is already nulls last.
+
+-- Assignee listings span groups. With this index the planner can walk the tasks from the cursor in
+-- due date order and probe each one's assignment (task_assignees' primary key), instead of reading
+-- and sorting every task assigned to the user.
+create index if not exists idx_tasks_due_date_id on tasks (due_date asc nulls last, id);
@@ -0,0 +1,9 @@
+-- Number of direct replies of a comment (CommentService), incremented when a reply is inserted, so
+-- a page of comments reads its reply counts from its own rows instead of counting every reply.
+alter table comments add column if not exists reply_count integer not null default 0;
+
+update comments p
+set reply_count = r.replies
+from (select parent_id, count(*) as replies from comments where parent_id is not null
+      group by parent_id) r
+where p.id = r.parent_id;
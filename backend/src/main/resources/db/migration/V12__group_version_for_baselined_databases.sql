@@ -0,0 +1,3 @@
+-- Optimistic-lock version of a group (Group.version). Databases created by ddl-auto before
+-- migrations existed are baselined at V1 and never ran it, so they lack the column V1 declares.
+alter table groups add column if not exists version bigint not null default 0;
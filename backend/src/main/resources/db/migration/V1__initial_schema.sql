@@ -0,0 +1,128 @@
+-- Initial schema as previously generated by Hibernate from the entity mappings. Databases that
+-- were created by ddl-auto=update before migrations existed are baselined at this version, so
+-- everything that has to reach them as well belongs in a later script.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence groups_seq start with 1 increment by 50;
+create sequence tasks_seq start with 1 increment by 50;
+create sequence comments_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    keycloak_uuid varchar(255),
+    email varchar(255) not null,
+    firstname varchar(255) not null,
+    lastname varchar(255) not null,
+    created_at timestamp(6) not null,
+    constraint users_pkey primary key (id),
+    constraint uk_users_keycloak_uuid unique (keycloak_uuid),
+    constraint uk_users_email unique (email)
+);
+
+create table groups (
+    id bigint not null,
+    name varchar(100) not null,
+    description varchar(500),
+    max_members integer not null,
+    is_public boolean not null,
+    created_by bigint not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    invite_code varchar(50) not null,
+    member_count integer not null,
+    version bigint default 0 not null,
+    constraint groups_pkey primary key (id),
+    constraint uk_groups_invite_code unique (invite_code),
+    constraint fk_groups_created_by foreign key (created_by) references users (id)
+);
+
+create index idx_groups_public_updated_at_id on groups (is_public, updated_at, id);
+
+create table group_members (
+    group_id bigint not null,
+    user_id bigint not null,
+    constraint group_members_pkey primary key (group_id, user_id),
+    constraint fk_group_members_group foreign key (group_id) references groups (id),
+    constraint fk_group_members_user foreign key (user_id) references users (id)
+);
+
+create table group_admins (
+    group_id bigint not null,
+    user_id bigint not null,
+    constraint group_admins_pkey primary key (group_id, user_id),
+    constraint fk_group_admins_group foreign key (group_id) references groups (id),
+    constraint fk_group_admins_user foreign key (user_id) references users (id)
+);
+
+create table tasks (
+    id bigint not null,
+    title varchar(200) not null,
+    description varchar(1000),
+    due_date timestamp(6),
+    priority varchar(255) not null,
+    status varchar(255) not null,
+    category varchar(255),
+    created_by_id bigint,
+    group_id bigint,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    last_status_change_at timestamp(6) not null,
+    constraint tasks_pkey primary key (id),
+    constraint tasks_priority_check check (priority in ('LOW', 'MEDIUM', 'HIGH')),
+    constraint tasks_status_check
+        check (status in ('OPEN', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    constraint fk_tasks_created_by foreign key (created_by_id) references users (id),
+    constraint fk_tasks_group foreign key (group_id) references groups (id)
+);
+
+create table task_assignees (
+    task_id bigint not null,
+    user_id bigint not null,
+    constraint task_assignees_pkey primary key (task_id, user_id),
+    constraint fk_task_assignees_task foreign key (task_id) references tasks (id),
+    constraint fk_task_assignees_user foreign key (user_id) references users (id)
+);
+
+create table task_tags (
+    task_id bigint not null,
+    tag varchar(255) not null,
+    constraint task_tags_pkey primary key (task_id, tag),
+    constraint fk_task_tags_task foreign key (task_id) references tasks (id)
+);
+
+create table comments (
+    id bigint not null,
+    created_by bigint not null,
+    created_in bigint not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    content text,
+    constraint comments_pkey primary key (id),
+    constraint fk_comments_created_by foreign key (created_by) references users (id),
+    constraint fk_comments_created_in foreign key (created_in) references groups (id)
+);
+
+-- Spring Session JDBC tables (spring.session.jdbc.initialize-schema is disabled)
+create table spring_session (
+    primary_id char(36) not null,
+    session_id char(36) not null,
+    creation_time bigint not null,
+    last_access_time bigint not null,
+    max_inactive_interval int not null,
+    expiry_time bigint not null,
+    principal_name varchar(100),
+    constraint spring_session_pk primary key (primary_id)
+);
+
+create unique index spring_session_ix1 on spring_session (session_id);
+create index spring_session_ix2 on spring_session (expiry_time);
+create index spring_session_ix3 on spring_session (principal_name);
+
+create table spring_session_attributes (
+    session_primary_id char(36) not null,
+    attribute_name varchar(200) not null,
+    attribute_bytes bytea not null,
+    constraint spring_session_attributes_pk primary key (session_primary_id, attribute_name),
+    constraint spring_session_attributes_fk foreign key (session_primary_id)
+        references spring_session (primary_id) on delete cascade
+);
@@ -0,0 +1,22 @@
+-- Moves databases created before V1 from IDENTITY ids to the pooled sequences the entities use
+-- (<table>_seq, INCREMENT BY 50). On a database created by V1 the sequences already exist and
+-- the tables are empty, so this only positions them at their first block.
+--
+-- Hibernate's pooled optimizer treats each nextval() as the upper end of a block of
+-- INCREMENT BY ids, so every sequence is positioned a full block above the highest existing id.
+-- The identity defaults are dropped afterwards so no insert can bypass the sequences.
+
+create sequence if not exists tasks_seq start with 1 increment by 50;
+create sequence if not exists groups_seq start with 1 increment by 50;
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists comments_seq start with 1 increment by 50;
+
+select setval('tasks_seq', coalesce((select max(id) from tasks), 0) + 50, false);
+select setval('groups_seq', coalesce((select max(id) from groups), 0) + 50, false);
+select setval('users_seq', coalesce((select max(id) from users), 0) + 50, false);
+select setval('comments_seq', coalesce((select max(id) from comments), 0) + 50, false);
+
+alter table tasks alter column id drop identity if exists;
+alter table groups alter column id drop identity if exists;
+alter table users alter column id drop identity if exists;
+alter table comments alter column id drop identity if exists;
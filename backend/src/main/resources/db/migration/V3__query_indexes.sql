@@ -0,0 +1,32 @@
+-- Indexes for the queries in GroupRepository and TaskRepository. Lookups by id and the
+-- (group_id, user_id) / (task_id, user_id) direction of the join tables are already served by
+-- the primary keys; these cover the remaining predicates and foreign keys.
+
+-- Public listing, keyset paging and streaming (is_public, updated_at desc, id desc). Created in
+-- V1 for new databases and by ddl-auto on older ones; repeated here for baselined databases.
+create index if not exists idx_groups_public_updated_at_id on groups (is_public, updated_at, id);
+
+-- findByName
+create index if not exists idx_groups_name on groups (name);
+
+-- Groups created by a user (foreign key, checked when users are deleted)
+create index if not exists idx_groups_created_by on groups (created_by);
+
+-- findByMembersId and member checks starting from the user; index-only for the membership test
+create index if not exists idx_group_members_user_group on group_members (user_id, group_id);
+
+-- Admin checks starting from the user (foreign key)
+create index if not exists idx_group_admins_user_group on group_admins (user_id, group_id);
+
+-- findByGroupId, findByGroupIdAndAssigneesId
+create index if not exists idx_tasks_group_id on tasks (group_id);
+
+-- Tasks created by a user (foreign key)
+create index if not exists idx_tasks_created_by_id on tasks (created_by_id);
+
+-- findByAssigneesId, findByGroupIdAndAssigneesId from the assignee side
+create index if not exists idx_task_assignees_user_task on task_assignees (user_id, task_id);
+
+-- Comments of a group and by a user (foreign keys)
+create index if not exists idx_comments_created_in on comments (created_in);
+create index if not exists idx_comments_created_by on comments (created_by);
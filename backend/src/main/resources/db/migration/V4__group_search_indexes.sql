@@ -0,0 +1,19 @@
+-- Indexes used by group search on PostgreSQL (see GroupSearchRepositoryImpl). Partial indexes,
+-- since only public groups are searchable. pg_trgm is a trusted extension, so the database owner
+-- can create it without superuser rights.
+
+create extension if not exists pg_trgm;
+
+-- Full text match on name and description
+create index if not exists idx_groups_search_vector on groups
+    using gin (to_tsvector('simple', name || ' ' || coalesce(description, '')))
+    where is_public = true;
+
+-- Fuzzy and infix matches on the name
+create index if not exists idx_groups_name_trgm on groups
+    using gin (lower(name) gin_trgm_ops)
+    where is_public = true;
+
+-- Prefix matches for autocompletion
+create index if not exists idx_groups_name_prefix on groups (lower(name) text_pattern_ops)
+    where is_public = true;
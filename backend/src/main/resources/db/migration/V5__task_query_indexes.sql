@@ -0,0 +1,6 @@
+-- Paged task listings (TaskQueryRepositoryImpl): the tasks of a group within a due date range
+-- and in due date order.
+create index if not exists idx_tasks_group_due_date_id on tasks (group_id, due_date, id);
+
+-- Covered by the index above, which starts with group_id
+drop index if exists idx_tasks_group_id;
@@ -0,0 +1,7 @@
+-- High-water marks of the incremental Keycloak synchronization (KeycloakEventSyncService)
+create table if not exists keycloak_sync_state (
+    name varchar(64) not null,
+    last_event_time bigint not null,
+    updated_at timestamp(6) not null,
+    constraint keycloak_sync_state_pkey primary key (name)
+);
@@ -0,0 +1,16 @@
+-- Asynchronous user registrations (UserRegistrationService). The local user is created as pending
+-- right away and linked to its Keycloak account once provisioning completes.
+create table if not exists user_registrations (
+    id varchar(36) not null,
+    user_id bigint,
+    status varchar(16) not null,
+    attempts integer not null,
+    failure_reason varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint user_registrations_pkey primary key (id),
+    constraint fk_user_registrations_user foreign key (user_id) references users (id)
+        on delete set null
+);
+
+create index if not exists idx_user_registrations_status on user_registrations (status);
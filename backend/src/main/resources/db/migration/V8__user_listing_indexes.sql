@@ -0,0 +1,3 @@
+-- Paged user listing (UserService.getUsersPage): the default order is lastname, firstname, id.
+-- Sorting by email is served by the unique constraint, by id by the primary key.
+create index if not exists idx_users_lastname_firstname_id on users (lastname, firstname, id);
@@ -0,0 +1,14 @@
+-- Comment threads (CommentService). A reply points to the comment it answers; thread starters
+-- have no parent.
+alter table comments add column if not exists parent_id bigint;
+alter table comments
+    add constraint fk_comments_parent foreign key (parent_id) references comments (id);
+
+-- Keyset pages of the thread starters of a group, newest or oldest first. Replies are left out
+-- of the index, so a page reads only the rows it returns however many replies a group has.
+create index if not exists idx_comments_created_in_created_at_id
+    on comments (created_in, created_at, id) where parent_id is null;
+
+-- Keyset pages, previews and counts of the replies to a comment
+create index if not exists idx_comments_parent_created_at_id
+    on comments (parent_id, created_at, id);
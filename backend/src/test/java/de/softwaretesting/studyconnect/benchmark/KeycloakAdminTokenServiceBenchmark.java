@@ -0,0 +1,83 @@
+package de.softwaretesting.studyconnect.benchmark;
+
+import de.softwaretesting.studyconnect.dtos.response.KeycloakTokenResponseDTO;
+import de.softwaretesting.studyconnect.services.KeycloakAdminTokenService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Throughput of {@link KeycloakAdminTokenService#getAccessToken()} with a valid token, which is the
+ * path every Keycloak admin call takes. Keycloak is replaced by a template that answers the token
+ * request in memory, so only the token service itself is measured.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec@jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeycloakAdminTokenServiceBenchmark {
+
+  private KeycloakAdminTokenService tokenService;
+
+  @Setup
+  public void setUp() {
+    tokenService = new KeycloakAdminTokenService(new InMemoryTokenTemplate());
+    ReflectionTestUtils.setField(tokenService, "keycloakServerUrl", "http://keycloak.invalid");
+    ReflectionTestUtils.setField(tokenService, "adminUsername", "admin");
+    ReflectionTestUtils.setField(tokenService, "adminPassword", "admin");
+    tokenService.init();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String getAccessToken_1Thread() {
+    return tokenService.getAccessToken();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String getAccessToken_4Threads() {
+    return tokenService.getAccessToken();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public String getAccessToken_16Threads() {
+    return tokenService.getAccessToken();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public String getAccessToken_64Threads() {
+    return tokenService.getAccessToken();
+  }
+
+  /** Answers every token request with a token that is valid for an hour. */
+  private static class InMemoryTokenTemplate extends RestTemplate {
+
+    @Override
+    public <T> ResponseEntity<T> postForEntity(
+        String url, Object request, Class<T> responseType, Object... uriVariables) {
+      return ResponseEntity.ok(
+          responseType.cast(
+              new KeycloakTokenResponseDTO(
+                  "benchmark-access-token", "benchmark-refresh-token", 3600L, 36000L, "Bearer")));
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package de.softwaretesting.studyconnect.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class DataSourceConfigTest {
+
+  @Test
+  void poolSize_allowsConnectionsPerCorePlusOne() {
+    assertEquals(9, DataSourceConfig.poolSize(4, 2, 40));
+    assertEquals(13, DataSourceConfig.poolSize(4, 3, 40));
+  }
+
+  @Test
+  void poolSize_isCappedAtMaxConnections() {
+    assertEquals(40, DataSourceConfig.poolSize(64, 2, 40));
+  }
+
+  @Test
+  void poolSize_keepsAtLeastTwoConnections() {
+    assertEquals(2, DataSourceConfig.poolSize(1, 0, 40));
+    assertEquals(2, DataSourceConfig.poolSize(8, 2, 1));
+  }
+}
@@ -0,0 +1,185 @@
+package de.softwaretesting.studyconnect.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Routes between two in-memory H2 databases standing in for the primary and the replica. */
+class ReplicaRouterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private JdbcTemplate replica;
+  private ReplicaRouter router;
+  private DataSource routing;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    DataSource primaryDataSource = database("primary");
+    DataSource replicaDataSource = database("replica");
+    replica = new JdbcTemplate(replicaDataSource);
+    replica.execute("create table replica_lag (seconds double)");
+    replica.update("insert into replica_lag values (0)");
+    router =
+        new ReplicaRouter(
+            primaryDataSource,
+            replicaDataSource,
+            meterRegistry,
+            "select seconds from replica_lag",
+            Duration.ofSeconds(5),
+            Duration.ofMinutes(1));
+    routing = ReplicaRoutingConfig.routingDataSource(router);
+  }
+
+  @AfterEach
+  void clearSecurityContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransaction_runsOnReplica() {
+    router.checkReplicaLag();
+
+    assertEquals("replica", nodeIn(true));
+    assertEquals(1.0, reads("replica"));
+  }
+
+  @Test
+  void readWriteTransaction_runsOnPrimary() {
+    router.checkReplicaLag();
+
+    assertEquals("primary", nodeIn(false));
+    assertEquals(0, meterRegistry.find(ReplicaRouter.READS_METRIC).counters().size());
+  }
+
+  @Test
+  void readOnlyTransaction_beforeFirstLagCheck_runsOnPrimary() {
+    assertEquals("primary", nodeIn(true));
+    assertEquals(1.0, reads("primary_unavailable"));
+  }
+
+  @Test
+  void readOnlyTransaction_whileReplicaLags_runsOnPrimary() {
+    replica.update("update replica_lag set seconds = 12.5");
+    router.checkReplicaLag();
+
+    assertEquals("primary", nodeIn(true));
+    assertEquals(1.0, reads("primary_lagging"));
+    assertEquals(12.5, meterRegistry.get(ReplicaRouter.LAG_METRIC).gauge().value());
+
+    replica.update("update replica_lag set seconds = 1");
+    router.checkReplicaLag();
+
+    assertEquals("replica", nodeIn(true));
+  }
+
+  @Test
+  void readOnlyTransaction_whenLagCheckFails_runsOnPrimary() {
+    router.checkReplicaLag();
+    replica.execute("drop table replica_lag");
+    router.checkReplicaLag();
+
+    assertEquals("primary", nodeIn(true));
+    assertEquals(1.0, reads("primary_unavailable"));
+    assertTrue(Double.isNaN(meterRegistry.get(ReplicaRouter.LAG_METRIC).gauge().value()));
+  }
+
+  @Test
+  void readOnlyTransaction_afterOwnWrite_runsOnPrimary() {
+    router.checkReplicaLag();
+    signIn("kc-1");
+    write(false);
+
+    assertEquals("primary", nodeIn(true));
+    assertEquals(1.0, reads("primary_recent_write"));
+
+    signIn("kc-2");
+    assertEquals("replica", nodeIn(true));
+  }
+
+  @Test
+  void readOnlyTransaction_afterOwnAutoCommitWrite_runsOnPrimary() {
+    router.checkReplicaLag();
+    signIn("kc-1");
+    new JdbcTemplate(routing).update("update node set name = name");
+
+    assertEquals("primary", nodeIn(true));
+  }
+
+  @Test
+  void readOnlyTransaction_afterOwnReadWriteTransactionWithoutWrites_runsOnReplica() {
+    router.checkReplicaLag();
+    signIn("kc-1");
+    nodeIn(false);
+
+    assertEquals("replica", nodeIn(true));
+  }
+
+  @Test
+  void readOnlyTransaction_afterOwnRolledBackWrite_runsOnReplica() {
+    router.checkReplicaLag();
+    signIn("kc-1");
+    write(true);
+
+    assertEquals("replica", nodeIn(true));
+  }
+
+  @Test
+  void readOnlyTransaction_afterAnonymousWrite_runsOnReplica() {
+    router.checkReplicaLag();
+    write(false);
+
+    assertEquals("replica", nodeIn(true));
+  }
+
+  private String nodeIn(boolean readOnly) {
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(routing));
+    transaction.setReadOnly(readOnly);
+    return transaction.execute(
+        status -> new JdbcTemplate(routing).queryForObject("select name from node", String.class));
+  }
+
+  private void write(boolean rollback) {
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(routing));
+    transaction.executeWithoutResult(
+        status -> {
+          new JdbcTemplate(routing).update("update node set name = name");
+          if (rollback) {
+            status.setRollbackOnly();
+          }
+        });
+  }
+
+  private double reads(String route) {
+    return meterRegistry.get(ReplicaRouter.READS_METRIC).tag("route", route).counter().count();
+  }
+
+  private static void signIn(String subject) {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken(subject, null, "ROLE_USER"));
+  }
+
+  private static DataSource database(String name) {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("create table node (name varchar(20))");
+    jdbc.update("insert into node values (?)", name);
+    return dataSource;
+  }
+}
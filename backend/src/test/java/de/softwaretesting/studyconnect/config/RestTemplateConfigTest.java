@@ -0,0 +1,80 @@
+package de.softwaretesting.studyconnect.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.softwaretesting.studyconnect.utils.KeycloakStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+class RestTemplateConfigTest {
+
+  private final RestTemplateConfig config = new RestTemplateConfig();
+
+  private KeycloakStubServer keycloak;
+  private PoolingHttpClientConnectionManager connectionManager;
+  private CloseableHttpClient httpClient;
+  private RestTemplate restTemplate;
+
+  @BeforeEach
+  void setUp() {
+    keycloak = KeycloakStubServer.start();
+    connectionManager =
+        config.keycloakConnectionManager(
+            50, 20, Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofMinutes(5));
+    httpClient =
+        config.keycloakHttpClient(
+            connectionManager,
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(30));
+    restTemplate = config.restTemplate(httpClient);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    httpClient.close();
+    keycloak.close();
+  }
+
+  @Test
+  void restTemplate_reusesKeepAliveConnectionForSequentialCalls() {
+    keycloak.respond("/admin/realms/test", 200, "{\"realm\": \"test\"}");
+
+    for (int i = 0; i < 20; i++) {
+      restTemplate.getForObject(keycloak.baseUrl() + "/admin/realms/test", String.class);
+    }
+
+    assertEquals(20, keycloak.requests().size());
+    // All calls went through one pooled connection, which is back in the pool
+    assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    assertEquals(0, connectionManager.getTotalStats().getLeased());
+  }
+
+  @Test
+  void keycloakConnectionPoolMetrics_publishesPoolLimits() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    config.keycloakConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+    assertEquals(
+        50.0,
+        registry
+            .get("httpcomponents.httpclient.pool.total.max")
+            .tag("httpclient", RestTemplateConfig.POOL_METRICS_NAME)
+            .gauge()
+            .value());
+    assertEquals(
+        20.0,
+        registry
+            .get("httpcomponents.httpclient.pool.route.max.default")
+            .tag("httpclient", RestTemplateConfig.POOL_METRICS_NAME)
+            .gauge()
+            .value());
+  }
+}
@@ -0,0 +1,74 @@
+package de.softwaretesting.studyconnect.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class VirtualThreadPinningMonitorTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          // Converts the threshold default "20ms", as the Boot application context does
+          .withInitializer(
+              context ->
+                  context
+                      .getBeanFactory()
+                      .setConversionService(ApplicationConversionService.getSharedInstance()))
+          .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+          .withUserConfiguration(VirtualThreadPinningMonitor.class);
+
+  @Test
+  void monitor_isOnlyCreatedWithVirtualThreads() {
+    contextRunner
+        .withPropertyValues("spring.threads.virtual.enabled=true")
+        .run(
+            context ->
+                assertEquals(1, context.getBeansOfType(VirtualThreadPinningMonitor.class).size()));
+    contextRunner.run(
+        context -> assertTrue(context.getBeansOfType(VirtualThreadPinningMonitor.class).isEmpty()));
+  }
+
+  @Test
+  void monitor_timesVirtualThreadBlockedInsideSynchronizedBlock() throws InterruptedException {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    VirtualThreadPinningMonitor monitor =
+        new VirtualThreadPinningMonitor(meterRegistry, Duration.ZERO);
+    monitor.start();
+    try {
+      // JFR delivers events in batches, so keep pinning until one arrives
+      long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+      while (pinnedCount(meterRegistry) == 0 && System.nanoTime() < deadline) {
+        Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepWhilePinned).join();
+        Thread.sleep(100);
+      }
+    } finally {
+      monitor.stop();
+    }
+
+    assertTrue(pinnedCount(meterRegistry) > 0);
+  }
+
+  private static long pinnedCount(MeterRegistry meterRegistry) {
+    return meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METRIC).timers().stream()
+        .mapToLong(Timer::count)
+        .sum();
+  }
+
+  private static void sleepWhilePinned() {
+    Object monitor = new Object();
+    synchronized (monitor) {
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
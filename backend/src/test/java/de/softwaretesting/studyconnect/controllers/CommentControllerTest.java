@@ -0,0 +1,127 @@
+package de.softwaretesting.studyconnect.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.softwaretesting.studyconnect.dtos.request.CommentRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CommentResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.GlobalExceptionHandler;
+import de.softwaretesting.studyconnect.services.CommentService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("CommentController Tests")
+class CommentControllerTest {
+
+  @Mock private CommentService commentService;
+
+  private MockMvc mockMvc;
+  private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+    validator.afterPropertiesSet();
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new CommentController(commentService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setValidator(validator)
+            .build();
+    objectMapper = new ObjectMapper();
+  }
+
+  @Test
+  @DisplayName("Should get a page of group threads with default size and depth")
+  void shouldGetGroupComments() throws Exception {
+    CommentResponseDTO reply = sampleComment(2L, 1L, List.of());
+    CommentResponseDTO thread = sampleComment(1L, null, List.of(reply));
+    given(commentService.getGroupComments(10L, null, 20, "oldest", 1))
+        .willReturn(ResponseEntity.ok(new CursorPageResponseDTO<>(List.of(thread), "next")));
+
+    mockMvc
+        .perform(get("/api/groups/{groupId}/comments", 10L).param("order", "oldest"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(1))
+        .andExpect(jsonPath("$.items[0].replies[0].parentId").value(1))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  @Test
+  @DisplayName("Should get a page of replies")
+  void shouldGetReplies() throws Exception {
+    given(commentService.getReplies(1L, "abc", 5, null, 2))
+        .willReturn(
+            ResponseEntity.ok(
+                new CursorPageResponseDTO<>(List.of(sampleComment(2L, 1L, List.of())), null)));
+
+    mockMvc
+        .perform(
+            get("/api/comments/{commentId}/replies", 1L)
+                .param("cursor", "abc")
+                .param("size", "5")
+                .param("depth", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(2));
+  }
+
+  @Test
+  @DisplayName("Should create a reply")
+  void shouldCreateComment() throws Exception {
+    CommentRequestDTO request = new CommentRequestDTO("Agreed", 7L, 1L);
+    given(commentService.createComment(eq(10L), any(CommentRequestDTO.class)))
+        .willReturn(new ResponseEntity<>(sampleComment(2L, 1L, List.of()), HttpStatus.CREATED));
+
+    mockMvc
+        .perform(
+            post("/api/groups/{groupId}/comments", 10L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.parentId").value(1));
+  }
+
+  @Test
+  @DisplayName("Should reject a blank comment")
+  void shouldRejectBlankComment() throws Exception {
+    CommentRequestDTO request = new CommentRequestDTO(" ", 7L, null);
+
+    mockMvc
+        .perform(
+            post("/api/groups/{groupId}/comments", 10L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+
+    verify(commentService, never()).createComment(anyLong(), any(CommentRequestDTO.class));
+  }
+
+  private static CommentResponseDTO sampleComment(
+      Long id, Long parentId, List<CommentResponseDTO> replies) {
+    return new CommentResponseDTO(
+        id, 10L, parentId, 7L, "Comment " + id, null, null, replies.size(), replies);
+  }
+}
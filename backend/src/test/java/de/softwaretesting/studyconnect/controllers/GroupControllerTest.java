@@ -1,9 +1,11 @@
 package de.softwaretesting.studyconnect.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -12,14 +14,21 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.softwaretesting.studyconnect.dtos.request.CreateGroupRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateGroupRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.GroupResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.GlobalExceptionHandler;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
 import de.softwaretesting.studyconnect.services.GroupService;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +44,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -77,6 +87,66 @@ class GroupControllerTest {
     verify(groupService).getAllPublicGroups();
   }
 
+  @Test
+  @DisplayName("Should get a page of public groups when size is given")
+  void shouldGetPublicGroupsPage() throws Exception {
+    GroupResponseDTO dto = sampleGroupResponse();
+    given(groupService.getPublicGroupsPage("abc", 2))
+        .willReturn(ResponseEntity.ok(new CursorPageResponseDTO<>(List.of(dto), "next")));
+
+    mockMvc
+        .perform(get("/api/groups").param("size", "2").param("cursor", "abc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].id").value(dto.getId()))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+
+    verify(groupService).getPublicGroupsPage("abc", 2);
+    verify(groupService, never()).getAllPublicGroups();
+  }
+
+  @Test
+  @DisplayName("Should stream public groups when stream=true")
+  void shouldStreamPublicGroups() throws Exception {
+    doAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(0);
+              out.write("[]".getBytes(StandardCharsets.UTF_8));
+              return null;
+            })
+        .when(groupService)
+        .streamPublicGroups(any(OutputStream.class));
+
+    mockMvc
+        .perform(get("/api/groups").param("stream", "true"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(content().string("[]"));
+
+    verify(groupService, never()).getAllPublicGroups();
+  }
+
+  @Test
+  @DisplayName("Should open the activity stream of a group")
+  void shouldOpenGroupActivityStream() throws Exception {
+    given(groupService.subscribeToActivity(10L)).willReturn(new SseEmitter());
+
+    mockMvc
+        .perform(get("/api/groups/10/events").accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted());
+
+    verify(groupService).subscribeToActivity(10L);
+  }
+
+  @Test
+  @DisplayName("Should return 404 for the activity stream of a missing group")
+  void shouldRejectActivityStreamOfMissingGroup() throws Exception {
+    given(groupService.subscribeToActivity(99L))
+        .willThrow(new NotFoundException("Group not found with id: 99"));
+
+    mockMvc.perform(get("/api/groups/99/events")).andExpect(status().isNotFound());
+  }
+
   @Test
   @DisplayName("Should create group successfully")
   void shouldCreateGroupSuccessfully() throws Exception {
@@ -173,6 +243,47 @@ class GroupControllerTest {
     verify(groupService, never()).searchPublicGroups(anyString());
   }
 
+  @Test
+  @DisplayName("Should return a ranked search page when size is given")
+  void shouldSearchPublicGroupsPage() throws Exception {
+    GroupResponseDTO dto = sampleGroupResponse();
+    given(groupService.searchPublicGroupsPage("math", 1, 5))
+        .willReturn(ResponseEntity.ok(new PageResponseDTO<>(List.of(dto), 1, 5, true)));
+
+    mockMvc
+        .perform(
+            get("/api/groups/search").param("query", "math").param("page", "1").param("size", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(dto.getId()))
+        .andExpect(jsonPath("$.page").value(1))
+        .andExpect(jsonPath("$.hasNext").value(true));
+
+    verify(groupService, never()).searchPublicGroups(anyString());
+  }
+
+  @Test
+  @DisplayName("Should suggest public groups by name prefix")
+  void shouldSuggestPublicGroups() throws Exception {
+    given(groupService.suggestPublicGroups("ma", 10))
+        .willReturn(ResponseEntity.ok(List.of(new GroupSuggestionResponseDTO(10L, "Math"))));
+
+    mockMvc
+        .perform(get("/api/groups/search/suggest").param("prefix", "ma"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(10))
+        .andExpect(jsonPath("$[0].name").value("Math"));
+  }
+
+  @Test
+  @DisplayName("Should reject blank suggestion prefix")
+  void shouldRejectBlankSuggestionPrefix() throws Exception {
+    mockMvc
+        .perform(get("/api/groups/search/suggest").param("prefix", " "))
+        .andExpect(status().isBadRequest());
+
+    verify(groupService, never()).suggestPublicGroups(anyString(), anyInt());
+  }
+
   @Test
   @DisplayName("Should update group")
   void shouldUpdateGroup() throws Exception {
@@ -1,8 +1,10 @@
 package de.softwaretesting.studyconnect.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -14,8 +16,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.softwaretesting.studyconnect.dtos.request.BatchTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.request.TaskQueryRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.TaskRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.TaskResponseDTO;
 import de.softwaretesting.studyconnect.models.Task;
 import de.softwaretesting.studyconnect.services.TaskService;
@@ -27,8 +32,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -121,6 +128,106 @@ class TaskControllerTest {
     verify(taskService).createTask(eq(groupId), any(TaskRequestDTO.class));
   }
 
+  @Test
+  @DisplayName("Should create a batch of tasks")
+  void shouldCreateTaskBatch() throws Exception {
+    Long groupId = 1L;
+    BatchTaskRequestDTO batch =
+        new BatchTaskRequestDTO(List.of(createValidTaskRequestDTO(), createValidTaskRequestDTO()));
+    given(taskService.createTasks(eq(groupId), any(BatchTaskRequestDTO.class)))
+        .willReturn(ResponseEntity.status(HttpStatus.CREATED).body(createTaskResponseList()));
+
+    mockMvc
+        .perform(
+            post("/api/tasks/groups/{groupId}/batch", groupId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.length()").value(2));
+
+    verify(taskService).createTasks(eq(groupId), any(BatchTaskRequestDTO.class));
+  }
+
+  @Test
+  @DisplayName("Should reject a batch containing an invalid task")
+  void shouldRejectTaskBatchWithInvalidTask() throws Exception {
+    BatchTaskRequestDTO batch =
+        new BatchTaskRequestDTO(
+            List.of(createValidTaskRequestDTO(), createInvalidTaskRequestDTO()));
+
+    mockMvc
+        .perform(
+            post("/api/tasks/groups/{groupId}/batch", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+        .andExpect(status().isBadRequest());
+
+    verify(taskService, never()).createTasks(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should bind filters, sort and cursor of a task page")
+  void shouldGetTaskPageByGroupId() throws Exception {
+    given(taskService.getTasksInGroupPage(eq(1L), any(TaskQueryRequestDTO.class)))
+        .willReturn(ResponseEntity.ok(new CursorPageResponseDTO<>(createTaskResponseList(), "n")));
+
+    mockMvc
+        .perform(
+            get("/api/tasks/groups/{groupId}", 1L)
+                .param("size", "2")
+                .param("status", "OPEN,IN_PROGRESS")
+                .param("priority", "HIGH")
+                .param("dueFrom", "2025-01-01T00:00:00")
+                .param("sort", "dueDate,-priority")
+                .param("cursor", "abc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").value("n"));
+
+    ArgumentCaptor<TaskQueryRequestDTO> query = ArgumentCaptor.forClass(TaskQueryRequestDTO.class);
+    verify(taskService).getTasksInGroupPage(eq(1L), query.capture());
+    assertEquals(2, query.getValue().getSize());
+    assertEquals(Set.of(Task.Status.OPEN, Task.Status.IN_PROGRESS), query.getValue().getStatus());
+    assertEquals(Set.of(Task.Priority.HIGH), query.getValue().getPriority());
+    assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), query.getValue().getDueFrom());
+    assertEquals("dueDate,-priority", query.getValue().getSort());
+    assertEquals("abc", query.getValue().getCursor());
+    verify(taskService, never()).getAllTasksInGroup(any());
+  }
+
+  @Test
+  @DisplayName("Should reject a task page size above the maximum")
+  void shouldRejectTaskPageSizeAboveMaximum() throws Exception {
+    mockMvc
+        .perform(get("/api/tasks/users/{userId}", 1L).param("size", "101"))
+        .andExpect(status().isBadRequest());
+
+    verify(taskService, never()).getTasksAssignedToUserPage(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown status filter")
+  void shouldRejectUnknownStatusFilter() throws Exception {
+    mockMvc
+        .perform(get("/api/tasks/groups/{groupId}", 1L).param("size", "10").param("status", "X"))
+        .andExpect(status().isBadRequest());
+
+    verify(taskService, never()).getTasksInGroupPage(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should reject an empty task batch")
+  void shouldRejectEmptyTaskBatch() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/tasks/groups/{groupId}/batch", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tasks\": []}"))
+        .andExpect(status().isBadRequest());
+
+    verify(taskService, never()).createTasks(any(), any());
+  }
+
   @Test
   @DisplayName("Should fail to create task with invalid data")
   void shouldFailToCreateTaskWithInvalidData() throws Exception {
@@ -8,14 +8,21 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UserUpdateRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.UserRegistrationResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.services.UserRegistrationService;
 import de.softwaretesting.studyconnect.services.UserService;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,12 +42,16 @@ class UserControllerTest {
 
   @Mock private UserService userService;
 
+  @Mock private UserRegistrationService userRegistrationService;
+
   private MockMvc mockMvc;
   private ObjectMapper objectMapper;
 
   @BeforeEach
   void setUp() {
-    mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService)).build();
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new UserController(userService, userRegistrationService))
+            .build();
     objectMapper = new ObjectMapper();
   }
 
@@ -210,6 +221,90 @@ class UserControllerTest {
     return new UserResponseDTO(1L, "updated@example.com", "Jane", "Smith");
   }
 
+  @Test
+  @DisplayName("Should accept asynchronous registration with status location")
+  void shouldAcceptAsynchronousRegistration() throws Exception {
+    // Given
+    UserRegistrationResponseDTO registration =
+        new UserRegistrationResponseDTO("reg-1", UserRegistration.Status.PENDING, 1L, null);
+    given(userRegistrationService.register(any(UserCreateRequestDTO.class)))
+        .willReturn(registration);
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/users/registrations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidUserCreateRequestDTO())))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/users/registrations/reg-1"))
+        .andExpect(jsonPath("$.id").value("reg-1"))
+        .andExpect(jsonPath("$.status").value("PENDING"));
+  }
+
+  @Test
+  @DisplayName("Should reject asynchronous registration with weak password")
+  void shouldRejectAsynchronousRegistrationWithWeakPassword() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/users/registrations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(createUserCreateRequestDTOWithWeakPassword())))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("Should get registration status")
+  void shouldGetRegistrationStatus() throws Exception {
+    // Given
+    given(userRegistrationService.getRegistration("reg-1"))
+        .willReturn(
+            new UserRegistrationResponseDTO("reg-1", UserRegistration.Status.COMPLETED, 1L, null));
+
+    // When & Then
+    mockMvc
+        .perform(get("/api/users/registrations/{registrationId}", "reg-1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"));
+  }
+
+  @Test
+  @DisplayName("Should get a page of users when size is given")
+  void shouldGetUsersPage() throws Exception {
+    // Given
+    given(userService.getUsersPage(1, 20, "-createdAt"))
+        .willReturn(
+            ResponseEntity.ok(
+                new PageResponseDTO<>(List.of(createUserResponseDTO()), 1, 20, true)));
+
+    // When & Then
+    mockMvc
+        .perform(
+            get("/api/users").param("page", "1").param("size", "20").param("sort", "-createdAt"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(1))
+        .andExpect(jsonPath("$.hasNext").value(true));
+
+    verify(userService).getUsersPage(1, 20, "-createdAt");
+  }
+
+  @Test
+  @DisplayName("Should resolve a batch of users by ids")
+  void shouldGetUsersByIds() throws Exception {
+    // Given
+    given(userService.getUserResponsesByIds(Set.of(1L, 2L)))
+        .willReturn(ResponseEntity.ok(List.of(createUserResponseDTO())));
+
+    // When & Then
+    mockMvc
+        .perform(get("/api/users").param("ids", "1,2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(1));
+
+    verify(userService).getUserResponsesByIds(Set.of(1L, 2L));
+  }
+
   private UserCreateRequestDTO createValidUserCreateRequestDTO() {
     return new UserCreateRequestDTO("John", "Doe", "ValidPass123!", "test@example.com");
   }
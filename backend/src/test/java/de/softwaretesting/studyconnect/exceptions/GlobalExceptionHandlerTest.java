@@ -126,6 +126,29 @@ class GlobalExceptionHandlerTest {
     assertThat(body.get("timestamp")).isInstanceOf(Instant.class);
   }
 
+  @Test
+  void handleServiceUnavailableException_ShouldReturnServiceUnavailableResponse() {
+    // Given
+    String errorMessage = "Too many registrations in progress";
+    String requestPath = "/api/users/registrations";
+    ServiceUnavailableException exception = new ServiceUnavailableException(errorMessage);
+
+    when(request.getRequestURI()).thenReturn(requestPath);
+
+    // When
+    ResponseEntity<Map<String, Object>> response =
+        globalExceptionHandler.handleServiceUnavailableException(exception, request);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getBody())
+        .isNotNull()
+        .containsEntry("status", 503)
+        .containsEntry("error", "Service Unavailable")
+        .containsEntry("message", errorMessage)
+        .containsEntry("path", requestPath);
+  }
+
   @Test
   void handleValidationException_ShouldReturnBadRequestWithFormattedErrors() {
     // Given
@@ -3,17 +3,26 @@ package de.softwaretesting.studyconnect.integrations;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
 import de.softwaretesting.studyconnect.mappers.request.CreateGroupRequestMapper;
 import de.softwaretesting.studyconnect.mappers.response.GroupResponseMapper;
 import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.User;
 import de.softwaretesting.studyconnect.repositories.GroupRepository;
 import de.softwaretesting.studyconnect.repositories.UserRepository;
+import de.softwaretesting.studyconnect.services.GroupActivityHub;
+import de.softwaretesting.studyconnect.services.GroupResponseCache;
 import de.softwaretesting.studyconnect.services.GroupService;
+import de.softwaretesting.studyconnect.services.OptimisticLockRetryExecutor;
 import de.softwaretesting.studyconnect.services.TaskService;
 import de.softwaretesting.studyconnect.services.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +30,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -30,8 +40,11 @@ class GroupIntegrationTest {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private EntityManager entityManager;
+
   private GroupService groupService;
   private UserService userService;
+  private GroupActivityHub groupActivityHub;
   private User user1;
   private User user2;
   private Group group;
@@ -39,13 +52,23 @@ class GroupIntegrationTest {
   @BeforeEach
   void setUp() {
     userService = mock(UserService.class);
+    groupActivityHub = mock(GroupActivityHub.class);
     groupService =
         new GroupService(
             groupRepository,
             userService,
             mock(TaskService.class),
             mock(CreateGroupRequestMapper.class),
-            mock(GroupResponseMapper.class));
+            mock(GroupResponseMapper.class),
+            new ObjectMapper(),
+            entityManager,
+            mock(GroupResponseCache.class),
+            new OptimisticLockRetryExecutor(
+                TransactionOperations.withoutTransaction(),
+                new SimpleMeterRegistry(),
+                1,
+                Duration.ZERO),
+            groupActivityHub);
 
     user1 = new User();
     user1.setEmail("creator@example.com");
@@ -74,8 +97,13 @@ class GroupIntegrationTest {
     ResponseEntity<Void> result = groupService.joinGroupById(group.getId(), user2.getId());
 
     assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+    // The join bypasses the persistence context, so reload the group from the database
+    entityManager.flush();
+    entityManager.clear();
     Group updated = groupRepository.findById(group.getId()).orElseThrow();
-    assertTrue(updated.getMembers().contains(user2));
+    assertTrue(updated.getMembers().stream().anyMatch(m -> m.getId().equals(user2.getId())));
     assertEquals(2, updated.getMemberCount());
+    verify(groupActivityHub)
+        .publish(group.getId(), GroupActivityEventDTO.Type.MEMBER_JOINED, user2.getId());
   }
 }
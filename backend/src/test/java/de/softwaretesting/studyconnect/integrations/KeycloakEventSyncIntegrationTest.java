@@ -0,0 +1,184 @@
+package de.softwaretesting.studyconnect.integrations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.KeycloakSyncStateRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import de.softwaretesting.studyconnect.services.CurrentUserCache;
+import de.softwaretesting.studyconnect.services.KeycloakAdminTokenService;
+import de.softwaretesting.studyconnect.services.KeycloakEventSyncService;
+import de.softwaretesting.studyconnect.services.KeycloakRealmMetadataCache;
+import de.softwaretesting.studyconnect.services.KeycloakService;
+import de.softwaretesting.studyconnect.utils.KeycloakStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Runs the incremental user sync against a stub Keycloak server and the test database, covering the
+ * admin event and user endpoints end to end without a Keycloak instance.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class KeycloakEventSyncIntegrationTest {
+
+  private static final String REALM = "stub-realm";
+  private static final String EVENTS_PATH = "/admin/realms/" + REALM + "/admin-events";
+  private static final String USERS_PATH = "/admin/realms/" + REALM + "/users/";
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private KeycloakSyncStateRepository syncStateRepository;
+
+  private KeycloakStubServer keycloak;
+  private KeycloakService keycloakService;
+  private CurrentUserCache currentUserCache;
+  private long now;
+
+  @BeforeEach
+  void setUp() {
+    keycloak = KeycloakStubServer.start();
+    KeycloakAdminTokenService tokenService = mock(KeycloakAdminTokenService.class);
+    when(tokenService.getAccessToken()).thenReturn("stub-token");
+    keycloakService =
+        new KeycloakService(
+            tokenService,
+            new RestTemplate(),
+            new KeycloakRealmMetadataCache(new NoOpCacheManager()));
+    ReflectionTestUtils.setField(keycloakService, "keycloakServerUrl", keycloak.baseUrl());
+    ReflectionTestUtils.setField(keycloakService, "realmName", REALM);
+    currentUserCache = new CurrentUserCache(new ConcurrentMapCacheManager("currentUsers"));
+    now = System.currentTimeMillis();
+  }
+
+  @AfterEach
+  void tearDown() {
+    keycloak.close();
+  }
+
+  @Test
+  void poll_appliesCreatesAndUpdatesInOrderAndResumesAfterRestart() {
+    KeycloakEventSyncService syncService = newSyncService();
+    keycloak.respond(
+        EVENTS_PATH,
+        200,
+        events(
+            event(now + 3, "UPDATE", "users/kc-1"),
+            event(now + 2, "UPDATE", "users/kc-1/role-mappings/realm"),
+            event(now + 1, "CREATE", "users/kc-1")));
+    keycloak.respond(USERS_PATH + "kc-1", 200, user("kc-1", "ada@example.com", "Ada"));
+
+    assertEquals(3, syncService.poll());
+
+    User synced = userRepository.findByKeycloakUUID("kc-1").orElseThrow();
+    assertEquals("Ada", synced.getFirstname());
+    assertEquals(
+        now + 3,
+        syncStateRepository.findById("user-admin-events").orElseThrow().getLastEventTime());
+    assertTrue(keycloak.requests().stream().anyMatch(r -> r.startsWith("PUT /admin/realms/")));
+
+    // A new instance resumes at the persisted mark and only applies the newer profile change
+    keycloak.respond(
+        EVENTS_PATH,
+        200,
+        events(
+            event(now + 5, "UPDATE", "users/kc-1"),
+            event(now + 3, "UPDATE", "users/kc-1"),
+            event(now + 1, "CREATE", "users/kc-1")));
+    keycloak.respond(USERS_PATH + "kc-1", 200, user("kc-1", "ada@example.com", "Augusta"));
+
+    assertEquals(2, newSyncService().poll());
+    assertEquals("Augusta", userRepository.findByKeycloakUUID("kc-1").orElseThrow().getFirstname());
+  }
+
+  @Test
+  void poll_deletesLocalUserOnDeleteEvent() {
+    User user = new User();
+    user.setKeycloakUUID("kc-2");
+    user.setEmail("grace@example.com");
+    user.setFirstname("Grace");
+    user.setLastname("Hopper");
+    userRepository.saveAndFlush(user);
+    UserResponseDTO cached =
+        new UserResponseDTO(user.getId(), "grace@example.com", "Grace", "Hopper");
+    currentUserCache.getUser("kc-2", "grace@example.com", () -> cached);
+    keycloak.respond(EVENTS_PATH, 200, events(event(now + 1, "DELETE", "users/kc-2")));
+
+    newSyncService().poll();
+
+    assertTrue(userRepository.findByKeycloakUUID("kc-2").isEmpty());
+    assertThrows(
+        NotFoundException.class,
+        () ->
+            currentUserCache.getUser(
+                "kc-2",
+                "grace@example.com",
+                () -> {
+                  throw new NotFoundException("User not found");
+                }));
+  }
+
+  @Test
+  void poll_keepsMarkAtLastAppliedEventWhenKeycloakFails() {
+    KeycloakEventSyncService syncService = newSyncService();
+    keycloak.respond(
+        EVENTS_PATH,
+        200,
+        events(event(now + 2, "UPDATE", "users/kc-4"), event(now + 1, "CREATE", "users/kc-3")));
+    keycloak.respond(USERS_PATH + "kc-3", 200, user("kc-3", "alan@example.com", "Alan"));
+    keycloak.respond(USERS_PATH + "kc-4", 503, "{}");
+
+    assertEquals(1, syncService.poll());
+
+    assertEquals(
+        now + 1,
+        syncStateRepository.findById("user-admin-events").orElseThrow().getLastEventTime());
+  }
+
+  private KeycloakEventSyncService newSyncService() {
+    return new KeycloakEventSyncService(
+        keycloakService,
+        userRepository,
+        syncStateRepository,
+        TransactionOperations.withoutTransaction(),
+        new SimpleMeterRegistry(),
+        currentUserCache,
+        true);
+  }
+
+  private static String events(String... events) {
+    return "[" + String.join(",", events) + "]";
+  }
+
+  private static String event(long time, String operationType, String resourcePath) {
+    return """
+        {"time": %d, "realmId": "stub", "operationType": "%s", "resourceType": "USER",
+         "resourcePath": "%s", "authDetails": {"userId": "admin"}}
+        """
+        .formatted(time, operationType, resourcePath);
+  }
+
+  private static String user(String id, String email, String firstName) {
+    return """
+        {"id": "%s", "username": "%s", "email": "%s", "firstName": "%s", "lastName": "Lovelace",
+         "enabled": true}
+        """
+        .formatted(id, email, email, firstName);
+  }
+}
@@ -192,6 +192,25 @@ class SecurityConfigIntegrationTest {
         .andExpect(status().isNotFound()); // 404 means auth passed, no endpoint
   }
 
+  @Test
+  void shouldAllowRegistrationStatus_WithoutAuthentication() throws Exception {
+    // 404 means the request passed security, the registration does not exist
+    mockMvc
+        .perform(get("/api/users/registrations/00000000-0000-0000-0000-000000000000"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldRejectAsyncRegistration_FromDisallowedOrigin() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/users/registrations")
+                .header("Origin", "http://malicious-site.com")
+                .contentType("application/json")
+                .content("{}"))
+        .andExpect(status().isForbidden());
+  }
+
   // === Concurrency and Error Handling Tests ===
 
   @Test
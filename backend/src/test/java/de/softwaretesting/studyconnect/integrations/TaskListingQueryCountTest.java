@@ -0,0 +1,128 @@
+package de.softwaretesting.studyconnect.integrations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import de.softwaretesting.studyconnect.dtos.response.TaskResponseDTO;
+import de.softwaretesting.studyconnect.mappers.request.TaskRequestMapper;
+import de.softwaretesting.studyconnect.mappers.request.UpdateTaskRequestMapper;
+import de.softwaretesting.studyconnect.mappers.response.TaskResponseMapper;
+import de.softwaretesting.studyconnect.models.Group;
+import de.softwaretesting.studyconnect.models.Task;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.repositories.TaskRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import de.softwaretesting.studyconnect.services.GroupActivityHub;
+import de.softwaretesting.studyconnect.services.TaskService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Guards the number of statements a task listing needs. Listing a group reads the task rows, then
+ * the assignee ids and the tags of all rows with one query each, independent of the task count and
+ * of how many assignees and tags every task has.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TaskListingQueryCountTest {
+
+  private static final int TASKS = 1000;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private TaskRepository taskRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private GroupRepository groupRepository;
+
+  private TaskService taskService;
+  private User creator;
+  private User member;
+  private Group group;
+
+  @BeforeEach
+  void setUp() {
+    taskService =
+        new TaskService(
+            taskRepository,
+            userRepository,
+            groupRepository,
+            Mappers.getMapper(TaskRequestMapper.class),
+            Mappers.getMapper(TaskResponseMapper.class),
+            Mappers.getMapper(UpdateTaskRequestMapper.class),
+            mock(GroupActivityHub.class));
+
+    creator = userRepository.save(newUser("creator@example.com"));
+    member = userRepository.save(newUser("member@example.com"));
+    group = new Group();
+    group.setName("Listing Group");
+    group.setCreatedBy(creator);
+    group = groupRepository.save(group);
+
+    List<Task> tasks = new ArrayList<>(TASKS);
+    for (int i = 0; i < TASKS; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + i);
+      task.setGroup(group);
+      task.setCreatedBy(creator);
+      task.addAssignee(creator);
+      task.addAssignee(member);
+      task.addTag("tag-" + i);
+      task.addTag("shared");
+      tasks.add(task);
+    }
+    taskRepository.saveAll(tasks);
+    taskRepository.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  void getAllTasksInGroup_readsRowsAssigneesAndTagsWithOneQueryEach() {
+    Statistics statistics = statistics();
+    statistics.clear();
+
+    List<TaskResponseDTO> tasks = taskService.getAllTasksInGroup(group.getId()).getBody();
+
+    assertEquals(TASKS, tasks.size());
+    assertEquals(Set.of(creator.getId(), member.getId()), tasks.get(0).getAssigneeIds());
+    assertEquals(Set.of("tag-0", "shared"), tasks.get(0).getTags());
+    assertEquals(3, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void getAllTasksAssignedToUser_readsRowsAssigneesAndTagsWithOneQueryEach() {
+    Statistics statistics = statistics();
+    statistics.clear();
+
+    List<TaskResponseDTO> tasks = taskService.getAllTasksAssignedToUser(member.getId()).getBody();
+
+    assertEquals(TASKS, tasks.size());
+    assertEquals(3, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  private Statistics statistics() {
+    return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+  }
+
+  private static User newUser(String email) {
+    User user = new User();
+    user.setEmail(email);
+    user.setFirstname("Listing");
+    user.setLastname("User");
+    return user;
+  }
+}
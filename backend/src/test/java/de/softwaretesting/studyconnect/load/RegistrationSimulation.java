@@ -0,0 +1,124 @@
+package de.softwaretesting.studyconnect.load;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import de.softwaretesting.studyconnect.utils.KeycloakStubServer;
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Load test of the asynchronous registration (POST /api/users/registrations).
+ *
+ * <p>Keycloak is replaced by a stub with a configurable latency, so the test shows that accepting
+ * registrations does not depend on how fast Keycloak is. Start the backend with
+ * KEYCLOAK_AUTH_SERVER_URL=http://localhost:8180 (or the port given by -Dkeycloak.stub.port) and
+ * the stub latency with -Dkeycloak.stub.latency-ms (default 300).
+ */
+public class RegistrationSimulation extends Simulation {
+
+  private static final int STUB_PORT = Integer.getInteger("keycloak.stub.port", 8180);
+  private static final long STUB_LATENCY_MS = Long.getLong("keycloak.stub.latency-ms", 300);
+  private static final String REALM = System.getProperty("keycloak.realm", "studyconnect");
+  private static final String REALM_PATH = "/admin/realms/" + REALM;
+
+  private KeycloakStubServer keycloak;
+
+  // 1. HTTP Protocol configuration, registrations are only accepted from the allowed origin
+  HttpProtocolBuilder httpProtocol =
+      http.baseUrl("http://localhost:8080")
+          .acceptHeader("application/json")
+          .contentTypeHeader("application/json")
+          .header("Origin", "http://localhost:4200");
+
+  // Every virtual user registers with its own email
+  AtomicLong counter = new AtomicLong();
+  Iterator<Map<String, Object>> emails =
+      Stream.generate(
+              () ->
+                  Map.<String, Object>of(
+                      "email", "load-" + counter.incrementAndGet() + "@studyconnect.test"))
+          .iterator();
+
+  // 2. Scenario: register, then poll the registration until Keycloak provisioning finished
+  ScenarioBuilder scn =
+      scenario("Registration: Async Keycloak Provisioning")
+          .feed(emails)
+          .group("registration")
+          .on(
+              exec(http("POST /api/users/registrations")
+                      .post("/api/users/registrations")
+                      .body(
+                          StringBody(
+                              """
+                              {"firstname": "Load", "lastname": "Test",
+                               "password": "ValidPass123!", "email": "#{email}"}
+                              """))
+                      .check(status().is(202))
+                      .check(jsonPath("$.id").saveAs("registrationId"))
+                      .check(jsonPath("$.status").saveAs("registrationStatus")))
+                  .asLongAs(session -> "PENDING".equals(session.getString("registrationStatus")))
+                  .on(
+                      pause(Duration.ofMillis(200))
+                          .exec(
+                              http("GET /api/users/registrations/{id}")
+                                  .get("/api/users/registrations/#{registrationId}")
+                                  .check(status().is(200))
+                                  .check(jsonPath("$.status").saveAs("registrationStatus"))))
+                  .exec(
+                      session -> {
+                        if (!"COMPLETED".equals(session.getString("registrationStatus"))) {
+                          return session.markAsFailed();
+                        }
+                        return session;
+                      }));
+
+  {
+    // 3. Load-Profile: 20 registrations per second over 2 minutes
+    setUp(scn.injectOpen(constantUsersPerSec(20).during(120)))
+        .protocols(httpProtocol)
+        .assertions(
+            details("POST /api/users/registrations").responseTime().percentile(99.0).lt(500),
+            global().successfulRequests().percent().gt(99.0));
+  }
+
+  @Override
+  public void before() {
+    keycloak = KeycloakStubServer.start(STUB_PORT);
+    keycloak.setLatency(Duration.ofMillis(STUB_LATENCY_MS));
+    keycloak.respond(
+        "/realms/master/protocol/openid-connect/token",
+        200,
+        """
+        {"access_token": "stub-token", "refresh_token": "stub-refresh", "expires_in": 300,
+         "refresh_expires_in": 1800, "token_type": "Bearer"}
+        """);
+    keycloak.respond(REALM_PATH + "/roles", 200, "[{\"id\": \"role-user\", \"name\": \"user\"}]");
+    // Creations get no Location header, so the backend looks the new user up by email
+    keycloak.respond(REALM_PATH + "/users", RegistrationSimulation::usersByEmail);
+  }
+
+  @Override
+  public void after() {
+    keycloak.close();
+  }
+
+  private static String usersByEmail(String query) {
+    if (query == null || !query.startsWith("email=")) {
+      return "[]";
+    }
+    String email = URLDecoder.decode(query.substring("email=".length()), StandardCharsets.UTF_8);
+    return """
+        [{"id": "%s", "username": "%s", "email": "%s", "enabled": true}]
+        """
+        .formatted(UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8)), email, email);
+  }
+}
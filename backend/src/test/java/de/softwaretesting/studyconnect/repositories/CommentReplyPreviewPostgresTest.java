@@ -0,0 +1,93 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.softwaretesting.studyconnect.models.Comment;
+import de.softwaretesting.studyconnect.models.Group;
+import de.softwaretesting.studyconnect.models.User;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Tests {@link CommentRepository#findFirstReplyIds} on PostgreSQL, since H2 has no lateral joins.
+ * Skipped without Docker.
+ */
+@DataJpaTest(
+    properties = {
+      "spring.flyway.enabled=true",
+      "spring.jpa.hibernate.ddl-auto=validate",
+      "spring.datasource.driver-class-name=org.postgresql.Driver"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CommentReplyPreviewPostgresTest {
+
+  @Container @ServiceConnection
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired private CommentRepository commentRepository;
+
+  @Autowired private GroupRepository groupRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  private User author;
+
+  /** Tests that reply previews are limited per parent and hold the oldest replies. */
+  @Test
+  void findFirstReplyIds_shouldLimitRepliesPerParent() {
+    // Arrange
+    Group group = saveGroupWithAuthor("Reply Preview Group");
+    Comment busy = saveComment(group, null, "busy thread");
+    Comment quiet = saveComment(group, null, "quiet thread");
+    Comment silent = saveComment(group, null, "silent thread");
+    Comment firstReply = saveComment(group, busy, "reply 1");
+    Comment secondReply = saveComment(group, busy, "reply 2");
+    saveComment(group, busy, "reply 3");
+    Comment quietReply = saveComment(group, quiet, "only reply");
+
+    // Act
+    List<Long> previewIds =
+        commentRepository.findFirstReplyIds(
+            List.of(busy.getId(), quiet.getId(), silent.getId()), 2);
+    List<CommentRow> previews = commentRepository.findRowsByIdIn(previewIds);
+
+    // Assert
+    assertEquals(
+        Set.of(firstReply.getId(), secondReply.getId(), quietReply.getId()),
+        Set.copyOf(previewIds));
+    assertEquals(busy.getId(), previews.get(0).parentId());
+  }
+
+  private Group saveGroupWithAuthor(String name) {
+    User user = new User();
+    user.setEmail(name.replace(' ', '-').toLowerCase() + "@example.com");
+    user.setFirstname("Author");
+    user.setLastname("User");
+    author = userRepository.save(user);
+
+    Group group = new Group();
+    group.setName(name);
+    group.setCreatedBy(author);
+    return groupRepository.save(group);
+  }
+
+  private Comment saveComment(Group group, Comment parent, String content) {
+    Comment comment = new Comment();
+    comment.setCreatedBy(author);
+    comment.setCreatedIn(group);
+    comment.setParent(parent);
+    comment.setContent(content);
+    return commentRepository.saveAndFlush(comment);
+  }
+}
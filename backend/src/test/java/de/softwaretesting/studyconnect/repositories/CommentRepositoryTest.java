@@ -2,13 +2,16 @@ package de.softwaretesting.studyconnect.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.softwaretesting.studyconnect.models.Comment;
 import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.User;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -441,4 +444,100 @@ class CommentRepositoryTest {
     assertEquals(savedGroup.getId(), saved2.getCreatedIn().getId());
     assertEquals(savedGroup.getId(), saved3.getCreatedIn().getId());
   }
+
+  // ========== THREAD LISTING TESTS ==========
+
+  /** Tests that thread starters are paged newest first and continue after the keyset position. */
+  @Test
+  void findThreadStarters_shouldPageNewestFirstWithoutReplies() {
+    // Arrange
+    Group group = saveGroupWithAuthor("Paged Comment Group");
+    Comment first = saveComment(group, null, "first");
+    Comment second = saveComment(group, null, "second");
+    saveComment(group, first, "reply");
+    Comment third = saveComment(group, null, "third");
+
+    // Act
+    List<CommentRow> page =
+        commentRepository.findThreadStarters(
+            group.getId(), CommentOrder.NEWEST_FIRST, null, null, 2);
+    CommentRow last = page.get(1);
+    List<CommentRow> next =
+        commentRepository.findThreadStarters(
+            group.getId(), CommentOrder.NEWEST_FIRST, last.createdAt(), last.id(), 2);
+
+    // Assert
+    assertEquals(
+        List.of(third.getId(), second.getId()), page.stream().map(CommentRow::id).toList());
+    assertEquals(List.of(first.getId()), next.stream().map(CommentRow::id).toList());
+    assertNull(next.get(0).parentId());
+    assertEquals(group.getId(), next.get(0).groupId());
+  }
+
+  /** Tests that the reply count of a comment is incremented in the database and read with it. */
+  @Test
+  void incrementReplyCount_shouldCountRepliesInTheCommentRow() {
+    // Arrange
+    Group group = saveGroupWithAuthor("Reply Count Group");
+    Comment busy = saveComment(group, null, "busy thread");
+    Comment quiet = saveComment(group, null, "quiet thread");
+
+    // Act
+    commentRepository.incrementReplyCount(busy.getId());
+    commentRepository.incrementReplyCount(busy.getId());
+    List<CommentRow> rows = commentRepository.findRowsByIdIn(List.of(busy.getId(), quiet.getId()));
+
+    // Assert
+    assertEquals(
+        Set.of(2, 0), rows.stream().map(CommentRow::replyCount).collect(Collectors.toSet()));
+    assertEquals(2, commentRepository.findRowById(busy.getId()).orElseThrow().replyCount());
+  }
+
+  /** Tests that the replies to a comment are paged oldest first. */
+  @Test
+  void findReplies_shouldPageOldestFirst() {
+    // Arrange
+    Group group = saveGroupWithAuthor("Reply Page Group");
+    Comment thread = saveComment(group, null, "thread");
+    Comment firstReply = saveComment(group, thread, "reply 1");
+    Comment secondReply = saveComment(group, thread, "reply 2");
+
+    // Act
+    List<CommentRow> page =
+        commentRepository.findReplies(thread.getId(), CommentOrder.OLDEST_FIRST, null, null, 1);
+    List<CommentRow> next =
+        commentRepository.findReplies(
+            thread.getId(),
+            CommentOrder.OLDEST_FIRST,
+            page.get(0).createdAt(),
+            page.get(0).id(),
+            1);
+
+    // Assert
+    assertEquals(firstReply.getId(), page.get(0).id());
+    assertEquals(secondReply.getId(), next.get(0).id());
+    assertEquals(thread.getId(), next.get(0).parentId());
+  }
+
+  private Group saveGroupWithAuthor(String name) {
+    User author = new User();
+    author.setEmail(name.replace(' ', '-').toLowerCase() + "@example.com");
+    author.setFirstname("Author");
+    author.setLastname("User");
+    savedUser = userRepository.save(author);
+
+    Group group = new Group();
+    group.setName(name);
+    group.setCreatedBy(savedUser);
+    return groupRepository.save(group);
+  }
+
+  private Comment saveComment(Group group, Comment parent, String content) {
+    Comment comment = new Comment();
+    comment.setCreatedBy(savedUser);
+    comment.setCreatedIn(group);
+    comment.setParent(parent);
+    comment.setContent(content);
+    return commentRepository.saveAndFlush(comment);
+  }
 }
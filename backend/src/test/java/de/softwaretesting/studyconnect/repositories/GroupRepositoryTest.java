@@ -7,16 +7,24 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.Task;
 import de.softwaretesting.studyconnect.models.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataJpaTest
@@ -686,4 +694,222 @@ class GroupRepositoryTest {
             savedGroup.getId(), savedNonAdminUser.getId()),
         "Non-admin user should not be detected as admin of the group");
   }
+
+  /** Tests that members and admins are projected into DTOs without managed user entities. */
+  @Test
+  void shouldProjectMembersAndAdminsIntoDtos() {
+    User admin = new User();
+    admin.setEmail("admin-projection@example.com");
+    admin.setFirstname("Admin");
+    admin.setLastname("Projection");
+    User savedAdminUser = userRepository.save(admin);
+
+    User member = new User();
+    member.setEmail("member-projection@example.com");
+    member.setFirstname("Member");
+    member.setLastname("Projection");
+    User savedMember = userRepository.save(member);
+
+    Group group = new Group();
+    group.setName("Projection Group");
+    group.setCreatedBy(savedAdminUser);
+    group.setAdmin(savedAdminUser);
+    group.addMember(savedAdminUser);
+    group.addMember(savedMember);
+    Group savedGroup = groupRepository.saveAndFlush(group);
+
+    Set<UserResponseDTO> members = groupRepository.findMemberDTOsByGroupId(savedGroup.getId());
+    Set<UserResponseDTO> admins = groupRepository.findAdminDTOsByGroupId(savedGroup.getId());
+
+    assertEquals(
+        Set.of(
+            new UserResponseDTO(
+                savedAdminUser.getId(), "admin-projection@example.com", "Admin", "Projection"),
+            new UserResponseDTO(
+                savedMember.getId(), "member-projection@example.com", "Member", "Projection")),
+        members);
+    assertEquals(
+        Set.of(savedAdminUser.getId()),
+        admins.stream().map(UserResponseDTO::getId).collect(Collectors.toSet()));
+    assertTrue(groupRepository.findMemberDTOsByGroupId(-1L).isEmpty());
+  }
+
+  /** Tests that keyset pages cover every public group exactly once and skip private groups. */
+  @Test
+  void shouldPagePublicGroupsByKeyset() {
+    User creator = new User();
+    creator.setEmail("keyset@example.com");
+    creator.setFirstname("Key");
+    creator.setLastname("Set");
+    creator = userRepository.save(creator);
+
+    Set<Long> publicIds = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      Group group = new Group();
+      group.setName("Public Group " + i);
+      group.setPublic(true);
+      group.setCreatedBy(creator);
+      publicIds.add(groupRepository.saveAndFlush(group).getId());
+    }
+    Group privateGroup = new Group();
+    privateGroup.setName("Private Group");
+    privateGroup.setCreatedBy(creator);
+    groupRepository.saveAndFlush(privateGroup);
+
+    // Act: walk the listing two rows at a time
+    List<Long> seen = new ArrayList<>();
+    List<Group> page = groupRepository.findPublicGroupsPage(PageRequest.ofSize(2));
+    while (!page.isEmpty()) {
+      page.forEach(g -> seen.add(g.getId()));
+      Group last = page.get(page.size() - 1);
+      page =
+          groupRepository.findPublicGroupsPageAfter(
+              last.getUpdatedAt(), last.getId(), PageRequest.ofSize(2));
+    }
+
+    // Assert
+    assertEquals(publicIds.size(), seen.size(), "Every public group should be listed once");
+    assertEquals(publicIds, new HashSet<>(seen));
+  }
+
+  /** Tests that the public group stream returns the same rows as the paged listing. */
+  @Test
+  void shouldStreamPublicGroups() {
+    User creator = new User();
+    creator.setEmail("stream@example.com");
+    creator.setFirstname("Stream");
+    creator.setLastname("User");
+    creator = userRepository.save(creator);
+
+    Group publicGroup = new Group();
+    publicGroup.setName("Streamed Group");
+    publicGroup.setPublic(true);
+    publicGroup.setCreatedBy(creator);
+    Long publicId = groupRepository.saveAndFlush(publicGroup).getId();
+
+    Group privateGroup = new Group();
+    privateGroup.setName("Hidden Group");
+    privateGroup.setCreatedBy(creator);
+    groupRepository.saveAndFlush(privateGroup);
+
+    try (Stream<Group> stream = groupRepository.streamPublicGroups()) {
+      List<Long> ids = stream.map(Group::getId).toList();
+      assertEquals(List.of(publicId), ids);
+    }
+  }
+
+  /** Tests that search matches name and description and ranks name prefix matches first. */
+  @Test
+  void shouldSearchPublicGroupsByNameAndDescriptionRanked() {
+    User creator = saveSearchCreator();
+    Long descriptionMatch = saveSearchGroup(creator, "Study Circle", "Linear algebra", true);
+    Long infixMatch = saveSearchGroup(creator, "Applied Algebra", null, true);
+    Long prefixMatch = saveSearchGroup(creator, "Algebra Basics", null, true);
+    saveSearchGroup(creator, "Algebra Private", null, false);
+    saveSearchGroup(creator, "Chemistry", null, true);
+
+    List<Long> ids =
+        groupRepository.searchPublicGroups(" ALGEBRA ", 0, 10).stream().map(Group::getId).toList();
+
+    assertEquals(List.of(prefixMatch, infixMatch, descriptionMatch), ids);
+    assertEquals(
+        List.of(infixMatch),
+        groupRepository.searchPublicGroups("algebra", 1, 1).stream().map(Group::getId).toList());
+  }
+
+  /** Tests that wildcard characters in a search query are matched literally. */
+  @Test
+  void shouldMatchWildcardsLiterallyInSearch() {
+    User creator = saveSearchCreator();
+    Long literal = saveSearchGroup(creator, "100% Effort", null, true);
+    saveSearchGroup(creator, "1000 Effort", null, true);
+
+    List<Group> result = groupRepository.searchPublicGroups("100%", 0, 10);
+
+    assertEquals(List.of(literal), result.stream().map(Group::getId).toList());
+  }
+
+  /** Tests that suggestions are limited to public names with the given prefix, in name order. */
+  @Test
+  void shouldSuggestPublicGroupsByPrefix() {
+    User creator = saveSearchCreator();
+    saveSearchGroup(creator, "Physics B", null, true);
+    saveSearchGroup(creator, "physics a", null, true);
+    saveSearchGroup(creator, "Physics Private", null, false);
+    saveSearchGroup(creator, "Astrophysics", null, true);
+
+    List<GroupSuggestionResponseDTO> suggestions =
+        groupRepository.suggestPublicGroups("phys%", PageRequest.ofSize(5));
+
+    assertEquals(
+        List.of("physics a", "Physics B"),
+        suggestions.stream().map(GroupSuggestionResponseDTO::getName).toList());
+  }
+
+  /** Tests that member slots are reserved atomically up to maxMembers and join rows inserted. */
+  @Test
+  void shouldReserveMemberSlotsUpToMaxMembers() {
+    User creator = saveSearchCreator();
+    User joiner = new User();
+    joiner.setEmail("joiner@example.com");
+    joiner.setFirstname("Join");
+    joiner.setLastname("Er");
+    joiner = userRepository.save(joiner);
+
+    Group group = new Group();
+    group.setName("Counter Group");
+    group.setPublic(true);
+    group.setMaxMembers(2);
+    group.setCreatedBy(creator);
+    group.addMember(creator);
+    Long groupId = groupRepository.saveAndFlush(group).getId();
+
+    assertEquals(new GroupRef(groupId, true), groupRepository.findRefById(groupId).orElseThrow());
+    assertFalse(groupRepository.existsMemberByGroupIdAndUserId(groupId, joiner.getId()));
+
+    assertEquals(1, groupRepository.incrementMemberCountIfBelowMax(groupId, LocalDateTime.now()));
+    groupRepository.insertMember(groupId, joiner.getId());
+
+    assertTrue(groupRepository.existsMemberByGroupIdAndUserId(groupId, joiner.getId()));
+    assertEquals(0, groupRepository.incrementMemberCountIfBelowMax(groupId, LocalDateTime.now()));
+    Group reloaded = groupRepository.findById(groupId).orElseThrow();
+    assertEquals(2, reloaded.getMemberCount());
+    assertEquals(2, reloaded.getMembers().size());
+  }
+
+  /** Tests that a join bumps the version, so a writer holding the old state conflicts. */
+  @Test
+  void shouldRejectStaleGroupAfterConcurrentJoin() {
+    User creator = saveSearchCreator();
+    Group group = new Group();
+    group.setName("Versioned Group");
+    group.setCreatedBy(creator);
+    Group stale = groupRepository.saveAndFlush(group);
+    long version = stale.getVersion();
+
+    // Clears the persistence context, so `stale` is detached with the old version
+    groupRepository.incrementMemberCountIfBelowMax(stale.getId(), LocalDateTime.now());
+
+    assertEquals(version + 1, groupRepository.findById(stale.getId()).orElseThrow().getVersion());
+    stale.setName("Overwritten");
+    assertThrows(
+        ObjectOptimisticLockingFailureException.class, () -> groupRepository.saveAndFlush(stale));
+  }
+
+  private User saveSearchCreator() {
+    User creator = new User();
+    creator.setEmail("search@example.com");
+    creator.setFirstname("Search");
+    creator.setLastname("User");
+    return userRepository.save(creator);
+  }
+
+  private Long saveSearchGroup(User creator, String name, String description, boolean isPublic) {
+    Group group = new Group();
+    group.setName(name);
+    group.setDescription(description);
+    group.setPublic(isPublic);
+    group.setCreatedBy(creator);
+    return groupRepository.saveAndFlush(group).getId();
+  }
 }
@@ -0,0 +1,133 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.softwaretesting.studyconnect.models.Group;
+import de.softwaretesting.studyconnect.models.Task;
+import de.softwaretesting.studyconnect.models.User;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Counts the JDBC statements Hibernate prepares per inserted task and group. "One flush per row" is
+ * the round-trip profile every insert had with {@code IDENTITY} ids, where Hibernate has to execute
+ * each insert immediately to learn the id; "one flush for all rows" is what pooled sequences allow,
+ * with the rows of each table sent as a single JDBC batch.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class InsertRoundTripBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InsertRoundTripBenchmarkTest.class);
+  private static final int ROWS = 200;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private TaskRepository taskRepository;
+
+  @Autowired private GroupRepository groupRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  private User creator;
+  private User member;
+  private Group group;
+
+  @BeforeEach
+  void setUp() {
+    creator = userRepository.save(newUser("creator@example.com"));
+    member = userRepository.save(newUser("member@example.com"));
+    group = groupRepository.saveAndFlush(newGroup("Benchmark Group"));
+  }
+
+  @Test
+  void taskCreation_batchedFlushNeedsFarFewerRoundTripsThanPerRowFlush() {
+    double perRow = taskStatementsPerRow(tasks -> tasks.forEach(taskRepository::saveAndFlush));
+    double batched =
+        taskStatementsPerRow(
+            tasks -> {
+              taskRepository.saveAll(tasks);
+              taskRepository.flush();
+            });
+
+    LOGGER.info("Task inserts: {} statements/row per-row flush, {} batched", perRow, batched);
+    assertTrue(perRow >= 3, "every task, assignee and tag row was its own round trip");
+    assertTrue(batched < perRow / 10, "batched: " + batched + ", per-row: " + perRow);
+  }
+
+  @Test
+  void groupCreation_batchedFlushNeedsFarFewerRoundTripsThanPerRowFlush() {
+    double perRow = groupStatementsPerRow(groups -> groups.forEach(groupRepository::saveAndFlush));
+    double batched =
+        groupStatementsPerRow(
+            groups -> {
+              groupRepository.saveAll(groups);
+              groupRepository.flush();
+            });
+
+    LOGGER.info("Group inserts: {} statements/row per-row flush, {} batched", perRow, batched);
+    assertTrue(perRow >= 3, "every group, admin and member row was its own round trip");
+    assertTrue(batched < perRow / 10, "batched: " + batched + ", per-row: " + perRow);
+  }
+
+  private double taskStatementsPerRow(Consumer<List<Task>> insert) {
+    List<Task> tasks = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + i);
+      task.setGroup(group);
+      task.setCreatedBy(creator);
+      task.addAssignee(member);
+      task.addTag("tag-" + i);
+      tasks.add(task);
+    }
+    return measure(() -> insert.accept(tasks));
+  }
+
+  private double groupStatementsPerRow(Consumer<List<Group>> insert) {
+    List<Group> groups = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      Group newGroup = newGroup("Group " + i);
+      newGroup.getMembers().add(member);
+      groups.add(newGroup);
+    }
+    return measure(() -> insert.accept(groups));
+  }
+
+  private double measure(Runnable insert) {
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    insert.run();
+    long statements = statistics.getPrepareStatementCount();
+    entityManager.clear();
+    return (double) statements / ROWS;
+  }
+
+  private Group newGroup(String name) {
+    Group newGroup = new Group();
+    newGroup.setName(name);
+    newGroup.setCreatedBy(creator);
+    newGroup.getAdmins().add(creator);
+    return newGroup;
+  }
+
+  private static User newUser(String email) {
+    User user = new User();
+    user.setEmail(email);
+    user.setFirstname("Bench");
+    user.setLastname("Mark");
+    return user;
+  }
+}
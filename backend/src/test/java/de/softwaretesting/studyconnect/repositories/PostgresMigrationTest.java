@@ -0,0 +1,52 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, the database they are written for, and lets
+ * Hibernate validate the entity mappings against the resulting schema, as at production startup.
+ * The other repository tests use H2 with a schema generated by Hibernate. Skipped without Docker.
+ */
+@DataJpaTest(
+    properties = {
+      "spring.flyway.enabled=true",
+      "spring.jpa.hibernate.ddl-auto=validate",
+      "spring.datasource.driver-class-name=org.postgresql.Driver"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest {
+
+  @Container @ServiceConnection
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired private Flyway flyway;
+
+  @Test
+  void migrationsApplyAndMatchTheEntityMappings() {
+    // The context only starts if every migration applied and Hibernate validated the schema
+    MigrationInfo[] migrations = flyway.info().all();
+
+    assertTrue(migrations.length > 0);
+    assertEquals(0, flyway.info().pending().length);
+    assertTrue(
+        Arrays.stream(migrations).allMatch(m -> m.getState() == MigrationState.SUCCESS),
+        () -> Arrays.toString(migrations));
+  }
+}
@@ -5,11 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.Task;
 import de.softwaretesting.studyconnect.models.User;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -29,6 +33,8 @@ class TaskRepositoryTest {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private GroupRepository groupRepository;
+
   @Test
   void shouldCreateAndSaveTaskWithValidData() {
     // Arrange
@@ -531,4 +537,187 @@ class TaskRepositoryTest {
     assertEquals("", saved1.getCategory());
     assertEquals(null, saved2.getCategory());
   }
+
+  @Test
+  void shouldInsertTasksWithAssigneesAndTagsInBatches() {
+    User creator = new User();
+    creator.setEmail("batch@example.com");
+    creator.setFirstname("Batch");
+    creator.setLastname("User");
+    User savedCreator = userRepository.save(creator);
+
+    Group group = new Group();
+    group.setName("Batch Group");
+    group.setCreatedBy(savedCreator);
+    Group savedGroup = groupRepository.saveAndFlush(group);
+
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    List<Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Task task = new Task();
+      task.setTitle("Batch task " + i);
+      task.setGroup(savedGroup);
+      task.setCreatedBy(savedCreator);
+      task.addAssignee(savedCreator);
+      task.addTag("week-" + i);
+      task.setCreatedAt(now);
+      task.setUpdatedAt(now);
+      task.setLastStatusChangeAt(now);
+      tasks.add(task);
+    }
+
+    taskRepository.saveAll(tasks);
+    taskRepository.flush();
+
+    assertTrue(tasks.stream().allMatch(t -> t.getId() != null));
+    assertEquals(3, tasks.stream().map(Task::getId).distinct().count());
+    List<Task> stored = taskRepository.findByGroupId(savedGroup.getId());
+    assertEquals(3, stored.size());
+    Task first = taskRepository.findById(tasks.get(0).getId()).orElseThrow();
+    assertEquals("Batch task 0", first.getTitle());
+    assertEquals(Set.of("week-0"), first.getTags());
+    assertEquals(
+        List.of(savedCreator.getId()), taskRepository.findAssigneeIdsByTaskId(first.getId()));
+  }
+
+  @Test
+  void findTasks_filtersInDatabaseAndPagesThroughKeysetWithoutGapsOrDuplicates() {
+    User creator = userRepository.save(newUser("pager@example.com"));
+    Group savedGroup = groupRepository.saveAndFlush(newGroup("Paged Group", creator));
+    LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0);
+    Task.Priority[] priorities = Task.Priority.values();
+    for (int i = 0; i < 10; i++) {
+      Task task = new Task();
+      task.setTitle("Paged " + i);
+      task.setGroup(savedGroup);
+      task.setCreatedBy(creator);
+      task.addAssignee(creator);
+      task.setPriority(priorities[i % priorities.length]);
+      // Two tasks share every due date, one has none
+      task.setDueDate(i == 9 ? null : base.plusDays(i / 2));
+      task.setStatus(i == 0 ? Task.Status.COMPLETED : Task.Status.OPEN);
+      taskRepository.save(task);
+    }
+    taskRepository.flush();
+
+    TaskFilter filter =
+        new TaskFilter(savedGroup.getId(), null, Set.of(Task.Status.OPEN), null, null, null, null);
+    TaskSort sort = TaskSort.parse("dueDate,-priority");
+    List<TaskRow> all = taskRepository.findTasks(filter, sort, null, 100);
+    List<TaskRow> paged = new ArrayList<>();
+    List<Object> after = null;
+    do {
+      List<TaskRow> page = taskRepository.findTasks(filter, sort, after, 4);
+      paged.addAll(page);
+      after = page.size() < 4 ? null : sort.decodeCursor(sort.cursorAfter(page.get(3)));
+    } while (after != null);
+
+    assertEquals(9, all.size());
+    assertEquals(all.stream().map(TaskRow::id).toList(), paged.stream().map(TaskRow::id).toList());
+    assertEquals(null, all.get(8).dueDate());
+    assertEquals(savedGroup.getId(), all.get(0).groupId());
+    assertEquals(creator.getId(), all.get(0).createdById());
+    for (int i = 1; i < 8; i++) {
+      TaskRow previous = all.get(i - 1);
+      TaskRow current = all.get(i);
+      assertTrue(
+          previous.dueDate().isBefore(current.dueDate())
+              || previous.priority().compareTo(current.priority()) >= 0);
+    }
+  }
+
+  @Test
+  void findTasks_pagesAcrossTasksWithoutDueDateInBothDirections() {
+    User creator = userRepository.save(newUser("undated@example.com"));
+    Group savedGroup = groupRepository.saveAndFlush(newGroup("Undated Group", creator));
+    LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0);
+    List<Long> dated = new ArrayList<>();
+    List<Long> undated = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      Task task = new Task();
+      task.setTitle("Undated " + i);
+      task.setGroup(savedGroup);
+      task.setCreatedBy(creator);
+      task.setDueDate(i % 2 == 0 ? null : base.plusDays(i));
+      (i % 2 == 0 ? undated : dated).add(taskRepository.save(task).getId());
+    }
+    taskRepository.flush();
+    TaskFilter filter = new TaskFilter(savedGroup.getId(), null, null, null, null, null, null);
+
+    List<Long> ascending = new ArrayList<>(dated);
+    ascending.addAll(undated);
+    List<Long> descending = new ArrayList<>(undated);
+    descending.addAll(dated.reversed());
+    assertEquals(ascending, pageThrough(filter, TaskSort.parse("dueDate"), 3));
+    assertEquals(descending, pageThrough(filter, TaskSort.parse("-dueDate"), 2));
+  }
+
+  @Test
+  void findTasks_filtersByAssigneePriorityAndDueDateRange() {
+    User creator = userRepository.save(newUser("filter@example.com"));
+    User other = userRepository.save(newUser("other@example.com"));
+    Group savedGroup = groupRepository.saveAndFlush(newGroup("Filter Group", creator));
+    LocalDateTime due = LocalDateTime.of(2030, 6, 1, 9, 0);
+    Task match = filterTask("match", savedGroup, creator, other, Task.Priority.HIGH, due);
+    filterTask("low", savedGroup, creator, other, Task.Priority.LOW, due);
+    filterTask("late", savedGroup, creator, other, Task.Priority.HIGH, due.plusMonths(1));
+    filterTask("unassigned", savedGroup, creator, creator, Task.Priority.HIGH, due);
+    taskRepository.flush();
+
+    TaskFilter filter =
+        new TaskFilter(
+            null,
+            other.getId(),
+            null,
+            Set.of(Task.Priority.HIGH),
+            null,
+            due.minusDays(1),
+            due.plusDays(1));
+    List<TaskRow> found = taskRepository.findTasks(filter, TaskSort.parse("title"), null, 10);
+
+    assertEquals(List.of(match.getId()), found.stream().map(TaskRow::id).toList());
+  }
+
+  private Task filterTask(
+      String title,
+      Group group,
+      User creator,
+      User assignee,
+      Task.Priority priority,
+      LocalDateTime dueDate) {
+    Task task = new Task();
+    task.setTitle(title);
+    task.setGroup(group);
+    task.setCreatedBy(creator);
+    task.addAssignee(assignee);
+    task.setPriority(priority);
+    task.setDueDate(dueDate);
+    return taskRepository.save(task);
+  }
+
+  private List<Long> pageThrough(TaskFilter filter, TaskSort sort, int size) {
+    List<Long> ids = new ArrayList<>();
+    List<Object> after = null;
+    do {
+      List<TaskRow> page = taskRepository.findTasks(filter, sort, after, size);
+      page.forEach(row -> ids.add(row.id()));
+      after = page.size() < size ? null : sort.decodeCursor(sort.cursorAfter(page.get(size - 1)));
+    } while (after != null);
+    return ids;
+  }
+
+  private static User newUser(String email) {
+    User user = new User();
+    user.setEmail(email);
+    user.setFirstname("Paged");
+    user.setLastname("User");
+    return user;
+  }
+
+  private static Group newGroup(String name, User creator) {
+    Group group = new Group();
+    group.setName(name);
+    group.setCreatedBy(creator);
+    return group;
+  }
 }
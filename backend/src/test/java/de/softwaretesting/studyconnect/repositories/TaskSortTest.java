@@ -0,0 +1,46 @@
+package de.softwaretesting.studyconnect.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.models.Task.Priority;
+import de.softwaretesting.studyconnect.models.Task.Status;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TaskSortTest {
+
+  @Test
+  void shouldParseKeysAndDirections() {
+    TaskSort sort = TaskSort.parse(" title , -createdAt");
+
+    assertEquals(
+        List.of(
+            new TaskSort.Order(TaskSort.Key.TITLE, false),
+            new TaskSort.Order(TaskSort.Key.CREATED_AT, true)),
+        sort.orders());
+    assertEquals("title,-createdAt", sort.spec());
+    assertSame(TaskSort.DEFAULT, TaskSort.parse(null));
+  }
+
+  @Test
+  void shouldRejectUnknownAndDuplicateKeys() {
+    assertThrows(BadRequestException.class, () -> TaskSort.parse("owner"));
+    assertThrows(BadRequestException.class, () -> TaskSort.parse("title,-title"));
+  }
+
+  @Test
+  void shouldRoundTripCursorWithMissingDueDate() {
+    TaskRow task =
+        new TaskRow(
+            7L, "a.b", null, null, Priority.LOW, Status.OPEN, null, 1L, 2L, null, null, null);
+    TaskSort sort = TaskSort.parse("dueDate,title");
+
+    List<Object> after = sort.decodeCursor(sort.cursorAfter(task));
+
+    assertEquals(Arrays.asList(null, "a.b", 7L), after);
+  }
+}
@@ -1,14 +1,21 @@
 package de.softwaretesting.studyconnect.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.softwaretesting.studyconnect.models.User;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataJpaTest
@@ -316,4 +323,49 @@ class UserRepositoryTest {
     assertEquals("John Paul", saved.getFirstname());
     assertEquals("Van Der Berg", saved.getLastname());
   }
+
+  // ========== LISTING TESTS ==========
+
+  /** Tests that a page of users is read in the requested order and reports a following page. */
+  @Test
+  void findAllBy_shouldReturnSortedSliceWithNextPage() {
+    // Arrange
+    saveUser("c@example.com", "Carl", "Zuse");
+    saveUser("a@example.com", "Ada", "Lovelace");
+    saveUser("g@example.com", "Grace", "Hopper");
+
+    // Act
+    Slice<User> first = userRepository.findAllBy(PageRequest.of(0, 2, Sort.by("lastname", "id")));
+    Slice<User> second = userRepository.findAllBy(PageRequest.of(1, 2, Sort.by("lastname", "id")));
+
+    // Assert
+    assertEquals(
+        List.of("Hopper", "Lovelace"), first.getContent().stream().map(User::getLastname).toList());
+    assertTrue(first.hasNext());
+    assertEquals(List.of("Zuse"), second.getContent().stream().map(User::getLastname).toList());
+    assertFalse(second.hasNext());
+  }
+
+  /** Tests that a batch lookup returns the existing users in id order and skips unknown ids. */
+  @Test
+  void findByIdInOrderByIdAsc_shouldSkipUnknownIds() {
+    // Arrange
+    User second = saveUser("b@example.com", "Bob", "Two");
+    User first = saveUser("a@example.com", "Alice", "One");
+
+    // Act
+    List<User> users =
+        userRepository.findByIdInOrderByIdAsc(Set.of(first.getId(), second.getId(), -1L));
+
+    // Assert
+    assertEquals(List.of(second.getId(), first.getId()), users.stream().map(User::getId).toList());
+  }
+
+  private User saveUser(String email, String firstname, String lastname) {
+    User user = new User();
+    user.setEmail(email);
+    user.setFirstname(firstname);
+    user.setLastname(lastname);
+    return userRepository.saveAndFlush(user);
+  }
 }
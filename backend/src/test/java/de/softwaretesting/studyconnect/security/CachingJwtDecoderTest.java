@@ -0,0 +1,85 @@
+package de.softwaretesting.studyconnect.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.utils.JwtTestUtil;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+class CachingJwtDecoderTest {
+
+  private static final String TOKEN = "header.payload.signature";
+
+  private JwtDecoder signatureVerifier;
+  private AtomicBoolean claimsValid;
+  private CachingJwtDecoder decoder;
+  private final Jwt jwt = JwtTestUtil.createStudyConnectUserToken("ada");
+
+  @BeforeEach
+  void setUp() {
+    signatureVerifier = mock(JwtDecoder.class);
+    when(signatureVerifier.decode(TOKEN)).thenReturn(jwt);
+    claimsValid = new AtomicBoolean(true);
+    decoder =
+        new CachingJwtDecoder(
+            signatureVerifier,
+            token ->
+                claimsValid.get()
+                    ? OAuth2TokenValidatorResult.success()
+                    : OAuth2TokenValidatorResult.failure(
+                        new OAuth2Error("invalid_token", "Jwt expired", null)),
+            10,
+            Duration.ofMinutes(5));
+  }
+
+  @Test
+  void decode_repeatedToken_verifiesSignatureOnce() {
+    assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+    assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+
+    verify(signatureVerifier, times(1)).decode(TOKEN);
+  }
+
+  @Test
+  void decode_cachedTokenWithInvalidClaims_isRejected() {
+    decoder.decode(TOKEN);
+    claimsValid.set(false);
+
+    assertThatThrownBy(() -> decoder.decode(TOKEN))
+        .isInstanceOf(JwtValidationException.class)
+        .hasMessageContaining("Jwt expired");
+  }
+
+  @Test
+  void decode_rejectedToken_isNotCached() {
+    claimsValid.set(false);
+    assertThatThrownBy(() -> decoder.decode(TOKEN)).isInstanceOf(JwtValidationException.class);
+    claimsValid.set(true);
+
+    decoder.decode(TOKEN);
+
+    verify(signatureVerifier, times(2)).decode(TOKEN);
+  }
+
+  @Test
+  void invalidateAll_forcesSignatureVerification() {
+    decoder.decode(TOKEN);
+    decoder.invalidateAll();
+
+    decoder.decode(TOKEN);
+
+    verify(signatureVerifier, times(2)).decode(TOKEN);
+  }
+}
@@ -0,0 +1,103 @@
+package de.softwaretesting.studyconnect.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import de.softwaretesting.studyconnect.utils.JwtTestUtil;
+import de.softwaretesting.studyconnect.utils.KeycloakStubServer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JwkSetCacheTest {
+
+  private static final String CERTS_PATH = "/realms/test/protocol/openid-connect/certs";
+
+  private static final URI UNREACHABLE_URI = URI.create("http://localhost:1/certs");
+
+  private static final RSAKey FIRST_KEY = JwtTestUtil.generateSigningKey("key-1");
+  private static final RSAKey ROTATED_KEY = JwtTestUtil.generateSigningKey("key-2");
+
+  @TempDir Path tempDir;
+
+  private KeycloakStubServer keycloak;
+  private URI certsUri;
+
+  @BeforeEach
+  void setUp() {
+    keycloak = KeycloakStubServer.start();
+    certsUri = URI.create(keycloak.baseUrl() + CERTS_PATH);
+    keycloak.respond(CERTS_PATH, 200, jwks(FIRST_KEY));
+  }
+
+  @AfterEach
+  void tearDown() {
+    keycloak.close();
+  }
+
+  @Test
+  void warmUp_persistsKeysSoTheNextStartWorksOffline() {
+    Path cacheFile = tempDir.resolve("jwks.json");
+    new JwkSetCache(certsUri, cacheFile, Duration.ZERO).warmUp();
+
+    JwkSetCache offline = new JwkSetCache(UNREACHABLE_URI, cacheFile, Duration.ZERO).warmUp();
+
+    assertThat(offline.get(selectKey("key-1"), null)).hasSize(1);
+    assertThat(cacheFile).content().doesNotContain("\"d\"");
+  }
+
+  @Test
+  void get_unknownKeyId_refetchesRotatedKeys() {
+    JwkSetCache cache = new JwkSetCache(certsUri, null, Duration.ZERO).warmUp();
+    AtomicInteger changes = new AtomicInteger();
+    cache.onKeySetChange(changes::incrementAndGet);
+    keycloak.respond(CERTS_PATH, 200, jwks(FIRST_KEY, ROTATED_KEY));
+
+    assertThat(cache.get(selectKey("key-2"), null)).hasSize(1);
+    assertThat(cache.get(selectKey("key-1"), null)).hasSize(1);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(changes).hasValue(1);
+  }
+
+  @Test
+  void get_unknownKeyId_refetchesAtMostOncePerInterval() {
+    JwkSetCache cache = new JwkSetCache(certsUri, null, Duration.ofHours(1)).warmUp();
+
+    assertThat(cache.get(selectKey("unknown"), null)).isEmpty();
+    assertThat(cache.get(selectKey("unknown"), null)).isEmpty();
+
+    assertThat(keycloak.requests()).containsExactly("GET " + CERTS_PATH);
+  }
+
+  @Test
+  void refresh_failure_keepsCurrentKeys() throws Exception {
+    Path cacheFile = tempDir.resolve("jwks.json");
+    JwkSetCache cache = new JwkSetCache(certsUri, cacheFile, Duration.ZERO).warmUp();
+    String persisted = Files.readString(cacheFile);
+    keycloak.respond(CERTS_PATH, 503, "{}");
+
+    cache.refresh();
+
+    assertThat(cache.get(selectKey("key-1"), null)).hasSize(1);
+    assertThat(Files.readString(cacheFile)).isEqualTo(persisted);
+  }
+
+  private static JWKSelector selectKey(String keyId) {
+    return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+  }
+
+  private static String jwks(RSAKey... keys) {
+    return new JWKSet(Arrays.stream(keys).<JWK>map(RSAKey::toPublicJWK).toList()).toString(true);
+  }
+}
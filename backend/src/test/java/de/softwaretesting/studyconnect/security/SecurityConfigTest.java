@@ -1,9 +1,16 @@
 package de.softwaretesting.studyconnect.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
 import de.softwaretesting.studyconnect.utils.JwtTestUtil;
+import de.softwaretesting.studyconnect.utils.KeycloakStubServer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +27,8 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 
 /**
@@ -130,11 +139,11 @@ class SecurityConfigTest {
   }
 
   @ParameterizedTest
-  @ValueSource(strings = {"", "http://unreachable-server:8080/auth/realms/test"})
-  void jwtDecoder_ShouldReturnNullWhenIssuerUriNotConfiguredOrUnreachable(String issuerUri) {
+  @ValueSource(strings = {"", "  "})
+  void jwtDecoder_ShouldReturnNullWhenIssuerUriNotConfigured(String issuerUri) {
     // Given
     when(env.getProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri"))
-        .thenReturn("http://unreachable-server:8080/auth/realms/test");
+        .thenReturn(issuerUri);
 
     // When
     JwtDecoder decoder = securityConfig.jwtDecoder();
@@ -142,4 +151,84 @@ class SecurityConfigTest {
     // Then
     assertThat(decoder).isNull();
   }
+
+  @Test
+  void jwtDecoder_ShouldStartAndRejectTokensWhenIssuerUnreachableWithoutCachedKeys() {
+    // Given
+    String issuer = "http://localhost:1/realms/test";
+    when(env.getProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri"))
+        .thenReturn(issuer);
+    String token =
+        JwtTestUtil.createSignedToken(
+            JwtTestUtil.generateSigningKey("key-1"),
+            issuer,
+            "testuser",
+            Instant.now().plusSeconds(300));
+
+    // When
+    JwtDecoder decoder = securityConfig.jwtDecoder();
+
+    // Then
+    assertThat(decoder).isNotNull();
+    assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+  }
+
+  @Test
+  void jwtDecoder_ShouldValidateTokensLocallyAndFollowKeyRotation() {
+    try (KeycloakStubServer keycloak = KeycloakStubServer.start()) {
+      // Given
+      String issuer = keycloak.baseUrl() + "/realms/test";
+      String certsPath = "/realms/test/protocol/openid-connect/certs";
+      RSAKey firstKey = JwtTestUtil.generateSigningKey("key-1");
+      RSAKey rotatedKey = JwtTestUtil.generateSigningKey("key-2");
+      keycloak.respond(certsPath, 200, new JWKSet(firstKey.toPublicJWK()).toString(true));
+      when(env.getProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri"))
+          .thenReturn(issuer);
+      // No explicit JWKS URI, so the keys come from the issuer's certs endpoint
+      when(env.getProperty("spring.security.oauth2.resourceserver.jwt.jwk-set-uri"))
+          .thenReturn(null);
+      when(env.getProperty("studyconnect.security.jwks.cache-file")).thenReturn(null);
+      when(env.getProperty("studyconnect.security.jwks.min-refresh-interval", Duration.class))
+          .thenReturn(Duration.ZERO);
+      JwtDecoder decoder = securityConfig.jwtDecoder();
+      Instant expiresAt = Instant.now().plusSeconds(300);
+
+      // When
+      Jwt first = decoder.decode(JwtTestUtil.createSignedToken(firstKey, issuer, "ada", expiresAt));
+      keycloak.respond(
+          certsPath,
+          200,
+          new JWKSet(List.<JWK>of(firstKey.toPublicJWK(), rotatedKey.toPublicJWK()))
+              .toString(true));
+      Jwt rotated =
+          decoder.decode(JwtTestUtil.createSignedToken(rotatedKey, issuer, "alan", expiresAt));
+
+      // Then
+      assertThat(first.getSubject()).isEqualTo("ada");
+      assertThat(rotated.getSubject()).isEqualTo("alan");
+      assertThatThrownBy(
+              () ->
+                  decoder.decode(
+                      JwtTestUtil.createSignedToken(
+                          firstKey, issuer, "ada", Instant.now().minusSeconds(300))))
+          .isInstanceOf(JwtValidationException.class);
+    }
+  }
+
+  @Test
+  void webhookSecretMatches_ShouldOnlyAcceptConfiguredSecret() {
+    when(env.getProperty("studyconnect.keycloak.event-sync.webhook-secret", ""))
+        .thenReturn("s3cret");
+
+    assertThat(securityConfig.webhookSecretMatches("s3cret")).isTrue();
+    assertThat(securityConfig.webhookSecretMatches("other")).isFalse();
+    assertThat(securityConfig.webhookSecretMatches(null)).isFalse();
+  }
+
+  @Test
+  void webhookSecretMatches_ShouldRejectEverythingWithoutConfiguredSecret() {
+    when(env.getProperty("studyconnect.keycloak.event-sync.webhook-secret", "")).thenReturn("");
+
+    assertThat(securityConfig.webhookSecretMatches("")).isFalse();
+  }
 }
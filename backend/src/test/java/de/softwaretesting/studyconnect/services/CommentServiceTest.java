@@ -0,0 +1,197 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.dtos.request.CommentRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CommentResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.models.Comment;
+import de.softwaretesting.studyconnect.models.Group;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.CommentOrder;
+import de.softwaretesting.studyconnect.repositories.CommentRepository;
+import de.softwaretesting.studyconnect.repositories.CommentRow;
+import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import de.softwaretesting.studyconnect.utils.KeysetCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+  @Mock private CommentRepository commentRepository;
+
+  @Mock private GroupRepository groupRepository;
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private GroupActivityHub groupActivityHub;
+
+  @InjectMocks private CommentService commentService;
+
+  @Test
+  void getGroupComments_shouldReturnPageWithCursorAndReplyPreviews() {
+    CommentRow newest = row(3L, null, NOW.plusMinutes(2), 0);
+    CommentRow older = row(1L, null, NOW, 5);
+    CommentRow oldest = row(0L, null, NOW.minusMinutes(1), 0);
+    CommentRow reply = row(2L, 1L, NOW.plusMinutes(1), 4);
+    when(groupRepository.existsById(10L)).thenReturn(true);
+    when(commentRepository.findThreadStarters(10L, CommentOrder.NEWEST_FIRST, null, null, 3))
+        .thenReturn(List.of(newest, older, oldest));
+    // Only comments with replies are looked up
+    when(commentRepository.findFirstReplyIds(List.of(1L), CommentService.REPLY_PREVIEW_SIZE))
+        .thenReturn(List.of(2L));
+    when(commentRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(reply));
+
+    ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> response =
+        commentService.getGroupComments(10L, null, 2, null, 1);
+
+    List<CommentResponseDTO> items = response.getBody().getItems();
+    assertEquals(List.of(3L, 1L), items.stream().map(CommentResponseDTO::getId).toList());
+    assertEquals(0L, items.get(0).getReplyCount());
+    assertEquals(5L, items.get(1).getReplyCount());
+    assertEquals(2L, items.get(1).getReplies().get(0).getId());
+    // The previews stop at the requested depth, so their own replies are only counted
+    assertEquals(4L, items.get(1).getReplies().get(0).getReplyCount());
+    verify(commentRepository).findFirstReplyIds(anyCollection(), anyInt());
+    assertEquals(KeysetCursor.of(NOW, 1L).encode(), response.getBody().getNextCursor());
+  }
+
+  @Test
+  void getGroupComments_shouldContinueAfterCursorWithoutPreviews_whenDepthIsZero() {
+    when(groupRepository.existsById(10L)).thenReturn(true);
+    when(commentRepository.findThreadStarters(10L, CommentOrder.OLDEST_FIRST, NOW, 1L, 21))
+        .thenReturn(List.of(row(4L, null, NOW.plusMinutes(5), 2)));
+
+    ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> response =
+        commentService.getGroupComments(10L, KeysetCursor.of(NOW, 1L).encode(), 20, "oldest", 0);
+
+    assertEquals(2L, response.getBody().getItems().get(0).getReplyCount());
+    assertEquals(List.of(), response.getBody().getItems().get(0).getReplies());
+    assertNull(response.getBody().getNextCursor());
+    verify(commentRepository, never()).findFirstReplyIds(anyCollection(), anyInt());
+  }
+
+  @Test
+  void getGroupComments_shouldThrowNotFound_whenGroupDoesNotExist() {
+    when(groupRepository.existsById(99L)).thenReturn(false);
+
+    assertThrows(
+        NotFoundException.class, () -> commentService.getGroupComments(99L, null, 20, null, 1));
+  }
+
+  @Test
+  void getGroupComments_shouldRejectUnknownOrder() {
+    when(groupRepository.existsById(10L)).thenReturn(true);
+
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class,
+            () -> commentService.getGroupComments(10L, null, 20, "popular", 1));
+
+    assertEquals("Unknown comment order: popular", ex.getMessage());
+  }
+
+  @Test
+  void getReplies_shouldPageOldestFirstByDefault() {
+    when(commentRepository.existsById(1L)).thenReturn(true);
+    when(commentRepository.findReplies(1L, CommentOrder.OLDEST_FIRST, null, null, 11))
+        .thenReturn(List.of(row(2L, 1L, NOW)));
+
+    ResponseEntity<CursorPageResponseDTO<CommentResponseDTO>> response =
+        commentService.getReplies(1L, null, 10, null, 0);
+
+    assertEquals(1L, response.getBody().getItems().get(0).getParentId());
+  }
+
+  @Test
+  void getReplies_shouldThrowNotFound_whenCommentDoesNotExist() {
+    when(commentRepository.existsById(1L)).thenReturn(false);
+
+    assertThrows(NotFoundException.class, () -> commentService.getReplies(1L, null, 10, null, 0));
+  }
+
+  @Test
+  void createComment_shouldSaveReplyWithReferences() {
+    Comment parent = new Comment();
+    when(groupRepository.existsById(10L)).thenReturn(true);
+    when(userRepository.existsById(7L)).thenReturn(true);
+    when(commentRepository.findRowById(1L)).thenReturn(Optional.of(row(1L, null, NOW)));
+    when(commentRepository.getReferenceById(1L)).thenReturn(parent);
+    when(groupRepository.getReferenceById(10L)).thenReturn(new Group());
+    when(userRepository.getReferenceById(7L)).thenReturn(new User());
+    when(commentRepository.save(any(Comment.class)))
+        .thenAnswer(
+            inv -> {
+              Comment saved = inv.getArgument(0);
+              saved.setId(2L);
+              return saved;
+            });
+
+    ResponseEntity<CommentResponseDTO> response =
+        commentService.createComment(10L, new CommentRequestDTO("Agreed", 7L, 1L));
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(2L, response.getBody().getId());
+    assertEquals(1L, response.getBody().getParentId());
+    verify(commentRepository).save(argThat(comment -> comment.getParent() == parent));
+    verify(commentRepository).incrementReplyCount(1L);
+    verify(groupActivityHub).publish(10L, GroupActivityEventDTO.Type.COMMENT_CREATED, 2L);
+  }
+
+  @Test
+  void createComment_shouldRejectParentFromAnotherGroup() {
+    when(groupRepository.existsById(10L)).thenReturn(true);
+    when(userRepository.existsById(7L)).thenReturn(true);
+    CommentRow foreignParent = new CommentRow(1L, 11L, null, 7L, "Elsewhere", NOW, NOW, 0);
+    when(commentRepository.findRowById(1L)).thenReturn(Optional.of(foreignParent));
+
+    assertThrows(
+        BadRequestException.class,
+        () -> commentService.createComment(10L, new CommentRequestDTO("Agreed", 7L, 1L)));
+    verify(commentRepository, never()).save(any(Comment.class));
+    verifyNoInteractions(groupActivityHub);
+  }
+
+  @Test
+  void createComment_shouldThrowNotFound_whenAuthorDoesNotExist() {
+    when(groupRepository.existsById(10L)).thenReturn(true);
+    when(userRepository.existsById(7L)).thenReturn(false);
+
+    assertThrows(
+        NotFoundException.class,
+        () -> commentService.createComment(10L, new CommentRequestDTO("Hi", 7L, null)));
+  }
+
+  private static CommentRow row(Long id, Long parentId, LocalDateTime createdAt) {
+    return row(id, parentId, createdAt, 0);
+  }
+
+  private static CommentRow row(Long id, Long parentId, LocalDateTime createdAt, int replyCount) {
+    return new CommentRow(id, 10L, parentId, 7L, "Comment " + id, createdAt, createdAt, replyCount);
+  }
+}
@@ -0,0 +1,78 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.models.User;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class CurrentUserCacheTest {
+
+  private CurrentUserCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new CurrentUserCache(new ConcurrentMapCacheManager(CurrentUserCache.CURRENT_USERS_CACHE));
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void getUser_keysBySubjectAndFallsBackToEmail() {
+    cache.getUser("kc-1", "ada@example.com", () -> load(1L));
+    cache.getUser("kc-1", "ada@example.com", () -> load(1L));
+    cache.getUser(null, "grace@example.com", () -> load(2L));
+    UserResponseDTO user = cache.getUser(" ", "grace@example.com", () -> load(2L));
+
+    assertEquals(2L, user.getId());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getUser_missingUser_propagatesAndCachesNothing() {
+    assertThrows(
+        NotFoundException.class,
+        () ->
+            cache.getUser(
+                "kc-1",
+                "ada@example.com",
+                () -> {
+                  throw new NotFoundException("User not found");
+                }));
+
+    assertEquals(1L, cache.getUser("kc-1", "ada@example.com", () -> load(1L)).getId());
+  }
+
+  @Test
+  void evict_dropsEntriesUnderSubjectAndEmail() {
+    cache.getUser("kc-1", "ada@example.com", () -> load(1L));
+    cache.getUser(null, "ada@example.com", () -> load(1L));
+    User user = new User();
+    user.setKeycloakUUID("kc-1");
+    user.setEmail("ada@example.com");
+
+    cache.evict(user);
+    cache.getUser("kc-1", "ada@example.com", () -> load(1L));
+    cache.getUser(null, "ada@example.com", () -> load(1L));
+
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void constructor_shouldFail_whenCacheIsNotConfigured() {
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("groups");
+
+    assertThrows(IllegalStateException.class, () -> new CurrentUserCache(cacheManager));
+  }
+
+  private UserResponseDTO load(Long id) {
+    loads.incrementAndGet();
+    return new UserResponseDTO(id, "user" + id + "@example.com", "First", "Last");
+  }
+}
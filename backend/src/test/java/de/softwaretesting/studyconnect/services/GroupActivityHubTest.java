@@ -0,0 +1,171 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
+import de.softwaretesting.studyconnect.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class GroupActivityHubTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private GroupActivityHub hub;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    hub = newHub(Runnable::run, 2, 3);
+  }
+
+  @Test
+  void subscribe_sendsHeartbeatSoTheStreamOpens() {
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(10L);
+
+    assertEquals(1, emitter.frames.size());
+    assertTrue(emitter.frames.get(0).contains("heartbeat"));
+    assertEquals(1.0, meterRegistry.get(GroupActivityHub.SUBSCRIBERS_METRIC).gauge().value());
+  }
+
+  @Test
+  void publish_deliversEventOnlyToSubscribersOfTheGroup() {
+    RecordingEmitter member = (RecordingEmitter) hub.subscribe(10L);
+    RecordingEmitter other = (RecordingEmitter) hub.subscribe(11L);
+
+    hub.publish(10L, GroupActivityEventDTO.Type.TASK_CREATED, 5L);
+
+    assertEquals(2, member.frames.size());
+    assertTrue(member.frames.get(1).contains("\"type\":\"TASK_CREATED\""));
+    assertTrue(member.frames.get(1).contains("\"entityId\":5"));
+    assertEquals(1, other.frames.size());
+  }
+
+  @Test
+  void publish_insideTransaction_waitsForCommit() {
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(10L);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      hub.publish(10L, GroupActivityEventDTO.Type.COMMENT_CREATED, 7L);
+      assertEquals(1, emitter.frames.size());
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(2, emitter.frames.size());
+  }
+
+  @Test
+  void publish_disconnectsSubscriberWhoseBufferOverflows() {
+    List<Runnable> drains = new ArrayList<>();
+    meterRegistry = new SimpleMeterRegistry();
+    hub = newHub(drains::add, 2, 3);
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(10L);
+
+    hub.publish(10L, GroupActivityEventDTO.Type.TASK_CREATED, 1L);
+    hub.publish(10L, GroupActivityEventDTO.Type.TASK_UPDATED, 1L);
+    assertFalse(emitter.completed);
+    hub.publish(10L, GroupActivityEventDTO.Type.TASK_DELETED, 1L);
+    drains.forEach(Runnable::run);
+
+    assertTrue(emitter.completed);
+    assertEquals(List.of(), emitter.frames);
+    assertEquals(0.0, meterRegistry.get(GroupActivityHub.SUBSCRIBERS_METRIC).gauge().value());
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(GroupActivityHub.DISCONNECTS_METRIC)
+            .tag("reason", "slow_consumer")
+            .counter()
+            .count());
+  }
+
+  @Test
+  void sendHeartbeats_skipsStreamsThatReceivedEventsSinceTheLastRound() {
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(10L);
+    hub.publish(10L, GroupActivityEventDTO.Type.MEMBER_JOINED, 2L);
+
+    hub.sendHeartbeats();
+    assertEquals(2, emitter.frames.size());
+    hub.sendHeartbeats();
+
+    assertEquals(3, emitter.frames.size());
+    assertTrue(emitter.frames.get(2).contains("heartbeat"));
+  }
+
+  @Test
+  void publish_groupDeleted_closesStreamsAfterTheEvent() {
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(10L);
+
+    hub.publish(10L, GroupActivityEventDTO.Type.GROUP_DELETED, 10L);
+
+    assertTrue(emitter.frames.get(1).contains("GROUP_DELETED"));
+    assertTrue(emitter.completed);
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(GroupActivityHub.DISCONNECTS_METRIC)
+            .tag("reason", "group_deleted")
+            .counter()
+            .count());
+  }
+
+  @Test
+  void subscribe_beyondLimit_throwsServiceUnavailable() {
+    hub.subscribe(10L);
+    hub.subscribe(10L);
+    hub.subscribe(11L);
+
+    assertThrows(ServiceUnavailableException.class, () -> hub.subscribe(12L));
+    assertEquals(3.0, meterRegistry.get(GroupActivityHub.SUBSCRIBERS_METRIC).gauge().value());
+  }
+
+  private GroupActivityHub newHub(Executor executor, int bufferSize, int maxSubscribers) {
+    return new GroupActivityHub(
+        executor,
+        new ObjectMapper().findAndRegisterModules(),
+        meterRegistry,
+        bufferSize,
+        Duration.ofMinutes(1),
+        maxSubscribers) {
+      @Override
+      SseEmitter newEmitter(long timeoutMillis) {
+        return new RecordingEmitter();
+      }
+    };
+  }
+
+  /** Records the frames sent to it instead of writing them to a response. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<String> frames = new ArrayList<>();
+    private boolean completed;
+
+    @Override
+    public void send(Set<DataWithMediaType> items) {
+      frames.add(
+          items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+  }
+}
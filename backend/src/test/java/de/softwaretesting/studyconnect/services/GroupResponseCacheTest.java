@@ -0,0 +1,125 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.softwaretesting.studyconnect.dtos.response.GroupResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class GroupResponseCacheTest {
+
+  private ConcurrentMapCacheManager cacheManager;
+  private GroupResponseCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager =
+        new ConcurrentMapCacheManager(
+            GroupResponseCache.GROUPS_CACHE,
+            GroupResponseCache.PUBLIC_GROUPS_CACHE,
+            GroupResponseCache.PUBLIC_GROUP_SEARCH_CACHE);
+    cache = new GroupResponseCache(cacheManager);
+    loads = new AtomicInteger();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getGroup_loadsOnceAndServesHitsFromCache() {
+    GroupResponseDTO first = cache.getGroup(1L, () -> loadGroup(1L));
+    GroupResponseDTO second = cache.getGroup(1L, () -> loadGroup(1L));
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void getGroup_loaderFailure_propagatesAndCachesNothing() {
+    assertThrows(
+        NotFoundException.class,
+        () ->
+            cache.getGroup(
+                1L,
+                () -> {
+                  throw new NotFoundException("Group not found with id: 1");
+                }));
+
+    assertNull(cacheManager.getCache(GroupResponseCache.GROUPS_CACHE).get(1L));
+  }
+
+  @Test
+  void evictGroup_forcesReloadOfThatGroupOnly() {
+    cache.getGroup(1L, () -> loadGroup(1L));
+    cache.getGroup(2L, () -> loadGroup(2L));
+
+    cache.evictGroup(1L);
+    cache.getGroup(1L, () -> loadGroup(1L));
+    cache.getGroup(2L, () -> loadGroup(2L));
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void searchPublicGroups_normalizesKey() {
+    cache.searchPublicGroups("Math", () -> List.of(loadGroup(1L)));
+    cache.searchPublicGroups("  math ", () -> List.of(loadGroup(1L)));
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void evictGroupChange_publicGroup_clearsListingsAndSearches() {
+    cache.getPublicGroups(() -> List.of(loadGroup(1L)));
+    cache.searchPublicGroups("math", () -> List.of(loadGroup(1L)));
+
+    cache.evictGroupChange(1L, true);
+    cache.getPublicGroups(() -> List.of(loadGroup(1L)));
+    cache.searchPublicGroups("math", () -> List.of(loadGroup(1L)));
+
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void evictGroupChange_privateGroup_keepsListings() {
+    cache.getPublicGroups(() -> List.of(loadGroup(1L)));
+
+    cache.evictGroupChange(2L, false);
+    cache.getPublicGroups(() -> List.of(loadGroup(1L)));
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void evictGroup_insideTransaction_evictsAgainAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    cache.evictGroup(1L);
+
+    // A concurrent reader repopulates the entry with the pre-commit state.
+    cache.getGroup(1L, () -> loadGroup(1L));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertNull(cacheManager.getCache(GroupResponseCache.GROUPS_CACHE).get(1L));
+  }
+
+  private GroupResponseDTO loadGroup(Long id) {
+    loads.incrementAndGet();
+    return new GroupResponseDTO(id, "Group " + id, "desc", true, 1L, null, null, 1, 5, "invite");
+  }
+}
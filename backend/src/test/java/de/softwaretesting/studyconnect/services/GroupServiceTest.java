@@ -2,36 +2,59 @@ package de.softwaretesting.studyconnect.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.softwaretesting.studyconnect.dtos.request.CreateGroupRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateGroupRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
 import de.softwaretesting.studyconnect.dtos.response.GroupResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupSuggestionResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.exceptions.ConflictException;
 import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
 import de.softwaretesting.studyconnect.exceptions.NotFoundException;
 import de.softwaretesting.studyconnect.mappers.request.CreateGroupRequestMapper;
 import de.softwaretesting.studyconnect.mappers.response.GroupResponseMapper;
 import de.softwaretesting.studyconnect.models.Group;
 import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.GroupRef;
 import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.utils.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -47,6 +70,20 @@ class GroupServiceTest {
 
   @Mock private GroupResponseMapper groupResponseMapper;
 
+  @Mock private EntityManager entityManager;
+
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+  @Spy
+  private GroupResponseCache groupResponseCache = new GroupResponseCache(new NoOpCacheManager());
+
+  @Spy
+  private OptimisticLockRetryExecutor groupWriteRetry =
+      new OptimisticLockRetryExecutor(
+          TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(), 3, Duration.ZERO);
+
+  @Mock private GroupActivityHub groupActivityHub;
+
   @InjectMocks private GroupService groupService;
 
   private User user1;
@@ -108,6 +145,74 @@ class GroupServiceTest {
     verify(groupRepository).findByIsPublicTrue();
   }
 
+  @Test
+  void getPublicGroupsPage_firstPage_returnsCursorForNextPage() {
+    Group second = new Group();
+    second.setId(9L);
+    second.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+    group.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 12, 0));
+    when(groupRepository.findPublicGroupsPage(PageRequest.ofSize(2)))
+        .thenReturn(List.of(group, second));
+    when(groupResponseMapper.toDtoList(List.of(group))).thenReturn(List.of(responseDto));
+
+    ResponseEntity<CursorPageResponseDTO<GroupResponseDTO>> result =
+        groupService.getPublicGroupsPage(null, 1);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertEquals(List.of(responseDto), result.getBody().getItems());
+    KeysetCursor next = KeysetCursor.decode(result.getBody().getNextCursor(), 2);
+    assertEquals(group.getUpdatedAt(), next.getDateTime(0));
+    assertEquals(group.getId(), next.getLong(1));
+  }
+
+  @Test
+  void getPublicGroupsPage_withCursor_continuesAfterPositionAndEndsListing() {
+    LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 2, 12, 0);
+    String cursor = KeysetCursor.of(updatedAt, 11L).encode();
+    when(groupRepository.findPublicGroupsPageAfter(updatedAt, 11L, PageRequest.ofSize(21)))
+        .thenReturn(List.of(group));
+    when(groupResponseMapper.toDtoList(List.of(group))).thenReturn(List.of(responseDto));
+
+    ResponseEntity<CursorPageResponseDTO<GroupResponseDTO>> result =
+        groupService.getPublicGroupsPage(cursor, 20);
+
+    assertEquals(1, result.getBody().getItems().size());
+    assertNull(result.getBody().getNextCursor());
+    verify(groupRepository, never()).findPublicGroupsPage(any());
+  }
+
+  @Test
+  void getPublicGroupsPage_capsPageSize() {
+    when(groupRepository.findPublicGroupsPage(PageRequest.ofSize(101))).thenReturn(List.of());
+    when(groupResponseMapper.toDtoList(List.of())).thenReturn(List.of());
+
+    groupService.getPublicGroupsPage(null, 5000);
+
+    verify(groupRepository).findPublicGroupsPage(PageRequest.ofSize(101));
+  }
+
+  @Test
+  void getPublicGroupsPage_malformedCursor_throwsBadRequest() {
+    assertThrows(
+        BadRequestException.class, () -> groupService.getPublicGroupsPage("not-a-cursor", 10));
+    verifyNoInteractions(groupRepository);
+  }
+
+  @Test
+  void streamPublicGroups_writesJsonArrayAndDetachesRows() throws Exception {
+    when(groupRepository.streamPublicGroups()).thenReturn(Stream.of(group));
+    when(groupResponseMapper.toDto(group)).thenReturn(responseDto);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    groupService.streamPublicGroups(out);
+
+    String json = out.toString(StandardCharsets.UTF_8);
+    assertTrue(json.startsWith("[{"));
+    assertTrue(json.endsWith("}]"));
+    assertTrue(json.contains("\"invite\""));
+    verify(entityManager).detach(group);
+  }
+
   @Test
   void searchPublicGroups_returnsMappedList() {
     String query = "Test";
@@ -135,6 +240,48 @@ class GroupServiceTest {
     verify(groupRepository).searchPublicGroupsByName(query);
   }
 
+  @Test
+  void searchPublicGroupsPage_readsOneExtraRowToDetectNextPage() {
+    Group other = new Group();
+    Group extra = new Group();
+    when(groupRepository.searchPublicGroups("math", 2, 3)).thenReturn(List.of(group, other, extra));
+    when(groupResponseMapper.toDtoList(List.of(group, other, extra)))
+        .thenReturn(List.of(responseDto, responseDto, responseDto));
+
+    ResponseEntity<PageResponseDTO<GroupResponseDTO>> result =
+        groupService.searchPublicGroupsPage("math", 1, 2);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertEquals(2, result.getBody().getItems().size());
+    assertEquals(1, result.getBody().getPage());
+    assertTrue(result.getBody().isHasNext());
+  }
+
+  @Test
+  void searchPublicGroupsPage_lastPage_hasNoNext() {
+    when(groupRepository.searchPublicGroups("math", 0, 101)).thenReturn(List.of(group));
+    when(groupResponseMapper.toDtoList(List.of(group))).thenReturn(List.of(responseDto));
+
+    ResponseEntity<PageResponseDTO<GroupResponseDTO>> result =
+        groupService.searchPublicGroupsPage("math", -1, 500);
+
+    assertEquals(List.of(responseDto), result.getBody().getItems());
+    assertEquals(100, result.getBody().getSize());
+    assertFalse(result.getBody().isHasNext());
+  }
+
+  @Test
+  void suggestPublicGroups_escapesWildcardsAndCapsLimit() {
+    GroupSuggestionResponseDTO suggestion = new GroupSuggestionResponseDTO(10L, "50% Club");
+    when(groupRepository.suggestPublicGroups("50!%%", PageRequest.ofSize(25)))
+        .thenReturn(List.of(suggestion));
+
+    ResponseEntity<List<GroupSuggestionResponseDTO>> result =
+        groupService.suggestPublicGroups(" 50% ", 99);
+
+    assertEquals(List.of(suggestion), result.getBody());
+  }
+
   @Test
   void getGroupById_existingGroup_returnsDto() {
     when(groupRepository.findById(10L)).thenReturn(Optional.of(group));
@@ -331,12 +478,47 @@ class GroupServiceTest {
 
     assertEquals(HttpStatus.OK, result.getStatusCode());
     verify(groupRepository).save(group);
+    verify(groupResponseCache).evictGroupChange(group.getId(), true);
     assertEquals("New Name", group.getName());
     assertEquals("New Desc", group.getDescription());
     assertEquals(Set.of(user1, user2), group.getAdmins());
     assertEquals(Set.of(user1, user2), group.getMembers());
   }
 
+  @Test
+  void updateGroup_optimisticLockConflict_isRetried() {
+    UpdateGroupRequestDTO updateDto =
+        new UpdateGroupRequestDTO("New Name", null, null, null, null, null);
+    when(groupRepository.findById(group.getId())).thenReturn(Optional.of(group));
+    when(groupRepository.save(group))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Group.class, group.getId()))
+        .thenReturn(group);
+    when(groupResponseMapper.toDto(group)).thenReturn(responseDto);
+
+    ResponseEntity<GroupResponseDTO> result = groupService.updateGroup(group.getId(), updateDto);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    verify(groupRepository, times(2)).findById(group.getId());
+    verify(groupWriteRetry).execute(eq("update"), any());
+  }
+
+  @Test
+  void removeAdminFromGroup_persistentConflict_throwsConflict() {
+    when(groupRepository.findById(group.getId())).thenReturn(Optional.of(group));
+    when(userService.retrieveUserById(user1.getId())).thenReturn(user1);
+    when(groupRepository.save(group))
+        .thenAnswer(
+            invocation -> {
+              group.addAdmin(user1);
+              throw new ObjectOptimisticLockingFailureException(Group.class, group.getId());
+            });
+
+    assertThrows(
+        ConflictException.class,
+        () -> groupService.removeAdminFromGroup(group.getId(), user1.getId()));
+    verify(groupRepository, times(3)).save(group);
+  }
+
   @Test
   void removeMemberFromGroup_notMember_throwsBadRequest() {
     User other = new User();
@@ -362,6 +544,8 @@ class GroupServiceTest {
 
     assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
     verify(groupRepository).save(group);
+    verify(groupActivityHub)
+        .publish(group.getId(), GroupActivityEventDTO.Type.MEMBER_LEFT, user2.getId());
   }
 
   @Test
@@ -374,6 +558,8 @@ class GroupServiceTest {
     assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
     verify(groupRepository).delete(group);
     verify(groupRepository, never()).save(any());
+    verify(groupActivityHub)
+        .publish(group.getId(), GroupActivityEventDTO.Type.GROUP_DELETED, group.getId());
   }
 
   @Test
@@ -472,6 +658,7 @@ class GroupServiceTest {
 
     assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
     verify(groupRepository).delete(group);
+    verify(groupResponseCache).evictGroupChange(group.getId(), group.isPublic());
   }
 
   @Test
@@ -484,61 +671,92 @@ class GroupServiceTest {
 
   @Test
   void joinGroupById_groupNotFound_throwsNotFoundException() {
-    when(groupRepository.findById(999L)).thenReturn(Optional.empty());
+    when(groupRepository.findRefById(999L)).thenReturn(Optional.empty());
 
     assertThrows(NotFoundException.class, () -> groupService.joinGroupById(999L, 1L));
+    verify(groupRepository, never()).insertMember(anyLong(), anyLong());
   }
 
   @Test
   void joinGroupById_groupFull_throwsBadRequest() {
-    group.setMemberCount(group.getMaxMembers());
-    when(groupRepository.findById(group.getId())).thenReturn(Optional.of(group));
+    when(groupRepository.findRefById(10L)).thenReturn(Optional.of(new GroupRef(10L, false)));
+    when(groupRepository.incrementMemberCountIfBelowMax(eq(10L), any())).thenReturn(0);
 
-    assertThrows(BadRequestException.class, () -> groupService.joinGroupById(group.getId(), 99L));
-    verify(groupRepository, never()).save(any(Group.class));
+    assertThrows(BadRequestException.class, () -> groupService.joinGroupById(10L, 99L));
+    verify(groupRepository, never()).insertMember(anyLong(), anyLong());
   }
 
   @Test
   void joinGroupById_alreadyMember_throwsBadRequest() {
-    when(groupRepository.findById(group.getId())).thenReturn(Optional.of(group));
-    when(userService.retrieveUserById(user1.getId())).thenReturn(user1);
+    when(groupRepository.findRefById(10L)).thenReturn(Optional.of(new GroupRef(10L, false)));
+    when(groupRepository.existsMemberByGroupIdAndUserId(10L, user1.getId())).thenReturn(true);
 
-    assertThrows(
-        BadRequestException.class, () -> groupService.joinGroupById(group.getId(), user1.getId()));
-    verify(groupRepository, never()).save(any(Group.class));
+    assertThrows(BadRequestException.class, () -> groupService.joinGroupById(10L, user1.getId()));
+    verify(groupRepository, never()).incrementMemberCountIfBelowMax(anyLong(), any());
+    verify(groupRepository, never()).insertMember(anyLong(), anyLong());
   }
 
   @Test
-  void joinGroupById_successAddsMember() {
-    Group joinableGroup = new Group();
-    joinableGroup.setMaxMembers(5);
-    joinableGroup.setMemberCount(0);
-    when(groupRepository.findById(10L)).thenReturn(Optional.of(joinableGroup));
-    when(userService.retrieveUserById(user2.getId())).thenReturn(user2);
-    when(groupRepository.save(joinableGroup)).thenReturn(joinableGroup);
+  void joinGroupById_concurrentDuplicateInsert_throwsBadRequest() {
+    when(groupRepository.findRefById(10L)).thenReturn(Optional.of(new GroupRef(10L, false)));
+    when(groupRepository.incrementMemberCountIfBelowMax(eq(10L), any())).thenReturn(1);
+    doThrow(new DataIntegrityViolationException("duplicate key"))
+        .when(groupRepository)
+        .insertMember(10L, user2.getId());
+
+    assertThrows(BadRequestException.class, () -> groupService.joinGroupById(10L, user2.getId()));
+    verify(groupResponseCache, never()).evictGroupChange(anyLong(), anyBoolean());
+  }
+
+  @Test
+  void joinGroupById_successAddsMemberWithoutLoadingMembers() {
+    when(groupRepository.findRefById(10L)).thenReturn(Optional.of(new GroupRef(10L, false)));
+    when(groupRepository.incrementMemberCountIfBelowMax(eq(10L), any())).thenReturn(1);
 
     ResponseEntity<Void> result = groupService.joinGroupById(10L, user2.getId());
 
     assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
-    verify(groupRepository).save(joinableGroup);
-    assertEquals(Set.of(user2), joinableGroup.getMembers());
-    assertEquals(1, joinableGroup.getMemberCount());
+    verify(userService).retrieveUserById(user2.getId());
+    verify(groupRepository).insertMember(10L, user2.getId());
+    verify(groupRepository, never()).findById(anyLong());
+    verify(groupRepository, never()).save(any(Group.class));
+    verify(groupResponseCache).evictGroupChange(10L, false);
+    verify(groupActivityHub).publish(10L, GroupActivityEventDTO.Type.MEMBER_JOINED, user2.getId());
+  }
+
+  @Test
+  void subscribeToActivity_existingGroup_opensStream() {
+    SseEmitter emitter = new SseEmitter();
+    when(groupRepository.existsById(10L)).thenReturn(true);
+    when(groupActivityHub.subscribe(10L)).thenReturn(emitter);
+
+    assertSame(emitter, groupService.subscribeToActivity(10L));
+  }
+
+  @Test
+  void subscribeToActivity_missingGroup_throwsNotFound() {
+    when(groupRepository.existsById(99L)).thenReturn(false);
+
+    assertThrows(NotFoundException.class, () -> groupService.subscribeToActivity(99L));
+    verifyNoInteractions(groupActivityHub);
   }
 
   @Test
   void joinGroupByInvitationCode_groupFull_throwsBadRequest() {
-    group.setMemberCount(group.getMaxMembers());
-    when(groupRepository.findByInviteCode("code")).thenReturn(Optional.of(group));
+    when(groupRepository.findRefByInviteCode("code"))
+        .thenReturn(Optional.of(new GroupRef(10L, true)));
+    when(groupRepository.incrementMemberCountIfBelowMax(eq(10L), any())).thenReturn(0);
 
     assertThrows(
         BadRequestException.class, () -> groupService.joinGroupByInvitationCode("code", 99L));
-    verify(groupRepository, never()).save(any(Group.class));
+    verify(groupRepository, never()).insertMember(anyLong(), anyLong());
   }
 
   @Test
   void joinGroupByInvitationCode_alreadyMember_throwsBadRequest() {
-    when(groupRepository.findByInviteCode("code")).thenReturn(Optional.of(group));
-    when(userService.retrieveUserById(user1.getId())).thenReturn(user1);
+    when(groupRepository.findRefByInviteCode("code"))
+        .thenReturn(Optional.of(new GroupRef(10L, true)));
+    when(groupRepository.existsMemberByGroupIdAndUserId(10L, 1L)).thenReturn(true);
 
     assertThrows(
         BadRequestException.class, () -> groupService.joinGroupByInvitationCode("code", 1L));
@@ -546,7 +764,7 @@ class GroupServiceTest {
 
   @Test
   void joinGroupByInvitationCode_invalidCode_throwsNotFoundException() {
-    when(groupRepository.findByInviteCode("invalid")).thenReturn(Optional.empty());
+    when(groupRepository.findRefByInviteCode("invalid")).thenReturn(Optional.empty());
 
     assertThrows(
         NotFoundException.class, () -> groupService.joinGroupByInvitationCode("invalid", 1L));
@@ -554,49 +772,55 @@ class GroupServiceTest {
 
   @Test
   void joinGroupByInvitationCode_successAddsMember() {
-    Group joinableGroup = new Group();
-    joinableGroup.setMaxMembers(5);
-    joinableGroup.setMemberCount(0);
-    when(groupRepository.findByInviteCode("code")).thenReturn(Optional.of(joinableGroup));
-    when(userService.retrieveUserById(user2.getId())).thenReturn(user2);
-    when(groupRepository.save(joinableGroup)).thenReturn(joinableGroup);
+    when(groupRepository.findRefByInviteCode("code"))
+        .thenReturn(Optional.of(new GroupRef(10L, true)));
+    when(groupRepository.incrementMemberCountIfBelowMax(eq(10L), any())).thenReturn(1);
 
     ResponseEntity<Void> result = groupService.joinGroupByInvitationCode("code", user2.getId());
 
     assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
-    verify(groupRepository).save(joinableGroup);
-    assertNotNull(joinableGroup.getMembers());
-    assertEquals(Set.of(user2), joinableGroup.getMembers());
+    verify(groupRepository).insertMember(10L, user2.getId());
+    verify(groupResponseCache).evictGroupChange(10L, true);
   }
 
   @Test
   void getMembersByGroupId_success_returnsMembers() {
-    Set<Long> memberIds = Set.of(1L, 2L);
     UserResponseDTO userDto1 = new UserResponseDTO(1L, "user1@example.com", "User", "One");
     UserResponseDTO userDto2 = new UserResponseDTO(2L, "user2@example.com", "User", "Two");
     Set<UserResponseDTO> expectedDtos = Set.of(userDto1, userDto2);
 
-    when(groupRepository.findMemberIdsByGroupId(10L)).thenReturn(Optional.of(memberIds));
-    when(userService.getUsersByIdsDTOs(memberIds)).thenReturn(expectedDtos);
+    when(groupRepository.findMemberDTOsByGroupId(10L)).thenReturn(expectedDtos);
 
     ResponseEntity<Set<UserResponseDTO>> result = groupService.getMembersByGroupId(10L);
 
     assertEquals(HttpStatus.OK, result.getStatusCode());
     assertEquals(expectedDtos, result.getBody());
-    verify(groupRepository).findMemberIdsByGroupId(10L);
-    verify(userService).getUsersByIdsDTOs(memberIds);
+    verify(groupRepository, never()).existsById(any());
+    verifyNoInteractions(userService);
+  }
+
+  @Test
+  void getMembersByGroupId_groupWithoutMembers_returnsEmptySet() {
+    when(groupRepository.findMemberDTOsByGroupId(10L)).thenReturn(Set.of());
+    when(groupRepository.existsById(10L)).thenReturn(true);
+
+    ResponseEntity<Set<UserResponseDTO>> result = groupService.getMembersByGroupId(10L);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertEquals(Set.of(), result.getBody());
   }
 
   @Test
   void getMembersByGroupId_groupNotFound_throwsNotFoundException() {
-    when(groupRepository.findMemberIdsByGroupId(999L)).thenReturn(Optional.empty());
+    when(groupRepository.findMemberDTOsByGroupId(999L)).thenReturn(Set.of());
+    when(groupRepository.existsById(999L)).thenReturn(false);
 
     assertThrows(NotFoundException.class, () -> groupService.getMembersByGroupId(999L));
   }
 
   @Test
   void getMembersByGroupId_unexpectedError_throwsInternalServerError() {
-    when(groupRepository.findMemberIdsByGroupId(10L))
+    when(groupRepository.findMemberDTOsByGroupId(10L))
         .thenThrow(new RuntimeException("Database error"));
 
     assertThrows(InternalServerErrorException.class, () -> groupService.getMembersByGroupId(10L));
@@ -604,31 +828,30 @@ class GroupServiceTest {
 
   @Test
   void getAdminsByGroupId_success_returnsAdmins() {
-    Set<Long> adminIds = Set.of(1L);
     UserResponseDTO userDto1 = new UserResponseDTO(1L, "user1@example.com", "User", "One");
     Set<UserResponseDTO> expectedDtos = Set.of(userDto1);
 
-    when(groupRepository.findAdminIdsByGroupId(10L)).thenReturn(Optional.of(adminIds));
-    when(userService.getUsersByIdsDTOs(adminIds)).thenReturn(expectedDtos);
+    when(groupRepository.findAdminDTOsByGroupId(10L)).thenReturn(expectedDtos);
 
     ResponseEntity<Set<UserResponseDTO>> result = groupService.getAdminsByGroupId(10L);
 
     assertEquals(HttpStatus.OK, result.getStatusCode());
     assertEquals(expectedDtos, result.getBody());
-    verify(groupRepository).findAdminIdsByGroupId(10L);
-    verify(userService).getUsersByIdsDTOs(adminIds);
+    verify(groupRepository, never()).existsById(any());
+    verifyNoInteractions(userService);
   }
 
   @Test
   void getAdminsByGroupId_groupNotFound_throwsNotFoundException() {
-    when(groupRepository.findAdminIdsByGroupId(999L)).thenReturn(Optional.empty());
+    when(groupRepository.findAdminDTOsByGroupId(999L)).thenReturn(Set.of());
+    when(groupRepository.existsById(999L)).thenReturn(false);
 
     assertThrows(NotFoundException.class, () -> groupService.getAdminsByGroupId(999L));
   }
 
   @Test
   void getAdminsByGroupId_unexpectedError_throwsInternalServerError() {
-    when(groupRepository.findAdminIdsByGroupId(10L))
+    when(groupRepository.findAdminDTOsByGroupId(10L))
         .thenThrow(new RuntimeException("Database error"));
 
     assertThrows(InternalServerErrorException.class, () -> groupService.getAdminsByGroupId(10L));
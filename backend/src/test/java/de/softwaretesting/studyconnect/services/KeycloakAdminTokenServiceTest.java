@@ -7,6 +7,16 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import de.softwaretesting.studyconnect.dtos.response.KeycloakTokenResponseDTO;
+import de.softwaretesting.studyconnect.services.KeycloakAdminTokenService.TokenSnapshot;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -126,10 +136,7 @@ class KeycloakAdminTokenServiceTest {
     tokenService.init();
 
     // Simulate token expiry by setting expiry time to past
-    ReflectionTestUtils.setField(
-        tokenService, "tokenExpiryTime", java.time.Instant.now().minusSeconds(100));
-    ReflectionTestUtils.setField(
-        tokenService, "tokenRefreshTime", java.time.Instant.now().minusSeconds(100));
+    expireTokens(false);
 
     String token = tokenService.getAccessToken();
 
@@ -163,12 +170,8 @@ class KeycloakAdminTokenServiceTest {
 
     tokenService.invalidateTokens();
 
-    // After invalidation, accessToken field should be null
-    assertNull(ReflectionTestUtils.getField(tokenService, "accessToken"));
-    assertNull(ReflectionTestUtils.getField(tokenService, "refreshToken"));
-    assertNull(ReflectionTestUtils.getField(tokenService, "tokenExpiryTime"));
-    assertNull(ReflectionTestUtils.getField(tokenService, "tokenRefreshTime"));
-    assertNull(ReflectionTestUtils.getField(tokenService, "refreshTokenExpiryTime"));
+    // After invalidation, no token snapshot should be left
+    assertNull(snapshot().get());
   }
 
   @Test
@@ -214,10 +217,7 @@ class KeycloakAdminTokenServiceTest {
     tokenService.init();
 
     // Simulate token expiry
-    ReflectionTestUtils.setField(
-        tokenService, "tokenExpiryTime", java.time.Instant.now().minusSeconds(100));
-    ReflectionTestUtils.setField(
-        tokenService, "tokenRefreshTime", java.time.Instant.now().minusSeconds(100));
+    expireTokens(false);
 
     tokenService.scheduleTokenRefresh();
 
@@ -258,10 +258,7 @@ class KeycloakAdminTokenServiceTest {
     tokenService.init();
 
     // Expire access token but keep refresh token valid
-    ReflectionTestUtils.setField(
-        tokenService, "tokenExpiryTime", java.time.Instant.now().minusSeconds(100));
-    ReflectionTestUtils.setField(
-        tokenService, "tokenRefreshTime", java.time.Instant.now().minusSeconds(100));
+    expireTokens(false);
 
     String token = tokenService.getAccessToken();
 
@@ -282,12 +279,7 @@ class KeycloakAdminTokenServiceTest {
     tokenService.init();
 
     // Expire both tokens
-    ReflectionTestUtils.setField(
-        tokenService, "tokenExpiryTime", java.time.Instant.now().minusSeconds(100));
-    ReflectionTestUtils.setField(
-        tokenService, "tokenRefreshTime", java.time.Instant.now().minusSeconds(100));
-    ReflectionTestUtils.setField(
-        tokenService, "refreshTokenExpiryTime", java.time.Instant.now().minusSeconds(100));
+    expireTokens(true);
 
     String token = tokenService.getAccessToken();
 
@@ -307,11 +299,10 @@ class KeycloakAdminTokenServiceTest {
 
     tokenService.init();
 
-    java.time.Instant refreshExpiry =
-        (java.time.Instant) ReflectionTestUtils.getField(tokenService, "refreshTokenExpiryTime");
+    Instant refreshExpiry = snapshot().get().refreshTokenExpiryTime();
     assertNotNull(refreshExpiry);
     // Should be approximately 30 minutes from now (default)
-    assertTrue(refreshExpiry.isAfter(java.time.Instant.now().plusSeconds(1700)));
+    assertTrue(refreshExpiry.isAfter(Instant.now().plusSeconds(1700)));
   }
 
   @Test
@@ -324,14 +315,91 @@ class KeycloakAdminTokenServiceTest {
 
     tokenService.init();
 
-    java.time.Instant refreshExpiry =
-        (java.time.Instant) ReflectionTestUtils.getField(tokenService, "refreshTokenExpiryTime");
+    Instant refreshExpiry = snapshot().get().refreshTokenExpiryTime();
     assertNotNull(refreshExpiry);
-    assertTrue(refreshExpiry.isAfter(java.time.Instant.now().plusSeconds(1700)));
+    assertTrue(refreshExpiry.isAfter(Instant.now().plusSeconds(1700)));
+  }
+
+  // ==================== Concurrency Tests ====================
+
+  @Test
+  void getAccessToken_shouldReturnCurrentToken_whenRefreshIsDueButTokenStillValid() {
+    KeycloakTokenResponseDTO tokenResponse = createTokenResponse(300L, 1800L);
+    when(restTemplate.postForEntity(
+            anyString(), any(HttpEntity.class), eq(KeycloakTokenResponseDTO.class)))
+        .thenReturn(new ResponseEntity<>(tokenResponse, HttpStatus.OK));
+
+    tokenService.init();
+    TokenSnapshot current = snapshot().get();
+    snapshot()
+        .set(
+            new TokenSnapshot(
+                current.accessToken(),
+                current.refreshToken(),
+                current.tokenExpiryTime(),
+                Instant.now().minusSeconds(1),
+                current.refreshTokenExpiryTime()));
+
+    // The request path does not wait for the refresh, the scheduled task takes care of it
+    assertEquals("test-access-token", tokenService.getAccessToken());
+    verify(restTemplate, times(1))
+        .postForEntity(anyString(), any(HttpEntity.class), eq(KeycloakTokenResponseDTO.class));
+  }
+
+  @Test
+  void getAccessToken_shouldShareOneFetch_whenCalledConcurrentlyWithoutToken() throws Exception {
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    when(restTemplate.postForEntity(
+            anyString(), any(HttpEntity.class), eq(KeycloakTokenResponseDTO.class)))
+        .thenAnswer(
+            invocation -> {
+              fetchStarted.countDown();
+              releaseFetch.await(5, TimeUnit.SECONDS);
+              return new ResponseEntity<>(createTokenResponse(300L, 1800L), HttpStatus.OK);
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> tokens = new ArrayList<>();
+      tokens.add(executor.submit(tokenService::getAccessToken));
+      assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 7; i++) {
+        tokens.add(executor.submit(tokenService::getAccessToken));
+      }
+      releaseFetch.countDown();
+
+      for (Future<String> token : tokens) {
+        assertEquals("test-access-token", token.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(restTemplate, times(1))
+        .postForEntity(anyString(), any(HttpEntity.class), eq(KeycloakTokenResponseDTO.class));
   }
 
   // ==================== Helper Methods ====================
 
+  @SuppressWarnings("unchecked")
+  private AtomicReference<TokenSnapshot> snapshot() {
+    return (AtomicReference<TokenSnapshot>) ReflectionTestUtils.getField(tokenService, "snapshot");
+  }
+
+  /** Moves the expiry of the access token, and optionally the refresh token, into the past. */
+  private void expireTokens(boolean includingRefreshToken) {
+    TokenSnapshot current = snapshot().get();
+    Instant past = Instant.now().minusSeconds(100);
+    snapshot()
+        .set(
+            new TokenSnapshot(
+                current.accessToken(),
+                current.refreshToken(),
+                past,
+                past,
+                includingRefreshToken ? past : current.refreshTokenExpiryTime()));
+  }
+
   private KeycloakTokenResponseDTO createTokenResponse(Long expiresIn, Long refreshExpiresIn) {
     return new KeycloakTokenResponseDTO(
         "test-access-token", "test-refresh-token", expiresIn, refreshExpiresIn, "Bearer");
@@ -0,0 +1,115 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.dtos.response.KeycloakAdminEventDTO;
+import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.models.KeycloakSyncState;
+import de.softwaretesting.studyconnect.repositories.KeycloakSyncStateRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+class KeycloakEventSyncServiceTest {
+
+  private KeycloakService keycloakService;
+  private UserRepository userRepository;
+  private KeycloakSyncStateRepository syncStateRepository;
+  private SimpleMeterRegistry meterRegistry;
+  private KeycloakEventSyncService syncService;
+
+  @BeforeEach
+  void setUp() {
+    keycloakService = mock(KeycloakService.class);
+    userRepository = mock(UserRepository.class);
+    syncStateRepository = mock(KeycloakSyncStateRepository.class);
+    meterRegistry = new SimpleMeterRegistry();
+    syncService =
+        new KeycloakEventSyncService(
+            keycloakService,
+            userRepository,
+            syncStateRepository,
+            TransactionOperations.withoutTransaction(),
+            meterRegistry,
+            mock(CurrentUserCache.class),
+            true);
+    when(keycloakService.enableAdminEvents()).thenReturn(true);
+  }
+
+  @Test
+  void poll_skipsEventThatFailsLocallyAndPersistsTheMarkPastIt() {
+    KeycloakSyncState state = new KeycloakSyncState();
+    state.setName(KeycloakEventSyncService.STATE_NAME);
+    state.setLastEventTime(1_000L);
+    when(syncStateRepository.findById(KeycloakEventSyncService.STATE_NAME))
+        .thenReturn(Optional.of(state));
+    when(keycloakService.retrieveUserAdminEvents(any(), anyInt(), anyInt()))
+        .thenReturn(List.of(created(1_002L, "kc-2"), created(1_001L, "kc-1")));
+    when(keycloakService.findUserInRealm("kc-1"))
+        .thenReturn(Optional.of(keycloakUser("kc-1", "taken@example.com")));
+    when(keycloakService.findUserInRealm("kc-2"))
+        .thenReturn(Optional.of(keycloakUser("kc-2", "free@example.com")));
+    when(userRepository.findByKeycloakUUID(any())).thenReturn(Optional.empty());
+    when(userRepository.findByEmail(any())).thenReturn(Optional.empty());
+    when(userRepository.save(argThat(user -> "kc-1".equals(user.getKeycloakUUID()))))
+        .thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+    assertEquals(2, syncService.poll());
+
+    verify(userRepository).save(argThat(user -> "kc-2".equals(user.getKeycloakUUID())));
+    ArgumentCaptor<KeycloakSyncState> saved = ArgumentCaptor.forClass(KeycloakSyncState.class);
+    verify(syncStateRepository).save(saved.capture());
+    assertEquals(1_002L, saved.getValue().getLastEventTime());
+    assertEquals(1.0, events("failed"));
+    assertEquals(1.0, events("applied"));
+  }
+
+  @Test
+  void poll_persistsTheMarkWhenTheLastEventFailsLocally() {
+    when(syncStateRepository.findById(KeycloakEventSyncService.STATE_NAME))
+        .thenReturn(Optional.empty());
+    long time = System.currentTimeMillis() + 1_000;
+    when(keycloakService.retrieveUserAdminEvents(any(), anyInt(), anyInt()))
+        .thenReturn(List.of(created(time, "kc-1")));
+    when(keycloakService.findUserInRealm("kc-1"))
+        .thenReturn(Optional.of(keycloakUser("kc-1", "taken@example.com")));
+    when(userRepository.findByKeycloakUUID(any())).thenReturn(Optional.empty());
+    when(userRepository.findByEmail(any())).thenReturn(Optional.empty());
+    when(userRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+    assertEquals(1, syncService.poll());
+
+    ArgumentCaptor<KeycloakSyncState> saved = ArgumentCaptor.forClass(KeycloakSyncState.class);
+    verify(syncStateRepository).save(saved.capture());
+    assertEquals(time, saved.getValue().getLastEventTime());
+  }
+
+  private double events(String outcome) {
+    return meterRegistry
+        .get(KeycloakEventSyncService.EVENTS_METRIC)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private static KeycloakAdminEventDTO created(long time, String userId) {
+    return new KeycloakAdminEventDTO(time, "CREATE", "USER", "users/" + userId);
+  }
+
+  private static KeycloakUserResponseDTO keycloakUser(String id, String email) {
+    return new KeycloakUserResponseDTO(
+        id, 0L, email, true, true, "First", "Last", email, null, null, null);
+  }
+}
@@ -0,0 +1,75 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class KeycloakRealmMetadataCacheTest {
+
+  private KeycloakRealmMetadataCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new KeycloakRealmMetadataCache(
+            new ConcurrentMapCacheManager(KeycloakRealmMetadataCache.REALM_METADATA_CACHE));
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void getRoles_loadsOncePerRealm() {
+    cache.getRoles("realm-a", () -> loadRoles("user"));
+    cache.getRoles("realm-a", () -> loadRoles("user"));
+    List<Map<String, Object>> other = cache.getRoles("realm-b", () -> loadRoles("admin"));
+
+    assertEquals("admin", other.get(0).get("name"));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getClients_loaderFailure_propagatesAndCachesNothing() {
+    assertThrows(
+        InternalServerErrorException.class,
+        () ->
+            cache.getClients(
+                "realm-a",
+                () -> {
+                  throw new InternalServerErrorException("Keycloak unreachable");
+                }));
+
+    assertEquals(List.of("frontend"), cache.getClients("realm-a", () -> List.of("frontend")));
+  }
+
+  @Test
+  void evictions_onlyDropTheChangedMetadata() {
+    cache.getRoles("realm-a", () -> loadRoles("user"));
+    cache.getClients("realm-a", () -> loadClients("frontend"));
+    cache.getRealms(() -> List.of("realm-a"));
+
+    cache.evictRoles("realm-a");
+    cache.getRoles("realm-a", () -> loadRoles("user"));
+    cache.getClients("realm-a", () -> loadClients("frontend"));
+    assertEquals(3, loads.get());
+
+    cache.clear();
+    assertEquals(List.of(), cache.getRealms(List::of));
+  }
+
+  private List<Map<String, Object>> loadRoles(String name) {
+    loads.incrementAndGet();
+    return List.of(Map.of("id", name + "-id", "name", name));
+  }
+
+  private List<String> loadClients(String clientId) {
+    loads.incrementAndGet();
+    return List.of(clientId);
+  }
+}
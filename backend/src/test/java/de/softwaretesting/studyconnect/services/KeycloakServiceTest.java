@@ -17,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -35,6 +37,11 @@ class KeycloakServiceTest {
 
   @Mock private RestTemplate restTemplate;
 
+  @Spy
+  private KeycloakRealmMetadataCache realmMetadataCache =
+      new KeycloakRealmMetadataCache(
+          new ConcurrentMapCacheManager(KeycloakRealmMetadataCache.REALM_METADATA_CACHE));
+
   @InjectMocks private KeycloakService keycloakService;
 
   private static final String TEST_TOKEN = "test-access-token";
@@ -632,6 +639,49 @@ class KeycloakServiceTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  void retrieveUsersInRealm_shouldRequestPage() {
+    KeycloakUserResponseDTO user =
+        new KeycloakUserResponseDTO(
+            "uuid-1",
+            null,
+            "user1",
+            true,
+            true,
+            "John",
+            "Doe",
+            "john@example.com",
+            null,
+            null,
+            null);
+    when(restTemplate.exchange(
+            eq(
+                TEST_KEYCLOAK_URL
+                    + "/admin/realms/"
+                    + TEST_REALM
+                    + "/users?first=200&max=100&briefRepresentation=true"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(KeycloakUserResponseDTO[].class)))
+        .thenReturn(new ResponseEntity<>(new KeycloakUserResponseDTO[] {user}, HttpStatus.OK));
+
+    List<KeycloakUserResponseDTO> result = keycloakService.retrieveUsersInRealm(200, 100);
+
+    assertEquals(List.of(user), result);
+  }
+
+  @Test
+  void retrieveUsersInRealm_shouldPropagateErrors() {
+    when(restTemplate.exchange(
+            anyString(),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(KeycloakUserResponseDTO[].class)))
+        .thenThrow(new RestClientException("Connection error"));
+
+    assertThrows(RestClientException.class, () -> keycloakService.retrieveUsersInRealm(0, 100));
+  }
+
   // ========== getRealmName() tests ==========
 
   @Test
@@ -692,4 +742,126 @@ class KeycloakServiceTest {
 
     assertTrue(result.isEmpty());
   }
+
+  // ========== realm metadata cache tests ==========
+
+  @Test
+  void createUserInRealm_shouldListRolesOnce_whenCreatingSeveralUsers() {
+    when(restTemplate.postForEntity(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/users"),
+            any(HttpEntity.class),
+            eq(Void.class)))
+        .thenReturn(
+            ResponseEntity.created(
+                    URI.create(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/users/u-1"))
+                .build(),
+            ResponseEntity.created(
+                    URI.create(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/users/u-2"))
+                .build());
+    when(restTemplate.exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/roles"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(List.class)))
+        .thenReturn(
+            new ResponseEntity<>(
+                List.of(Map.of("id", "role-id", "name", TEST_CLIENT_ROLE)), HttpStatus.OK));
+    when(restTemplate.postForEntity(
+            contains("/role-mappings/realm"), any(HttpEntity.class), eq(Void.class)))
+        .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+    keycloakService.createUserInRealm("password123", "one@example.com", "One", "User");
+    keycloakService.createUserInRealm("password123", "two@example.com", "Two", "User");
+
+    verify(restTemplate, times(1))
+        .exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/roles"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(List.class));
+    verify(restTemplate, times(2))
+        .postForEntity(contains("/role-mappings/realm"), any(HttpEntity.class), eq(Void.class));
+  }
+
+  @Test
+  void createAdminUserInRealm_shouldRelistRoles_whenCachedRolesLackRequestedRole() {
+    realmMetadataCache.getRoles(
+        TEST_REALM, () -> List.of(Map.of("id", "user-id", "name", TEST_CLIENT_ROLE)));
+    when(restTemplate.postForEntity(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/users"),
+            any(HttpEntity.class),
+            eq(Void.class)))
+        .thenReturn(
+            ResponseEntity.created(
+                    URI.create(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/users/u-1"))
+                .build());
+    when(restTemplate.exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/roles"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(List.class)))
+        .thenReturn(
+            new ResponseEntity<>(
+                List.of(
+                    Map.of("id", "user-id", "name", TEST_CLIENT_ROLE),
+                    Map.of("id", "admin-id", "name", TEST_ADMIN_ROLE)),
+                HttpStatus.OK));
+    when(restTemplate.postForEntity(
+            contains("/role-mappings/realm"), any(HttpEntity.class), eq(Void.class)))
+        .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+    assertTrue(
+        keycloakService.createAdminUserInRealm("password123", "admin@example.com", "Ad", "Min"));
+
+    verify(restTemplate, times(1))
+        .exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/roles"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(List.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getAllRealms_shouldServeCachedRealms_untilRealmIsCreated() {
+    when(restTemplate.exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(Map[].class)))
+        .thenReturn(
+            new ResponseEntity<>(new Map[] {}, HttpStatus.OK),
+            new ResponseEntity<>(new Map[] {Map.of("realm", TEST_REALM)}, HttpStatus.OK));
+    when(restTemplate.postForEntity(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms"), any(HttpEntity.class), eq(Void.class)))
+        .thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+
+    assertTrue(keycloakService.getAllRealms().isEmpty());
+    assertTrue(keycloakService.createRealm());
+
+    assertEquals(List.of(TEST_REALM), keycloakService.getAllRealms());
+    verify(restTemplate, times(2))
+        .exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(Map[].class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getAllClients_shouldNotCacheFailedLookups() {
+    when(restTemplate.exchange(
+            eq(TEST_KEYCLOAK_URL + "/admin/realms/" + TEST_REALM + "/clients"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(Map[].class)))
+        .thenThrow(new RestClientException("Connection error"))
+        .thenReturn(
+            new ResponseEntity<>(new Map[] {Map.of("clientId", "frontend")}, HttpStatus.OK));
+
+    assertTrue(keycloakService.getAllClients().isEmpty());
+    assertEquals(List.of("frontend"), keycloakService.getAllClients());
+    assertEquals(List.of("frontend"), keycloakService.getAllClients());
+  }
 }
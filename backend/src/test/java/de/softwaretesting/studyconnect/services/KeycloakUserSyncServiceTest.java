@@ -0,0 +1,180 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.ResourceAccessException;
+
+class KeycloakUserSyncServiceTest {
+
+  private KeycloakService keycloakService;
+  private UserRepository userRepository;
+  private SimpleMeterRegistry meterRegistry;
+  private KeycloakUserSyncService syncService;
+
+  @BeforeEach
+  void setUp() {
+    keycloakService = mock(KeycloakService.class);
+    userRepository = mock(UserRepository.class);
+    meterRegistry = new SimpleMeterRegistry();
+    syncService = newSyncService(true);
+  }
+
+  @Test
+  void syncUsers_pagesThroughRealmAndInsertsOnlyMissingUsers() {
+    when(keycloakService.retrieveUsersInRealm(0, 2))
+        .thenReturn(List.of(keycloakUser("a"), keycloakUser("b")));
+    when(keycloakService.retrieveUsersInRealm(2, 2)).thenReturn(List.of(keycloakUser("c")));
+    when(userRepository.findExistingKeycloakUUIDs(List.of("a", "b"))).thenReturn(Set.of("a"));
+    when(userRepository.findExistingKeycloakUUIDs(List.of("c"))).thenReturn(Set.of());
+
+    int created = syncService.syncUsers();
+
+    assertEquals(2, created);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+    verify(userRepository, times(2)).saveAll(saved.capture());
+    assertEquals("b", saved.getAllValues().get(0).get(0).getKeycloakUUID());
+    assertEquals("c@example.com", saved.getAllValues().get(1).get(0).getEmail());
+    // The short second page is the last one, no empty page is requested
+    verify(keycloakService, never()).retrieveUsersInRealm(3, 2);
+    assertEquals(3.0, userCount("fetched"));
+    assertEquals(2.0, userCount("created"));
+    assertEquals(0.0, meterRegistry.get(KeycloakUserSyncService.RUNNING_METRIC).gauge().value());
+  }
+
+  @Test
+  void syncUsers_skipsUsersWithoutProfileAndRetriesFailedPageUserByUser() {
+    KeycloakUserResponseDTO serviceAccount =
+        new KeycloakUserResponseDTO(
+            "svc", null, "service-account", true, false, null, null, null, null, null, null);
+    when(keycloakService.retrieveUsersInRealm(0, 2))
+        .thenReturn(List.of(keycloakUser("a"), keycloakUser("b")));
+    when(keycloakService.retrieveUsersInRealm(2, 2))
+        .thenReturn(List.of(serviceAccount, keycloakUser("c")));
+    when(keycloakService.retrieveUsersInRealm(4, 2)).thenReturn(List.of());
+    when(userRepository.findExistingKeycloakUUIDs(anyCollection())).thenReturn(Set.of());
+    when(userRepository.saveAll(any()))
+        .thenThrow(new DataIntegrityViolationException("duplicate email"))
+        .thenAnswer(inv -> inv.getArgument(0));
+    when(userRepository.save(argThat(user -> "a".equals(user.getKeycloakUUID()))))
+        .thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+    int created = syncService.syncUsers();
+
+    // b from the retried page, c from the second one
+    assertEquals(2, created);
+    verify(userRepository).save(argThat(user -> "b".equals(user.getKeycloakUUID())));
+    assertEquals(1.0, userCount("skipped"));
+    assertEquals(1.0, userCount("conflict"));
+    assertEquals(2.0, userCount("created"));
+    assertEquals(1.0, pageCount("retried"));
+    assertEquals(1.0, pageCount("synced"));
+  }
+
+  @Test
+  void syncUsers_skipsUsersWhoseEmailIsTakenLocally() {
+    when(keycloakService.retrieveUsersInRealm(0, 2))
+        .thenReturn(List.of(keycloakUser("a"), keycloakUser("b")));
+    when(keycloakService.retrieveUsersInRealm(2, 2)).thenReturn(List.of());
+    when(userRepository.findExistingKeycloakUUIDs(anyCollection())).thenReturn(Set.of());
+    when(userRepository.findExistingEmails(List.of("a@example.com", "b@example.com")))
+        .thenReturn(Set.of("a@example.com"));
+
+    int created = syncService.syncUsers();
+
+    assertEquals(1, created);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+    verify(userRepository).saveAll(saved.capture());
+    assertEquals(List.of("b"), saved.getValue().stream().map(User::getKeycloakUUID).toList());
+    assertEquals(1.0, userCount("conflict"));
+    assertEquals(1.0, pageCount("synced"));
+  }
+
+  @Test
+  void syncUsers_fetchFailure_abortsAndRecordsFailure() {
+    when(keycloakService.retrieveUsersInRealm(anyInt(), anyInt()))
+        .thenThrow(new ResourceAccessException("connection refused"));
+
+    assertEquals(0, syncService.syncUsers());
+
+    verify(userRepository, never()).saveAll(any());
+    assertEquals(
+        1L,
+        meterRegistry
+            .get(KeycloakUserSyncService.DURATION_METRIC)
+            .tag("outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void startSync_whenDisabled_doesNotCallKeycloak() {
+    newSyncService(false).startSync();
+
+    verify(keycloakService, never()).retrieveUsersInRealm(anyInt(), anyInt());
+  }
+
+  private KeycloakUserSyncService newSyncService(boolean enabled) {
+    return new KeycloakUserSyncService(
+        keycloakService,
+        userRepository,
+        TransactionOperations.withoutTransaction(),
+        new SyncTaskExecutor(),
+        meterRegistry,
+        enabled,
+        2);
+  }
+
+  private double userCount(String outcome) {
+    return meterRegistry
+        .get(KeycloakUserSyncService.USERS_METRIC)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private double pageCount(String outcome) {
+    return meterRegistry
+        .get(KeycloakUserSyncService.PAGES_METRIC)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private static KeycloakUserResponseDTO keycloakUser(String uuid) {
+    return new KeycloakUserResponseDTO(
+        uuid,
+        0L,
+        uuid + "@example.com",
+        true,
+        true,
+        "First " + uuid,
+        "Last " + uuid,
+        uuid + "@example.com",
+        null,
+        null,
+        null);
+  }
+}
@@ -0,0 +1,107 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.softwaretesting.studyconnect.exceptions.ConflictException;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.models.Group;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OptimisticLockRetryExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private OptimisticLockRetryExecutor executor;
+  private AtomicInteger attempts;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor =
+        new OptimisticLockRetryExecutor(
+            TransactionOperations.withoutTransaction(), meterRegistry, 3, Duration.ZERO);
+    attempts = new AtomicInteger();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @Test
+  void execute_conflictThenSuccess_retriesAndCountsConflict() {
+    String result = executor.execute("join", () -> failTimes(1));
+
+    assertEquals("done", result);
+    assertEquals(2, attempts.get());
+    assertEquals(1.0, conflictCount("join", "retried"));
+  }
+
+  @Test
+  void execute_persistentConflict_throwsConflictAfterMaxAttempts() {
+    assertThrows(ConflictException.class, () -> executor.execute("leave", () -> failTimes(10)));
+
+    assertEquals(3, attempts.get());
+    assertEquals(2.0, conflictCount("leave", "retried"));
+    assertEquals(1.0, conflictCount("leave", "exhausted"));
+  }
+
+  @Test
+  void execute_otherExceptions_areNotRetried() {
+    assertThrows(
+        NotFoundException.class,
+        () ->
+            executor.execute(
+                "update",
+                () -> {
+                  attempts.incrementAndGet();
+                  throw new NotFoundException("Group not found with id: 1");
+                }));
+
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void execute_insideExistingTransaction_runsOnceWithoutRetry() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    assertThrows(
+        ObjectOptimisticLockingFailureException.class,
+        () -> executor.execute("update", () -> failTimes(1)));
+
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void constructor_rejectsZeroAttempts() {
+    TransactionOperations transactions = TransactionOperations.withoutTransaction();
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new OptimisticLockRetryExecutor(transactions, meterRegistry, 0, Duration.ZERO));
+  }
+
+  private String failTimes(int failures) {
+    if (attempts.incrementAndGet() <= failures) {
+      throw new ObjectOptimisticLockingFailureException(Group.class, 1L);
+    }
+    return "done";
+  }
+
+  private double conflictCount(String operation, String outcome) {
+    return meterRegistry
+        .get(OptimisticLockRetryExecutor.CONFLICTS_METRIC)
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+}
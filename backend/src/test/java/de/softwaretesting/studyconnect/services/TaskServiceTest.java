@@ -2,15 +2,24 @@ package de.softwaretesting.studyconnect.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import de.softwaretesting.studyconnect.dtos.request.BatchTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.request.TaskQueryRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.TaskRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UpdateTaskRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.CursorPageResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.GroupActivityEventDTO;
 import de.softwaretesting.studyconnect.dtos.response.TaskResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
 import de.softwaretesting.studyconnect.exceptions.NotFoundException;
 import de.softwaretesting.studyconnect.mappers.request.TaskRequestMapper;
 import de.softwaretesting.studyconnect.mappers.response.TaskResponseMapper;
@@ -20,7 +29,12 @@ import de.softwaretesting.studyconnect.models.Task.Priority;
 import de.softwaretesting.studyconnect.models.Task.Status;
 import de.softwaretesting.studyconnect.models.User;
 import de.softwaretesting.studyconnect.repositories.GroupRepository;
+import de.softwaretesting.studyconnect.repositories.TaskAssigneeRow;
+import de.softwaretesting.studyconnect.repositories.TaskFilter;
 import de.softwaretesting.studyconnect.repositories.TaskRepository;
+import de.softwaretesting.studyconnect.repositories.TaskRow;
+import de.softwaretesting.studyconnect.repositories.TaskSort;
+import de.softwaretesting.studyconnect.repositories.TaskTagRow;
 import de.softwaretesting.studyconnect.repositories.UserRepository;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -30,6 +44,7 @@ import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -51,6 +66,8 @@ class TaskServiceTest {
 
   @Mock private TaskResponseMapper taskResponseMapper;
 
+  @Mock private GroupActivityHub groupActivityHub;
+
   @InjectMocks private TaskService taskService;
 
   private TaskRequestDTO taskRequestDTO;
@@ -197,11 +214,128 @@ class TaskServiceTest {
     verify(userRepository).findById(taskRequestDTO.getCreatedById());
     verify(taskRepository).save(any(Task.class));
     verify(taskResponseMapper).toDto(savedTask);
+    verify(groupActivityHub).publish(groupId, GroupActivityEventDTO.Type.TASK_CREATED, 1L);
   }
 
   /**
    * Creates a new task with a non-existent group and verifies that a NotFoundException is thrown.
    */
+  @Test
+  void createTasks_ResolvesUsersOnceAndInsertsBatch() {
+    BatchTaskRequestDTO batch = new BatchTaskRequestDTO(List.of(taskRequestDTO, taskRequestDTO));
+    when(groupRepository.existsById(100L)).thenReturn(true);
+    when(userRepository.findExistingIds(Set.of(1L, 2L, 3L))).thenReturn(Set.of(1L, 2L, 3L));
+    when(groupRepository.getReferenceById(100L)).thenReturn(group);
+    when(userRepository.getReferenceById(any())).thenReturn(creator);
+    when(taskRequestMapper.toEntity(taskRequestDTO)).thenReturn(new Task(), new Task());
+    when(taskRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(taskResponseMapper.toDto(any(Task.class))).thenReturn(taskResponseDTO);
+
+    ResponseEntity<List<TaskResponseDTO>> result = taskService.createTasks(100L, batch);
+
+    assertEquals(HttpStatus.CREATED, result.getStatusCode());
+    assertEquals(2, result.getBody().size());
+    ArgumentCaptor<List<Task>> inserted = ArgumentCaptor.captor();
+    verify(taskRepository).saveAll(inserted.capture());
+    assertEquals(2, inserted.getValue().size());
+    Task first = inserted.getValue().get(0);
+    assertEquals(group, first.getGroup());
+    assertEquals(Status.OPEN, first.getStatus());
+    assertEquals(Set.of("urgent", "homework"), first.getTags());
+    assertNotNull(first.getCreatedAt());
+    verify(userRepository, never()).findById(any());
+    verify(taskRepository, never()).save(any());
+  }
+
+  @Test
+  void createTasks_WithUnknownUsers_ShouldRejectWholeBatch() {
+    BatchTaskRequestDTO batch = new BatchTaskRequestDTO(List.of(taskRequestDTO));
+    when(groupRepository.existsById(100L)).thenReturn(true);
+    when(userRepository.findExistingIds(Set.of(1L, 2L, 3L))).thenReturn(Set.of(1L));
+
+    NotFoundException exception =
+        assertThrows(NotFoundException.class, () -> taskService.createTasks(100L, batch));
+
+    assertEquals("Users not found: [2, 3]", exception.getMessage());
+    verify(taskRepository, never()).saveAll(any());
+  }
+
+  @Test
+  void createTasks_WithNonExistentGroup_ShouldThrowNotFoundException() {
+    BatchTaskRequestDTO batch = new BatchTaskRequestDTO(List.of(taskRequestDTO));
+    when(groupRepository.existsById(100L)).thenReturn(false);
+
+    assertThrows(NotFoundException.class, () -> taskService.createTasks(100L, batch));
+    verify(userRepository, never()).findExistingIds(any());
+  }
+
+  @Test
+  void getTasksInGroupPage_ReadsOneExtraRowAndLoadsCollectionsOnce() {
+    TaskQueryRequestDTO query = new TaskQueryRequestDTO();
+    query.setSize(2);
+    query.setStatus(Set.of(Status.OPEN));
+    List<TaskRow> rows = List.of(pagedTask(1L), pagedTask(2L), pagedTask(3L));
+    when(taskRepository.findTasks(any(), any(), any(), anyInt())).thenReturn(rows);
+    when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(1L, 2L)))
+        .thenReturn(List.of(new TaskAssigneeRow(1L, 2L), new TaskAssigneeRow(2L, 3L)));
+    when(taskRepository.findTagRowsByTaskIdIn(List.of(1L, 2L)))
+        .thenReturn(List.of(new TaskTagRow(2L, "urgent")));
+
+    CursorPageResponseDTO<TaskResponseDTO> page =
+        taskService.getTasksInGroupPage(100L, query).getBody();
+
+    assertEquals(List.of(1L, 2L), page.getItems().stream().map(TaskResponseDTO::getId).toList());
+    assertEquals(Set.of(2L), page.getItems().get(0).getAssigneeIds());
+    assertEquals(Set.of(), page.getItems().get(0).getTags());
+    assertEquals(Set.of("urgent"), page.getItems().get(1).getTags());
+    assertEquals(TaskSort.DEFAULT.cursorAfter(rows.get(1)), page.getNextCursor());
+    ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+    verify(taskRepository).findTasks(filter.capture(), any(), any(), eq(3));
+    assertEquals(100L, filter.getValue().groupId());
+    assertEquals(Set.of(Status.OPEN), filter.getValue().statuses());
+  }
+
+  @Test
+  void getTasksAssignedToUserPage_LastPageHasNoCursor() {
+    TaskQueryRequestDTO query = new TaskQueryRequestDTO();
+    query.setSize(5);
+    query.setSort("-priority");
+    query.setCursor(TaskSort.parse("-priority").cursorAfter(pagedTask(9L)));
+    when(taskRepository.findTasks(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+    CursorPageResponseDTO<TaskResponseDTO> page =
+        taskService.getTasksAssignedToUserPage(2L, query).getBody();
+
+    assertEquals(List.of(), page.getItems());
+    assertNull(page.getNextCursor());
+    ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+    verify(taskRepository)
+        .findTasks(filter.capture(), any(), eq(List.of(Priority.HIGH.ordinal(), 9L)), eq(6));
+    assertEquals(2L, filter.getValue().assigneeId());
+    verify(taskRepository, never()).findAssigneeRowsByTaskIdIn(any());
+  }
+
+  @Test
+  void getTasksInGroupPage_WithInvertedDueDateRange_ShouldThrowBadRequest() {
+    TaskQueryRequestDTO query = new TaskQueryRequestDTO();
+    query.setSize(5);
+    query.setDueFrom(LocalDateTime.of(2025, 2, 1, 0, 0));
+    query.setDueTo(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+    assertThrows(BadRequestException.class, () -> taskService.getTasksInGroupPage(100L, query));
+    verify(taskRepository, never()).findTasks(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void getTasksInGroupPage_WithCursorOfOtherSortOrder_ShouldThrowBadRequest() {
+    TaskQueryRequestDTO query = new TaskQueryRequestDTO();
+    query.setSize(5);
+    query.setSort("title");
+    query.setCursor(TaskSort.DEFAULT.cursorAfter(pagedTask(1L)));
+
+    assertThrows(BadRequestException.class, () -> taskService.getTasksInGroupPage(100L, query));
+  }
+
   @Test
   void createTask_WithNonExistentGroup_ShouldThrowNotFoundException() {
     // Arrange
@@ -279,31 +413,16 @@ class TaskServiceTest {
   void getAllTasksInGroup_WithExistingGroup_ShouldReturnTasks() {
     // Arrange
     Long groupId = 100L;
-    Task task2 = new Task();
-    task2.setId(2L);
-    task2.setTitle("Second Task");
-    task2.setGroup(group);
-
-    TaskResponseDTO taskResponseDTO2 =
-        new TaskResponseDTO(
-            2L,
-            "Second Task",
-            "Description",
-            LocalDateTime.now().plusDays(5),
-            Priority.LOW,
-            Status.OPEN,
-            "Category",
-            Set.of(),
-            1L,
-            Set.of(2L),
-            LocalDateTime.now(),
-            LocalDateTime.now(),
-            LocalDateTime.now(),
-            100L);
-
-    when(taskRepository.findByGroupId(groupId)).thenReturn(List.of(savedTask, task2));
-    when(taskResponseMapper.toDto(savedTask)).thenReturn(taskResponseDTO);
-    when(taskResponseMapper.toDto(task2)).thenReturn(taskResponseDTO2);
+    when(taskRepository.findRowsByGroupId(groupId))
+        .thenReturn(List.of(pagedTask(1L), pagedTask(2L)));
+    when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(1L, 2L)))
+        .thenReturn(
+            List.of(
+                new TaskAssigneeRow(1L, 2L),
+                new TaskAssigneeRow(1L, 3L),
+                new TaskAssigneeRow(2L, 2L)));
+    when(taskRepository.findTagRowsByTaskIdIn(List.of(1L, 2L)))
+        .thenReturn(List.of(new TaskTagRow(1L, "urgent"), new TaskTagRow(1L, "homework")));
 
     // Act
     ResponseEntity<List<TaskResponseDTO>> response = taskService.getAllTasksInGroup(groupId);
@@ -313,10 +432,17 @@ class TaskServiceTest {
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
     assertEquals(2, response.getBody().size());
-    assertEquals(taskResponseDTO.getId(), response.getBody().get(0).getId());
-    assertEquals(taskResponseDTO2.getId(), response.getBody().get(1).getId());
-
-    verify(taskRepository).findByGroupId(groupId);
+    TaskResponseDTO first = response.getBody().get(0);
+    assertEquals(1L, first.getId());
+    assertEquals("Task 1", first.getTitle());
+    assertEquals(Set.of(2L, 3L), first.getAssigneeIds());
+    assertEquals(Set.of("urgent", "homework"), first.getTags());
+    assertEquals(1L, first.getCreatedById());
+    assertEquals(groupId, first.getGroupId());
+    assertEquals(Set.of(2L), response.getBody().get(1).getAssigneeIds());
+    assertEquals(Set.of(), response.getBody().get(1).getTags());
+
+    verify(taskRepository).findRowsByGroupId(groupId);
   }
 
   /**
@@ -327,7 +453,7 @@ class TaskServiceTest {
   void getAllTasksInGroup_WithNoTasks_ShouldReturnEmptyList() {
     // Arrange
     Long groupId = 100L;
-    when(taskRepository.findByGroupId(groupId)).thenReturn(List.of());
+    when(taskRepository.findRowsByGroupId(groupId)).thenReturn(List.of());
 
     // Act
     ResponseEntity<List<TaskResponseDTO>> response = taskService.getAllTasksInGroup(groupId);
@@ -338,7 +464,8 @@ class TaskServiceTest {
     assertNotNull(response.getBody());
     assertEquals(0, response.getBody().size());
 
-    verify(taskRepository).findByGroupId(groupId);
+    verify(taskRepository).findRowsByGroupId(groupId);
+    verify(taskRepository, never()).findAssigneeRowsByTaskIdIn(any());
   }
 
   // ==================== getAllTasksAssignedToUser Tests ====================
@@ -348,8 +475,10 @@ class TaskServiceTest {
   void getAllTasksAssignedToUser_WithExistingUser_ShouldReturnTasks() {
     // Arrange
     Long userId = 2L;
-    when(taskRepository.findByAssigneesId(userId)).thenReturn(List.of(savedTask));
-    when(taskResponseMapper.toDto(savedTask)).thenReturn(taskResponseDTO);
+    when(taskRepository.findRowsByAssigneeId(userId)).thenReturn(List.of(pagedTask(1L)));
+    when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(1L)))
+        .thenReturn(List.of(new TaskAssigneeRow(1L, userId)));
+    when(taskRepository.findTagRowsByTaskIdIn(List.of(1L))).thenReturn(List.of());
 
     // Act
     ResponseEntity<List<TaskResponseDTO>> response = taskService.getAllTasksAssignedToUser(userId);
@@ -359,9 +488,10 @@ class TaskServiceTest {
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
     assertEquals(1, response.getBody().size());
-    assertEquals(taskResponseDTO.getId(), response.getBody().get(0).getId());
+    assertEquals(1L, response.getBody().get(0).getId());
+    assertEquals(Set.of(userId), response.getBody().get(0).getAssigneeIds());
 
-    verify(taskRepository).findByAssigneesId(userId);
+    verify(taskRepository).findRowsByAssigneeId(userId);
   }
 
   /**
@@ -372,7 +502,7 @@ class TaskServiceTest {
   void getAllTasksAssignedToUser_WithNoAssignedTasks_ShouldReturnEmptyList() {
     // Arrange
     Long userId = 999L;
-    when(taskRepository.findByAssigneesId(userId)).thenReturn(List.of());
+    when(taskRepository.findRowsByAssigneeId(userId)).thenReturn(List.of());
 
     // Act
     ResponseEntity<List<TaskResponseDTO>> response = taskService.getAllTasksAssignedToUser(userId);
@@ -383,7 +513,7 @@ class TaskServiceTest {
     assertNotNull(response.getBody());
     assertEquals(0, response.getBody().size());
 
-    verify(taskRepository).findByAssigneesId(userId);
+    verify(taskRepository).findRowsByAssigneeId(userId);
   }
 
   // ==================== deleteTask Tests ====================
@@ -404,6 +534,7 @@ class TaskServiceTest {
 
     verify(taskRepository).findById(taskId);
     verify(taskRepository).delete(savedTask);
+    verify(groupActivityHub).publish(100L, GroupActivityEventDTO.Type.TASK_DELETED, taskId);
   }
 
   /** Attempts to delete a non-existent task and verifies that a NotFoundException is thrown. */
@@ -424,6 +555,7 @@ class TaskServiceTest {
     assertEquals("Task not found", exception.getMessage());
     verify(taskRepository).findById(taskId);
     verify(taskRepository, never()).delete(any(Task.class));
+    verifyNoInteractions(groupActivityHub);
   }
 
   // ==================== updateTask Tests ====================
@@ -496,6 +628,7 @@ class TaskServiceTest {
     verify(userRepository).findAllById(assigneeIds);
     verify(taskRepository).save(any(Task.class));
     verify(taskResponseMapper).toDto(savedUpdatedTask);
+    verify(groupActivityHub).publish(100L, GroupActivityEventDTO.Type.TASK_UPDATED, taskId);
   }
 
   /** Attempts to update a non-existent task and verifies that a NotFoundException is thrown. */
@@ -543,4 +676,20 @@ class TaskServiceTest {
     verify(taskRepository).findById(taskId);
     verify(taskRepository, never()).save(any(Task.class));
   }
+
+  private static TaskRow pagedTask(Long id) {
+    return new TaskRow(
+        id,
+        "Task " + id,
+        null,
+        LocalDateTime.of(2025, 1, 1, 12, 0).plusDays(id),
+        Priority.HIGH,
+        Status.OPEN,
+        null,
+        1L,
+        100L,
+        null,
+        null,
+        null);
+  }
 }
@@ -0,0 +1,78 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.repositories.UserRegistrationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+class UserRegistrationRecoveryTest {
+
+  private UserRegistrationRepository registrationRepository;
+  private UserRegistrationWorker worker;
+  private SimpleMeterRegistry meterRegistry;
+  private UserRegistrationRecovery recovery;
+
+  @BeforeEach
+  void setUp() {
+    registrationRepository = mock(UserRegistrationRepository.class);
+    worker = mock(UserRegistrationWorker.class);
+    meterRegistry = new SimpleMeterRegistry();
+    recovery =
+        new UserRegistrationRecovery(
+            registrationRepository,
+            worker,
+            TransactionOperations.withoutTransaction(),
+            meterRegistry,
+            Duration.ofMinutes(2));
+  }
+
+  @Test
+  void recoverStaleRegistrations_settlesOnlyRegistrationsItClaimed() {
+    UserRegistration claimed = stale("reg-1");
+    UserRegistration takenByOtherInstance = stale("reg-2");
+    UserRegistration inFlight = stale("reg-3");
+    when(registrationRepository.findByStatusAndUpdatedAtBefore(
+            eq(UserRegistration.Status.PENDING), any()))
+        .thenReturn(List.of(claimed, takenByOtherInstance, inFlight));
+    when(registrationRepository.claim(eq("reg-1"), eq(claimed.getUpdatedAt()), any()))
+        .thenReturn(1);
+    when(registrationRepository.claim(eq("reg-2"), eq(takenByOtherInstance.getUpdatedAt()), any()))
+        .thenReturn(0);
+    when(worker.isInFlight("reg-3")).thenReturn(true);
+    when(worker.recover("reg-1")).thenReturn("completed");
+
+    assertEquals(1, recovery.recoverStaleRegistrations());
+
+    verify(worker).recover("reg-1");
+    verify(worker, never()).recover("reg-2");
+    verify(worker, never()).recover("reg-3");
+    verify(registrationRepository, never()).claim(eq("reg-3"), any(), any());
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(UserRegistrationRecovery.RECOVERIES_METRIC)
+            .tag("outcome", "completed")
+            .counter()
+            .count());
+  }
+
+  private static UserRegistration stale(String id) {
+    UserRegistration registration = new UserRegistration();
+    registration.setId(id);
+    registration.setUpdatedAt(LocalDateTime.now().minusMinutes(5));
+    return registration;
+  }
+}
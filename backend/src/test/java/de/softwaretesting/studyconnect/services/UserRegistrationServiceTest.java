@@ -0,0 +1,119 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.UserRegistrationResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.ConflictException;
+import de.softwaretesting.studyconnect.exceptions.NotFoundException;
+import de.softwaretesting.studyconnect.exceptions.ServiceUnavailableException;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.repositories.UserRegistrationRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionOperations;
+
+class UserRegistrationServiceTest {
+
+  private static final String EMAIL = "ada@example.com";
+
+  private UserRepository userRepository;
+  private UserRegistrationRepository registrationRepository;
+  private UserRegistrationWorker worker;
+  private List<Runnable> queued;
+  private UserRegistrationService registrationService;
+  private final UserCreateRequestDTO request =
+      new UserCreateRequestDTO("Ada", "Lovelace", "ValidPass123!", EMAIL);
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    registrationRepository = mock(UserRegistrationRepository.class);
+    worker = mock(UserRegistrationWorker.class);
+    queued = new ArrayList<>();
+    registrationService = newService(queued::add);
+
+    when(userRepository.saveAndFlush(any(User.class)))
+        .thenAnswer(
+            inv -> {
+              User user = inv.getArgument(0);
+              user.setId(7L);
+              return user;
+            });
+    when(registrationRepository.save(any(UserRegistration.class)))
+        .thenAnswer(inv -> inv.getArgument(0));
+    when(worker.provisioning(anyString(), any(UserCreateRequestDTO.class))).thenReturn(() -> {});
+  }
+
+  @Test
+  void register_persistsPendingUserAndQueuesProvisioning() {
+    UserRegistrationResponseDTO response = registrationService.register(request);
+
+    ArgumentCaptor<User> user = ArgumentCaptor.forClass(User.class);
+    verify(userRepository).saveAndFlush(user.capture());
+    assertEquals(EMAIL, user.getValue().getEmail());
+    assertNull(user.getValue().getKeycloakUUID());
+
+    assertNotNull(response.getId());
+    assertEquals(UserRegistration.Status.PENDING, response.getStatus());
+    assertEquals(7L, response.getUserId());
+    assertEquals(1, queued.size());
+    verify(worker).provisioning(response.getId(), request);
+  }
+
+  @Test
+  void register_existingEmail_throwsConflictWithoutPersisting() {
+    when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(new User()));
+
+    assertThrows(ConflictException.class, () -> registrationService.register(request));
+
+    verify(userRepository, never()).saveAndFlush(any(User.class));
+    assertEquals(0, queued.size());
+  }
+
+  @Test
+  void register_fullQueue_failsRegistrationAndThrowsServiceUnavailable() {
+    registrationService =
+        newService(
+            task -> {
+              throw new RejectedExecutionException("queue full");
+            });
+
+    assertThrows(ServiceUnavailableException.class, () -> registrationService.register(request));
+
+    verify(worker).fail(anyString(), anyString());
+  }
+
+  @Test
+  void getRegistration_unknownId_throwsNotFound() {
+    when(registrationRepository.findById("unknown")).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> registrationService.getRegistration("unknown"));
+  }
+
+  private UserRegistrationService newService(Executor executor) {
+    return new UserRegistrationService(
+        userRepository,
+        registrationRepository,
+        TransactionOperations.withoutTransaction(),
+        worker,
+        executor);
+  }
+}
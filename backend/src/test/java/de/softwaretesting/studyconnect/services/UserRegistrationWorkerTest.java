@@ -0,0 +1,236 @@
+package de.softwaretesting.studyconnect.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
+import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
+import de.softwaretesting.studyconnect.models.User;
+import de.softwaretesting.studyconnect.models.UserRegistration;
+import de.softwaretesting.studyconnect.repositories.UserRegistrationRepository;
+import de.softwaretesting.studyconnect.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+class UserRegistrationWorkerTest {
+
+  private static final String EMAIL = "ada@example.com";
+
+  private UserRepository userRepository;
+  private UserRegistrationRepository registrationRepository;
+  private KeycloakService keycloakService;
+  private SimpleMeterRegistry meterRegistry;
+  private UserRegistrationWorker worker;
+  private UserRegistration registration;
+  private User pendingUser;
+  private final UserCreateRequestDTO request =
+      new UserCreateRequestDTO("Ada", "Lovelace", "ValidPass123!", EMAIL);
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    registrationRepository = mock(UserRegistrationRepository.class);
+    keycloakService = mock(KeycloakService.class);
+    meterRegistry = new SimpleMeterRegistry();
+    worker =
+        new UserRegistrationWorker(
+            userRepository,
+            registrationRepository,
+            keycloakService,
+            TransactionOperations.withoutTransaction(),
+            meterRegistry,
+            3,
+            Duration.ZERO);
+
+    pendingUser = new User();
+    pendingUser.setId(7L);
+    pendingUser.setEmail(EMAIL);
+    registration = new UserRegistration();
+    registration.setId("reg-1");
+    registration.setUserId(7L);
+    when(registrationRepository.findById("reg-1")).thenReturn(Optional.of(registration));
+    when(userRepository.findById(7L)).thenReturn(Optional.of(pendingUser));
+  }
+
+  @Test
+  void provisioning_retriesUnavailableKeycloakAndLinksPendingUser() {
+    doThrow(new InternalServerErrorException("Keycloak unreachable"))
+        .doNothing()
+        .when(keycloakService)
+        .createUserInRealm("ValidPass123!", EMAIL, "Ada", "Lovelace");
+    when(keycloakService.retrieveUserByEmail(EMAIL)).thenReturn(keycloakUser("kc-7"));
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.COMPLETED, registration.getStatus());
+    assertEquals(2, registration.getAttempts());
+    assertEquals("kc-7", pendingUser.getKeycloakUUID());
+    assertEquals(1.0, registrations("completed"));
+  }
+
+  @Test
+  void provisioning_adoptsAccountCreatedByAttemptWhoseResponseGotLost() {
+    doThrow(new InternalServerErrorException("Read timed out"))
+        .doThrow(new BadRequestException("User with email " + EMAIL + " already exists"))
+        .when(keycloakService)
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+    when(keycloakService.retrieveUserByEmail(EMAIL)).thenReturn(keycloakUser("kc-7"));
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.COMPLETED, registration.getStatus());
+    assertEquals("kc-7", pendingUser.getKeycloakUUID());
+  }
+
+  @Test
+  void provisioning_rejectedByKeycloak_failsAndReleasesPendingUser() {
+    doThrow(new BadRequestException("User with email " + EMAIL + " already exists"))
+        .when(keycloakService)
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.FAILED, registration.getStatus());
+    assertEquals("User with email " + EMAIL + " already exists", registration.getFailureReason());
+    assertNull(registration.getUserId());
+    verify(userRepository).delete(pendingUser);
+    verify(keycloakService, times(1))
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+    assertEquals(1.0, registrations("rejected"));
+  }
+
+  @Test
+  void provisioning_givesUpAfterMaxAttempts() {
+    doThrow(new InternalServerErrorException("Keycloak unreachable"))
+        .when(keycloakService)
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.FAILED, registration.getStatus());
+    assertEquals(3, registration.getAttempts());
+    verify(userRepository).delete(pendingUser);
+    verify(keycloakService).retrieveUserByEmail(EMAIL);
+    assertEquals(1.0, registrations("failed"));
+  }
+
+  @Test
+  void provisioning_givesUp_completesAccountThatATimedOutAttemptCreated() {
+    doThrow(new InternalServerErrorException("Read timed out"))
+        .when(keycloakService)
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+    when(keycloakService.retrieveUserByEmail(EMAIL)).thenReturn(keycloakUser("kc-7"));
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.COMPLETED, registration.getStatus());
+    assertEquals("kc-7", pendingUser.getKeycloakUUID());
+    verify(userRepository, never()).delete(pendingUser);
+    assertEquals(1.0, registrations("completed"));
+  }
+
+  @Test
+  void provisioning_givesUp_leavesRegistrationPendingWhenLookupFails() {
+    doThrow(new InternalServerErrorException("Keycloak unreachable"))
+        .when(keycloakService)
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+    when(keycloakService.retrieveUserByEmail(EMAIL))
+        .thenThrow(new InternalServerErrorException("Keycloak unreachable"));
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.PENDING, registration.getStatus());
+    verify(userRepository, never()).delete(pendingUser);
+    assertEquals(1.0, registrations("deferred"));
+    assertFalse(worker.isInFlight("reg-1"));
+  }
+
+  @Test
+  void renewLeases_renewsOnlyRegistrationsInFlight() {
+    Runnable provisioning = worker.provisioning("reg-1", request);
+
+    worker.renewLeases();
+
+    verify(registrationRepository)
+        .renewLeases(eq(List.of("reg-1")), eq(UserRegistration.Status.PENDING), any());
+    when(keycloakService.retrieveUserByEmail(EMAIL)).thenReturn(keycloakUser("kc-7"));
+    provisioning.run();
+    worker.renewLeases();
+    verify(registrationRepository, times(1)).renewLeases(any(), any(), any());
+  }
+
+  @Test
+  void recover_completesRegistrationWhoseAccountExists() {
+    when(keycloakService.retrieveUserByEmail(EMAIL)).thenReturn(keycloakUser("kc-7"));
+
+    assertEquals("completed", worker.recover("reg-1"));
+
+    assertEquals(UserRegistration.Status.COMPLETED, registration.getStatus());
+    assertEquals("kc-7", pendingUser.getKeycloakUUID());
+  }
+
+  @Test
+  void recover_failsRegistrationWithoutAccount() {
+    assertEquals("failed", worker.recover("reg-1"));
+
+    assertEquals(UserRegistration.Status.FAILED, registration.getStatus());
+    assertEquals(
+        "Registration was interrupted, please register again", registration.getFailureReason());
+    verify(userRepository).delete(pendingUser);
+  }
+
+  @Test
+  void fail_leavesSettledRegistrationAlone() {
+    registration.setStatus(UserRegistration.Status.COMPLETED);
+
+    worker.fail("reg-1", "Registration was interrupted, please register again");
+
+    assertEquals(UserRegistration.Status.COMPLETED, registration.getStatus());
+    verify(userRepository, never()).delete(pendingUser);
+  }
+
+  @Test
+  void provisioning_doesNotCreateTwice_whenOnlyLookupFailed() {
+    doNothing()
+        .when(keycloakService)
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+    when(keycloakService.retrieveUserByEmail(EMAIL)).thenReturn(null, keycloakUser("kc-7"));
+
+    worker.provisioning("reg-1", request).run();
+
+    assertEquals(UserRegistration.Status.COMPLETED, registration.getStatus());
+    verify(keycloakService, times(1))
+        .createUserInRealm(anyString(), anyString(), anyString(), anyString());
+  }
+
+  private double registrations(String outcome) {
+    return meterRegistry
+        .get(UserRegistrationWorker.REGISTRATIONS_METRIC)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private static KeycloakUserResponseDTO keycloakUser(String uuid) {
+    return new KeycloakUserResponseDTO(
+        uuid, 0L, EMAIL, true, false, "Ada", "Lovelace", EMAIL, null, null, null);
+  }
+}
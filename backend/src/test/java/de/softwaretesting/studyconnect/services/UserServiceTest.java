@@ -3,19 +3,23 @@ package de.softwaretesting.studyconnect.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.softwaretesting.studyconnect.dtos.request.UserCreateRequestDTO;
 import de.softwaretesting.studyconnect.dtos.request.UserUpdateRequestDTO;
 import de.softwaretesting.studyconnect.dtos.response.KeycloakUserResponseDTO;
+import de.softwaretesting.studyconnect.dtos.response.PageResponseDTO;
 import de.softwaretesting.studyconnect.dtos.response.UserResponseDTO;
 import de.softwaretesting.studyconnect.exceptions.BadRequestException;
 import de.softwaretesting.studyconnect.exceptions.InternalServerErrorException;
@@ -26,18 +30,25 @@ import de.softwaretesting.studyconnect.models.User;
 import de.softwaretesting.studyconnect.repositories.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -57,6 +68,10 @@ class UserServiceTest {
 
   @Mock private KeycloakService keycloakService;
 
+  @Spy
+  private CurrentUserCache currentUserCache =
+      new CurrentUserCache(new ConcurrentMapCacheManager(CurrentUserCache.CURRENT_USERS_CACHE));
+
   @InjectMocks private UserService userService;
 
   private User testUser;
@@ -365,58 +380,28 @@ class UserServiceTest {
   // ==================== init Tests ====================
 
   @Test
-  void init_shouldCreateRealmAndSyncUsers() {
+  void init_shouldCreateRealmRolesAndClientsWithoutSyncingUsers() {
     when(keycloakService.createRealm()).thenReturn(true);
     when(keycloakService.addRolesToRealm(anyList())).thenReturn(true);
     when(keycloakService.createClients()).thenReturn(true);
-    when(keycloakService.retrieveAllUsersInRealm())
-        .thenReturn(List.of(testKeycloakUserResponseDTO));
-    when(userRepository.findByKeycloakUUID("keycloak-uuid-123")).thenReturn(Optional.empty());
-    when(userRepository.save(any(User.class))).thenReturn(testUser);
-
-    userService.init();
-
-    verify(keycloakService).createRealm();
-    verify(keycloakService).retrieveAllUsersInRealm();
-    verify(userRepository).save(any(User.class));
-  }
-
-  @Test
-  void init_shouldNotSyncUsers_whenRealmCreationFails() {
-    when(keycloakService.createRealm()).thenReturn(false);
 
     userService.init();
 
     verify(keycloakService).createRealm();
+    verify(keycloakService).createClients();
     verify(keycloakService, never()).retrieveAllUsersInRealm();
     verify(userRepository, never()).save(any(User.class));
   }
 
   @Test
-  void init_shouldSkipExistingUsers() {
-    when(keycloakService.createRealm()).thenReturn(true);
-    when(keycloakService.addRolesToRealm(anyList())).thenReturn(true);
-    when(keycloakService.createClients()).thenReturn(true);
-    when(keycloakService.retrieveAllUsersInRealm())
-        .thenReturn(List.of(testKeycloakUserResponseDTO));
-    when(userRepository.findByKeycloakUUID("keycloak-uuid-123")).thenReturn(Optional.of(testUser));
-
-    userService.init();
-
-    verify(userRepository, never()).save(any(User.class));
-  }
-
-  @Test
-  void init_shouldHandleEmptyUserList() {
-    when(keycloakService.createRealm()).thenReturn(true);
-    when(keycloakService.addRolesToRealm(anyList())).thenReturn(true);
-    when(keycloakService.createClients()).thenReturn(true);
-    when(keycloakService.retrieveAllUsersInRealm()).thenReturn(Collections.emptyList());
+  void init_shouldStop_whenRealmCreationFails() {
+    when(keycloakService.createRealm()).thenReturn(false);
 
     userService.init();
 
-    verify(keycloakService).retrieveAllUsersInRealm();
-    verify(userRepository, never()).save(any(User.class));
+    verify(keycloakService).createRealm();
+    verify(keycloakService, never()).addRolesToRealm(anyList());
+    verify(keycloakService, never()).createClients();
   }
 
   // ==================== getUserByIdEntity Tests ====================
@@ -578,4 +563,117 @@ class UserServiceTest {
     assertEquals("User not found", ex.getMessage());
     verify(userRepository).findByEmail("missing@example.com");
   }
+
+  @Test
+  void getUserByAccessToken_shouldResolveRepeatedPrincipalFromCache() {
+    authenticate("keycloak-uuid-123", "test@example.com");
+    when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+    when(userResponseMapper.toDto(testUser)).thenReturn(testUserResponseDTO);
+
+    userService.getUserByAccessToken();
+    ResponseEntity<UserResponseDTO> response = userService.getUserByAccessToken();
+
+    assertEquals(1L, response.getBody().getId());
+    verify(userRepository, times(1)).findByEmail("test@example.com");
+  }
+
+  @Test
+  void getUserByAccessToken_shouldReloadPrincipal_afterUserWasUpdated() {
+    authenticate("keycloak-uuid-123", "test@example.com");
+    when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+    when(userResponseMapper.toDto(any(User.class))).thenReturn(testUserResponseDTO);
+    userService.getUserByAccessToken();
+
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    when(userRequestMapper.toEntity(any(UserUpdateRequestDTO.class))).thenReturn(new User());
+    when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+    userService.updateUserWithId(1L, new UserUpdateRequestDTO("test@example.com", "Moritz", "M"));
+    userService.getUserByAccessToken();
+
+    verify(currentUserCache).evict(testUser);
+    verify(userRepository, times(2)).findByEmail("test@example.com");
+  }
+
+  // ==================== getUsersPage / getUserResponsesByIds Tests ====================
+
+  @Test
+  void getUsersPage_shouldSortByNameAndClampSize_whenNoSortGiven() {
+    when(userRepository.findAllBy(any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(testUser), PageRequest.of(0, 100), true));
+    when(userResponseMapper.toDtoList(List.of(testUser))).thenReturn(List.of(testUserResponseDTO));
+
+    ResponseEntity<PageResponseDTO<UserResponseDTO>> response =
+        userService.getUsersPage(-1, 500, null);
+
+    assertEquals(0, response.getBody().getPage());
+    assertEquals(100, response.getBody().getSize());
+    assertTrue(response.getBody().isHasNext());
+    verify(userRepository)
+        .findAllBy(PageRequest.of(0, 100, Sort.by("lastname", "firstname", "id")));
+  }
+
+  @Test
+  void getUsersPage_shouldAppendIdTieBreaker_toRequestedSort() {
+    when(userRepository.findAllBy(any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(2, 10), false));
+
+    userService.getUsersPage(2, 10, "-createdAt, email");
+
+    verify(userRepository)
+        .findAllBy(
+            PageRequest.of(
+                2,
+                10,
+                Sort.by(
+                    Sort.Order.desc("createdAt"), Sort.Order.asc("email"), Sort.Order.asc("id"))));
+  }
+
+  @Test
+  void getUsersPage_shouldRejectUnknownAndDuplicateSortKeys() {
+    BadRequestException unknown =
+        assertThrows(BadRequestException.class, () -> userService.getUsersPage(0, 10, "password"));
+    BadRequestException duplicate =
+        assertThrows(
+            BadRequestException.class, () -> userService.getUsersPage(0, 10, "email,-email"));
+
+    assertEquals("Unknown sort key: password", unknown.getMessage());
+    assertEquals("Duplicate sort key: email", duplicate.getMessage());
+    verify(userRepository, never()).findAllBy(any(Pageable.class));
+  }
+
+  @Test
+  void getUserResponsesByIds_shouldLoadAllUsersInOneQuery() {
+    when(userRepository.findByIdInOrderByIdAsc(Set.of(1L, 2L))).thenReturn(List.of(testUser));
+    when(userResponseMapper.toDtoList(List.of(testUser))).thenReturn(List.of(testUserResponseDTO));
+
+    ResponseEntity<List<UserResponseDTO>> response =
+        userService.getUserResponsesByIds(Set.of(1L, 2L));
+
+    assertEquals(List.of(testUserResponseDTO), response.getBody());
+    verify(userRepository).findByIdInOrderByIdAsc(Set.of(1L, 2L));
+  }
+
+  @Test
+  void getUserResponsesByIds_shouldReturnEmptyList_whenNoIds() {
+    assertEquals(List.of(), userService.getUserResponsesByIds(Set.of()).getBody());
+    verify(userRepository, never()).findByIdInOrderByIdAsc(anyCollection());
+  }
+
+  @Test
+  void getUserResponsesByIds_shouldRejectTooManyIds() {
+    Set<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toSet());
+
+    assertThrows(BadRequestException.class, () -> userService.getUserResponsesByIds(ids));
+    verify(userRepository, never()).findByIdInOrderByIdAsc(anyCollection());
+  }
+
+  private static void authenticate(String subject, String email) {
+    Jwt jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(subject)
+            .claim("email", email)
+            .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
 }
@@ -1,7 +1,16 @@
 package de.softwaretesting.studyconnect.utils;
 
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -73,4 +82,51 @@ public class JwtTestUtil {
   public static Jwt createUnauthorizedToken(String username) {
     return createJwtToken(List.of("other-role"), username);
   }
+
+  /**
+   * Generates an RSA signing key, as used by Keycloak for access tokens.
+   *
+   * @param keyId Key id published in the JWKS and in the token header
+   * @return RSA key pair with key id
+   */
+  public static RSAKey generateSigningKey(String keyId) {
+    try {
+      return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    } catch (JOSEException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Creates a compact RS256-signed access token.
+   *
+   * @param signingKey Key the token is signed with
+   * @param issuer Issuer claim
+   * @param subject Subject (username) for the token
+   * @param expiresAt Expiry of the token
+   * @return serialized signed JWT
+   */
+  public static String createSignedToken(
+      RSAKey signingKey, String issuer, String subject, Instant expiresAt) {
+    // Expired tokens were issued before they expired, or the decoder rejects them as malformed
+    Instant now = Instant.now();
+    Instant issuedAt = expiresAt.isAfter(now) ? now : expiresAt.minusSeconds(300);
+    JWTClaimsSet claims =
+        new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .subject(subject)
+            .issueTime(Date.from(issuedAt))
+            .expirationTime(Date.from(expiresAt))
+            .claim("realm_access", Map.of("roles", List.of("studyconnect")))
+            .build();
+    SignedJWT jwt =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+    try {
+      jwt.sign(new RSASSASigner(signingKey));
+    } catch (JOSEException e) {
+      throw new IllegalStateException(e);
+    }
+    return jwt.serialize();
+  }
 }
@@ -0,0 +1,136 @@
+package de.softwaretesting.studyconnect.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Minimal stand-in for the Keycloak REST API, so Keycloak clients can be tested offline. Responses
+ * are registered per request path (without query string). Unregistered GET requests are answered
+ * with 404, all other unregistered requests with 204.
+ *
+ * <p>Requests are handled concurrently on virtual threads, optionally after a fixed latency, so the
+ * stub can also stand in for a slow Keycloak under load.
+ */
+public class KeycloakStubServer implements AutoCloseable {
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Map<String, StubResponse> responses = new ConcurrentHashMap<>();
+  private final List<String> requests = new CopyOnWriteArrayList<>();
+
+  private volatile Duration latency = Duration.ZERO;
+
+  private KeycloakStubServer(HttpServer server) {
+    this.server = server;
+  }
+
+  /**
+   * Starts a stub server on a free local port.
+   *
+   * @return the running server
+   */
+  public static KeycloakStubServer start() {
+    return start(0);
+  }
+
+  /**
+   * Starts a stub server on the given local port.
+   *
+   * @param port the port to listen on, 0 for a free port
+   * @return the running server
+   */
+  public static KeycloakStubServer start(int port) {
+    try {
+      HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+      KeycloakStubServer stub = new KeycloakStubServer(httpServer);
+      httpServer.createContext("/", stub::handle);
+      httpServer.setExecutor(stub.executor);
+      httpServer.start();
+      return stub;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Returns the base URL to configure as the Keycloak server URL. */
+  public String baseUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  /** Answers requests to the path with the given status and JSON body. */
+  public void respond(String path, int status, String json) {
+    responses.put(path, new StubResponse(status, query -> json));
+  }
+
+  /**
+   * Answers requests to the path with status 200 and a JSON body computed from the raw query string
+   * (null without query).
+   */
+  public void respond(String path, Function<String, String> json) {
+    responses.put(path, new StubResponse(200, json));
+  }
+
+  /** Delays every response by the given latency. */
+  public void setLatency(Duration latency) {
+    this.latency = latency;
+  }
+
+  /** Returns the received requests as {@code METHOD path?query}, oldest first. */
+  public List<String> requests() {
+    return List.copyOf(requests);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    String query = exchange.getRequestURI().getRawQuery();
+    requests.add(exchange.getRequestMethod() + " " + path + (query == null ? "" : "?" + query));
+    exchange.getRequestBody().readAllBytes();
+    delay();
+
+    StubResponse response = responses.get(path);
+    if (response == null) {
+      int status = "GET".equals(exchange.getRequestMethod()) ? 404 : 204;
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+      return;
+    }
+    byte[] body = response.json().apply(query).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(response.status(), body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private void delay() {
+    if (latency.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(latency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private record StubResponse(int status, Function<String, String> json) {}
+}
@@ -0,0 +1,45 @@
+package de.softwaretesting.studyconnect.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.softwaretesting.studyconnect.exceptions.BadRequestException;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+  @Test
+  void shouldRoundTripValues() {
+    LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 4, 5, 6, 7, 123456000);
+
+    String token = KeysetCursor.of(updatedAt, 42L, "a.b|c").encode();
+    KeysetCursor decoded = KeysetCursor.decode(token, 3);
+
+    assertEquals(updatedAt, decoded.getDateTime(0));
+    assertEquals(42L, decoded.getLong(1));
+    assertEquals("a.b|c", decoded.getString(2));
+  }
+
+  @Test
+  void shouldRejectWrongNumberOfValues() {
+    String token = KeysetCursor.of(1L).encode();
+
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token, 2));
+  }
+
+  @Test
+  void shouldRejectMalformedTokens() {
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode("!!!", 1));
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode(" ", 1));
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode(null, 1));
+  }
+
+  @Test
+  void shouldRejectValuesOfTheWrongType() {
+    KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of("abc").encode(), 1);
+
+    assertThrows(BadRequestException.class, () -> cursor.getLong(0));
+    assertThrows(BadRequestException.class, () -> cursor.getDateTime(0));
+  }
+}
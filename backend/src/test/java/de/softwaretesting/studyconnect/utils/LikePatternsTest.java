@@ -0,0 +1,19 @@
+package de.softwaretesting.studyconnect.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class LikePatternsTest {
+
+  @Test
+  void shouldEscapeWildcardsAndEscapeCharacter() {
+    assertEquals("50!% off!_now!!", LikePatterns.escape("50% off_now!"));
+  }
+
+  @Test
+  void shouldBuildPrefixAndContainsPatterns() {
+    assertEquals("ma%", LikePatterns.startsWith("ma"));
+    assertEquals("%a!_b%", LikePatterns.contains("a_b"));
+  }
+}